@@ -0,0 +1,85 @@
+/*
+ * Copyright 2013 SpringSource
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.async.factory.executor
+
+import grails.async.Promise
+import grails.async.PromiseFactory
+import groovy.transform.CompileStatic
+
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+
+/**
+ * Implementation of the {@link Promise} interface for tasks executed by a {@link PromiseExecutor}
+ *
+ * @since 2.4
+ */
+@CompileStatic
+class ExecutorPromise<T> implements Promise<T> {
+
+    final PromiseFactory promiseFactory
+    final PromiseTask<T> task
+
+    ExecutorPromise(PromiseFactory promiseFactory, PromiseTask<T> task) {
+        this.promiseFactory = promiseFactory
+        this.task = task
+    }
+
+    T get() throws Throwable {
+        try {
+            return task.get()
+        } catch (ExecutionException e) {
+            throw e.cause
+        }
+    }
+
+    T get(long timeout, TimeUnit units) throws Throwable {
+        try {
+            return task.get(timeout, units)
+        } catch (ExecutionException e) {
+            throw e.cause
+        }
+    }
+
+    Promise<T> leftShift(Closure callable) {
+        then callable
+    }
+
+    Promise<T> onComplete(Closure callable) {
+        task.whenDone(promiseFactory.applyDecorators(callable, null), null)
+        return this
+    }
+
+    Promise<T> onError(Closure callable) {
+        task.whenDone(null, promiseFactory.applyDecorators(callable, null))
+        return this
+    }
+
+    Promise then(Closure callable) {
+        final Closure decorated = promiseFactory.applyDecorators(callable, null)
+        final PromiseTask next = PromiseTask.createUnbound()
+        task.whenDone({ value ->
+            try {
+                next.bind(decorated.call(value))
+            } catch (Throwable e) {
+                next.bindError(e)
+            }
+        }, { Throwable e ->
+            next.bindError(e)
+        })
+        return new ExecutorPromise(promiseFactory, next)
+    }
+}
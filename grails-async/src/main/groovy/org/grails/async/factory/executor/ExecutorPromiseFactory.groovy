@@ -0,0 +1,216 @@
+/*
+ * Copyright 2013 SpringSource
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.async.factory.executor
+
+import grails.async.Promise
+import grails.async.PromiseList
+import groovy.transform.CompileStatic
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+import org.grails.async.decorator.PromiseDecorator
+import org.grails.async.factory.AbstractPromiseFactory
+
+/**
+ * A {@link grails.async.PromiseFactory} that executes promises with bounded java.util.concurrent thread pools.
+ *
+ * Unlike the GPars pool the queue of each {@link PromiseExecutor} is bounded, so a burst of tasks can't exhaust
+ * the heap; the {@link RejectionPolicy} of the executor decides what happens to tasks that don't fit. Promises
+ * are executed by the default executor unless another executor is registered and named on creation:
+ *
+ * <pre>
+ * def factory = new ExecutorPromiseFactory()
+ * factory.addExecutor(new PromiseExecutor("reports", 2, 50, RejectionPolicy.FAIL_FAST))
+ * Promises.promiseFactory = factory
+ *
+ * def report = factory.createPromise("reports") { generateReport() }
+ * </pre>
+ *
+ * @since 2.4
+ */
+@CompileStatic
+class ExecutorPromiseFactory extends AbstractPromiseFactory {
+
+    static final String DEFAULT_EXECUTOR = "default"
+    static final int DEFAULT_QUEUE_CAPACITY = 1000
+
+    private final ConcurrentHashMap<String, PromiseExecutor> executors = new ConcurrentHashMap<String, PromiseExecutor>()
+
+    /**
+     * Creates a factory with a default executor that has a thread per processor, a queue of
+     * {@link #DEFAULT_QUEUE_CAPACITY} tasks and runs tasks in the calling thread when the queue is full
+     */
+    ExecutorPromiseFactory() {
+        this(new PromiseExecutor(DEFAULT_EXECUTOR, Runtime.runtime.availableProcessors(), DEFAULT_QUEUE_CAPACITY, RejectionPolicy.CALLER_RUNS))
+    }
+
+    /**
+     * @param defaultExecutor The executor of promises created without an executor name, it is registered as {@link #DEFAULT_EXECUTOR}
+     */
+    ExecutorPromiseFactory(PromiseExecutor defaultExecutor) {
+        executors.put(DEFAULT_EXECUTOR, defaultExecutor)
+    }
+
+    /**
+     * Registers an executor under its name
+     *
+     * @param executor The executor
+     * @throws IllegalArgumentException If an executor with the same name is already registered
+     */
+    void addExecutor(PromiseExecutor executor) {
+        if (executors.putIfAbsent(executor.name, executor) != null) {
+            throw new IllegalArgumentException("An executor named [${executor.name}] is already registered")
+        }
+    }
+
+    /**
+     * @param name The name of the executor
+     * @return The executor, null if there is no executor with the name
+     */
+    PromiseExecutor getExecutor(String name) {
+        executors.get(name)
+    }
+
+    /**
+     * @return The registered executors by name, for monitoring their metrics
+     */
+    Map<String, PromiseExecutor> getExecutors() {
+        Collections.unmodifiableMap(executors)
+    }
+
+    /**
+     * Shuts down all registered executors, already submitted tasks are still executed
+     */
+    void shutdown() {
+        for (PromiseExecutor executor in executors.values()) {
+            executor.shutdown()
+        }
+    }
+
+    @Override
+    def <T> Promise<T> createPromise(Closure<T>... closures) {
+        if (closures.length == 1) {
+            return execute(executors.get(DEFAULT_EXECUTOR), applyDecorators(closures[0], null))
+        }
+
+        def promiseList = new PromiseList()
+        for (p in closures) {
+            promiseList << p
+        }
+        return promiseList
+    }
+
+    /**
+     * Creates a promise executed by the named executor
+     *
+     * @param executorName The name of the executor
+     * @param closure The closure to execute
+     * @return The promise
+     * @throws IllegalArgumentException If there is no executor with the name
+     * @throws java.util.concurrent.RejectedExecutionException If the executor rejects the task
+     */
+    def <T> Promise<T> createPromise(String executorName, Closure<T> closure, List<PromiseDecorator> decorators = null) {
+        PromiseExecutor executor = executors.get(executorName)
+        if (executor == null) {
+            throw new IllegalArgumentException("No executor named [$executorName] is registered")
+        }
+        execute(executor, applyDecorators(closure, decorators))
+    }
+
+    protected <T> Promise<T> execute(PromiseExecutor executor, Closure<T> closure) {
+        PromiseTask<T> task = new PromiseTask<T>(closure)
+        executor.execute(task)
+        new ExecutorPromise<T>(this, task)
+    }
+
+    @Override
+    def <T> List<T> waitAll(List<Promise<T>> promises) {
+        return promises.collect() { Promise<T> p -> p.get() }
+    }
+
+    @Override
+    def <T> List<T> waitAll(List<Promise<T>> promises, long timeout, TimeUnit units) {
+        long deadline = System.nanoTime() + units.toNanos(timeout)
+        return promises.collect() { Promise<T> p ->
+            p.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)
+        }
+    }
+
+    def <T> Promise<List<T>> onComplete(List<Promise<T>> promises, Closure<?> callable) {
+        PromiseTask result = PromiseTask.createUnbound()
+        whenAllBound(promises).whenDone({ List values ->
+            try {
+                result.bind(callable.call(values))
+            } catch (Throwable e) {
+                result.bindError(e)
+            }
+        }, { Throwable e ->
+            result.bindError(e)
+        })
+        new ExecutorPromise(this, result)
+    }
+
+    def <T> Promise<List<T>> onError(List<Promise<T>> promises, Closure<?> callable) {
+        PromiseTask result = PromiseTask.createUnbound()
+        whenAllBound(promises).whenDone({ List values ->
+            result.bind(values)
+        }, { Throwable e ->
+            try {
+                callable.call(e)
+            } finally {
+                result.bindError(e)
+            }
+        })
+        new ExecutorPromise(this, result)
+    }
+
+    /**
+     * @return A task bound to the list of values once all promises are bound, or to the first error
+     */
+    protected <T> PromiseTask<List> whenAllBound(List<Promise<T>> promises) {
+        PromiseTask<List> all = (PromiseTask<List>)PromiseTask.createUnbound()
+        int count = promises.size()
+        if (count == 0) {
+            all.bind([])
+            return all
+        }
+        Object[] values = new Object[count]
+        AtomicInteger remaining = new AtomicInteger(count)
+        for (int i = 0; i < count; i++) {
+            final int index = i
+            Closure onValue = { value ->
+                values[index] = value
+                if (remaining.decrementAndGet() == 0) {
+                    all.bind(Arrays.asList(values))
+                }
+            }
+            Closure onError = { Throwable e ->
+                all.bindError(e)
+            }
+            Promise<T> promise = promises.get(i)
+            if (promise instanceof ExecutorPromise) {
+                ((ExecutorPromise)promise).task.whenDone(onValue, onError)
+            }
+            else {
+                promise.onComplete(onValue)
+                promise.onError(onError)
+            }
+        }
+        all
+    }
+}
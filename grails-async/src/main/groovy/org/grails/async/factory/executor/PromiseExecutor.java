@@ -0,0 +1,258 @@
+/*
+ * Copyright 2013 SpringSource
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.async.factory.executor;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A named, bounded thread pool that executes the tasks of {@link ExecutorPromise} instances.
+ *
+ * The pool has a fixed number of daemon threads and a queue of limited capacity. When both are
+ * exhausted the {@link RejectionPolicy} decides what happens to new tasks. The pool records the
+ * time tasks wait in the queue and the time they execute.
+ *
+ * @since 2.4
+ */
+public class PromiseExecutor {
+    public static final long DEFAULT_BLOCK_TIMEOUT = 30000L;
+    private static final long KEEP_ALIVE_SECONDS = 60L;
+
+    private final String name;
+    private final int queueCapacity;
+    private final RejectionPolicy rejectionPolicy;
+    private final long blockTimeout;
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicLong submittedTasks = new AtomicLong();
+    private final AtomicLong executedTasks = new AtomicLong();
+    private final AtomicLong rejectedTasks = new AtomicLong();
+    private final AtomicLong callerRunsTasks = new AtomicLong();
+    private final AtomicLong totalQueueWaitNanos = new AtomicLong();
+    private final AtomicLong totalExecutionNanos = new AtomicLong();
+    private final AtomicLong maxExecutionNanos = new AtomicLong();
+
+    public PromiseExecutor(String name, int poolSize, int queueCapacity, RejectionPolicy rejectionPolicy) {
+        this(name, poolSize, queueCapacity, rejectionPolicy, DEFAULT_BLOCK_TIMEOUT);
+    }
+
+    /**
+     * @param name The name of the pool, used for the thread names
+     * @param poolSize The number of threads
+     * @param queueCapacity The number of tasks that can wait for a thread
+     * @param rejectionPolicy What to do with tasks when the queue is full
+     * @param blockTimeout The time in milliseconds {@link RejectionPolicy#BLOCK} waits for space in the queue
+     */
+    public PromiseExecutor(String name, int poolSize, int queueCapacity, RejectionPolicy rejectionPolicy, long blockTimeout) {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("Pool size of executor [" + name + "] must be at least 1");
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity of executor [" + name + "] must be at least 1");
+        }
+        this.name = name;
+        this.queueCapacity = queueCapacity;
+        this.rejectionPolicy = rejectionPolicy;
+        this.blockTimeout = blockTimeout;
+        executor = new MeteredThreadPoolExecutor(poolSize, new ArrayBlockingQueue<Runnable>(queueCapacity));
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Executes the task or applies the rejection policy
+     *
+     * @param task The task
+     * @throws RejectedExecutionException If the task was rejected
+     */
+    public void execute(PromiseTask<?> task) {
+        submittedTasks.incrementAndGet();
+        task.submittedNanos = System.nanoTime();
+        executor.execute(task);
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public RejectionPolicy getRejectionPolicy() {
+        return rejectionPolicy;
+    }
+
+    public int getPoolSize() {
+        return executor.getMaximumPoolSize();
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * @return The number of tasks waiting for a thread
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * @return The approximate number of threads executing tasks
+     */
+    public int getActiveThreads() {
+        return executor.getActiveCount();
+    }
+
+    public long getSubmittedTasks() {
+        return submittedTasks.get();
+    }
+
+    /**
+     * @return The number of tasks executed by the pool threads, excluding tasks run by the caller
+     */
+    public long getExecutedTasks() {
+        return executedTasks.get();
+    }
+
+    public long getRejectedTasks() {
+        return rejectedTasks.get();
+    }
+
+    /**
+     * @return The number of tasks run in the creating thread by {@link RejectionPolicy#CALLER_RUNS}
+     */
+    public long getCallerRunsTasks() {
+        return callerRunsTasks.get();
+    }
+
+    /**
+     * @return The average time in milliseconds tasks waited in the queue
+     */
+    public double getAverageQueueWaitMillis() {
+        return averageMillis(totalQueueWaitNanos.get());
+    }
+
+    /**
+     * @return The average time in milliseconds tasks took to execute
+     */
+    public double getAverageExecutionMillis() {
+        return averageMillis(totalExecutionNanos.get());
+    }
+
+    /**
+     * @return The longest time in milliseconds a task took to execute
+     */
+    public double getMaxExecutionMillis() {
+        return maxExecutionNanos.get() / 1000000d;
+    }
+
+    private double averageMillis(long totalNanos) {
+        long count = executedTasks.get();
+        return count > 0 ? totalNanos / 1000000d / count : 0d;
+    }
+
+    @Override
+    public String toString() {
+        return "PromiseExecutor[" + name + "] { poolSize=" + getPoolSize() + ", activeThreads=" + getActiveThreads() +
+            ", queueDepth=" + getQueueDepth() + "/" + queueCapacity + ", rejectionPolicy=" + rejectionPolicy +
+            ", executedTasks=" + getExecutedTasks() + ", rejectedTasks=" + getRejectedTasks() + " }";
+    }
+
+    private class MeteredThreadPoolExecutor extends ThreadPoolExecutor {
+        MeteredThreadPoolExecutor(int poolSize, ArrayBlockingQueue<Runnable> queue) {
+            super(poolSize, poolSize, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, queue,
+                    new PromiseThreadFactory(name), new PolicyRejectedExecutionHandler());
+        }
+
+        @Override
+        protected void beforeExecute(Thread t, Runnable r) {
+            if (r instanceof PromiseTask) {
+                PromiseTask<?> task = (PromiseTask<?>)r;
+                task.startedNanos = System.nanoTime();
+                totalQueueWaitNanos.addAndGet(task.startedNanos - task.submittedNanos);
+            }
+        }
+
+        @Override
+        protected void afterExecute(Runnable r, Throwable t) {
+            if (r instanceof PromiseTask) {
+                long executionNanos = System.nanoTime() - ((PromiseTask<?>)r).startedNanos;
+                totalExecutionNanos.addAndGet(executionNanos);
+                long max;
+                while ((max = maxExecutionNanos.get()) < executionNanos && !maxExecutionNanos.compareAndSet(max, executionNanos)) {
+                    // retry
+                }
+            }
+            // counted last so that the averages never include a task without its time
+            executedTasks.incrementAndGet();
+        }
+    }
+
+    private class PolicyRejectedExecutionHandler implements RejectedExecutionHandler {
+        public void rejectedExecution(Runnable r, ThreadPoolExecutor pool) {
+            if (pool.isShutdown()) {
+                rejectedTasks.incrementAndGet();
+                throw new RejectedExecutionException("Executor [" + name + "] has been shut down");
+            }
+            switch (rejectionPolicy) {
+                case CALLER_RUNS:
+                    callerRunsTasks.incrementAndGet();
+                    r.run();
+                    return;
+                case BLOCK:
+                    try {
+                        if (pool.getQueue().offer(r, blockTimeout, TimeUnit.MILLISECONDS)) {
+                            return;
+                        }
+                    }
+                    catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    break;
+                default:
+                    break;
+            }
+            rejectedTasks.incrementAndGet();
+            throw new RejectedExecutionException("Queue of executor [" + name + "] is full (" + queueCapacity + " tasks)");
+        }
+    }
+
+    private static class PromiseThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger();
+        private final String prefix;
+
+        PromiseThreadFactory(String name) {
+            prefix = "grails-async-" + name + "-";
+        }
+
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, prefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2013 SpringSource
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.async.factory.executor;
+
+import groovy.lang.Closure;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * The task behind an {@link ExecutorPromise}. Callbacks registered with {@link #whenDone(Closure, Closure)}
+ * are invoked once by the thread that completes the task, or immediately if the task is already complete.
+ *
+ * @since 2.4
+ */
+public class PromiseTask<T> extends FutureTask<T> {
+    private static final Log LOG = LogFactory.getLog(PromiseTask.class);
+
+    private static final Callable<Object> UNBOUND = new Callable<Object>() {
+        public Object call() {
+            return null;
+        }
+    };
+
+    volatile long submittedNanos;
+    volatile long startedNanos;
+
+    // null once the task is done
+    private List<Callback> callbacks = new ArrayList<Callback>(2);
+
+    public PromiseTask(Callable<T> callable) {
+        super(callable);
+    }
+
+    /**
+     * Creates a task that isn't executed but completed with {@link #bind(Object)} or {@link #bindError(Throwable)}
+     *
+     * @return The task
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PromiseTask<T> createUnbound() {
+        return new PromiseTask<T>((Callable<T>)UNBOUND);
+    }
+
+    /**
+     * Completes the task with a value, does nothing if the task is already complete
+     *
+     * @param value The value
+     */
+    public void bind(T value) {
+        set(value);
+    }
+
+    /**
+     * Completes the task with an error, does nothing if the task is already complete
+     *
+     * @param error The error
+     */
+    public void bindError(Throwable error) {
+        setException(error);
+    }
+
+    /**
+     * Registers callbacks for the completion of the task
+     *
+     * @param onValue Called with the value, can be null
+     * @param onError Called with the error, can be null
+     */
+    public void whenDone(Closure<?> onValue, Closure<?> onError) {
+        Callback callback = new Callback(onValue, onError);
+        synchronized (this) {
+            if (callbacks != null) {
+                callbacks.add(callback);
+                return;
+            }
+        }
+        invoke(callback);
+    }
+
+    @Override
+    protected void done() {
+        List<Callback> toInvoke;
+        synchronized (this) {
+            toInvoke = callbacks;
+            callbacks = null;
+        }
+        for (Callback callback : toInvoke) {
+            invoke(callback);
+        }
+    }
+
+    private void invoke(Callback callback) {
+        T value = null;
+        Throwable error = null;
+        try {
+            value = get();
+        }
+        catch (ExecutionException e) {
+            error = e.getCause();
+        }
+        catch (CancellationException e) {
+            error = e;
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error = e;
+        }
+
+        try {
+            if (error == null) {
+                if (callback.onValue != null) {
+                    callback.onValue.call(value);
+                }
+            }
+            else if (callback.onError != null) {
+                callback.onError.call(error);
+            }
+        }
+        catch (Throwable e) {
+            LOG.error("Error invoking promise callback: " + e.getMessage(), e);
+        }
+    }
+
+    private static final class Callback {
+        final Closure<?> onValue;
+        final Closure<?> onError;
+
+        Callback(Closure<?> onValue, Closure<?> onError) {
+            this.onValue = onValue;
+            this.onError = onError;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2013 SpringSource
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.async.factory.executor;
+
+/**
+ * What a {@link PromiseExecutor} does with a task when all its threads are busy and its queue is full
+ *
+ * @since 2.4
+ */
+public enum RejectionPolicy {
+    /**
+     * Runs the task in the thread that created the promise, which slows down the producer of tasks
+     */
+    CALLER_RUNS,
+    /**
+     * Throws a {@link java.util.concurrent.RejectedExecutionException} to the creator of the promise
+     */
+    FAIL_FAST,
+    /**
+     * Blocks the creator of the promise until there is space in the queue, throwing a
+     * {@link java.util.concurrent.RejectedExecutionException} if the block timeout elapses first
+     */
+    BLOCK
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2013 SpringSource
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package grails.async
+
+import org.grails.async.decorator.PromiseDecorator
+import org.grails.async.factory.executor.ExecutorPromiseFactory
+import org.grails.async.factory.executor.PromiseExecutor
+import org.grails.async.factory.executor.RejectionPolicy
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+
+/**
+ * @since 2.4
+ */
+class ExecutorPromiseFactorySpec extends Specification {
+
+    ExecutorPromiseFactory factory
+
+    void setup() {
+        factory = new ExecutorPromiseFactory(new PromiseExecutor("test", 2, 10, RejectionPolicy.CALLER_RUNS))
+        Promises.promiseFactory = factory
+    }
+
+    void cleanup() {
+        Promises.promiseFactory = null
+        factory.shutdown()
+    }
+
+    void "Test task executes in a pool thread"() {
+        when:"A task is created"
+        def promise = Promises.task { Thread.currentThread().name }
+
+        then:"It is executed by the executor"
+        promise.get().startsWith('grails-async-test-')
+    }
+
+    void "Test add promise decorator"() {
+        when:"A decorator is added"
+        def decorator = { Closure c ->
+            return { "*${c.call(*it)}*" }
+        } as PromiseDecorator
+
+        def p = Promises.createPromise( { 10 }, [decorator] )
+
+        then:"The result is decorated"
+        p.get() == "*10*"
+    }
+
+    void "Test promise map and list handling"() {
+        when:"A promise map and list are created"
+        def map = Promises.createPromise(one: { 1 }, two: { 1 + 1 }, four:{2 * 2})
+        def list = Promises.createPromise({ 1 + 1 }, { 2 + 2 })
+        def result = new CountDownLatch(1)
+        def values
+        list.onComplete { List v ->
+            values = v
+            result.countDown()
+        }
+
+        then:"The values are correct"
+        map.get() == [one: 1, two: 2, four: 4]
+        result.await(5, TimeUnit.SECONDS)
+        values == [2, 4]
+        Promises.waitAll(Promises.task { 1 }, Promises.task { 2 }, Promises.createBoundPromise(3)) == [1, 2, 3]
+    }
+
+    void "Test promise onComplete and onError handling"() {
+        when:"Promises complete with a value and an error"
+        def completed = new CountDownLatch(2)
+        def result
+        Throwable error
+        Promises.task { 1 + 1 }.onComplete { val ->
+            result = val
+            completed.countDown()
+        }
+        Promises.task { throw new RuntimeException("bad") }.onError { Throwable e ->
+            error = e
+            completed.countDown()
+        }
+
+        then:"The handlers are invoked"
+        completed.await(5, TimeUnit.SECONDS)
+        result == 2
+        error.message == "bad"
+    }
+
+    void "Test promise chaining"() {
+        when:"A promise is chained"
+        def promise = Promises.task { 1 + 1 }.then { it * 2 } then { it + 6 }
+
+        then:'the chain is executed'
+        promise.get() == 10
+
+        when:"A chained promise fails"
+        Promises.task { 1 + 1 }.then { throw new IllegalStateException("bad") }.then { it + 6 }.get()
+
+        then:"The error is rethrown"
+        thrown IllegalStateException
+    }
+
+    void "Test waitAll with timeout"() {
+        given:
+        def latch = new CountDownLatch(1)
+
+        when:"A task doesn't complete in time"
+        Promises.waitAll([Promises.task { latch.await() }], 100, TimeUnit.MILLISECONDS)
+
+        then:"A timeout exception is thrown"
+        thrown TimeoutException
+
+        cleanup:
+        latch.countDown()
+    }
+
+    void "Test caller runs policy executes tasks in the calling thread when the queue is full"() {
+        given:
+        def executor = new PromiseExecutor("small", 1, 1, RejectionPolicy.CALLER_RUNS)
+        factory.addExecutor(executor)
+        def latch = new CountDownLatch(1)
+
+        when:"More tasks than threads and queue capacity are created"
+        def running = factory.createPromise("small") { latch.await(); 'pool' }
+        def queued = factory.createPromise("small") { 'queued' }
+        def callerRuns = factory.createPromise("small") { Thread.currentThread().name }
+        latch.countDown()
+
+        then:"The last task ran in the calling thread"
+        callerRuns.get() == Thread.currentThread().name
+        running.get() == 'pool'
+        queued.get() == 'queued'
+        executor.callerRunsTasks == 1
+        executor.submittedTasks == 3
+    }
+
+    void "Test fail fast policy rejects tasks when the queue is full"() {
+        given:
+        def executor = new PromiseExecutor("failfast", 1, 1, RejectionPolicy.FAIL_FAST)
+        factory.addExecutor(executor)
+        def latch = new CountDownLatch(1)
+        def started = new CountDownLatch(1)
+
+        when:"More tasks than threads and queue capacity are created"
+        factory.createPromise("failfast") { started.countDown(); latch.await() }
+        started.await(5, TimeUnit.SECONDS)
+        factory.createPromise("failfast") { 'queued' }
+
+        then:"The queue is full"
+        executor.queueDepth == 1
+        executor.activeThreads == 1
+
+        when:
+        factory.createPromise("failfast") { 'rejected' }
+
+        then:"The task is rejected"
+        thrown RejectedExecutionException
+        executor.rejectedTasks == 1
+
+        cleanup:
+        latch.countDown()
+    }
+
+    void "Test block policy waits for space in the queue"() {
+        given:
+        def executor = new PromiseExecutor("block", 1, 1, RejectionPolicy.BLOCK, 100)
+        factory.addExecutor(executor)
+        def latch = new CountDownLatch(1)
+
+        when:"The queue stays full for longer than the block timeout"
+        factory.createPromise("block") { latch.await() }
+        factory.createPromise("block") { 'queued' }
+        long start = System.currentTimeMillis()
+        factory.createPromise("block") { 'rejected' }
+
+        then:"The task is rejected after the timeout"
+        thrown RejectedExecutionException
+        System.currentTimeMillis() - start >= 90
+
+        when:"Space becomes available while blocking"
+        latch.countDown()
+        def promise = factory.createPromise("block") { 'accepted' }
+
+        then:"The task is accepted"
+        promise.get() == 'accepted'
+    }
+
+    void "Test executor metrics"() {
+        when:"Tasks are executed"
+        Promises.waitAll((1..5).collect { n -> Promises.task { sleep 10; n } })
+        def executor = factory.getExecutor(ExecutorPromiseFactory.DEFAULT_EXECUTOR)
+
+        then:"The metrics are recorded"
+        executor.submittedTasks == 5
+        // the metrics of a task are recorded after its promise is bound
+        eventually { executor.executedTasks + executor.callerRunsTasks == 5 }
+        executor.averageExecutionMillis >= 5
+        executor.maxExecutionMillis >= executor.averageExecutionMillis
+        executor.queueDepth == 0
+        factory.executors.keySet() == [ExecutorPromiseFactory.DEFAULT_EXECUTOR] as Set
+    }
+
+    void "Test unknown executor name"() {
+        when:
+        factory.createPromise("unknown") { 1 }
+
+        then:
+        thrown IllegalArgumentException
+    }
+
+    private boolean eventually(Closure<Boolean> condition) {
+        long deadline = System.currentTimeMillis() + 5000
+        while (!condition.call() && System.currentTimeMillis() < deadline) {
+            sleep 10
+        }
+        condition.call()
+    }
+}
@@ -34,6 +34,7 @@ import org.codehaus.groovy.grails.exceptions.GrailsDomainException;
 import org.codehaus.groovy.grails.exceptions.InvalidPropertyException;
 import org.codehaus.groovy.grails.validation.ConstraintsEvaluator;
 import org.codehaus.groovy.grails.validation.DefaultConstraintEvaluator;
+import org.codehaus.groovy.grails.validation.GrailsDomainClassValidator;
 import org.springframework.context.ApplicationContext;
 import org.springframework.validation.Validator;
 
@@ -794,6 +795,9 @@ public class DefaultGrailsDomainClass extends AbstractGrailsClass implements Gra
         else {
             constraints = constraintEvaluator.evaluate(getClazz(), persistentProperties);
         }
+        if (validator instanceof GrailsDomainClassValidator) {
+            ((GrailsDomainClassValidator) validator).clearValidationPlan();
+        }
 
         // Embedded components have their own ComponentDomainClass instance which
         // won't be refreshed by the application. So, we have to do it here.
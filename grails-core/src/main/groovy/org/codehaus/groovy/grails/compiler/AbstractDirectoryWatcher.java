@@ -0,0 +1,130 @@
+/*
+ * Copyright 2013 SpringSource
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.compiler;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.codehaus.groovy.grails.compiler.DirectoryWatcher.FileChangeListener;
+import org.springframework.util.StringUtils;
+
+/**
+ * Base class of the strategies used by {@link DirectoryWatcher} to detect changes.
+ *
+ * @since 2.4
+ */
+abstract class AbstractDirectoryWatcher implements Runnable {
+
+    protected Collection<String> extensions = new ConcurrentLinkedQueue<String>();
+    protected Map<File, Collection<String>> directoryToExtensionsMap = new ConcurrentHashMap<File, Collection<String>>();
+    private List<FileChangeListener> listeners = new CopyOnWriteArrayList<FileChangeListener>();
+    protected volatile boolean active = true;
+    protected long sleepTime = 3000;
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public void setSleepTime(long sleepTime) {
+        this.sleepTime = sleepTime;
+    }
+
+    public void addListener(FileChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Adds a file to the watch list
+     *
+     * @param fileToWatch The file to watch
+     */
+    public abstract void addWatchFile(File fileToWatch);
+
+    /**
+     * Adds a directory to watch for the given file and extensions.
+     *
+     * @param dir The directory
+     * @param fileExtensions The extensions, without a starting dot
+     */
+    public abstract void addWatchDirectory(File dir, List<String> fileExtensions);
+
+    protected void trackDirectoryExtensions(File dir, List<String> fileExtensions) {
+        Collection<String> existingExtensions = directoryToExtensionsMap.get(dir);
+        if (existingExtensions == null) {
+            directoryToExtensionsMap.put(dir, new ArrayList<String>(fileExtensions));
+        }
+        else {
+            existingExtensions.addAll(fileExtensions);
+        }
+    }
+
+    /**
+     * The extensions to watch in a directory, a sub directory of a watched directory
+     * uses the extensions of all watched directories.
+     */
+    protected Collection<String> getExtensionsForDirectory(File directory) {
+        Collection<String> directoryExtensions = directoryToExtensionsMap.get(directory);
+        return directoryExtensions == null ? extensions : directoryExtensions;
+    }
+
+    protected void fireOnChange(File file) {
+        for (FileChangeListener listener : listeners) {
+            listener.onChange(file);
+        }
+    }
+
+    protected void fireOnNew(File file) {
+        for (FileChangeListener listener : listeners) {
+            listener.onNew(file);
+        }
+    }
+
+    protected void addExtensions(Collection<String> toAdd) {
+        for (String extension : toAdd) {
+            extension = removeStartingDotIfPresent(extension);
+            if (!extensions.contains(extension)) {
+                extensions.add(extension);
+            }
+        }
+    }
+
+    static String removeStartingDotIfPresent(String extension) {
+        if (extension.startsWith(".")) {
+            extension = extension.substring(1);
+        }
+        return extension;
+    }
+
+    protected boolean isWatchedDirectory(File dir) {
+        return !dir.isHidden() && !DirectoryWatcher.SVN_DIR_NAME.equals(dir.getName());
+    }
+
+    protected boolean isValidFileToMonitor(File file, Collection<String> fileExtensions) {
+        String name = file.getName();
+        String path = file.getAbsolutePath();
+        boolean isSvnFile = path.indexOf(File.separator + DirectoryWatcher.SVN_DIR_NAME + File.separator) > 0;
+        return !isSvnFile &&
+                !file.isHidden() &&
+                !file.getName().startsWith(".") &&
+                (fileExtensions.contains("*") || fileExtensions.contains(StringUtils.getFilenameExtension(name)));
+    }
+}
@@ -19,33 +19,61 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.StringUtils;
 
 /**
  * Utility class to watch directories for changes.
  *
+ * On Java 7 and above changes are detected with a java.nio.file.WatchService, otherwise
+ * and on Mac OS X, where the WatchService of the JDK polls, the last modified times of
+ * the watched files are polled. Set the system property {@value #POLLING_PROPERTY}
+ * to true to always poll.
+ *
  * @author Graeme Rocher
  * @since 2.0
  */
 public class DirectoryWatcher extends Thread {
 
     public static final String SVN_DIR_NAME = ".svn";
-    protected Collection<String> extensions = new ConcurrentLinkedQueue<String>();
-    private List<FileChangeListener> listeners = new ArrayList<FileChangeListener>();
+    public static final String POLLING_PROPERTY = "grails.watch.polling";
+
+    private static final Log LOG = LogFactory.getLog(DirectoryWatcher.class);
+    private static final String WATCH_SERVICE_CLASS = "java.nio.file.WatchService";
+    private static final String WATCH_SERVICE_WATCHER_CLASS = "org.codehaus.groovy.grails.compiler.WatchServiceDirectoryWatcher";
 
-    private Map<File, Long> lastModifiedMap = new ConcurrentHashMap<File, Long>();
-    private Map<File, Collection<String>> directoryToExtensionsMap = new ConcurrentHashMap<File, Collection<String>>();
-    private Map<File, Long> directoryWatch = new ConcurrentHashMap<File, Long>();
-    private boolean active = true;
-    private long sleepTime = 3000;
+    /**
+     * @deprecated The extensions are tracked by the strategy detecting the changes, this is its collection
+     */
+    @Deprecated
+    protected Collection<String> extensions;
+
+    private final AbstractDirectoryWatcher directoryWatcher;
 
     public DirectoryWatcher() {
         setDaemon(true);
+        directoryWatcher = createDirectoryWatcher();
+        extensions = directoryWatcher.extensions;
+    }
+
+    private static AbstractDirectoryWatcher createDirectoryWatcher() {
+        ClassLoader classLoader = DirectoryWatcher.class.getClassLoader();
+        if (!Boolean.getBoolean(POLLING_PROPERTY) && !isMacOs() && ClassUtils.isPresent(WATCH_SERVICE_CLASS, classLoader)) {
+            try {
+                return (AbstractDirectoryWatcher)ClassUtils.forName(WATCH_SERVICE_WATCHER_CLASS, classLoader).newInstance();
+            }
+            catch (Throwable e) {
+                LOG.warn("Cannot create a WatchService, falling back to polling for changes: " + e.getMessage());
+            }
+        }
+        return new PollingDirectoryWatcher();
+    }
+
+    private static boolean isMacOs() {
+        return System.getProperty("os.name", "").toLowerCase().startsWith("mac");
     }
 
     /**
@@ -54,7 +82,7 @@ public class DirectoryWatcher extends Thread {
      * @param active False if you want to stop watching
      */
     public void setActive(boolean active) {
-        this.active = active;
+        directoryWatcher.setActive(active);
     }
 
     /**
@@ -63,7 +91,7 @@ public class DirectoryWatcher extends Thread {
      * @param sleepTime The sleep time
      */
     public void setSleepTime(long sleepTime) {
-        this.sleepTime = sleepTime;
+        directoryWatcher.setSleepTime(sleepTime);
     }
 
     /**
@@ -72,7 +100,7 @@ public class DirectoryWatcher extends Thread {
      * @param listener The file listener
      */
     public void addListener(FileChangeListener listener) {
-        listeners.add(listener);
+        directoryWatcher.addListener(listener);
     }
 
     /**
@@ -81,7 +109,7 @@ public class DirectoryWatcher extends Thread {
      * @param fileToWatch The file to watch
      */
     public void addWatchFile(File fileToWatch) {
-        lastModifiedMap.put(fileToWatch, fileToWatch.lastModified());
+        directoryWatcher.addWatchFile(fileToWatch);
     }
 
     /**
@@ -91,18 +119,16 @@ public class DirectoryWatcher extends Thread {
      * @param fileExtensions The extensions
      */
     public void addWatchDirectory(File dir, List<String> fileExtensions) {
-        trackDirectoryExtensions(dir, fileExtensions);
-        cacheFilesForDirectory(dir, fileExtensions, false);
+        directoryWatcher.addWatchDirectory(dir, fileExtensions);
     }
 
+    /**
+     * @deprecated The extensions of a directory are tracked by the strategy detecting the changes,
+     * {@link #addWatchDirectory(File, List)} no longer calls this method
+     */
+    @Deprecated
     protected void trackDirectoryExtensions(File dir, List<String> fileExtensions) {
-        Collection<String> existingExtensions = directoryToExtensionsMap.get(dir);
-        if(existingExtensions == null) {
-            directoryToExtensionsMap.put(dir, new ArrayList<String>(fileExtensions));
-        }
-        else {
-            existingExtensions.addAll(fileExtensions);
-        }
+        directoryWatcher.trackDirectoryExtensions(dir, fileExtensions);
     }
 
     /**
@@ -112,7 +138,7 @@ public class DirectoryWatcher extends Thread {
      * @param extension The extension
      */
     public void addWatchDirectory(File dir, String extension) {
-        extension = removeStartingDotIfPresent(extension);
+        extension = AbstractDirectoryWatcher.removeStartingDotIfPresent(extension);
         List<String> fileExtensions = new ArrayList<String>();
         if (!StringUtils.hasText(extension)) {
             fileExtensions.add("*");
@@ -120,8 +146,14 @@ public class DirectoryWatcher extends Thread {
         else {
             fileExtensions.add(extension);
         }
-        trackDirectoryExtensions(dir, fileExtensions);
-        cacheFilesForDirectory(dir, fileExtensions, false);
+        directoryWatcher.addWatchDirectory(dir, fileExtensions);
+    }
+
+    /**
+     * @return Whether changes are detected by polling the file system
+     */
+    public boolean isPolling() {
+        return directoryWatcher instanceof PollingDirectoryWatcher;
     }
 
     /**
@@ -145,99 +177,6 @@ public class DirectoryWatcher extends Thread {
 
     @Override
     public void run() {
-        int count = 0;
-        while (active) {
-            Set<File> files = lastModifiedMap.keySet();
-            for (File file : files) {
-                long currentLastModified = file.lastModified();
-                Long cachedTime = lastModifiedMap.get(file);
-                if (currentLastModified > cachedTime) {
-                    lastModifiedMap.put(file, currentLastModified);
-                    fireOnChange(file);
-                }
-            }
-            try {
-                count++;
-                if (count > 2) {
-                    count = 0;
-                    checkForNewFiles();
-                }
-                sleep(sleepTime);
-            } catch (InterruptedException e) {
-                // ignore
-            }
-        }
-    }
-
-    private void fireOnChange(File file) {
-        for (FileChangeListener listener : listeners) {
-            listener.onChange(file);
-        }
-    }
-
-    private void checkForNewFiles() {
-        for (File directory : directoryWatch.keySet()) {
-            final Long currentTimestamp = directoryWatch.get(directory);
-
-            if (currentTimestamp < directory.lastModified()) {
-                Collection<String> extensions = directoryToExtensionsMap.get(directory);
-                if (extensions == null) {
-                    extensions = this.extensions;
-                }
-                cacheFilesForDirectory(directory, extensions, true);
-            }
-        }
-    }
-
-    private void cacheFilesForDirectory(File directory, Collection<String> fileExtensions, boolean fireEvent) {
-        addExtensions(fileExtensions);
-
-        directoryWatch.put(directory, directory.lastModified());
-        File[] files = directory.listFiles();
-        if (files == null) {
-            return;
-        }
-
-        for (File file : files) {
-            if (file.isDirectory() && !file.isHidden()) {
-                if (!SVN_DIR_NAME.equals(file.getName())) {
-                    cacheFilesForDirectory(file, fileExtensions, fireEvent);
-                }
-            }
-            else if (isValidFileToMonitor(file, fileExtensions)) {
-                if (!lastModifiedMap.containsKey(file) && fireEvent) {
-                    for (FileChangeListener listener : listeners) {
-                        listener.onNew(file);
-                    }
-                }
-                lastModifiedMap.put(file, file.lastModified());
-            }
-        }
-    }
-
-    private void addExtensions(Collection<String> toAdd) {
-        for (String extension : toAdd) {
-            extension = removeStartingDotIfPresent(extension);
-            if (!extensions.contains(extension)) {
-                extensions.add(extension);
-            }
-        }
-    }
-
-    private String removeStartingDotIfPresent(String extension) {
-        if (extension.startsWith(".")) {
-            extension = extension.substring(1);
-        }
-        return extension;
-    }
-
-    private boolean isValidFileToMonitor(File file, Collection<String> fileExtensions) {
-        String name = file.getName();
-        String path = file.getAbsolutePath();
-        boolean isSvnFile = path.indexOf(File.separator + SVN_DIR_NAME + File.separator) > 0;
-        return !isSvnFile &&
-                !file.isHidden() &&
-                !file.getName().startsWith(".") &&
-                (fileExtensions.contains("*") || fileExtensions.contains(StringUtils.getFilenameExtension(name)));
+        directoryWatcher.run();
     }
 }
@@ -418,12 +418,14 @@ class GrailsProjectCompiler extends BaseSettingsApi{
         ant.taskdef (name: 'gspc', classname : 'org.codehaus.groovy.grails.web.pages.GroovyPageCompilerTask')
         // compile gsps in grails-app/views directory
         File gspTmpDir = new File(buildSettings.projectWorkDir, "gspcompile")
+        int gspCompileThreads = getGspCompileThreads()
         ant.gspc(destdir:classesDir,
                  srcdir:"${basedir}/grails-app/views",
                  packagename:GrailsNameUtils.getPropertyNameForLowerCaseHyphenSeparatedName(grailsAppName),
                  serverpath:"/WEB-INF/grails-app/views/",
                  classpathref:"grails.compile.classpath",
-                 tmpdir:gspTmpDir)
+                 tmpdir:gspTmpDir,
+                 threads:gspCompileThreads)
 
         // compile gsps in web-app directory
         ant.gspc(destdir:classesDir,
@@ -431,7 +433,8 @@ class GrailsProjectCompiler extends BaseSettingsApi{
                  packagename: GrailsNameUtils.getPropertyNameForLowerCaseHyphenSeparatedName(grailsAppName) + "_webapp",
                  serverpath:"/",
                  classpathref:"grails.compile.classpath",
-                 tmpdir:gspTmpDir)
+                 tmpdir:gspTmpDir,
+                 threads:gspCompileThreads)
 
         // compile views in plugins
         def pluginInfos = pluginSettings.compileScopePluginInfo.pluginInfos
@@ -445,12 +448,22 @@ class GrailsProjectCompiler extends BaseSettingsApi{
                              packagename:GrailsNameUtils.getPropertyNameForLowerCaseHyphenSeparatedName(info.name),
                              serverpath:viewPrefix,
                              classpathref:"grails.compile.classpath",
-                             tmpdir:gspTmpDir)
+                             tmpdir:gspTmpDir,
+                             threads:gspCompileThreads)
                 }
             }
         }
     }
 
+    /**
+     * The number of threads used to compile GSP pages, defined by the 'grails.project.gsp.compile.threads'
+     * option in BuildConfig. Defaults to 1.
+     */
+    int getGspCompileThreads() {
+        def threads = buildSettings.config?.grails?.project?.gsp?.compile?.threads
+        threads instanceof Number ? ((Number)threads).intValue() : 1
+    }
+
     /**
      * Compiles a given plugin descriptor file - *GrailsPlugin.groovy.
      */
@@ -25,11 +25,13 @@ import java.io.File;
 import java.io.IOException;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang.StringUtils;
@@ -53,6 +55,9 @@ import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 /**
  * A ReloadableResourceBundleMessageSource that is capable of loading message sources from plugins.
  *
+ * When the bundles are reloadable, the plugin messages of a locale are kept in a {@link PluginMessageIndex}
+ * that merges the source and binary plugin bundles and is replaced once one of the bundles has changed.
+ *
  * @author Graeme Rocher
  * @since 1.1
  */
@@ -69,6 +74,8 @@ public class PluginAwareResourceBundleMessageSource extends ReloadableResourceBu
     private ResourceLoader localResourceLoader;
     private PathMatchingResourcePatternResolver resourceResolver;
     private Map<Locale, PropertiesHolder> cachedMergedPluginProperties = new ConcurrentHashMap<Locale, PropertiesHolder>();
+    private Map<Locale, PluginMessageIndex> pluginMessageIndexes = new ConcurrentHashMap<Locale, PluginMessageIndex>();
+    private Map<Locale, List<Properties>> cachedBinaryPluginProperties = new ConcurrentHashMap<Locale, List<Properties>>();
     private int pluginCacheMillis = -1;
     private final PluginBuildSettings pluginBuildSettings = GrailsPluginUtils.getPluginBuildSettings();
 
@@ -249,73 +256,71 @@ public class PluginAwareResourceBundleMessageSource extends ReloadableResourceBu
             }
         }
         else {
-            String result = findMessageInSourcePlugins(code, locale);
-            if (result != null) return result;
-
-            result = findCodeInBinaryPlugins(code, locale);
-            if (result != null) return result;
-
+            return getPluginMessageIndex(locale).getMessage(code);
         }
         return null;
     }
 
-    private String findCodeInBinaryPlugins(String code, Locale locale) {
-        final GrailsPlugin[] allPlugins = pluginManager.getAllPlugins();
-        for (GrailsPlugin plugin : allPlugins) {
-            if (plugin instanceof BinaryGrailsPlugin) {
-                BinaryGrailsPlugin binaryPlugin = (BinaryGrailsPlugin) plugin;
-                final Properties binaryPluginProperties = binaryPlugin.getProperties(locale);
-                if (binaryPluginProperties != null) {
-                    String result = binaryPluginProperties.getProperty(code);
-                    if (result != null) return result;
-                }
-            }
+    /**
+     * Returns the index of the plugin messages for a locale, the bundles of the index are checked
+     * for changes at most once per cache interval.
+     *
+     * @param locale The locale
+     * @return The current index
+     */
+    protected PluginMessageIndex getPluginMessageIndex(Locale locale) {
+        long now = System.currentTimeMillis();
+        PluginMessageIndex index = pluginMessageIndexes.get(locale);
+        if (index != null && now - index.validatedAt < pluginCacheMillis) {
+            return index;
         }
-        return null;
-    }
 
-    private String findMessageInSourcePlugins(String code, Locale locale) {
+        List<PropertiesHolder> holders = new ArrayList<PropertiesHolder>();
         for (String pluginBaseName : pluginBaseNames) {
-            List<String> filenames = calculateAllFilenames(pluginBaseName, locale);
-            for (String filename : filenames) {
-                PropertiesHolder holder = getProperties(filename);
-                String result = holder.getProperty(code);
-                if (result != null) return result;
+            for (String filename : calculateAllFilenames(pluginBaseName, locale)) {
+                holders.add(getProperties(filename));
             }
         }
-        return null;
+        if (index != null && index.isBuiltFrom(holders)) {
+            index.validatedAt = now;
+            return index;
+        }
+
+        index = new PluginMessageIndex(locale, holders, getBinaryPluginProperties(locale), now);
+        pluginMessageIndexes.put(locale, index);
+        return index;
     }
 
-    private MessageFormat findMessageFormatInBinaryPlugins(String code, Locale locale) {
-        final GrailsPlugin[] allPlugins = pluginManager.getAllPlugins();
-        for (GrailsPlugin plugin : allPlugins) {
-            if (!(plugin instanceof BinaryGrailsPlugin)) {
-                continue;
-            }
+    /**
+     * Binary plugins are not reloaded, so their properties are only loaded once per locale.
+     */
+    private List<Properties> getBinaryPluginProperties(Locale locale) {
+        List<Properties> binaryProperties = cachedBinaryPluginProperties.get(locale);
+        if (binaryProperties != null) {
+            return binaryProperties;
+        }
 
-            BinaryGrailsPlugin binaryPlugin = (BinaryGrailsPlugin) plugin;
-            final Properties binaryPluginProperties = binaryPlugin.getProperties(locale);
-            if (binaryPluginProperties != null) {
-                String foundCode = binaryPluginProperties.getProperty(code);
-                if (foundCode != null) {
-                    MessageFormat result = new MessageFormat(foundCode, locale);
-                    if (result != null) return result;
+        binaryProperties = new ArrayList<Properties>();
+        if (pluginManager != null) {
+            for (GrailsPlugin plugin : pluginManager.getAllPlugins()) {
+                if (plugin instanceof BinaryGrailsPlugin) {
+                    Properties properties = ((BinaryGrailsPlugin)plugin).getProperties(locale);
+                    if (properties != null) {
+                        binaryProperties.add(properties);
+                    }
                 }
             }
         }
-        return null;
+        cachedBinaryPluginProperties.put(locale, binaryProperties);
+        return binaryProperties;
     }
 
-    private MessageFormat findMessageFormatInSourcePlugins(String code, Locale locale) {
-        for (String pluginBaseName : pluginBaseNames) {
-            List<String> filenames = calculateAllFilenames(pluginBaseName, locale);
-            for (String filename : filenames) {
-                PropertiesHolder holder = getProperties(filename);
-                MessageFormat result = holder.getMessageFormat(code, locale);
-                if (result != null) return result;
-            }
-        }
-        return null;
+    @Override
+    public void clearCache() {
+        super.clearCache();
+        cachedMergedPluginProperties.clear();
+        pluginMessageIndexes.clear();
+        cachedBinaryPluginProperties.clear();
     }
 
     /**
@@ -334,11 +339,7 @@ public class PluginAwareResourceBundleMessageSource extends ReloadableResourceBu
             }
         }
         else {
-            MessageFormat result = findMessageFormatInSourcePlugins(code, locale);
-            if (result != null) return result;
-
-            result = findMessageFormatInBinaryPlugins(code, locale);
-            if (result != null) return result;
+            return getPluginMessageIndex(locale).getMessageFormat(code);
         }
         return null;
     }
@@ -373,4 +374,76 @@ public class PluginAwareResourceBundleMessageSource extends ReloadableResourceBu
             resourceResolver = new PathMatchingResourcePatternResolver(localResourceLoader);
         }
     }
+
+    /**
+     * The plugin messages of a locale merged in lookup order: the source plugin bundles in the
+     * order of the plugin base names, the most specific file of a bundle first, followed by the
+     * binary plugins. The messages don't change after the index is built, an unknown code
+     * is a single lookup and message formats are created once per code.
+     */
+    protected class PluginMessageIndex {
+        private final Locale locale;
+        private final List<PropertiesHolder> holders;
+        private final Map<String, String> messages = new HashMap<String, String>();
+        private final ConcurrentMap<String, MessageFormat> messageFormats = new ConcurrentHashMap<String, MessageFormat>();
+        volatile long validatedAt;
+
+        PluginMessageIndex(Locale locale, List<PropertiesHolder> holders, List<Properties> binaryPluginProperties, long validatedAt) {
+            this.locale = locale;
+            this.holders = holders;
+            this.validatedAt = validatedAt;
+            for (PropertiesHolder holder : holders) {
+                addMessages(holder.getProperties());
+            }
+            for (Properties properties : binaryPluginProperties) {
+                addMessages(properties);
+            }
+        }
+
+        private void addMessages(Properties properties) {
+            if (properties == null) {
+                return;
+            }
+            for (String code : properties.stringPropertyNames()) {
+                if (!messages.containsKey(code)) {
+                    messages.put(code, properties.getProperty(code));
+                }
+            }
+        }
+
+        boolean isBuiltFrom(List<PropertiesHolder> currentHolders) {
+            if (currentHolders.size() != holders.size()) {
+                return false;
+            }
+            for (int i = 0; i < holders.size(); i++) {
+                PropertiesHolder current = currentHolders.get(i);
+                PropertiesHolder holder = holders.get(i);
+                // a missing bundle gets a new empty holder whenever it is refreshed
+                if (current != holder && (current.getProperties() != null || holder.getProperties() != null)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public String getMessage(String code) {
+            return messages.get(code);
+        }
+
+        public MessageFormat getMessageFormat(String code) {
+            MessageFormat messageFormat = messageFormats.get(code);
+            if (messageFormat == null) {
+                String message = messages.get(code);
+                if (message == null) {
+                    return null;
+                }
+                messageFormat = createMessageFormat(message, locale);
+                MessageFormat existing = messageFormats.putIfAbsent(code, messageFormat);
+                if (existing != null) {
+                    messageFormat = existing;
+                }
+            }
+            return messageFormat;
+        }
+    }
 }
@@ -15,10 +15,9 @@
  */
 package org.codehaus.groovy.grails.support.encoding;
 
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
 
 /**
@@ -28,14 +27,32 @@ import java.util.Set;
  * @since 2.3
  */
 public final class DefaultEncodingStateRegistry implements EncodingStateRegistry {
-    private Map<Encoder, Set<Integer>> encodingTagIdentityHashCodes = new HashMap<Encoder, Set<Integer>>();
+    // a request usually uses one or two encoders, so the sets are kept in arrays searched by identity
+    private Encoder[] encoders = new Encoder[2];
+    private IdentityHashCodeSet[] identityHashCodeSets = new IdentityHashCodeSet[2];
+    private int encoderCount;
     public static Encoder NONE_ENCODER;
 
-    private Set<Integer> getIdentityHashCodesForEncoder(Encoder encoder) {
-        Set<Integer> identityHashCodes = encodingTagIdentityHashCodes.get(encoder);
+    private IdentityHashCodeSet findIdentityHashCodesForEncoder(Encoder encoder) {
+        for (int i = 0; i < encoderCount; i++) {
+            if (encoders[i] == encoder) {
+                return identityHashCodeSets[i];
+            }
+        }
+        return null;
+    }
+
+    private IdentityHashCodeSet getIdentityHashCodesForEncoder(Encoder encoder) {
+        IdentityHashCodeSet identityHashCodes = findIdentityHashCodesForEncoder(encoder);
         if (identityHashCodes == null) {
-            identityHashCodes = new HashSet<Integer>();
-            encodingTagIdentityHashCodes.put(encoder, identityHashCodes);
+            if (encoderCount == encoders.length) {
+                encoders = Arrays.copyOf(encoders, encoderCount * 2);
+                identityHashCodeSets = Arrays.copyOf(identityHashCodeSets, encoderCount * 2);
+            }
+            identityHashCodes = new IdentityHashCodeSet();
+            encoders[encoderCount] = encoder;
+            identityHashCodeSets[encoderCount] = identityHashCodes;
+            encoderCount++;
         }
         return identityHashCodes;
     }
@@ -44,18 +61,25 @@ public final class DefaultEncodingStateRegistry implements EncodingStateRegistry
      * @see org.codehaus.groovy.grails.support.encoding.EncodingStateRegistry#getEncodingStateFor(java.lang.CharSequence)
      */
     public EncodingState getEncodingStateFor(CharSequence string) {
+        if (encoderCount == 0) {
+            return EncodingStateImpl.UNDEFINED_ENCODING_STATE;
+        }
         int identityHashCode = System.identityHashCode(string);
+        if (encoderCount == 1) {
+            return identityHashCodeSets[0].contains(identityHashCode) ? new EncodingStateImpl(encoders[0])
+                    : EncodingStateImpl.UNDEFINED_ENCODING_STATE;
+        }
         Set<Encoder> result = null;
-        for (Map.Entry<Encoder, Set<Integer>> entry : encodingTagIdentityHashCodes.entrySet()) {
-            if (entry.getValue().contains(identityHashCode)) {
+        for (int i = 0; i < encoderCount; i++) {
+            if (identityHashCodeSets[i].contains(identityHashCode)) {
                 if (result == null) {
-                    result = Collections.singleton(entry.getKey());
+                    result = Collections.singleton(encoders[i]);
                 }
                 else {
                     if (result.size() == 1) {
                         result = new HashSet<Encoder>(result);
                     }
-                    result.add(entry.getKey());
+                    result.add(encoders[i]);
                 }
             }
         }
@@ -66,7 +90,8 @@ public final class DefaultEncodingStateRegistry implements EncodingStateRegistry
      * @see org.codehaus.groovy.grails.support.encoding.EncodingStateRegistry#isEncodedWith(org.codehaus.groovy.grails.support.encoding.Encoder, java.lang.CharSequence)
      */
     public boolean isEncodedWith(Encoder encoder, CharSequence string) {
-        return getIdentityHashCodesForEncoder(encoder).contains(System.identityHashCode(string));
+        IdentityHashCodeSet identityHashCodes = findIdentityHashCodesForEncoder(encoder);
+        return identityHashCodes != null && identityHashCodes.contains(System.identityHashCode(string));
     }
 
     /* (non-Javadoc)
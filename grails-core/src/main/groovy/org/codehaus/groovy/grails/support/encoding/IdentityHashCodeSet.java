@@ -0,0 +1,109 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.support.encoding;
+
+/**
+ * Open addressing set of identity hash codes that stores the values in an int array
+ * without boxing them.
+ *
+ * Not thread safe, an {@link EncodingStateRegistry} is used by a single request.
+ *
+ * @since 2.4
+ */
+final class IdentityHashCodeSet {
+    private static final int DEFAULT_CAPACITY = 64;
+
+    // 0 marks a free slot, a zero value is tracked separately
+    private int[] slots;
+    private int size;
+    private boolean containsZero;
+
+    IdentityHashCodeSet() {
+        slots = new int[DEFAULT_CAPACITY];
+    }
+
+    boolean contains(int value) {
+        if (value == 0) {
+            return containsZero;
+        }
+        final int[] table = slots;
+        final int mask = table.length - 1;
+        for (int i = mix(value) & mask; ; i = (i + 1) & mask) {
+            int slot = table[i];
+            if (slot == value) {
+                return true;
+            }
+            if (slot == 0) {
+                return false;
+            }
+        }
+    }
+
+    boolean add(int value) {
+        if (value == 0) {
+            boolean added = !containsZero;
+            containsZero = true;
+            return added;
+        }
+        if (!insert(slots, value)) {
+            return false;
+        }
+        // keep the load factor at most 1/2 so that probe sequences stay short
+        if (++size > slots.length >> 1) {
+            rehash(slots.length << 1);
+        }
+        return true;
+    }
+
+    int size() {
+        return containsZero ? size + 1 : size;
+    }
+
+    private void rehash(int newCapacity) {
+        int[] newSlots = new int[newCapacity];
+        for (int value : slots) {
+            if (value != 0) {
+                insert(newSlots, value);
+            }
+        }
+        slots = newSlots;
+    }
+
+    private static boolean insert(int[] table, int value) {
+        final int mask = table.length - 1;
+        for (int i = mix(value) & mask; ; i = (i + 1) & mask) {
+            int slot = table[i];
+            if (slot == value) {
+                return false;
+            }
+            if (slot == 0) {
+                table[i] = value;
+                return true;
+            }
+        }
+    }
+
+    private static int mix(int value) {
+        // identity hash codes may have poor low bits, spread them (murmur3 finalizer)
+        int h = value;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -938,10 +938,10 @@ public class ConstrainedProperty {
      * @param errors The Errors instances to report errors to
      */
     public void validate(Object target, Object propertyValue, Errors errors) {
-        List<Constraint> delayedConstraints = new ArrayList<Constraint>();
+        Collection<Constraint> constraints = appliedConstraints.values();
 
-        // validate only vetoing constraints first, putting non-vetoing into delayedConstraints
-        for (Constraint c : appliedConstraints.values()) {
+        // validate only vetoing constraints first
+        for (Constraint c : constraints) {
             if (c instanceof VetoingConstraint) {
                 c.setMessageSource(messageSource);
                 // stop validation process when constraint vetoes
@@ -949,15 +949,14 @@ public class ConstrainedProperty {
                     return;
                 }
             }
-            else {
-                delayedConstraints.add(c);
-            }
         }
 
         // process non-vetoing constraints
-        for (Constraint c : delayedConstraints) {
-            c.setMessageSource(messageSource);
-            c.validate(target, propertyValue, errors);
+        for (Constraint c : constraints) {
+            if (!(c instanceof VetoingConstraint)) {
+                c.setMessageSource(messageSource);
+                c.validate(target, propertyValue, errors);
+            }
         }
     }
 
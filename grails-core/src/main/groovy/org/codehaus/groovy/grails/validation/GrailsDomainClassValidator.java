@@ -15,8 +15,12 @@
  */
 package org.codehaus.groovy.grails.validation;
 
+import grails.validation.ValidationErrors;
 import groovy.lang.GString;
 
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
@@ -24,15 +28,25 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.codehaus.groovy.grails.commons.DomainClassArtefactHandler;
 import org.codehaus.groovy.grails.commons.GrailsApplication;
 import org.codehaus.groovy.grails.commons.GrailsDomainClass;
 import org.codehaus.groovy.grails.commons.GrailsDomainClassProperty;
+import org.codehaus.groovy.grails.exceptions.GrailsRuntimeException;
 import org.codehaus.groovy.grails.plugins.support.aware.GrailsApplicationAware;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeanWrapper;
 import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.validation.Errors;
 import org.springframework.validation.FieldError;
 
@@ -40,6 +54,12 @@ import org.springframework.validation.FieldError;
  * A specialised Spring validator that validates a domain class instance using
  * the constraints defined in the static constraints closure.
  *
+ * The constrained properties, their getters and the associations to cascade to are looked up once
+ * per domain class and kept in a {@link ValidationPlan} until the constraints are refreshed.
+ *
+ * Large collections of objects can be validated with {@link #validateAll(Collection, boolean)}, which
+ * spreads the objects over the threads of the {@link #setBulkValidationExecutor(ExecutorService) bulk validation executor}.
+ *
  * @author Graeme Rocher
  * @since 0.1
  */
@@ -53,6 +73,10 @@ public class GrailsDomainClassValidator implements CascadingValidator, GrailsApp
     protected GrailsDomainClass domainClass;
     protected MessageSource messageSource;
     protected GrailsApplication grailsApplication;
+    private volatile ValidationPlan validationPlan;
+    private ExecutorService bulkValidationExecutor;
+    private int bulkValidationParallelism = Runtime.getRuntime().availableProcessors();
+    private int minBulkPartitionSize = 100;
 
     @SuppressWarnings("rawtypes")
     public boolean supports(Class clazz) {
@@ -62,45 +86,120 @@ public class GrailsDomainClassValidator implements CascadingValidator, GrailsApp
     /**
      * @see org.codehaus.groovy.grails.validation.CascadingValidator#validate(Object, org.springframework.validation.Errors, boolean)
      */
-    @SuppressWarnings({ "unchecked", "rawtypes" })
     public void validate(Object obj, Errors errors, boolean cascade) {
         if (obj == null) {
             throw new IllegalArgumentException("Argument [" + obj + "] is not an instance of [" +
                     domainClass.getClazz() + "] which this validator is configured for");
         }
 
-        BeanWrapper bean = new BeanWrapperImpl(obj);
-
-        Map constrainedProperties = domainClass.getConstrainedProperties();
-        Set<String> constrainedPropertyNames = new HashSet(constrainedProperties.keySet());
-
-        for (Object key : constrainedProperties.keySet()) {
-            String propertyName = (String) key;
-            validatePropertyWithConstraint(propertyName, obj, errors, bean, constrainedProperties);
+        ValidationPlan plan = getValidationPlan();
+        boolean readDirectly = plan.canReadDirectly(obj);
+        BeanWrapper bean = null;
+        if (!readDirectly || (cascade && plan.cascadeProperties.length > 0)) {
+            bean = new BeanWrapperImpl(obj);
         }
 
-        GrailsDomainClassProperty[] persistentProperties = domainClass.getPersistentProperties();
-
-        for (GrailsDomainClassProperty persistentProperty : persistentProperties) {
-            String propertyName = persistentProperty.getName();
+        for (PropertyValidation property : plan.constrainedProperties) {
+            validatePropertyWithConstraint(property, obj, errors, readDirectly ? null : bean);
+        }
 
-            if ((persistentProperty.isAssociation() || persistentProperty.isEmbedded()) && cascade) {
+        if (cascade) {
+            for (GrailsDomainClassProperty persistentProperty : plan.cascadeProperties) {
                 cascadeToAssociativeProperty(errors, bean, persistentProperty);
             }
-
-            // Remove this property from the set of constrained property
-            // names because we have already processed it.
-            constrainedPropertyNames.remove(propertyName);
         }
 
         // Now process the remaining constrained properties, for example any transients.
-        for (String name : constrainedPropertyNames) {
-            validatePropertyWithConstraint(name, obj, errors, bean, constrainedProperties);
+        for (PropertyValidation property : plan.nonPersistentProperties) {
+            validatePropertyWithConstraint(property, obj, errors, readDirectly ? null : bean);
         }
 
         postValidate(obj,errors);
     }
 
+    /**
+     * Validates a collection of objects, each object is validated with its own {@link ValidationErrors}.
+     *
+     * When a bulk validation executor is configured, the objects are split into partitions that are
+     * validated in parallel, the first partition in the calling thread. The objects are validated one
+     * after the other in the calling thread if there is no executor, if there are too few objects or if
+     * a constraint of the domain class, or of a domain class that validation cascades to, may not be
+     * thread-safe, for example a custom validator closure or a constraint that queries the database.
+     *
+     * Objects validated by other threads can't use the persistence session of the calling thread,
+     * parallel validation is meant for new or detached objects.
+     *
+     * @param objects The objects to validate
+     * @param cascade Whether to cascade validation to the associations
+     * @return The errors of each object, in the iteration order of the collection
+     */
+    public List<Errors> validateAll(Collection<?> objects, final boolean cascade) {
+        final Object[] targets = objects.toArray();
+        final Errors[] results = new Errors[targets.length];
+
+        ExecutorService executor = bulkValidationExecutor;
+        int partitions = Math.min(bulkValidationParallelism, targets.length / Math.max(minBulkPartitionSize, 1));
+        if (executor == null || partitions < 2 || !getValidationPlan().isThreadSafe(cascade)) {
+            validateRange(targets, results, 0, targets.length, cascade);
+            return Arrays.asList(results);
+        }
+
+        final LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+        int partitionSize = (targets.length + partitions - 1) / partitions;
+        List<Future<Object>> futures = new ArrayList<Future<Object>>(partitions);
+        try {
+            for (int start = partitionSize; start < targets.length; start += partitionSize) {
+                final int from = start;
+                final int to = Math.min(start + partitionSize, targets.length);
+                futures.add(executor.submit(new Callable<Object>() {
+                    public Object call() {
+                        LocaleContextHolder.setLocaleContext(localeContext);
+                        try {
+                            validateRange(targets, results, from, to, cascade);
+                        }
+                        finally {
+                            LocaleContextHolder.resetLocaleContext();
+                        }
+                        return null;
+                    }
+                }));
+            }
+            validateRange(targets, results, 0, Math.min(partitionSize, targets.length), cascade);
+
+            for (Future<Object> future : futures) {
+                future.get();
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GrailsRuntimeException("Interrupted while validating instances of [" + targetClass.getName() + "]", e);
+        }
+        catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new GrailsRuntimeException("Error validating instances of [" + targetClass.getName() + "]: " + cause.getMessage(), cause);
+        }
+        finally {
+            for (Future<Object> future : futures) {
+                future.cancel(true);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private void validateRange(Object[] targets, Errors[] results, int from, int to, boolean cascade) {
+        for (int i = from; i < to; i++) {
+            Errors errors = new ValidationErrors(targets[i]);
+            validate(targets[i], errors, cascade);
+            results[i] = errors;
+        }
+    }
+
     /**
      * Subclasses can overrite to provide custom handling of the errors object post validation.
      *
@@ -190,6 +289,15 @@ public class GrailsDomainClassValidator implements CascadingValidator, GrailsApp
         }
     }
 
+    private void validatePropertyWithConstraint(PropertyValidation property, Object obj, Errors errors, BeanWrapper bean) {
+        FieldError fieldError = errors.getFieldError(property.name);
+        if (fieldError == null) {
+            ConstrainedProperty c = property.constrainedProperty;
+            c.setMessageSource(messageSource);
+            c.validate(obj, bean == null ? property.getValue(obj) : bean.getPropertyValue(property.name), errors);
+        }
+    }
+
     @SuppressWarnings("rawtypes")
     private void validatePropertyWithConstraint(String propertyName, Object obj, Errors errors,
             BeanWrapper bean, Map constrainedProperties) {
@@ -315,6 +423,27 @@ public class GrailsDomainClassValidator implements CascadingValidator, GrailsApp
         return false;
     }
 
+    /**
+     * Returns the validation plan of the domain class, the plan is created on first use.
+     *
+     * @return The validation plan
+     */
+    protected ValidationPlan getValidationPlan() {
+        ValidationPlan plan = validationPlan;
+        if (plan == null) {
+            plan = new ValidationPlan(domainClass);
+            validationPlan = plan;
+        }
+        return plan;
+    }
+
+    /**
+     * Discards the validation plan, called when the constraints of the domain class have been refreshed.
+     */
+    public void clearValidationPlan() {
+        validationPlan = null;
+    }
+
     /**
      * @param domainClass The domainClass to set.
      */
@@ -322,6 +451,7 @@ public class GrailsDomainClassValidator implements CascadingValidator, GrailsApp
         this.domainClass = domainClass;
         domainClass.setValidator(this);
         targetClass = domainClass.getClazz();
+        validationPlan = null;
     }
 
     public GrailsDomainClass getDomainClass() {
@@ -338,4 +468,177 @@ public class GrailsDomainClassValidator implements CascadingValidator, GrailsApp
     public void setGrailsApplication(GrailsApplication grailsApplication) {
         this.grailsApplication = grailsApplication;
     }
+
+    /**
+     * @param bulkValidationExecutor The executor used by {@link #validateAll(Collection, boolean)}, for example
+     * a ForkJoinPool, validation stays in the calling thread if there is none
+     */
+    public void setBulkValidationExecutor(ExecutorService bulkValidationExecutor) {
+        this.bulkValidationExecutor = bulkValidationExecutor;
+    }
+
+    /**
+     * @param bulkValidationParallelism The maximum number of partitions a collection is split into, defaults to the number of processors
+     */
+    public void setBulkValidationParallelism(int bulkValidationParallelism) {
+        this.bulkValidationParallelism = bulkValidationParallelism;
+    }
+
+    /**
+     * @param minBulkPartitionSize The minimum number of objects in a partition, smaller collections are validated in the calling thread
+     */
+    public void setMinBulkPartitionSize(int minBulkPartitionSize) {
+        this.minBulkPartitionSize = minBulkPartitionSize;
+    }
+
+    /**
+     * The constrained properties of a domain class in validation order, the properties that
+     * aren't persistent are validated again after cascading, and the associations to cascade to.
+     */
+    protected static class ValidationPlan {
+        final Class<?> targetClass;
+        final PropertyValidation[] constrainedProperties;
+        final PropertyValidation[] nonPersistentProperties;
+        final GrailsDomainClassProperty[] cascadeProperties;
+        final boolean allReadable;
+        final boolean threadSafe;
+        final boolean cascadeThreadSafe;
+
+        @SuppressWarnings("rawtypes")
+        ValidationPlan(GrailsDomainClass domainClass) {
+            targetClass = domainClass.getClazz();
+            Map constrained = domainClass.getConstrainedProperties();
+            GrailsDomainClassProperty[] persistentProperties = domainClass.getPersistentProperties();
+            Set<String> persistentPropertyNames = new HashSet<String>();
+            List<GrailsDomainClassProperty> cascading = new ArrayList<GrailsDomainClassProperty>();
+            for (GrailsDomainClassProperty persistentProperty : persistentProperties) {
+                persistentPropertyNames.add(persistentProperty.getName());
+                if (persistentProperty.isAssociation() || persistentProperty.isEmbedded()) {
+                    cascading.add(persistentProperty);
+                }
+            }
+
+            List<PropertyValidation> all = new ArrayList<PropertyValidation>();
+            List<PropertyValidation> nonPersistent = new ArrayList<PropertyValidation>();
+            boolean readable = true;
+            for (Object entryObject : constrained.entrySet()) {
+                Map.Entry entry = (Map.Entry) entryObject;
+                String name = (String) entry.getKey();
+                PropertyValidation property = new PropertyValidation(name,
+                        (ConstrainedProperty) entry.getValue(), findReadMethod(targetClass, name));
+                readable &= property.readMethod != null;
+                all.add(property);
+                if (!persistentPropertyNames.contains(name)) {
+                    nonPersistent.add(property);
+                }
+            }
+
+            constrainedProperties = all.toArray(new PropertyValidation[all.size()]);
+            nonPersistentProperties = nonPersistent.toArray(new PropertyValidation[nonPersistent.size()]);
+            cascadeProperties = cascading.toArray(new GrailsDomainClassProperty[cascading.size()]);
+            allReadable = readable;
+            threadSafe = hasThreadSafeConstraints(domainClass);
+            cascadeThreadSafe = threadSafe && isCascadeThreadSafe(cascadeProperties, new HashSet<GrailsDomainClass>(Arrays.asList(domainClass)));
+        }
+
+        /**
+         * Only the constraints that come with Grails are known not to keep state during validation,
+         * a custom validator closure is shared and gets a new delegate for every call.
+         */
+        @SuppressWarnings("rawtypes")
+        private static boolean hasThreadSafeConstraints(GrailsDomainClass domainClass) {
+            for (Object constrainedProperty : domainClass.getConstrainedProperties().values()) {
+                for (Constraint constraint : ((ConstrainedProperty) constrainedProperty).getAppliedConstraints()) {
+                    if (constraint instanceof ValidatorConstraint ||
+                            !ClassUtils.getPackageName(constraint.getClass()).equals(ClassUtils.getPackageName(ConstrainedProperty.class))) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        private static boolean isCascadeThreadSafe(GrailsDomainClassProperty[] properties, Set<GrailsDomainClass> visited) {
+            for (GrailsDomainClassProperty property : properties) {
+                GrailsDomainClass associated = property.isEmbedded() ? property.getComponent() : property.getReferencedDomainClass();
+                if (associated == null) {
+                    if (!property.isBasicCollectionType()) {
+                        return false;
+                    }
+                    continue;
+                }
+                if (!isThreadSafe(associated, visited)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isThreadSafe(GrailsDomainClass domainClass, Set<GrailsDomainClass> visited) {
+            if (!visited.add(domainClass)) {
+                return true;
+            }
+            if (!hasThreadSafeConstraints(domainClass)) {
+                return false;
+            }
+            List<GrailsDomainClassProperty> associations = new ArrayList<GrailsDomainClassProperty>();
+            for (GrailsDomainClassProperty persistentProperty : domainClass.getPersistentProperties()) {
+                if (persistentProperty.isAssociation() || persistentProperty.isEmbedded()) {
+                    associations.add(persistentProperty);
+                }
+            }
+            if (!isCascadeThreadSafe(associations.toArray(new GrailsDomainClassProperty[associations.size()]), visited)) {
+                return false;
+            }
+            // instances of a sub class can be part of the association
+            for (GrailsDomainClass subClass : domainClass.getSubClasses()) {
+                if (!isThreadSafe(subClass, visited)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @return true if objects can be validated concurrently
+         */
+        boolean isThreadSafe(boolean cascade) {
+            return cascade ? cascadeThreadSafe : threadSafe;
+        }
+
+        private static Method findReadMethod(Class<?> clazz, String name) {
+            PropertyDescriptor descriptor = clazz == null ? null : BeanUtils.getPropertyDescriptor(clazz, name);
+            Method readMethod = descriptor == null ? null : descriptor.getReadMethod();
+            if (readMethod != null) {
+                ReflectionUtils.makeAccessible(readMethod);
+            }
+            return readMethod;
+        }
+
+        /**
+         * @return true if the values of all constrained properties can be read with the getters of the plan
+         */
+        boolean canReadDirectly(Object obj) {
+            return allReadable && targetClass.isInstance(obj);
+        }
+    }
+
+    /**
+     * A constrained property and its getter.
+     */
+    protected static class PropertyValidation {
+        final String name;
+        final ConstrainedProperty constrainedProperty;
+        final Method readMethod;
+
+        PropertyValidation(String name, ConstrainedProperty constrainedProperty, Method readMethod) {
+            this.name = name;
+            this.constrainedProperty = constrainedProperty;
+            this.readMethod = readMethod;
+        }
+
+        Object getValue(Object obj) {
+            return ReflectionUtils.invokeMethod(readMethod, obj);
+        }
+    }
 }
@@ -15,6 +15,9 @@
  */
 package org.codehaus.groovy.grails.validation;
 
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
 import org.springframework.validation.Errors;
 
 /**
@@ -26,6 +29,7 @@ import org.springframework.validation.Errors;
 public class MatchesConstraint extends AbstractConstraint {
 
     private String regex;
+    private Pattern pattern;
 
     /**
      * @return Returns the regex.
@@ -53,6 +57,14 @@ public class MatchesConstraint extends AbstractConstraint {
                     constraintOwningClass + "] must be of type [java.lang.String]");
         }
 
+        try {
+            pattern = Pattern.compile((String)constraintParameter);
+        }
+        catch (PatternSyntaxException e) {
+            throw new IllegalArgumentException("Parameter for constraint [" + ConstrainedProperty.MATCHES_CONSTRAINT +
+                    "] of property [" + constraintPropertyName + "] of class [" +
+                    constraintOwningClass + "] must be a valid regular expression: " + e.getMessage(), e);
+        }
         regex = (String)constraintParameter;
         super.setParameter(constraintParameter);
     }
@@ -63,7 +75,7 @@ public class MatchesConstraint extends AbstractConstraint {
 
     @Override
     protected void processValidate(Object target, Object propertyValue, Errors errors) {
-        if (propertyValue.toString().matches(regex)) {
+        if (pattern.matcher(propertyValue.toString()).matches()) {
             return;
         }
 
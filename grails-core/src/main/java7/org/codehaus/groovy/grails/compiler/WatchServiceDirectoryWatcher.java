@@ -0,0 +1,257 @@
+/*
+ * Copyright 2013 SpringSource
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.compiler;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Detects changes with a {@link WatchService}, the watched directories and all their
+ * sub directories are registered with the service.
+ *
+ * Events that arrive within {@link #setCoalesceTime(long) coalesceTime} of each other
+ * are reported together, so that a burst of changes, for example from a version control
+ * update, fires one event per file.
+ *
+ * This class requires Java 7 and is only loaded by {@link DirectoryWatcher} when it is available.
+ *
+ * @since 2.4
+ */
+class WatchServiceDirectoryWatcher extends AbstractDirectoryWatcher {
+
+    private static final Log LOG = LogFactory.getLog(WatchServiceDirectoryWatcher.class);
+    private static final long MAX_COALESCE_FACTOR = 10;
+
+    private final WatchService watchService;
+    private final Map<WatchKey, File> watchKeys = new ConcurrentHashMap<WatchKey, File>();
+    private final Map<File, Boolean> watchedTrees = new ConcurrentHashMap<File, Boolean>();
+    private final Map<File, Long> lastModifiedMap = new ConcurrentHashMap<File, Long>();
+    private long coalesceTime = 100;
+
+    WatchServiceDirectoryWatcher() throws IOException {
+        watchService = FileSystems.getDefault().newWatchService();
+    }
+
+    /**
+     * @param coalesceTime The time in milliseconds to wait for further events before the
+     * collected changes are reported
+     */
+    public void setCoalesceTime(long coalesceTime) {
+        this.coalesceTime = coalesceTime;
+    }
+
+    @Override
+    public void addWatchFile(File fileToWatch) {
+        // the file can only be watched through its directory, it is not detected if the directory is created later
+        File parent = fileToWatch.getParentFile();
+        if (parent == null) {
+            parent = fileToWatch.getAbsoluteFile().getParentFile();
+            fileToWatch = new File(parent, fileToWatch.getName());
+        }
+        lastModifiedMap.put(fileToWatch, fileToWatch.lastModified());
+        if (parent.isDirectory()) {
+            register(parent);
+        }
+    }
+
+    @Override
+    public void addWatchDirectory(File dir, List<String> fileExtensions) {
+        trackDirectoryExtensions(dir, fileExtensions);
+        registerTree(dir, fileExtensions, null);
+    }
+
+    public void run() {
+        try {
+            while (active) {
+                try {
+                    WatchKey key = watchService.poll(sleepTime, TimeUnit.MILLISECONDS);
+                    if (key == null) {
+                        continue;
+                    }
+
+                    Map<File, Boolean> changes = new LinkedHashMap<File, Boolean>();
+                    long deadline = System.currentTimeMillis() + coalesceTime * MAX_COALESCE_FACTOR;
+                    while (key != null) {
+                        processEvents(key, changes);
+                        key = System.currentTimeMillis() < deadline ? watchService.poll(coalesceTime, TimeUnit.MILLISECONDS) : null;
+                    }
+                    fireEvents(changes);
+                }
+                catch (InterruptedException e) {
+                    // ignore
+                }
+            }
+        }
+        finally {
+            try {
+                watchService.close();
+            }
+            catch (IOException e) {
+                // ignore
+            }
+        }
+    }
+
+    private void processEvents(WatchKey key, Map<File, Boolean> changes) {
+        File directory = watchKeys.get(key);
+        if (directory != null) {
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == OVERFLOW) {
+                    rescan(directory, changes);
+                    continue;
+                }
+
+                File file = new File(directory, ((Path)event.context()).toString());
+                if (file.isDirectory()) {
+                    if (event.kind() == ENTRY_CREATE && watchedTrees.containsKey(directory) && isWatchedDirectory(file)) {
+                        registerTree(file, getExtensionsForDirectory(directory), changes);
+                    }
+                }
+                else {
+                    checkFile(file, watchedTrees.containsKey(directory) ? getExtensionsForDirectory(directory) : null, changes);
+                }
+            }
+        }
+        if (!key.reset()) {
+            watchKeys.remove(key);
+        }
+    }
+
+    /**
+     * Compares a file with its last known modification time
+     *
+     * @param file The file
+     * @param fileExtensions The extensions of new files to report or null if new files in the directory are not watched
+     * @param changes The changed files collected so far, the value is true for new files
+     */
+    private void checkFile(File file, Collection<String> fileExtensions, Map<File, Boolean> changes) {
+        Long cachedTime = lastModifiedMap.get(file);
+        if (cachedTime == null) {
+            if (fileExtensions != null && file.isFile() && isValidFileToMonitor(file, fileExtensions)) {
+                lastModifiedMap.put(file, file.lastModified());
+                if (changes != null) {
+                    changes.put(file, Boolean.TRUE);
+                }
+            }
+            return;
+        }
+
+        long currentLastModified = file.lastModified();
+        if (currentLastModified > cachedTime) {
+            lastModifiedMap.put(file, currentLastModified);
+            if (changes != null && !changes.containsKey(file)) {
+                changes.put(file, Boolean.FALSE);
+            }
+        }
+    }
+
+    /**
+     * Registers a directory and its sub directories
+     *
+     * @param directory The directory
+     * @param fileExtensions The extensions to watch
+     * @param changes Collects the files of the directory as new files, null while the files are only recorded
+     */
+    private void registerTree(File directory, Collection<String> fileExtensions, Map<File, Boolean> changes) {
+        addExtensions(fileExtensions);
+        watchedTrees.put(directory, Boolean.TRUE);
+        register(directory);
+
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+
+        for (File file : files) {
+            if (file.isDirectory()) {
+                if (isWatchedDirectory(file)) {
+                    registerTree(file, fileExtensions, changes);
+                }
+            }
+            else if (!lastModifiedMap.containsKey(file)) {
+                checkFile(file, fileExtensions, changes);
+            }
+        }
+    }
+
+    /**
+     * Checks every file below a directory after the service lost events.
+     */
+    private void rescan(File directory, Map<File, Boolean> changes) {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+
+        Collection<String> fileExtensions = watchedTrees.containsKey(directory) ? getExtensionsForDirectory(directory) : null;
+        for (File file : files) {
+            if (file.isDirectory()) {
+                if (fileExtensions != null && isWatchedDirectory(file)) {
+                    if (watchedTrees.containsKey(file)) {
+                        rescan(file, changes);
+                    }
+                    else {
+                        registerTree(file, fileExtensions, changes);
+                    }
+                }
+            }
+            else {
+                checkFile(file, fileExtensions, changes);
+            }
+        }
+    }
+
+    private void register(File directory) {
+        try {
+            WatchKey key = directory.toPath().register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+            watchKeys.put(key, directory);
+        }
+        catch (IOException e) {
+            LOG.warn("Cannot watch directory [" + directory + "] for changes: " + e.getMessage());
+        }
+    }
+
+    private void fireEvents(Map<File, Boolean> changes) {
+        Set<Map.Entry<File, Boolean>> entries = changes.entrySet();
+        for (Map.Entry<File, Boolean> entry : entries) {
+            if (entry.getValue()) {
+                fireOnNew(entry.getKey());
+            }
+            else {
+                fireOnChange(entry.getKey());
+            }
+        }
+    }
+}
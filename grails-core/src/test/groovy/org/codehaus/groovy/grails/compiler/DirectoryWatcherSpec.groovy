@@ -0,0 +1,132 @@
+package org.codehaus.groovy.grails.compiler
+
+import org.codehaus.groovy.grails.compiler.DirectoryWatcher.FileChangeListener
+import org.springframework.util.ClassUtils
+
+import spock.lang.IgnoreIf
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class DirectoryWatcherSpec extends Specification {
+
+    // the WatchService of the JDK polls every few seconds on Mac OS X, DirectoryWatcher doesn't use it there
+    static final boolean IS_MAC = System.getProperty('os.name', '').toLowerCase().startsWith('mac')
+    // only compiled when the build runs on Java 7 or later
+    static final String WATCH_SERVICE_WATCHER = 'org.codehaus.groovy.grails.compiler.WatchServiceDirectoryWatcher'
+    static final boolean NO_WATCH_SERVICE = IS_MAC || !ClassUtils.isPresent(WATCH_SERVICE_WATCHER, DirectoryWatcherSpec.classLoader)
+
+    File baseDir
+    List<String> events = Collections.synchronizedList([])
+    AbstractDirectoryWatcher watcher
+
+    def setup() {
+        baseDir = File.createTempFile('watcher', 'test').canonicalFile
+        baseDir.delete()
+        new File(baseDir, 'src/pkg').mkdirs()
+        new File(baseDir, 'src/pkg/Existing.groovy').text = 'class Existing {}'
+        new File(baseDir, 'src/pkg/notes.txt').text = 'notes'
+    }
+
+    def cleanup() {
+        watcher?.active = false
+        baseDir.deleteDir()
+    }
+
+    @Unroll
+    def "new and changed files are reported with #type"() {
+        given:
+            startWatcher(type)
+            File existing = new File(baseDir, 'src/pkg/Existing.groovy')
+        when:
+            new File(baseDir, 'src/pkg/sub').mkdirs()
+            new File(baseDir, 'src/pkg/sub/Created.groovy').text = 'class Created {}'
+            new File(baseDir, 'src/pkg/other.txt').text = 'ignored'
+        then:
+            eventually { events.contains('new:src/pkg/sub/Created.groovy') }
+
+        when:
+            existing.text = 'class Existing { String name }'
+            existing.lastModified = existing.lastModified() + 2000
+        then:
+            eventually { events.contains('change:src/pkg/Existing.groovy') }
+            !events.any { it.contains('.txt') }
+
+        where:
+            type << (NO_WATCH_SERVICE ? ['polling'] : ['polling', 'watchService'])
+    }
+
+    @IgnoreIf({ DirectoryWatcherSpec.NO_WATCH_SERVICE })
+    def "a burst of changes to a file is reported once"() {
+        given:
+            startWatcher('watchService')
+            File existing = new File(baseDir, 'src/pkg/Existing.groovy')
+        when:
+            5.times { int i ->
+                existing.text = "class Existing { int i = $i }"
+                existing.lastModified = System.currentTimeMillis() + 2000 * (i + 1)
+            }
+        then:
+            eventually { events.contains('change:src/pkg/Existing.groovy') }
+            events == ['change:src/pkg/Existing.groovy']
+    }
+
+    @IgnoreIf({ DirectoryWatcherSpec.NO_WATCH_SERVICE })
+    def "individual files are watched"() {
+        given:
+            File file = new File(baseDir, 'config.properties')
+            file.text = 'a=b'
+            startWatcher('watchService') { it.addWatchFile(file) }
+        when:
+            file.text = 'a=c'
+            file.lastModified = file.lastModified() + 2000
+            new File(baseDir, 'other.properties').text = 'c=d'
+        then:
+            eventually { events.contains('change:config.properties') }
+            events == ['change:config.properties']
+    }
+
+    def "the polling backend can be forced"() {
+        given:
+            System.setProperty(DirectoryWatcher.POLLING_PROPERTY, 'true')
+        expect:
+            new DirectoryWatcher().polling
+        cleanup:
+            System.clearProperty(DirectoryWatcher.POLLING_PROPERTY)
+    }
+
+    private void startWatcher(String type, Closure configure = null) {
+        watcher = type == 'polling' ? new PollingDirectoryWatcher() : createWatchServiceWatcher()
+        watcher.sleepTime = 50
+        watcher.addListener(new FileChangeListener() {
+            void onChange(File file) { events << "change:${relativePath(file)}".toString() }
+            void onNew(File file) { events << "new:${relativePath(file)}".toString() }
+        })
+        watcher.addWatchDirectory(new File(baseDir, 'src'), ['groovy'])
+        configure?.call(watcher)
+        Thread thread = new Thread(watcher)
+        thread.daemon = true
+        thread.start()
+        Thread.sleep(200)
+    }
+
+    private AbstractDirectoryWatcher createWatchServiceWatcher() {
+        def constructor = ClassUtils.forName(WATCH_SERVICE_WATCHER, getClass().classLoader).getDeclaredConstructor()
+        constructor.accessible = true
+        constructor.newInstance()
+    }
+
+    private String relativePath(File file) {
+        (file.absolutePath - baseDir.absolutePath).substring(1).replace(File.separator, '/')
+    }
+
+    private boolean eventually(Closure<Boolean> condition) {
+        long deadline = System.currentTimeMillis() + 10000
+        while (!condition()) {
+            if (System.currentTimeMillis() > deadline) {
+                return false
+            }
+            Thread.sleep(50)
+        }
+        true
+    }
+}
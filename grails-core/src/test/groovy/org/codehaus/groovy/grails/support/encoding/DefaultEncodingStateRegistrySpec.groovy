@@ -0,0 +1,53 @@
+package org.codehaus.groovy.grails.support.encoding
+
+import spock.lang.Specification
+
+class DefaultEncodingStateRegistrySpec extends Specification {
+
+    def "identity hash code set grows and keeps its values"() {
+        given:
+            def set = new IdentityHashCodeSet()
+            def values = (1..1000).collect { it * 31 } + [0, -1, Integer.MIN_VALUE, Integer.MAX_VALUE]
+        when:
+            def added = values.collect { set.add(it) }
+        then:
+            added.every()
+            set.size() == values.size()
+            values.every { set.contains(it) }
+            !set.contains(7)
+            !set.add(0)
+            !set.add(31)
+            set.size() == values.size()
+    }
+
+    def "encoding state is tracked for a single encoder"() {
+        given:
+            def registry = new DefaultEncodingStateRegistry()
+            Encoder html = Mock(Encoder)
+            def encoded = new StringBuilder('&lt;')
+            def other = new StringBuilder('<')
+        when:
+            registry.registerEncodedWith(html, encoded)
+        then:
+            registry.isEncodedWith(html, encoded)
+            !registry.isEncodedWith(html, other)
+            registry.getEncodingStateFor(encoded).encoders == [html] as Set
+            registry.getEncodingStateFor(other).is(EncodingStateImpl.UNDEFINED_ENCODING_STATE)
+    }
+
+    def "encoding state is tracked for several encoders"() {
+        given:
+            def registry = new DefaultEncodingStateRegistry()
+            List<Encoder> encoders = (1..3).collect { Mock(Encoder) }
+            def shared = new StringBuilder('shared')
+            def single = new StringBuilder('single')
+        when:
+            encoders.each { registry.registerEncodedWith(it, shared) }
+            registry.registerEncodedWith(encoders[1], single)
+        then:
+            registry.getEncodingStateFor(shared).encoders == encoders as Set
+            registry.getEncodingStateFor(single).encoders == [encoders[1]] as Set
+            !registry.isEncodedWith(encoders[0], single)
+            !registry.isEncodedWith(Mock(Encoder), shared)
+    }
+}
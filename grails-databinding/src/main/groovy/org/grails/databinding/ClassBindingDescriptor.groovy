@@ -0,0 +1,81 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.databinding
+
+import groovy.transform.CompileStatic
+
+import java.lang.reflect.Field
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * The binding metadata of a class, computed once and reused by {@link SimpleDataBinder}
+ * for every object of the class that is bound.
+ *
+ * Property metadata is looked up lazily the first time a property is bound. Only names of
+ * existing properties are remembered so that arbitrary request parameter names don't grow
+ * the descriptor, names without a MetaProperty cost a single MetaClass lookup.
+ *
+ * A descriptor is only valid for the Class and MetaClass it was created for, a reloaded class
+ * or a replaced MetaClass gets a new descriptor.
+ *
+ * @since 2.4
+ */
+@CompileStatic
+class ClassBindingDescriptor {
+
+    final Class type
+    final MetaClass targetMetaClass
+    final Class<? extends BindingHelper> bindingHelperClass
+    private final Map<String, PropertyBindingDescriptor> properties = new ConcurrentHashMap<String, PropertyBindingDescriptor>()
+
+    ClassBindingDescriptor(Class type, MetaClass targetMetaClass) {
+        this.type = type
+        this.targetMetaClass = targetMetaClass
+        def bindUsing = (BindUsing)type.getAnnotation(BindUsing)
+        if (bindUsing != null && BindingHelper.isAssignableFrom(bindUsing.value())) {
+            bindingHelperClass = (Class<? extends BindingHelper>)bindUsing.value()
+        }
+    }
+
+    boolean isValidFor(Class type, MetaClass metaClass) {
+        this.type.is(type) && targetMetaClass.is(metaClass)
+    }
+
+    /**
+     * @param name The property name
+     * @return The metadata of the property or null if the class has no MetaProperty with the name
+     */
+    PropertyBindingDescriptor findProperty(String name) {
+        def property = properties.get(name)
+        if (property == null) {
+            def metaProperty = targetMetaClass.getMetaProperty(name)
+            if (metaProperty == null) {
+                return null
+            }
+            property = new PropertyBindingDescriptor(name, metaProperty, findDeclaredField(name))
+            properties.put(name, property)
+        }
+        property
+    }
+
+    protected Field findDeclaredField(String name) {
+        try {
+            return type.getDeclaredField(name)
+        } catch (NoSuchFieldException e) {
+            return null
+        }
+    }
+}
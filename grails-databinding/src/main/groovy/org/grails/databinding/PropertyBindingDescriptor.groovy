@@ -0,0 +1,65 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.databinding
+
+import groovy.transform.CompileStatic
+
+import java.lang.reflect.Field
+import java.lang.reflect.ParameterizedType
+import java.lang.reflect.Type
+
+/**
+ * The binding metadata of a single property of a class: the MetaProperty used to
+ * set the value, the declared field with its {@link BindUsing} and {@link BindingFormat}
+ * annotations and the element type of a parameterized collection or map.
+ *
+ * @since 2.4
+ * @see ClassBindingDescriptor
+ */
+@CompileStatic
+class PropertyBindingDescriptor {
+
+    final String name
+    final MetaProperty metaProperty
+    final Field field
+    final Class<? extends Closure> bindUsingClosureClass
+    final BindingFormat bindingFormat
+    final Class referencedType
+
+    PropertyBindingDescriptor(String name, MetaProperty metaProperty, Field field) {
+        this.name = name
+        this.metaProperty = metaProperty
+        this.field = field
+        if (field != null) {
+            def bindUsing = field.getAnnotation(BindUsing)
+            if (bindUsing != null) {
+                def valueClass = bindUsing.value()
+                if (Closure.isAssignableFrom(valueClass)) {
+                    bindUsingClosureClass = (Class<? extends Closure>)valueClass
+                }
+            } else {
+                bindingFormat = field.getAnnotation(BindingFormat)
+            }
+            def genericType = field.genericType
+            if (genericType instanceof ParameterizedType) {
+                Type typeArgument = ((ParameterizedType)genericType).getActualTypeArguments()[0]
+                if (typeArgument instanceof Class) {
+                    referencedType = (Class)typeArgument
+                }
+            }
+        }
+    }
+}
@@ -21,7 +21,8 @@ import groovy.util.slurpersupport.GPathResult
 
 import java.lang.reflect.Array
 import java.lang.reflect.Field
-import java.lang.reflect.ParameterizedType
+import java.util.concurrent.ConcurrentHashMap
+import java.util.regex.Pattern
 
 import org.grails.databinding.converters.ConversionService
 import org.grails.databinding.converters.FormattedDateValueConverter
@@ -82,6 +83,9 @@ class SimpleDataBinder implements DataBinder {
     ]
 
     static final INDEXED_PROPERTY_REGEX = /(.*)\[\s*([^\s]*)\s*\]\s*$/
+    protected static final Pattern INDEXED_PROPERTY_PATTERN = Pattern.compile((String)INDEXED_PROPERTY_REGEX)
+
+    protected final Map<String, ClassBindingDescriptor> classBindingDescriptors = new ConcurrentHashMap<String, ClassBindingDescriptor>()
 
     int autoGrowCollectionLimit = 256
 
@@ -208,8 +212,27 @@ class SimpleDataBinder implements DataBinder {
         doBind obj, source, filter, whiteList, blackList, listener, null
     }
 
+    /**
+     * Returns the binding metadata for the class of obj. Descriptors are keyed by class name and
+     * replaced when the class or its MetaClass changes, for example when a class is reloaded.
+     *
+     * @param obj The object being bound to
+     * @return The descriptor for the class of obj
+     */
+    protected ClassBindingDescriptor getClassBindingDescriptor(obj) {
+        Class type = obj.getClass()
+        MetaClass mc = obj.metaClass
+        def descriptor = classBindingDescriptors.get(type.name)
+        if (descriptor == null || !descriptor.isValidFor(type, mc)) {
+            descriptor = new ClassBindingDescriptor(type, mc)
+            classBindingDescriptors.put(type.name, descriptor)
+        }
+        descriptor
+    }
+
     protected void doBind(obj, DataBindingSource source, String filter, List whiteList, List blackList, DataBindingListener listener, errors) {
 
+        def classDescriptor = getClassBindingDescriptor(obj)
         def keys = source.getPropertyNames()
         for (String key in keys) {
             if (!filter || key.startsWith(filter + '.')) {
@@ -217,7 +240,7 @@ class SimpleDataBinder implements DataBinder {
                 if (filter) {
                     propName = key[(1+filter.size())..-1]
                 }
-                def metaProperty = obj.metaClass.getMetaProperty propName
+                def metaProperty = classDescriptor.findProperty(propName)?.metaProperty
 
                 if (metaProperty) { // normal property
                     if (isOkToBind(metaProperty.name, whiteList, blackList)) {
@@ -236,7 +259,7 @@ class SimpleDataBinder implements DataBinder {
                 } else {
                     def descriptor = getIndexedPropertyReferenceDescriptor propName
                     if (descriptor) { // indexed property
-                        metaProperty = obj.metaClass.getMetaProperty descriptor.propertyName
+                        metaProperty = classDescriptor.findProperty(descriptor.propertyName)?.metaProperty
                         if (metaProperty && isOkToBind(metaProperty.name, whiteList, blackList)) {
                             def val = source.getPropertyValue key
                             processIndexedProperty obj, metaProperty, descriptor, val, source, listener, errors
@@ -244,7 +267,7 @@ class SimpleDataBinder implements DataBinder {
                     } else if (propName.startsWith('_')) { // boolean special handling
                         def restOfPropertyName = propName[1..-1]
                         if (!source.containsProperty(restOfPropertyName)) {
-                            metaProperty = obj.metaClass.getMetaProperty restOfPropertyName
+                            metaProperty = classDescriptor.findProperty(restOfPropertyName)?.metaProperty
                             if (metaProperty && isOkToBind(restOfPropertyName, whiteList, blackList)) {
                                 if ((Boolean == metaProperty.type || Boolean.TYPE == metaProperty.type)) {
                                     bindProperty obj, source, metaProperty, false, listener, errors
@@ -263,8 +286,12 @@ class SimpleDataBinder implements DataBinder {
 
     protected IndexedPropertyReferenceDescriptor getIndexedPropertyReferenceDescriptor(propName) {
         IndexedPropertyReferenceDescriptor descriptor
-        def matcher = propName =~ INDEXED_PROPERTY_REGEX
-        if (matcher) {
+        String name = propName.toString()
+        if (name.indexOf(']') == -1) {
+            return descriptor
+        }
+        def matcher = INDEXED_PROPERTY_PATTERN.matcher(name)
+        if (matcher.find()) {
             def indexedPropertyName = matcher.group(1)
             def index = matcher.group(2)
             if (index.size() > 2 && ((index.startsWith("'") && index.endsWith("'")) || (index.startsWith('"') && index.endsWith('"')))) {
@@ -360,17 +387,7 @@ class SimpleDataBinder implements DataBinder {
     }
 
     protected Class<?> getReferencedTypeForCollection(String propertyName, Object obj) {
-        Class referencedType
-        def clazz = obj.getClass()
-        try {
-            def field = clazz.getDeclaredField(propertyName)
-            def genericType = field.genericType
-            if (genericType instanceof ParameterizedType) {
-                referencedType = ((ParameterizedType)genericType).getActualTypeArguments()[0]
-            }
-        } catch (NoSuchFieldException e) {
-        }
-        referencedType
+        getClassBindingDescriptor(obj).findProperty(propertyName)?.referencedType
     }
 
     protected boolean isOkToAddElementAt(Collection collection, int index) {
@@ -455,20 +472,14 @@ class SimpleDataBinder implements DataBinder {
     protected ValueConverter getValueConverterForField(obj, String propName) {
         def converter
         try {
-            def field = obj.getClass().getDeclaredField propName
+            def property = getClassBindingDescriptor(obj).findProperty(propName)
+            def field = property?.field
             if (field) {
-                def annotation = field.getAnnotation BindUsing
-                if (annotation) {
-                    def valueClass = annotation.value()
-                    if (Closure.isAssignableFrom(valueClass)) {
-                        Closure closure = (Closure)valueClass.newInstance(null, null)
-                        converter = new ClosureValueConverter(converterClosure: closure.curry(obj), targetType: field.type)
-                    }
-                } else {
-                    annotation = field.getAnnotation BindingFormat
-                    if (annotation) {
-                        converter = getFormattedConverter field, getFormatString(annotation)
-                    }
+                if (property.bindUsingClosureClass) {
+                    Closure closure = (Closure)property.bindUsingClosureClass.newInstance(null, null)
+                    converter = new ClosureValueConverter(converterClosure: closure.curry(obj), targetType: field.type)
+                } else if (property.bindingFormat) {
+                    converter = getFormattedConverter field, getFormatString(property.bindingFormat)
                 }
             }
         } catch (Exception e) {
@@ -482,13 +493,10 @@ class SimpleDataBinder implements DataBinder {
 
     protected ValueConverter getValueConverterForClass(obj, String propName) {
         def converter
-        def annotation = obj.getClass().getAnnotation BindUsing
-        if (annotation) {
-            def valueClass = annotation.value()
-            if (BindingHelper.isAssignableFrom(valueClass)) {
-                BindingHelper dataConverter = (BindingHelper)valueClass.newInstance()
-                converter = new ClosureValueConverter(converterClosure: { DataBindingSource it -> dataConverter.getPropertyValue(obj, propName, it) })
-            }
+        def bindingHelperClass = getClassBindingDescriptor(obj).bindingHelperClass
+        if (bindingHelperClass) {
+            BindingHelper dataConverter = bindingHelperClass.newInstance()
+            converter = new ClosureValueConverter(converterClosure: { DataBindingSource it -> dataConverter.getPropertyValue(obj, propName, it) })
         }
         converter
     }
@@ -617,7 +625,7 @@ class SimpleDataBinder implements DataBinder {
     }
 
     private void addElementsToCollection(obj, String collectionPropertyName, Collection collection, boolean removeExistingElements = false) {
-        Class propertyType = obj.metaClass.getMetaProperty(collectionPropertyName).type
+        Class propertyType = getClassBindingDescriptor(obj).findProperty(collectionPropertyName).metaProperty.type
         def referencedType = getReferencedTypeForCollection(collectionPropertyName, obj)
         def coll = initializeCollection(obj, collectionPropertyName, propertyType, !removeExistingElements)
         if (removeExistingElements == true) {
@@ -0,0 +1,134 @@
+/* Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.databinding
+
+import java.lang.reflect.Field
+
+import spock.lang.Specification
+
+class ClassBindingDescriptorSpec extends Specification {
+
+    void 'Test property metadata is computed once per class'() {
+        given:
+        def binder = new SimpleDataBinder()
+
+        when:
+        binder.bind new DescribedWidget(), new SimpleMapDataBindingSource([name: 'one', 'sizes[0]': '2', unknown: 'x'])
+        binder.bind new DescribedWidget(), new SimpleMapDataBindingSource([name: 'two'])
+        def descriptor = binder.getClassBindingDescriptor(new DescribedWidget())
+        def nameProperty = descriptor.findProperty('name')
+
+        then:
+        binder.classBindingDescriptors.size() == 1
+        descriptor.is(binder.getClassBindingDescriptor(new DescribedWidget()))
+        nameProperty.is(descriptor.findProperty('name'))
+        nameProperty.metaProperty.name == 'name'
+        descriptor.findProperty('sizes').referencedType == Integer
+        descriptor.findProperty('unknown') == null
+        !descriptor.@properties.containsKey('unknown')
+    }
+
+    void 'Test fields are only looked up for existing properties'() {
+        given:
+        def lookedUp = []
+        def descriptor = new ClassBindingDescriptor(DescribedWidget, DescribedWidget.metaClass) {
+            protected Field findDeclaredField(String name) {
+                lookedUp << name
+                super.findDeclaredField(name)
+            }
+        }
+
+        when:
+        ['controller', 'action', 'sizes[0]', '_name', 'name', 'name'].each { descriptor.findProperty(it) }
+
+        then:
+        lookedUp == ['name']
+    }
+
+    void 'Test annotations are captured in the descriptor'() {
+        given:
+        def descriptor = new ClassBindingDescriptor(DescribedWidget, DescribedWidget.metaClass)
+
+        expect:
+        descriptor.bindingHelperClass == null
+        descriptor.findProperty('code').bindUsingClosureClass != null
+        descriptor.findProperty('code').bindingFormat == null
+        descriptor.findProperty('released').bindingFormat.value() == 'MMddyyyy'
+        descriptor.findProperty('name').bindUsingClosureClass == null
+    }
+
+    void 'Test binding with cached metadata'() {
+        given:
+        def binder = new SimpleDataBinder()
+        def first = new DescribedWidget()
+        def second = new DescribedWidget()
+
+        when:
+        binder.bind first, new SimpleMapDataBindingSource([code: 'abc', released: '11151969', 'sizes[1]': '4'])
+        binder.bind second, new SimpleMapDataBindingSource([code: 'xyz', released: '07041976', 'sizes[0]': '8'])
+
+        then:
+        first.code == 'ABC'
+        first.released.format('yyyy-MM-dd') == '1969-11-15'
+        first.sizes == [null, 4]
+        second.code == 'XYZ'
+        second.released.format('yyyy-MM-dd') == '1976-07-04'
+        second.sizes == [8]
+    }
+
+    void 'Test a reloaded class gets a new descriptor'() {
+        given:
+        def binder = new SimpleDataBinder()
+        def source = '''
+            class ReloadableWidget {
+                String name
+            }
+        '''
+        def oldClass = new GroovyClassLoader().parseClass(source)
+        def newClass = new GroovyClassLoader().parseClass(source.replace('String name', 'String name\nString color'))
+
+        when:
+        def oldInstance = oldClass.newInstance()
+        binder.bind oldInstance, new SimpleMapDataBindingSource([name: 'old', color: 'red'])
+        def newInstance = newClass.newInstance()
+        binder.bind newInstance, new SimpleMapDataBindingSource([name: 'new', color: 'blue'])
+
+        then:
+        oldInstance.name == 'old'
+        newInstance.name == 'new'
+        newInstance.color == 'blue'
+        binder.classBindingDescriptors['ReloadableWidget'].type.is(newClass)
+    }
+
+    void 'Test indexed property names are parsed without the regex for plain names'() {
+        given:
+        def binder = new SimpleDataBinder()
+
+        expect:
+        binder.getIndexedPropertyReferenceDescriptor('name') == null
+        binder.getIndexedPropertyReferenceDescriptor('sizes[ 3 ]').propertyName == 'sizes'
+        binder.getIndexedPropertyReferenceDescriptor('sizes[ 3 ]').index == '3'
+        binder.getIndexedPropertyReferenceDescriptor("map['key']").index == 'key'
+    }
+}
+
+class DescribedWidget {
+    String name
+    @BindUsing({ obj, source -> source['code']?.toUpperCase() })
+    String code
+    @BindingFormat('MMddyyyy')
+    Date released
+    List<Integer> sizes
+}
@@ -33,11 +33,70 @@ import org.codehaus.groovy.grails.support.encoding.StreamingEncoder;
  */
 public abstract class AbstractCharReplacementEncoder implements Encoder, StreamingEncoder {
     protected CodecIdentifier codecIdentifier;
+    private String[] replacements;
+    private char[][] replacementChars;
 
     public AbstractCharReplacementEncoder(CodecIdentifier codecIdentifier) {
         this.codecIdentifier = codecIdentifier;
     }
 
+    /**
+     * Precomputes the replacements of the characters below tableSize with {@link #escapeCharacter(char, char)}.
+     * Encoding then scans ahead for the next character that has to be escaped and appends the
+     * unescaped runs in bulk.
+     *
+     * The escaping implemented by owner must not depend on the previous character and characters
+     * at or above tableSize must never be escaped. The table isn't used when a subclass of owner
+     * overrides escapeCharacter.
+     *
+     * @param owner the class whose escapeCharacter implementation is tabulated
+     * @param tableSize the number of characters in the table
+     */
+    protected void initializeReplacementTable(Class<? extends AbstractCharReplacementEncoder> owner, int tableSize) {
+        if (overridesEscapeCharacter(owner)) {
+            return;
+        }
+        String[] table = new String[tableSize];
+        char[][] tableChars = new char[tableSize][];
+        for (int i = 0; i < tableSize; i++) {
+            String escaped = escapeCharacter((char)i, (char)0);
+            if (escaped != null) {
+                table[i] = escaped;
+                tableChars[i] = escaped.toCharArray();
+            }
+        }
+        replacements = table;
+        replacementChars = tableChars;
+    }
+
+    private boolean overridesEscapeCharacter(Class<?> owner) {
+        for (Class<?> c = getClass(); c != owner && c != null; c = c.getSuperclass()) {
+            try {
+                c.getDeclaredMethod("escapeCharacter", char.class, char.class);
+                return true;
+            }
+            catch (NoSuchMethodException e) {
+                // not overridden in this class
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the index of the next character in the range that has to be escaped, end if there is none
+     */
+    private int nextEscapedIndex(CharSequence str, int start, int end) {
+        final String[] table = replacements;
+        final int tableSize = table.length;
+        for (int i = start; i < end; i++) {
+            char ch = str.charAt(i);
+            if (ch < tableSize && table[ch] != null) {
+                return i;
+            }
+        }
+        return end;
+    }
+
     /**
      * Escape the character, return null if no replacement has to be made
      *
@@ -76,6 +135,10 @@ public abstract class AbstractCharReplacementEncoder implements Encoder, Streami
             return str;
         }
 
+        if (replacements != null) {
+            return encodeWithReplacementTable(str);
+        }
+
         StringBuilder sb = null;
         int n = str.length(), i;
         int startPos = -1;
@@ -111,6 +174,30 @@ public abstract class AbstractCharReplacementEncoder implements Encoder, Streami
         }
     }
 
+    private Object encodeWithReplacementTable(CharSequence str) {
+        int n = str.length();
+        int i = nextEscapedIndex(str, 0, n);
+        if (i == n) {
+            return str;
+        }
+        // copy once so that the unescaped runs can be appended with array copies
+        char[] chars = str.toString().toCharArray();
+        StringBuilder sb = new StringBuilder(n * 110 / 100);
+        int startPos = 0;
+        while (i < n) {
+            if (i > startPos) {
+                sb.append(chars, startPos, i - startPos);
+            }
+            sb.append(replacementChars[chars[i]]);
+            startPos = i + 1;
+            i = nextEscapedIndex(str, startPos, n);
+        }
+        if (n > startPos) {
+            sb.append(chars, startPos, n - startPos);
+        }
+        return sb.toString();
+    }
+
     /* (non-Javadoc)
      * @see org.codehaus.groovy.grails.support.encoding.StreamingEncoder#encodeToStream(org.codehaus.groovy.grails.support.encoding.Encoder, java.lang.CharSequence, int, int, org.codehaus.groovy.grails.support.encoding.EncodedAppender, org.codehaus.groovy.grails.support.encoding.EncodingState)
      */
@@ -120,6 +207,10 @@ public abstract class AbstractCharReplacementEncoder implements Encoder, Streami
             return;
         }
         int n = Math.min(str.length(), off + len);
+        if (replacements != null) {
+            encodeToStreamWithReplacementTable(thisInstance, str, off, n, appender, encodingState);
+            return;
+        }
         int i;
         int startPos = -1;
         char prevChar = (char)0;
@@ -145,6 +236,26 @@ public abstract class AbstractCharReplacementEncoder implements Encoder, Streami
         }
     }
 
+    private void encodeToStreamWithReplacementTable(Encoder thisInstance, CharSequence str, int off, int n,
+            EncodedAppender appender, EncodingState encodingState) throws IOException {
+        int startPos = off;
+        int i = nextEscapedIndex(str, off, n);
+        while (i < n) {
+            if (i > startPos) {
+                appender.appendEncoded(thisInstance, encodingState, str, startPos, i - startPos);
+            }
+            String escaped = replacements[str.charAt(i)];
+            if (escaped.length() > 0) {
+                appender.appendEncoded(thisInstance, encodingState, escaped, 0, escaped.length());
+            }
+            startPos = i + 1;
+            i = nextEscapedIndex(str, startPos, n);
+        }
+        if (n > startPos) {
+            appender.appendEncoded(thisInstance, encodingState, str, startPos, n - startPos);
+        }
+    }
+
     /* (non-Javadoc)
      * @see org.codehaus.groovy.grails.support.encoding.Encoder#markEncoded(java.lang.CharSequence)
      */
@@ -15,8 +15,8 @@
  */
 package org.codehaus.groovy.grails.plugins.codecs
 
-import org.codehaus.groovy.runtime.DefaultGroovyMethods
 import org.apache.commons.codec.binary.Base64
+import org.apache.commons.codec.binary.Base64OutputStream
 
 /**
  * A codec that encodes and decodes Objects using Base64 encoding.
@@ -34,6 +34,15 @@ class Base64Codec {
             return new String(Base64.encodeBase64(theTarget))
         }
 
+        // InputStream, File and buffer contents are encoded in chunks
+        if (StreamingCodecSupport.isStreamable(theTarget)) {
+            def encoded = new ByteArrayOutputStream()
+            def base64 = new Base64OutputStream(encoded, true, 0, null)
+            StreamingCodecSupport.writeTo(theTarget, base64, null)
+            base64.close()
+            return new String(encoded.toByteArray())
+        }
+
         return new String(Base64.encodeBase64(theTarget.toString().bytes))
     }
 
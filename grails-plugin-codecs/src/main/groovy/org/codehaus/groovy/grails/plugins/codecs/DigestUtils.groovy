@@ -17,27 +17,40 @@ package org.codehaus.groovy.grails.plugins.codecs
 
 import java.security.MessageDigest
 
+import org.codehaus.groovy.grails.plugins.codecs.StreamingCodecSupport.MessageDigestOutputStream
+
 abstract class DigestUtils {
 
-    // Digest byte[], any list/array or string into a byte[]
+    // Digest byte[], any list/array, string, InputStream, File, StreamByteBuffer or StreamCharBuffer into a byte[]
+    // InputStream, File and buffer contents are digested in chunks without reading them into memory
     static digest(String algorithm, data) {
         if (data == null) {
             return null
         }
 
-        def md = MessageDigest.getInstance(algorithm)
-        def src
-        if (data instanceof Byte[] || data instanceof byte[]) {
-            src = data
-        }
-        else if (data instanceof List || data.getClass().isArray()) {
-            src = new byte[data.size()]
-            data.eachWithIndex { v, i -> src[i] = v }
+        MessageDigest md = StreamingCodecSupport.acquireMessageDigest(algorithm)
+        try {
+            if (data instanceof byte[]) {
+                md.update((byte[])data)
+            }
+            else if (StreamingCodecSupport.isStreamable(data)) {
+                StreamingCodecSupport.writeTo(data, new MessageDigestOutputStream(md), "UTF-8")
+            }
+            else if (data instanceof List || data.getClass().isArray()) {
+                byte[] src = new byte[data.size()]
+                int i = 0
+                for (v in data) {
+                    src[i++] = v
+                }
+                md.update(src)
+            }
+            else {
+                md.update(data.toString().getBytes("UTF-8")) // This probably needs to use the thread's Locale encoding
+            }
+            return md.digest()
         }
-        else {
-            src = data.toString().getBytes("UTF-8")
+        finally {
+            StreamingCodecSupport.releaseMessageDigest(md)
         }
-        md.update(src) // This probably needs to use the thread's Locale encoding
-        return md.digest()
     }
 }
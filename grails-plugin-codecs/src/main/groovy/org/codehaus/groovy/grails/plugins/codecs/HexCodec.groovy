@@ -15,11 +15,13 @@
  */
 package org.codehaus.groovy.grails.plugins.codecs
 
+import org.codehaus.groovy.grails.plugins.codecs.StreamingCodecSupport.HexOutputStream
+
 class HexCodec {
 
     static HEXDIGITS = '0123456789abcdef'
 
-    // Expects an array/list of numbers
+    // Expects an array/list of numbers, a String, InputStream, File, StreamByteBuffer or StreamCharBuffer
     static encode = { theTarget ->
         if (theTarget == null) {
             return null
@@ -29,6 +31,14 @@ class HexCodec {
         if (theTarget instanceof String) {
             theTarget = theTarget.bytes
         }
+        if (theTarget instanceof byte[]) {
+            StreamingCodecSupport.appendHex(result, (byte[])theTarget, 0, theTarget.length)
+            return result.toString()
+        }
+        if (StreamingCodecSupport.isStreamable(theTarget)) {
+            StreamingCodecSupport.writeTo(theTarget, new HexOutputStream(result), null)
+            return result.toString()
+        }
         theTarget.each() {
             result << HexCodec.HEXDIGITS[(it & 0xF0) >> 4]
             result << HexCodec.HEXDIGITS[it & 0x0F]
@@ -32,6 +32,7 @@ public class JavaScriptEncoder extends AbstractCharReplacementEncoder {
 
     public JavaScriptEncoder() {
         super(JAVASCRIPT_CODEC_IDENTIFIER);
+        initializeReplacementTable(JavaScriptEncoder.class, 128);
     }
 
     /* (non-Javadoc)
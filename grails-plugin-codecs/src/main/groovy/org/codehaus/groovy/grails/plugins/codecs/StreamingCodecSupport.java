@@ -0,0 +1,168 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.plugins.codecs;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.codehaus.groovy.grails.web.util.StreamByteBuffer;
+import org.codehaus.groovy.grails.web.util.StreamCharBuffer;
+
+/**
+ * Support for codecs that process InputStream, File, {@link StreamByteBuffer} and
+ * {@link StreamCharBuffer} input in fixed size chunks instead of reading the whole input
+ * into memory.
+ *
+ * @since 2.4
+ */
+final class StreamingCodecSupport {
+    static final int CHUNK_SIZE = 8192;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final ThreadLocal<Map<String, MessageDigest>> MESSAGE_DIGESTS = new ThreadLocal<Map<String, MessageDigest>>() {
+        @Override
+        protected Map<String, MessageDigest> initialValue() {
+            return new HashMap<String, MessageDigest>();
+        }
+    };
+
+    private StreamingCodecSupport() {
+    }
+
+    /**
+     * @return true if the data is read in chunks by {@link #writeTo(Object, OutputStream, String)}
+     */
+    static boolean isStreamable(Object data) {
+        return data instanceof InputStream || data instanceof File || data instanceof StreamByteBuffer
+                || data instanceof StreamCharBuffer;
+    }
+
+    /**
+     * Writes streamable data to the target in chunks. An InputStream is read to the end but not closed.
+     *
+     * @param data the data
+     * @param target the target
+     * @param charsetName the charset used for the characters of a StreamCharBuffer, null for the platform default
+     */
+    static void writeTo(Object data, OutputStream target, String charsetName) throws IOException {
+        if (data instanceof InputStream) {
+            copy((InputStream)data, target);
+        }
+        else if (data instanceof File) {
+            InputStream input = new FileInputStream((File)data);
+            try {
+                copy(input, target);
+            }
+            finally {
+                input.close();
+            }
+        }
+        else if (data instanceof StreamByteBuffer) {
+            ((StreamByteBuffer)data).writeTo(target);
+        }
+        else if (data instanceof StreamCharBuffer) {
+            Writer writer = charsetName != null ? new OutputStreamWriter(target, charsetName) : new OutputStreamWriter(target);
+            ((StreamCharBuffer)data).writeTo(writer);
+            writer.flush();
+        }
+        else {
+            throw new IllegalArgumentException("Cannot stream " + data.getClass().getName());
+        }
+    }
+
+    private static void copy(InputStream input, OutputStream target) throws IOException {
+        byte[] chunk = new byte[CHUNK_SIZE];
+        int count;
+        while ((count = input.read(chunk)) != -1) {
+            target.write(chunk, 0, count);
+        }
+    }
+
+    /**
+     * Takes a MessageDigest for the algorithm from the pool of the current thread. It must be
+     * handed back with {@link #releaseMessageDigest(MessageDigest)}.
+     */
+    static MessageDigest acquireMessageDigest(String algorithm) throws NoSuchAlgorithmException {
+        // removed while in use so that a nested digest of the same algorithm gets its own instance
+        MessageDigest md = MESSAGE_DIGESTS.get().remove(algorithm);
+        return md != null ? md : MessageDigest.getInstance(algorithm);
+    }
+
+    static void releaseMessageDigest(MessageDigest md) {
+        md.reset();
+        MESSAGE_DIGESTS.get().put(md.getAlgorithm(), md);
+    }
+
+    static void appendHex(StringBuilder target, byte[] bytes, int off, int len) {
+        for (int i = off; i < off + len; i++) {
+            target.append(HEX_DIGITS[(bytes[i] & 0xF0) >> 4]);
+            target.append(HEX_DIGITS[bytes[i] & 0x0F]);
+        }
+    }
+
+    /**
+     * Updates a MessageDigest with the bytes written to the stream.
+     */
+    static final class MessageDigestOutputStream extends OutputStream {
+        private final MessageDigest md;
+
+        MessageDigestOutputStream(MessageDigest md) {
+            this.md = md;
+        }
+
+        @Override
+        public void write(int b) {
+            md.update((byte)b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            md.update(b, off, len);
+        }
+    }
+
+    /**
+     * Appends the bytes written to the stream as lower case hex digits.
+     */
+    static final class HexOutputStream extends OutputStream {
+        private final StringBuilder target;
+
+        HexOutputStream(StringBuilder target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(int b) {
+            target.append(HEX_DIGITS[(b & 0xF0) >> 4]);
+            target.append(HEX_DIGITS[b & 0x0F]);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            appendHex(target, b, off, len);
+        }
+    }
+}
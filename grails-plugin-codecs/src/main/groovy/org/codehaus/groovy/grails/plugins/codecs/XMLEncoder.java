@@ -42,11 +42,12 @@ public class XMLEncoder extends AbstractCharReplacementEncoder {
     public static final CodecIdentifier XML_CODEC_IDENTIFIER=new DefaultCodecIdentifier("XML");
 
     public XMLEncoder() {
-        super(XML_CODEC_IDENTIFIER);
+        this(XML_CODEC_IDENTIFIER);
     }
 
     protected XMLEncoder(CodecIdentifier codecIdentifier) {
         super(codecIdentifier);
+        initializeReplacementTable(XMLEncoder.class, NBSP + 1);
     }
 
     /* (non-Javadoc)
@@ -0,0 +1,86 @@
+/* Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.web.codecs
+
+import org.codehaus.groovy.grails.plugins.codecs.HTMLEncoder
+import org.codehaus.groovy.grails.plugins.codecs.JavaScriptEncoder
+import org.codehaus.groovy.grails.plugins.codecs.XMLEncoder
+import org.codehaus.groovy.grails.support.encoding.EncodedAppender
+import org.codehaus.groovy.grails.support.encoding.EncodingState
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class CharReplacementTableSpec extends Specification {
+
+    @Unroll
+    def "replacement table of #encoder.codecIdentifier.codecName encoder matches escapeCharacter"(encoder) {
+        expect:
+            (0..<0x3000).every { int i ->
+                char ch = (char)i
+                String escaped = encoder.escapeCharacter(ch, (char)0)
+                encoder.encode('a' + ch + 'b') == 'a' + (escaped != null ? escaped : ch) + 'b'
+            }
+        where:
+            encoder << [new HTMLEncoder(), new XMLEncoder(), new JavaScriptEncoder()]
+    }
+
+    def "unescaped strings are returned as such"() {
+        given:
+            def encoder = new HTMLEncoder()
+            def text = 'Hello World! äöü'
+        expect:
+            encoder.encode(text).is(text)
+    }
+
+    def "adjacent escaped characters and removed control characters are encoded"() {
+        expect:
+            new HTMLEncoder().encode('<<\u0001>&') == '&lt;&lt;&gt;&amp;'
+            new JavaScriptEncoder().encode('a\r\nb\t"') == 'a\\n\\nb\\t\\u0022'
+    }
+
+    def "streaming appends unescaped runs in bulk and skips removed characters"() {
+        given:
+            def encoder = new HTMLEncoder()
+            EncodedAppender appender = Mock(EncodedAppender)
+            EncodingState encodingState = Mock(EncodingState)
+            def text = 'x<a>\u0001yz'
+        when:
+            encoder.encodeToStream(encoder, text, 1, 5, appender, encodingState)
+        then:
+            1 * appender.appendEncoded(encoder, encodingState, '&lt;', 0, 4)
+        then:
+            1 * appender.appendEncoded(encoder, encodingState, text, 2, 1)
+        then:
+            1 * appender.appendEncoded(encoder, encodingState, '&gt;', 0, 4)
+        then:
+            1 * appender.appendEncoded(encoder, encodingState, text, 5, 1)
+            0 * _
+    }
+
+    def "subclasses overriding escapeCharacter don't use the replacement table"() {
+        given:
+            def encoder = new StarXMLEncoder()
+        expect:
+            encoder.encode('a*<b') == 'a&#42;&lt;b'
+    }
+}
+
+class StarXMLEncoder extends XMLEncoder {
+    @Override
+    protected String escapeCharacter(char ch, char previousChar) {
+        ch == ('*' as char) ? '&#42;' : super.escapeCharacter(ch, previousChar)
+    }
+}
@@ -0,0 +1,75 @@
+/* Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.web.codecs
+
+import org.codehaus.groovy.grails.plugins.codecs.Base64Codec
+import org.codehaus.groovy.grails.plugins.codecs.HexCodec
+import org.codehaus.groovy.grails.plugins.codecs.MD5Codec
+import org.codehaus.groovy.grails.plugins.codecs.SHA1Codec
+import org.codehaus.groovy.grails.plugins.codecs.SHA256BytesCodec
+import org.codehaus.groovy.grails.plugins.codecs.SHA256Codec
+import org.codehaus.groovy.grails.web.util.StreamByteBuffer
+import org.codehaus.groovy.grails.web.util.StreamCharBuffer
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class StreamingCodecsSpec extends Specification {
+
+    // larger than the chunk size so that the input is processed in several chunks
+    static final String TEXT = ('Hello streaming World! ' * 1000)
+    static final byte[] BYTES = TEXT.getBytes('UTF-8')
+
+    @Unroll
+    def "#codec.simpleName encodes an InputStream like the same bytes"(Class codec) {
+        expect:
+            codec.encode(new ByteArrayInputStream(BYTES)) == codec.encode(BYTES)
+        where:
+            codec << [MD5Codec, SHA1Codec, SHA256Codec, Base64Codec, HexCodec]
+    }
+
+    @Unroll
+    def "#codec.simpleName encodes a File, StreamByteBuffer and StreamCharBuffer like the same bytes"(Class codec) {
+        given:
+            File file = File.createTempFile('streamingcodec', 'test')
+            file.deleteOnExit()
+            file.bytes = BYTES
+            def byteBuffer = new StreamByteBuffer(1024)
+            byteBuffer.outputStream.write(BYTES)
+            def charBuffer = new StreamCharBuffer(1024)
+            charBuffer.writer.write(TEXT)
+        expect:
+            codec.encode(file) == codec.encode(BYTES)
+            codec.encode(byteBuffer) == codec.encode(BYTES)
+            codec.encode(charBuffer) == codec.encode(TEXT)
+        cleanup:
+            file.delete()
+        where:
+            codec << [MD5Codec, SHA256Codec, Base64Codec, HexCodec]
+    }
+
+    def "pooled message digests are reset between uses"() {
+        expect:
+            SHA256BytesCodec.encode(BYTES) == SHA256BytesCodec.encode(new ByteArrayInputStream(BYTES))
+            SHA256Codec.encode('Hello World!') == '7f83b1657ff1fc53b92dc18148a1d65dfc2d4b1fa3d677284addd200126d9069'
+            SHA256Codec.encode('Hello World!') == '7f83b1657ff1fc53b92dc18148a1d65dfc2d4b1fa3d677284addd200126d9069'
+    }
+
+    def "lists of numbers are digested like the same bytes"() {
+        expect:
+            MD5Codec.encode([72, 105] as List) == MD5Codec.encode('Hi')
+            HexCodec.encode([72, 105]) == HexCodec.encode('Hi')
+    }
+}
@@ -21,6 +21,7 @@ import groovy.util.BuilderSupport;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PushbackInputStream;
 import java.io.Reader;
 import java.io.Writer;
@@ -35,6 +36,7 @@ import org.apache.commons.logging.LogFactory;
 import org.codehaus.groovy.grails.web.converters.AbstractConverter;
 import org.codehaus.groovy.grails.web.converters.Converter;
 import org.codehaus.groovy.grails.web.converters.ConverterUtil;
+import org.codehaus.groovy.grails.web.converters.IdentityReferenceStack;
 import org.codehaus.groovy.grails.web.converters.IncludeExcludeConverter;
 import org.codehaus.groovy.grails.web.converters.configuration.ConverterConfiguration;
 import org.codehaus.groovy.grails.web.converters.configuration.ConvertersConfigurationHolder;
@@ -51,6 +53,7 @@ import org.codehaus.groovy.grails.web.json.JSONWriter;
 import org.codehaus.groovy.grails.web.json.PathCapturingJSONWriterWrapper;
 import org.codehaus.groovy.grails.web.json.PrettyPrintJSONWriter;
 import org.codehaus.groovy.grails.web.mime.MimeType;
+import org.codehaus.groovy.grails.web.util.ChunkedUtf8Writer;
 
 /**
  * A converter that converts domain classes, Maps, Lists, Arrays, POJOs and POGOs to JSON.
@@ -67,8 +70,15 @@ public class JSON extends AbstractConverter<JSONWriter> implements IncludeExclud
     protected final ConverterConfiguration<JSON> config;
     protected final CircularReferenceBehaviour circularReferenceBehaviour;
     protected boolean prettyPrint;
+    protected boolean streaming;
     protected JSONWriter writer;
+    /**
+     * @deprecated No longer populated, the objects being marshalled are tracked by identity in a private stack.
+     * Use {@link #getDepth()} for the nesting depth.
+     */
+    @Deprecated
     protected Stack<Object> referenceStack;
+    private IdentityReferenceStack identityReferenceStack;
 
     protected ConverterConfiguration<JSON> initConfig() {
         return ConvertersConfigurationHolder.getConverterConfiguration(JSON.class);
@@ -83,6 +93,7 @@ public class JSON extends AbstractConverter<JSONWriter> implements IncludeExclud
         contentType = MimeType.JSON.getName();
         circularReferenceBehaviour = config != null ? config.getCircularReferenceBehaviour() : CircularReferenceBehaviour.DEFAULT;
         prettyPrint = config != null && config.isPrettyPrint();
+        streaming = config != null && ConverterUtil.isStreaming(config);
     }
 
     /**
@@ -99,6 +110,21 @@ public class JSON extends AbstractConverter<JSONWriter> implements IncludeExclud
         this.prettyPrint = prettyPrint;
     }
 
+    /**
+     * Sets whether {@link #render(HttpServletResponse)} writes UTF-8 encoded output directly to the response
+     * OutputStream in chunks of {@link ChunkedUtf8Writer#DEFAULT_CHUNK_SIZE} bytes instead of using the response Writer.
+     * Only applies when the encoding is UTF-8.
+     *
+     * @param streaming true to stream the output
+     */
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    public boolean isStreaming() {
+        return streaming;
+    }
+
     private void prepareRender(Writer out) {
         writer = prettyPrint ? new PrettyPrintJSONWriter(out) : new JSONWriter(out);
         if (circularReferenceBehaviour == CircularReferenceBehaviour.PATH) {
@@ -108,6 +134,7 @@ public class JSON extends AbstractConverter<JSONWriter> implements IncludeExclud
             writer = new PathCapturingJSONWriterWrapper(writer);
         }
         referenceStack = new Stack<Object>();
+        identityReferenceStack = new IdentityReferenceStack();
     }
 
     private void finalizeRender(Writer out) {
@@ -140,13 +167,30 @@ public class JSON extends AbstractConverter<JSONWriter> implements IncludeExclud
     /**
      * Directs the JSON Writer to the Outputstream of the HttpServletResponse and sets the Content-Type to application/json
      *
+     * In streaming mode the UTF-8 encoded output is written to the response OutputStream in fixed size chunks,
+     * see {@link #setStreaming(boolean)} and the grails.converters.json.streaming setting.
+     *
      * @param response a HttpServletResponse
      * @throws ConverterException
      */
     public void render(HttpServletResponse response) throws ConverterException {
         response.setContentType(GrailsWebUtil.getContentType(contentType, encoding));
         try {
-            render(response.getWriter());
+            if (streaming && "UTF-8".equalsIgnoreCase(encoding)) {
+                OutputStream out;
+                try {
+                    out = response.getOutputStream();
+                }
+                catch (IllegalStateException e) {
+                    // getWriter() has already been called for this response
+                    render(response.getWriter());
+                    return;
+                }
+                render(new ChunkedUtf8Writer(out));
+            }
+            else {
+                render(response.getWriter());
+            }
         }
         catch (IOException e) {
             throw new ConverterException(e);
@@ -186,17 +230,17 @@ public class JSON extends AbstractConverter<JSONWriter> implements IncludeExclud
                 writer.value(o);
             }
             else {
-                if (referenceStack.contains(o)) {
+                if (identityReferenceStack.contains(o)) {
                     handleCircularRelationship(o);
                 }
                 else {
-                    referenceStack.push(o);
+                    identityReferenceStack.push(o);
                     ObjectMarshaller<JSON> marshaller = config.getMarshaller(o);
                     if (marshaller == null) {
                         throw new ConverterException("Unconvertable Object of class: " + o.getClass().getName());
                     }
                     marshaller.marshalObject(o, this);
-                    referenceStack.pop();
+                    identityReferenceStack.pop();
                 }
             }
         }
@@ -213,7 +257,7 @@ public class JSON extends AbstractConverter<JSONWriter> implements IncludeExclud
     }
 
     public int getDepth() {
-        return referenceStack.size();
+        return identityReferenceStack.size();
     }
 
     public void property(String key, Object value) throws JSONException, ConverterException {
@@ -372,8 +416,8 @@ public class JSON extends AbstractConverter<JSONWriter> implements IncludeExclud
                     Map<String, Object> props = new HashMap<String, Object>();
                     props.put("class", o.getClass());
                     StringBuilder ref = new StringBuilder();
-                    int idx = referenceStack.indexOf(o);
-                    for (int i = referenceStack.size() - 1; i > idx; i--) {
+                    int idx = identityReferenceStack.indexOf(o);
+                    for (int i = identityReferenceStack.size() - 1; i > idx; i--) {
                         ref.append("../");
                     }
                     props.put("_ref", ref.substring(0, ref.length() - 1));
@@ -388,7 +432,7 @@ public class JSON extends AbstractConverter<JSONWriter> implements IncludeExclud
             case PATH:
                 Map<String, Object> props = new HashMap<String, Object>();
                 props.put("class", o.getClass());
-                int idx = referenceStack.indexOf(o);
+                int idx = identityReferenceStack.indexOf(o);
                 PathCapturingJSONWriterWrapper pcWriter = (PathCapturingJSONWriterWrapper) writer;
                 props.put("ref", String.format("root%s", pcWriter.getStackReference(idx)));
                 value(props);
@@ -27,6 +27,7 @@ import org.codehaus.groovy.grails.support.proxy.ProxyHandler;
 import org.codehaus.groovy.grails.web.converters.AbstractConverter;
 import org.codehaus.groovy.grails.web.converters.Converter;
 import org.codehaus.groovy.grails.web.converters.ConverterUtil;
+import org.codehaus.groovy.grails.web.converters.IdentityReferenceStack;
 import org.codehaus.groovy.grails.web.converters.IncludeExcludeConverter;
 import org.codehaus.groovy.grails.web.converters.configuration.ConverterConfiguration;
 import org.codehaus.groovy.grails.web.converters.configuration.ConvertersConfigurationHolder;
@@ -50,7 +51,6 @@ import java.io.InputStreamReader;
 import java.io.Writer;
 import java.util.List;
 import java.util.Map;
-import java.util.Stack;
 
 /**
  * A converter that converts domain classes to XML.
@@ -70,7 +70,7 @@ public class XML extends AbstractConverter<XMLStreamWriter> implements IncludeEx
     private final String encoding;
     private final CircularReferenceBehaviour circularReferenceBehaviour;
     private XMLStreamWriter writer;
-    private Stack<Object> referenceStack = new Stack<Object>();
+    private IdentityReferenceStack referenceStack = new IdentityReferenceStack();
     private boolean isRendering = false;
 
     public XML() {
@@ -24,6 +24,10 @@ import java.util.Collection;
 import java.util.Map;
 
 import org.codehaus.groovy.grails.commons.GrailsDomainClassProperty;
+import org.codehaus.groovy.grails.web.converters.configuration.ChainedConverterConfiguration;
+import org.codehaus.groovy.grails.web.converters.configuration.ConverterConfiguration;
+import org.codehaus.groovy.grails.web.converters.configuration.DefaultConverterConfiguration;
+import org.codehaus.groovy.grails.web.converters.configuration.ImmutableConverterConfiguration;
 import org.codehaus.groovy.grails.web.converters.exceptions.ConverterException;
 import org.codehaus.groovy.runtime.DefaultGroovyMethods;
 import org.codehaus.groovy.runtime.NullObject;
@@ -167,4 +171,25 @@ public class ConverterUtil {
     public static Converter.CircularReferenceBehaviour resolveCircularReferenceBehaviour(String str) {
         return Converter.CircularReferenceBehaviour.valueOf(str);
     }
+
+    /**
+     * Whether a configuration streams the converter output to the response OutputStream. The setting
+     * is only part of the configuration classes of the framework, it isn't part of the {@link ConverterConfiguration}
+     * interface so that existing implementations don't break, other implementations don't stream.
+     *
+     * @param cfg The configuration
+     * @return true if the output is streamed
+     */
+    public static boolean isStreaming(ConverterConfiguration<?> cfg) {
+        if (cfg instanceof DefaultConverterConfiguration) {
+            return ((DefaultConverterConfiguration<?>)cfg).isStreaming();
+        }
+        if (cfg instanceof ChainedConverterConfiguration) {
+            return ((ChainedConverterConfiguration<?>)cfg).isStreaming();
+        }
+        if (cfg instanceof ImmutableConverterConfiguration) {
+            return ((ImmutableConverterConfiguration<?>)cfg).isStreaming();
+        }
+        return false;
+    }
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.web.converters;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The objects currently being converted, from the root object to the innermost one. Used by converters
+ * to detect circular references.
+ *
+ * Membership is decided by identity, so equals() and hashCode() of the converted objects are never called,
+ * and {@link #contains(Object)} and {@link #indexOf(Object)} are constant time operations.
+ *
+ * This class is not thread-safe, a converter instance is used by a single Thread.
+ *
+ * @since 2.4
+ */
+public class IdentityReferenceStack {
+
+    private Object[] elements = new Object[16];
+    private int size;
+    private final Map<Object, Integer> indexes = new IdentityHashMap<Object, Integer>();
+
+    public void push(Object o) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size * 2);
+        }
+        if (!indexes.containsKey(o)) {
+            indexes.put(o, size);
+        }
+        elements[size++] = o;
+    }
+
+    public Object pop() {
+        if (size == 0) {
+            throw new IllegalStateException("Reference stack is empty");
+        }
+        Object o = elements[--size];
+        elements[size] = null;
+        Integer index = indexes.get(o);
+        if (index != null && index == size) {
+            indexes.remove(o);
+        }
+        return o;
+    }
+
+    public Object peek() {
+        if (size == 0) {
+            throw new IllegalStateException("Reference stack is empty");
+        }
+        return elements[size - 1];
+    }
+
+    public boolean contains(Object o) {
+        return indexes.containsKey(o);
+    }
+
+    /**
+     * @param o the object
+     * @return the position of the outermost occurrence of the object, counted from the root, or -1
+     */
+    public int indexOf(Object o) {
+        Integer index = indexes.get(o);
+        return index != null ? index : -1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
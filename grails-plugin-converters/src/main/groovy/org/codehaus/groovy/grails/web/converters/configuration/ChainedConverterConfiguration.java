@@ -19,20 +19,27 @@ import grails.util.Environment;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.codehaus.groovy.grails.support.proxy.DefaultProxyHandler;
 import org.codehaus.groovy.grails.support.proxy.ProxyHandler;
 import org.codehaus.groovy.grails.web.converters.Converter;
+import org.codehaus.groovy.grails.web.converters.ConverterUtil;
 import org.codehaus.groovy.grails.web.converters.exceptions.ConverterException;
+import org.codehaus.groovy.grails.web.converters.marshaller.ClassCacheableMarshaller;
 import org.codehaus.groovy.grails.web.converters.marshaller.ObjectMarshaller;
 
 /**
  * An immutable ConverterConfiguration which chains the lookup calls for ObjectMarshallers
  * for performance reasons.
  *
+ * A cached marshaller is used without calling supports(Object) again when it and all marshallers
+ * before it in the chain implement {@link ClassCacheableMarshaller} in their own class declaration.
+ *
  * @author Siegfried Puchbauer
  * @author Graeme Rocher
  *
@@ -46,9 +53,11 @@ public class ChainedConverterConfiguration<C extends Converter> implements Conve
     private final String encoding;
     private final Converter.CircularReferenceBehaviour circularReferenceBehaviour;
     private final boolean prettyPrint;
+    private final boolean streaming;
     private ProxyHandler proxyHandler;
     private final boolean cacheObjectMarshallerByClass;
     private Map<Integer, ObjectMarshaller<C>> objectMarshallerForClassCache;
+    private Set<ObjectMarshaller<C>> classCacheableMarshallers;
     private final boolean developmentMode = Environment.isDevelopmentMode();
     private final ObjectMarshaller<C> NULL_HOLDER=new ObjectMarshaller<C>() {
         public boolean supports(Object object) {
@@ -68,9 +77,11 @@ public class ChainedConverterConfiguration<C extends Converter> implements Conve
 
         encoding = cfg.getEncoding();
         prettyPrint = cfg.isPrettyPrint();
+        streaming = ConverterUtil.isStreaming(cfg);
         cacheObjectMarshallerByClass = cfg.isCacheObjectMarshallerByClass();
         if (cacheObjectMarshallerByClass) {
             objectMarshallerForClassCache = new ConcurrentHashMap<Integer, ObjectMarshaller<C>>();
+            classCacheableMarshallers = findClassCacheableMarshallers(marshallerList);
         }
         circularReferenceBehaviour = cfg.getCircularReferenceBehaviour();
 
@@ -90,7 +101,8 @@ public class ChainedConverterConfiguration<C extends Converter> implements Conve
         if (!developmentMode && cacheObjectMarshallerByClass && o != null) {
             cacheKey = System.identityHashCode(o.getClass());
             marshaller = objectMarshallerForClassCache.get(cacheKey);
-            if (marshaller != NULL_HOLDER && marshaller != null && !marshaller.supports(o)) {
+            if (marshaller != NULL_HOLDER && marshaller != null && !classCacheableMarshallers.contains(marshaller) &&
+                    !marshaller.supports(o)) {
                 marshaller = null;
             }
         }
@@ -103,6 +115,17 @@ public class ChainedConverterConfiguration<C extends Converter> implements Conve
         return marshaller != NULL_HOLDER ? marshaller : null;
     }
 
+    private static <C extends Converter> Set<ObjectMarshaller<C>> findClassCacheableMarshallers(List<ObjectMarshaller<C>> marshallers) {
+        Set<ObjectMarshaller<C>> cacheable = Collections.newSetFromMap(new IdentityHashMap<ObjectMarshaller<C>, Boolean>());
+        for (ObjectMarshaller<C> om : marshallers) {
+            if (!DefaultConverterConfiguration.isClassCacheable(om)) {
+                break;
+            }
+            cacheable.add(om);
+        }
+        return cacheable;
+    }
+
     public String getEncoding() {
         return encoding;
     }
@@ -154,4 +177,8 @@ public class ChainedConverterConfiguration<C extends Converter> implements Conve
     public boolean isCacheObjectMarshallerByClass() {
         return cacheObjectMarshallerByClass;
     }
+
+    public boolean isStreaming() {
+        return streaming;
+    }
 }
@@ -105,6 +105,7 @@ public class ConvertersConfigurationInitializer implements ApplicationContextAwa
         Boolean prettyPrint = grailsConfig.get("grails.converters.json.pretty.print", defaultPrettyPrint);
         cfg.setPrettyPrint(prettyPrint);
         cfg.setCacheObjectMarshallerByClass(grailsConfig.get("grails.converters.json.cacheObjectMarshallerSelectionByClass", true));
+        cfg.setStreaming(grailsConfig.get("grails.converters.json.streaming", false));
 
         registerObjectMarshallersFromApplicationContext(cfg, JSON.class);
 
@@ -15,23 +15,31 @@
  */
 package org.codehaus.groovy.grails.web.converters.configuration;
 
+import grails.util.Environment;
 import groovy.lang.Closure;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.codehaus.groovy.grails.support.proxy.DefaultProxyHandler;
 import org.codehaus.groovy.grails.support.proxy.ProxyHandler;
 import org.codehaus.groovy.grails.web.converters.Converter;
+import org.codehaus.groovy.grails.web.converters.ConverterUtil;
+import org.codehaus.groovy.grails.web.converters.marshaller.ClassCacheableMarshaller;
 import org.codehaus.groovy.grails.web.converters.marshaller.ClosureObjectMarshaller;
 import org.codehaus.groovy.grails.web.converters.marshaller.ObjectMarshaller;
 
 /**
  * Mutable Converter Configuration with an priority sorted set of ObjectMarshallers
  *
+ * The marshaller resolved for a class is cached when the decision was made only by marshallers implementing
+ * {@link ClassCacheableMarshaller} in their own class declaration. The cache is cleared whenever a marshaller gets registered.
+ *
  * @author Siegfried Puchbauer
  * @since 1.1
  */
@@ -45,10 +53,15 @@ public class DefaultConverterConfiguration<C extends Converter> implements Conve
     private ConverterConfiguration<C> delegate;
     private String encoding;
     private boolean prettyPrint = false;
+    private boolean streaming = false;
     private final SortedSet<Entry> objectMarshallers = new TreeSet<Entry>();
     private Converter.CircularReferenceBehaviour circularReferenceBehaviour;
     private ProxyHandler proxyHandler;
     private boolean cacheObjectMarshallerByClass = true;
+    private final boolean developmentMode = Environment.isDevelopmentMode();
+    private final Map<Class<?>, ObjectMarshaller<C>> objectMarshallerForClassCache = new ConcurrentHashMap<Class<?>, ObjectMarshaller<C>>();
+    private volatile int registrationCount;
+    private volatile int delegateRegistrationCount;
 
     public String getEncoding() {
         return encoding != null ? encoding : (delegate != null ? delegate.getEncoding() : null);
@@ -70,6 +83,14 @@ public class DefaultConverterConfiguration<C extends Converter> implements Conve
         this.prettyPrint = prettyPrint;
     }
 
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
     public List<ObjectMarshaller<C>> getOrderedObjectMarshallers() {
         List<ObjectMarshaller<C>> list = new ArrayList<ObjectMarshaller<C>>();
         for (Entry entry : objectMarshallers) {
@@ -95,6 +116,7 @@ public class DefaultConverterConfiguration<C extends Converter> implements Conve
         this();
         this.delegate = delegate;
         prettyPrint = delegate.isPrettyPrint();
+        streaming = ConverterUtil.isStreaming(delegate);
         circularReferenceBehaviour = delegate.getCircularReferenceBehaviour();
         encoding = delegate.getEncoding();
     }
@@ -107,6 +129,7 @@ public class DefaultConverterConfiguration<C extends Converter> implements Conve
         this(proxyHandler);
         this.delegate = delegate;
         prettyPrint = delegate.isPrettyPrint();
+        streaming = ConverterUtil.isStreaming(delegate);
         circularReferenceBehaviour = delegate.getCircularReferenceBehaviour();
         encoding = delegate.getEncoding();
     }
@@ -130,6 +153,8 @@ public class DefaultConverterConfiguration<C extends Converter> implements Conve
 
     public void registerObjectMarshaller(ObjectMarshaller<C> marshaller, int priority) {
         objectMarshallers.add(new Entry(marshaller, priority));
+        registrationCount++;
+        objectMarshallerForClassCache.clear();
     }
 
     public void registerObjectMarshaller(Class<?> c, int priority, Closure callable) {
@@ -141,12 +166,87 @@ public class DefaultConverterConfiguration<C extends Converter> implements Conve
     }
 
     public ObjectMarshaller<C> getMarshaller(Object o) {
+        if (o == null || !cacheObjectMarshallerByClass || developmentMode) {
+            return findMarshaller(o, null);
+        }
+
+        if (delegate instanceof DefaultConverterConfiguration) {
+            int count = ((DefaultConverterConfiguration)delegate).getRegistrationCount();
+            if (count != delegateRegistrationCount) {
+                objectMarshallerForClassCache.clear();
+                delegateRegistrationCount = count;
+            }
+        }
+
+        Class<?> clazz = o.getClass();
+        ObjectMarshaller<C> marshaller = objectMarshallerForClassCache.get(clazz);
+        if (marshaller == null) {
+            boolean[] cacheable = { true };
+            marshaller = findMarshaller(o, cacheable);
+            if (marshaller != null && cacheable[0]) {
+                objectMarshallerForClassCache.put(clazz, marshaller);
+            }
+        }
+        return marshaller;
+    }
+
+    /**
+     * Walks the marshallers in order of priority and then the delegate.
+     *
+     * @param o the object
+     * @param cacheable if not null, the first element is set to false when the result can't be cached by the class of the object
+     * @return the marshaller or null if none supports the object
+     */
+    @SuppressWarnings("unchecked")
+    private ObjectMarshaller<C> findMarshaller(Object o, boolean[] cacheable) {
         for (Entry entry : objectMarshallers) {
+            if (cacheable != null && !isClassCacheable(entry.marshaller)) {
+                cacheable[0] = false;
+            }
             if (entry.marshaller.supports(o)) {
                 return entry.marshaller;
             }
         }
-        return delegate != null ? delegate.getMarshaller(o) : null;
+        if (delegate == null) {
+            return null;
+        }
+        if (cacheable == null || !cacheable[0]) {
+            return delegate.getMarshaller(o);
+        }
+        if (delegate instanceof DefaultConverterConfiguration) {
+            return ((DefaultConverterConfiguration<C>)delegate).findMarshaller(o, cacheable);
+        }
+
+        ObjectMarshaller<C> marshaller = delegate.getMarshaller(o);
+        for (ObjectMarshaller<C> om : delegate.getOrderedObjectMarshallers()) {
+            if (!isClassCacheable(om)) {
+                cacheable[0] = false;
+                break;
+            }
+            if (om == marshaller) {
+                break;
+            }
+        }
+        return marshaller;
+    }
+
+    /**
+     * Inherited markers are ignored, a subclass may base supports(Object) on the state of the instance.
+     */
+    static boolean isClassCacheable(ObjectMarshaller<?> marshaller) {
+        for (Class<?> i : marshaller.getClass().getInterfaces()) {
+            if (i == ClassCacheableMarshaller.class) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int getRegistrationCount() {
+        if (delegate instanceof DefaultConverterConfiguration) {
+            return registrationCount + ((DefaultConverterConfiguration)delegate).getRegistrationCount();
+        }
+        return registrationCount;
     }
 
     public class Entry implements Comparable<Entry> {
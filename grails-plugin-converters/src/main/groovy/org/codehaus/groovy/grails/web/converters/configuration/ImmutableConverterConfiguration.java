@@ -21,6 +21,7 @@ import java.util.List;
 import org.codehaus.groovy.grails.support.proxy.DefaultProxyHandler;
 import org.codehaus.groovy.grails.support.proxy.ProxyHandler;
 import org.codehaus.groovy.grails.web.converters.Converter;
+import org.codehaus.groovy.grails.web.converters.ConverterUtil;
 import org.codehaus.groovy.grails.web.converters.marshaller.ObjectMarshaller;
 
 /**
@@ -44,6 +45,8 @@ public class ImmutableConverterConfiguration<C extends Converter> implements Con
 
     private final boolean cacheObjectMarshallerByClass;
 
+    private final boolean streaming;
+
     public ImmutableConverterConfiguration(ConverterConfiguration<C> cfg) {
         this(cfg, new DefaultProxyHandler());
     }
@@ -53,6 +56,7 @@ public class ImmutableConverterConfiguration<C extends Converter> implements Con
         encoding = cfg.getEncoding();
         prettyPrint = cfg.isPrettyPrint();
         cacheObjectMarshallerByClass = cfg.isCacheObjectMarshallerByClass();
+        streaming = ConverterUtil.isStreaming(cfg);
         circularReferenceBehaviour = cfg.getCircularReferenceBehaviour();
         this.proxyHandler = proxyHandler;
     }
@@ -101,4 +105,8 @@ public class ImmutableConverterConfiguration<C extends Converter> implements Con
     public boolean isCacheObjectMarshallerByClass() {
         return cacheObjectMarshallerByClass;
     }
+
+    public boolean isStreaming() {
+        return streaming;
+    }
 }
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.web.converters.marshaller;
+
+/**
+ * Marker for ObjectMarshallers whose {@link ObjectMarshaller#supports(Object)} decision depends only on
+ * the class of the object. The marshaller resolved for such a class can be cached by the converter configuration.
+ *
+ * The marker is only honoured when the class of the marshaller declares it itself. A subclass of a class
+ * cacheable marshaller isn't cached unless it implements this interface again.
+ *
+ * @since 2.4
+ */
+public interface ClassCacheableMarshaller {
+}
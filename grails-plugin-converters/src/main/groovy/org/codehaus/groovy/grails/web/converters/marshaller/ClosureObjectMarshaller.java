@@ -27,7 +27,7 @@ import org.codehaus.groovy.grails.web.converters.exceptions.ConverterException;
  * @since 1.1
  */
 @SuppressWarnings("rawtypes")
-public class ClosureObjectMarshaller<T extends Converter> implements ObjectMarshaller<T> {
+public class ClosureObjectMarshaller<T extends Converter> implements ObjectMarshaller<T>, ClassCacheableMarshaller {
 
     private Class<?> clazz;
 
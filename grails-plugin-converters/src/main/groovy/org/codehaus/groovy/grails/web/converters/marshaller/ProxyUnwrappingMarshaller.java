@@ -32,7 +32,7 @@ import org.codehaus.groovy.grails.web.converters.exceptions.ConverterException;
  * @since 1.1
  */
 @SuppressWarnings({ "unchecked", "rawtypes" })
-public class ProxyUnwrappingMarshaller<C extends Converter> implements ObjectMarshaller<C>, NameAwareMarshaller {
+public class ProxyUnwrappingMarshaller<C extends Converter> implements ObjectMarshaller<C>, NameAwareMarshaller, ClassCacheableMarshaller {
 
     private static final String HIBERNATE_LAZY_INITIALIZER_PROP = "hibernateLazyInitializer";
     private static final String IMPLEMENTATION_PROP = "implementation";
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.web.converters.marshaller;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.codehaus.groovy.grails.commons.GrailsDomainClass;
+import org.codehaus.groovy.grails.commons.GrailsDomainClassProperty;
+import org.codehaus.groovy.grails.support.IncludeExcludeSupport;
+import org.codehaus.groovy.grails.web.converters.exceptions.ConverterException;
+import org.codehaus.groovy.grails.web.json.JSONObject;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * The properties of a class in the order they are rendered by a marshaller, together with their resolved
+ * accessors and pre-quoted JSON keys. A plan is computed once per class and reused for every instance.
+ *
+ * @since 2.4
+ */
+public class SerializationPlan {
+
+    private static final IncludeExcludeSupport<String> INCLUDE_EXCLUDE_SUPPORT = new IncludeExcludeSupport<String>();
+
+    private final Class<?> type;
+    private final GrailsDomainClass domainClass;
+    private final Property[] properties;
+    private final Property identifier;
+    private final Property version;
+    private volatile FilteredProperties lastFiltered;
+
+    private SerializationPlan(Class<?> type, GrailsDomainClass domainClass, Property[] properties, Property identifier, Property version) {
+        this.type = type;
+        this.domainClass = domainClass;
+        this.properties = properties;
+        this.identifier = identifier;
+        this.version = version;
+    }
+
+    /**
+     * Creates a plan for the persistent properties of a domain class
+     *
+     * @param type The class of the instances, may be a proxy class
+     * @param domainClass The domain class
+     * @return The plan
+     */
+    public static SerializationPlan forDomainClass(Class<?> type, GrailsDomainClass domainClass) {
+        GrailsDomainClassProperty[] persistentProperties = domainClass.getPersistentProperties();
+        Property[] properties = new Property[persistentProperties.length];
+        for (int i = 0; i < persistentProperties.length; i++) {
+            properties[i] = createDomainProperty(type, persistentProperties[i]);
+        }
+        GrailsDomainClassProperty versionProperty = domainClass.getVersion();
+        return new SerializationPlan(type, domainClass, properties,
+                createDomainProperty(type, domainClass.getIdentifier()),
+                versionProperty != null ? createDomainProperty(type, versionProperty) : null);
+    }
+
+    /**
+     * Creates a plan for the readable bean properties and the public fields of a class
+     *
+     * @param type The class
+     * @return The plan
+     */
+    public static SerializationPlan forBean(Class<?> type) {
+        List<Property> properties = new ArrayList<Property>();
+        for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(type)) {
+            Method readMethod = descriptor.getReadMethod();
+            if (readMethod != null) {
+                properties.add(new Property(descriptor.getName(), null, readMethod, null));
+            }
+        }
+        for (Field field : type.getDeclaredFields()) {
+            int modifiers = field.getModifiers();
+            if (field.isAccessible() && Modifier.isPublic(modifiers) && !(Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers))) {
+                properties.add(new Property(field.getName(), null, null, field));
+            }
+        }
+        return new SerializationPlan(type, null, properties.toArray(new Property[properties.size()]), null, null);
+    }
+
+    private static Property createDomainProperty(Class<?> type, GrailsDomainClassProperty domainProperty) {
+        PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(type, domainProperty.getName());
+        Method readMethod = descriptor != null ? descriptor.getReadMethod() : null;
+        if (readMethod != null) {
+            ReflectionUtils.makeAccessible(readMethod);
+        }
+        return new Property(domainProperty.getName(), domainProperty, readMethod, null);
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public GrailsDomainClass getDomainClass() {
+        return domainClass;
+    }
+
+    public Property getIdentifier() {
+        return identifier;
+    }
+
+    public Property getVersion() {
+        return version;
+    }
+
+    public Property[] getProperties() {
+        return properties;
+    }
+
+    /**
+     * Returns the properties that pass the given include and exclude lists. The result for the last
+     * lists used is remembered, converters usually pass the same lists for every instance of a class.
+     * The lists are compared by their contents, so changing a list between calls is picked up.
+     *
+     * @param includes The includes or null
+     * @param excludes The excludes or null
+     * @return The properties
+     */
+    public Property[] getProperties(List<String> includes, List<String> excludes) {
+        if (includes == null && excludes == null) {
+            return properties;
+        }
+        FilteredProperties filtered = lastFiltered;
+        if (filtered == null || !filtered.matches(includes, excludes)) {
+            List<Property> result = new ArrayList<Property>(properties.length);
+            for (Property property : properties) {
+                if (INCLUDE_EXCLUDE_SUPPORT.shouldInclude(includes, excludes, property.getName())) {
+                    result.add(property);
+                }
+            }
+            filtered = new FilteredProperties(includes, excludes, result.toArray(new Property[result.size()]));
+            lastFiltered = filtered;
+        }
+        return filtered.properties;
+    }
+
+    private static final class FilteredProperties {
+        final List<String> includes;
+        final List<String> excludes;
+        final Property[] properties;
+
+        FilteredProperties(List<String> includes, List<String> excludes, Property[] properties) {
+            this.includes = copyOf(includes);
+            this.excludes = copyOf(excludes);
+            this.properties = properties;
+        }
+
+        boolean matches(List<String> otherIncludes, List<String> otherExcludes) {
+            return ObjectUtils.nullSafeEquals(includes, otherIncludes) && ObjectUtils.nullSafeEquals(excludes, otherExcludes);
+        }
+
+        private static List<String> copyOf(List<String> list) {
+            return list != null ? Collections.unmodifiableList(new ArrayList<String>(list)) : null;
+        }
+    }
+
+    /**
+     * A property with its resolved accessor
+     */
+    public static class Property {
+        private final String name;
+        private final String quotedName;
+        private final GrailsDomainClassProperty domainProperty;
+        private final Method readMethod;
+        private final Field field;
+
+        Property(String name, GrailsDomainClassProperty domainProperty, Method readMethod, Field field) {
+            this.name = name;
+            this.quotedName = JSONObject.quote(name);
+            this.domainProperty = domainProperty;
+            this.readMethod = readMethod;
+            this.field = field;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return The name quoted as a JSON string
+         */
+        public String getQuotedName() {
+            return quotedName;
+        }
+
+        public GrailsDomainClassProperty getDomainProperty() {
+            return domainProperty;
+        }
+
+        public Object getValue(Object object) throws ConverterException {
+            try {
+                if (readMethod != null) {
+                    return readMethod.invoke(object, (Object[]) null);
+                }
+                if (field != null) {
+                    return field.get(object);
+                }
+            }
+            catch (InvocationTargetException e) {
+                throw new ConverterException("Error reading property [" + name + "] of class " + object.getClass().getName(), e.getTargetException());
+            }
+            catch (IllegalAccessException e) {
+                throw new ConverterException("Error reading property [" + name + "] of class " + object.getClass().getName(), e);
+            }
+            return new BeanWrapperImpl(object).getPropertyValue(name);
+        }
+    }
+}
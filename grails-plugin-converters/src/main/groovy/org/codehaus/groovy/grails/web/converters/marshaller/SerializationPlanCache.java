@@ -0,0 +1,57 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.web.converters.marshaller;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.codehaus.groovy.grails.commons.GrailsDomainClass;
+
+/**
+ * Holds the {@link SerializationPlan} instances of a marshaller.
+ *
+ * Plans are keyed by class name and a plan is recreated when the class or the domain class it was
+ * computed for has been replaced, for example after a reload in development mode. This way the cache
+ * doesn't hold on to classes of a discarded class loader either.
+ *
+ * @since 2.4
+ */
+public class SerializationPlanCache {
+
+    private final Map<String, SerializationPlan> plans = new ConcurrentHashMap<String, SerializationPlan>();
+
+    public SerializationPlan getDomainClassPlan(Class<?> type, GrailsDomainClass domainClass) {
+        SerializationPlan plan = plans.get(type.getName());
+        if (plan == null || plan.getType() != type || plan.getDomainClass() != domainClass) {
+            plan = SerializationPlan.forDomainClass(type, domainClass);
+            plans.put(type.getName(), plan);
+        }
+        return plan;
+    }
+
+    public SerializationPlan getBeanPlan(Class<?> type) {
+        SerializationPlan plan = plans.get(type.getName());
+        if (plan == null || plan.getType() != type) {
+            plan = SerializationPlan.forBean(type);
+            plans.put(type.getName(), plan);
+        }
+        return plan;
+    }
+
+    public void clear() {
+        plans.clear();
+    }
+}
@@ -20,6 +20,7 @@ import grails.converters.JSON;
 import java.lang.reflect.Array;
 
 import org.codehaus.groovy.grails.web.converters.exceptions.ConverterException;
+import org.codehaus.groovy.grails.web.converters.marshaller.ClassCacheableMarshaller;
 import org.codehaus.groovy.grails.web.converters.marshaller.ObjectMarshaller;
 import org.codehaus.groovy.grails.web.json.JSONWriter;
 
@@ -27,7 +28,7 @@ import org.codehaus.groovy.grails.web.json.JSONWriter;
  * @author Siegfried Puchbauer
  * @since 1.1
  */
-public class ArrayMarshaller implements ObjectMarshaller<JSON> {
+public class ArrayMarshaller implements ObjectMarshaller<JSON>, ClassCacheableMarshaller {
 
     public boolean supports(Object object) {
         return object.getClass().isArray();
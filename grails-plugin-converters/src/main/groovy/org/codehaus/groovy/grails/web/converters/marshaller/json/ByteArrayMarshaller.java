@@ -18,13 +18,14 @@ package org.codehaus.groovy.grails.web.converters.marshaller.json;
 import grails.converters.JSON;
 
 import org.codehaus.groovy.grails.web.converters.exceptions.ConverterException;
+import org.codehaus.groovy.grails.web.converters.marshaller.ClassCacheableMarshaller;
 import org.codehaus.groovy.grails.web.converters.marshaller.ObjectMarshaller;
 
 /**
  * @author Siegfried Puchbauer
  * @since 1.1
  */
-public class ByteArrayMarshaller implements ObjectMarshaller<JSON> {
+public class ByteArrayMarshaller implements ObjectMarshaller<JSON>, ClassCacheableMarshaller {
 
     public boolean supports(Object object) {
         return object instanceof byte[];
@@ -17,12 +17,13 @@ package org.codehaus.groovy.grails.web.converters.marshaller.json;
 
 import org.codehaus.groovy.grails.commons.GrailsApplication;
 import org.codehaus.groovy.grails.support.proxy.ProxyHandler;
+import org.codehaus.groovy.grails.web.converters.marshaller.ClassCacheableMarshaller;
 
 /**
  * @author Siegfried Puchbauer
  * @since 1.1
  */
-public class DeepDomainClassMarshaller extends DomainClassMarshaller {
+public class DeepDomainClassMarshaller extends DomainClassMarshaller implements ClassCacheableMarshaller {
 
     public DeepDomainClassMarshaller(boolean includeVersion, GrailsApplication application) {
         super(includeVersion, application);
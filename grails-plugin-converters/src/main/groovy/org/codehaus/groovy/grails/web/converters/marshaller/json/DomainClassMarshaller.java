@@ -41,10 +41,11 @@ import org.codehaus.groovy.grails.support.proxy.EntityProxyHandler;
 import org.codehaus.groovy.grails.support.proxy.ProxyHandler;
 import org.codehaus.groovy.grails.web.converters.ConverterUtil;
 import org.codehaus.groovy.grails.web.converters.exceptions.ConverterException;
+import org.codehaus.groovy.grails.web.converters.marshaller.ClassCacheableMarshaller;
 import org.codehaus.groovy.grails.web.converters.marshaller.IncludeExcludePropertyMarshaller;
+import org.codehaus.groovy.grails.web.converters.marshaller.SerializationPlan;
+import org.codehaus.groovy.grails.web.converters.marshaller.SerializationPlanCache;
 import org.codehaus.groovy.grails.web.json.JSONWriter;
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.BeanWrapperImpl;
 
 /**
  *
@@ -55,11 +56,14 @@ import org.springframework.beans.BeanWrapperImpl;
  *
  * @since 1.1
  */
-public class DomainClassMarshaller extends IncludeExcludePropertyMarshaller<JSON> {
+public class DomainClassMarshaller extends IncludeExcludePropertyMarshaller<JSON> implements ClassCacheableMarshaller {
+
+    private static final IncludeExcludeSupport<String> INCLUDE_EXCLUDE_SUPPORT = new IncludeExcludeSupport<String>();
 
     private boolean includeVersion = false;
     private ProxyHandler proxyHandler;
     private GrailsApplication application;
+    private final SerializationPlanCache serializationPlans = new SerializationPlanCache();
 
     public DomainClassMarshaller(boolean includeVersion, GrailsApplication application) {
         this(includeVersion, new DefaultProxyHandler(), application);
@@ -92,45 +96,43 @@ public class DomainClassMarshaller extends IncludeExcludePropertyMarshaller<JSON
 
         List<String> excludes = json.getExcludes(clazz);
         List<String> includes = json.getIncludes(clazz);
-        IncludeExcludeSupport<String> includeExcludeSupport = new IncludeExcludeSupport<String>();
 
         GrailsDomainClass domainClass = (GrailsDomainClass)application.getArtefact(
               DomainClassArtefactHandler.TYPE, ConverterUtil.trimProxySuffix(clazz.getName()));
-        BeanWrapper beanWrapper = new BeanWrapperImpl(value);
+        SerializationPlan plan = serializationPlans.getDomainClassPlan(clazz, domainClass);
 
         writer.object();
 
-        if(shouldInclude(includeExcludeSupport, includes, excludes, value, "class")) {
+        if(shouldInclude(INCLUDE_EXCLUDE_SUPPORT, includes, excludes, value, "class")) {
             writer.key("class").value(domainClass.getClazz().getName());
         }
 
 
         GrailsDomainClassProperty id = domainClass.getIdentifier();
 
-        if(shouldInclude(includeExcludeSupport, includes, excludes, value, id.getName())) {
+        if(shouldInclude(INCLUDE_EXCLUDE_SUPPORT, includes, excludes, value, id.getName())) {
             Object idValue = extractValue(value, id);
             json.property(GrailsDomainClassProperty.IDENTITY, idValue);
         }
 
-        if (shouldInclude(includeExcludeSupport, includes, excludes, value, GrailsDomainClassProperty.VERSION) && isIncludeVersion()) {
+        if (shouldInclude(INCLUDE_EXCLUDE_SUPPORT, includes, excludes, value, GrailsDomainClassProperty.VERSION) && isIncludeVersion()) {
             GrailsDomainClassProperty versionProperty = domainClass.getVersion();
             Object version = extractValue(value, versionProperty);
             json.property(GrailsDomainClassProperty.VERSION, version);
         }
 
-        GrailsDomainClassProperty[] properties = domainClass.getPersistentProperties();
-
-        for (GrailsDomainClassProperty property : properties) {
-            if(!shouldInclude(includeExcludeSupport, includes, excludes, value, property.getName())) continue;
+        for (SerializationPlan.Property planProperty : plan.getProperties(includes, excludes)) {
+            if(!shouldInclude(value, planProperty.getName())) continue;
 
-            writer.key(property.getName());
+            GrailsDomainClassProperty property = planProperty.getDomainProperty();
+            writer.quotedKey(planProperty.getQuotedName());
             if (!property.isAssociation()) {
                 // Write non-relation property
-                Object val = beanWrapper.getPropertyValue(property.getName());
+                Object val = planProperty.getValue(value);
                 json.convertAnother(val);
             }
             else {
-                Object referenceObject = beanWrapper.getPropertyValue(property.getName());
+                Object referenceObject = planProperty.getValue(value);
                 if (isRenderDomainClassRelations()) {
                     if (referenceObject == null) {
                         writer.value(null);
@@ -20,6 +20,7 @@ import grails.converters.JSON;
 import java.lang.reflect.Method;
 
 import org.codehaus.groovy.grails.web.converters.exceptions.ConverterException;
+import org.codehaus.groovy.grails.web.converters.marshaller.ClassCacheableMarshaller;
 import org.codehaus.groovy.grails.web.converters.marshaller.ObjectMarshaller;
 import org.codehaus.groovy.grails.web.json.JSONWriter;
 import org.springframework.beans.BeanUtils;
@@ -28,7 +29,7 @@ import org.springframework.beans.BeanUtils;
  * @author Siegfried Puchbauer
  * @since 1.1
  */
-public class EnumMarshaller implements ObjectMarshaller<JSON> {
+public class EnumMarshaller implements ObjectMarshaller<JSON>, ClassCacheableMarshaller {
 
     public boolean supports(Object object) {
         return object.getClass().isEnum();
@@ -17,21 +17,20 @@ package org.codehaus.groovy.grails.web.converters.marshaller.json;
 
 import grails.converters.JSON;
 
-import java.beans.PropertyDescriptor;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
-
 import org.codehaus.groovy.grails.web.converters.exceptions.ConverterException;
+import org.codehaus.groovy.grails.web.converters.marshaller.ClassCacheableMarshaller;
 import org.codehaus.groovy.grails.web.converters.marshaller.ObjectMarshaller;
+import org.codehaus.groovy.grails.web.converters.marshaller.SerializationPlan;
+import org.codehaus.groovy.grails.web.converters.marshaller.SerializationPlanCache;
 import org.codehaus.groovy.grails.web.json.JSONWriter;
-import org.springframework.beans.BeanUtils;
 
 /**
  * @author Siegfried Puchbauer
  * @since 1.1
  */
-public class GenericJavaBeanMarshaller implements ObjectMarshaller<JSON> {
+public class GenericJavaBeanMarshaller implements ObjectMarshaller<JSON>, ClassCacheableMarshaller {
+
+    private final SerializationPlanCache serializationPlans = new SerializationPlanCache();
 
     public boolean supports(Object object) {
         return true;
@@ -41,21 +40,10 @@ public class GenericJavaBeanMarshaller implements ObjectMarshaller<JSON> {
         JSONWriter writer = json.getWriter();
         try {
             writer.object();
-            for (PropertyDescriptor property : BeanUtils.getPropertyDescriptors(o.getClass())) {
-                String name = property.getName();
-                Method readMethod = property.getReadMethod();
-                if (readMethod != null) {
-                    Object value = readMethod.invoke(o, (Object[]) null);
-                    writer.key(name);
-                    json.convertAnother(value);
-                }
-            }
-            for (Field field : o.getClass().getDeclaredFields()) {
-                int modifiers = field.getModifiers();
-                if (field.isAccessible() && Modifier.isPublic(modifiers) && !(Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers))) {
-                    writer.key(field.getName());
-                    json.convertAnother(field.get(o));
-                }
+            for (SerializationPlan.Property property : serializationPlans.getBeanPlan(o.getClass()).getProperties()) {
+                Object value = property.getValue(o);
+                writer.quotedKey(property.getQuotedName());
+                json.convertAnother(value);
             }
             writer.endObject();
         }
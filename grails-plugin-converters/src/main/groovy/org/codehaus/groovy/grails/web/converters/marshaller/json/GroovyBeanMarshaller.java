@@ -28,6 +28,7 @@ import java.util.List;
 
 import org.codehaus.groovy.grails.support.IncludeExcludeSupport;
 import org.codehaus.groovy.grails.web.converters.exceptions.ConverterException;
+import org.codehaus.groovy.grails.web.converters.marshaller.ClassCacheableMarshaller;
 import org.codehaus.groovy.grails.web.converters.marshaller.IncludeExcludePropertyMarshaller;
 import org.codehaus.groovy.grails.web.json.JSONWriter;
 import org.springframework.beans.BeanUtils;
@@ -36,7 +37,7 @@ import org.springframework.beans.BeanUtils;
  * @author Siegfried Puchbauer
  * @since 1.1
  */
-public class GroovyBeanMarshaller extends IncludeExcludePropertyMarshaller<JSON> {
+public class GroovyBeanMarshaller extends IncludeExcludePropertyMarshaller<JSON> implements ClassCacheableMarshaller {
 
     public boolean supports(Object object) {
         return object instanceof GroovyObject;
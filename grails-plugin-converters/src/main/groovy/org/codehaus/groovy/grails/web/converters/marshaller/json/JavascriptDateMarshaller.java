@@ -20,6 +20,7 @@ import grails.converters.JSON;
 import java.util.Date;
 
 import org.codehaus.groovy.grails.web.converters.exceptions.ConverterException;
+import org.codehaus.groovy.grails.web.converters.marshaller.ClassCacheableMarshaller;
 import org.codehaus.groovy.grails.web.converters.marshaller.ObjectMarshaller;
 import org.codehaus.groovy.grails.web.json.JSONException;
 
@@ -28,7 +29,7 @@ import org.codehaus.groovy.grails.web.json.JSONException;
  *
  * @since 1.1
  */
-public class JavascriptDateMarshaller implements ObjectMarshaller<JSON> {
+public class JavascriptDateMarshaller implements ObjectMarshaller<JSON>, ClassCacheableMarshaller {
 
     public boolean supports(Object object) {
         return object instanceof Date;
@@ -20,6 +20,7 @@ import grails.converters.JSON;
 import java.util.Map;
 
 import org.codehaus.groovy.grails.web.converters.exceptions.ConverterException;
+import org.codehaus.groovy.grails.web.converters.marshaller.ClassCacheableMarshaller;
 import org.codehaus.groovy.grails.web.converters.marshaller.ObjectMarshaller;
 import org.codehaus.groovy.grails.web.json.JSONWriter;
 
@@ -28,7 +29,7 @@ import org.codehaus.groovy.grails.web.json.JSONWriter;
  * @since 1.1
  */
 @SuppressWarnings("unchecked")
-public class MapMarshaller implements ObjectMarshaller<JSON> {
+public class MapMarshaller implements ObjectMarshaller<JSON>, ClassCacheableMarshaller {
 
     public boolean supports(Object object) {
         return object instanceof Map;
@@ -17,6 +17,7 @@ package org.codehaus.groovy.grails.web.converters.marshaller.xml;
 
 import grails.converters.XML;
 import org.codehaus.groovy.grails.web.converters.exceptions.ConverterException;
+import org.codehaus.groovy.grails.web.converters.marshaller.ClassCacheableMarshaller;
 import org.codehaus.groovy.grails.web.converters.marshaller.ObjectMarshaller;
 import org.codehaus.groovy.grails.web.converters.marshaller.NameAwareMarshaller;
 
@@ -26,7 +27,7 @@ import java.lang.reflect.Array;
  * @author Siegfried Puchbauer
  * @since 1.1
  */
-public class ArrayMarshaller implements ObjectMarshaller<XML>, NameAwareMarshaller {
+public class ArrayMarshaller implements ObjectMarshaller<XML>, NameAwareMarshaller, ClassCacheableMarshaller {
 
     public boolean supports(Object object) {
         return object != null && object.getClass().isArray();
@@ -21,6 +21,7 @@ import java.util.Collection;
 import java.util.Set;
 
 import org.codehaus.groovy.grails.web.converters.exceptions.ConverterException;
+import org.codehaus.groovy.grails.web.converters.marshaller.ClassCacheableMarshaller;
 import org.codehaus.groovy.grails.web.converters.marshaller.NameAwareMarshaller;
 import org.codehaus.groovy.grails.web.converters.marshaller.ObjectMarshaller;
 
@@ -29,7 +30,7 @@ import org.codehaus.groovy.grails.web.converters.marshaller.ObjectMarshaller;
  * @since 1.1
  */
 @SuppressWarnings("rawtypes")
-public class CollectionMarshaller implements ObjectMarshaller<XML>, NameAwareMarshaller {
+public class CollectionMarshaller implements ObjectMarshaller<XML>, NameAwareMarshaller, ClassCacheableMarshaller {
 
     public boolean supports(Object object) {
         return object instanceof Collection;
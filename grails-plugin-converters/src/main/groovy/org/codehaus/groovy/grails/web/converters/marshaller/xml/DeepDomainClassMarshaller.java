@@ -17,6 +17,7 @@ package org.codehaus.groovy.grails.web.converters.marshaller.xml;
 
 import org.codehaus.groovy.grails.commons.GrailsApplication;
 import org.codehaus.groovy.grails.support.proxy.ProxyHandler;
+import org.codehaus.groovy.grails.web.converters.marshaller.ClassCacheableMarshaller;
 
 /**
  * @author Siegfried Puchbauer
@@ -24,7 +25,7 @@ import org.codehaus.groovy.grails.support.proxy.ProxyHandler;
  *
  * @since 1.1
  */
-public class DeepDomainClassMarshaller extends DomainClassMarshaller {
+public class DeepDomainClassMarshaller extends DomainClassMarshaller implements ClassCacheableMarshaller {
 
     public DeepDomainClassMarshaller(boolean includeVersion, GrailsApplication application) {
         super(includeVersion, application);
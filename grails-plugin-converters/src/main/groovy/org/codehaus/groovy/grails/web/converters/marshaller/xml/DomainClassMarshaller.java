@@ -25,9 +25,10 @@ import org.codehaus.groovy.grails.support.proxy.EntityProxyHandler;
 import org.codehaus.groovy.grails.support.proxy.ProxyHandler;
 import org.codehaus.groovy.grails.web.converters.ConverterUtil;
 import org.codehaus.groovy.grails.web.converters.exceptions.ConverterException;
+import org.codehaus.groovy.grails.web.converters.marshaller.ClassCacheableMarshaller;
 import org.codehaus.groovy.grails.web.converters.marshaller.IncludeExcludePropertyMarshaller;
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.BeanWrapperImpl;
+import org.codehaus.groovy.grails.web.converters.marshaller.SerializationPlan;
+import org.codehaus.groovy.grails.web.converters.marshaller.SerializationPlanCache;
 
 /**
  *
@@ -37,11 +38,14 @@ import org.springframework.beans.BeanWrapperImpl;
  * @author Graeme Rocher
  * @since 1.1
  */
-public class DomainClassMarshaller extends IncludeExcludePropertyMarshaller<XML> {
+public class DomainClassMarshaller extends IncludeExcludePropertyMarshaller<XML> implements ClassCacheableMarshaller {
+
+    private static final IncludeExcludeSupport<String> INCLUDE_EXCLUDE_SUPPORT = new IncludeExcludeSupport<String>();
 
     protected final boolean includeVersion;
     protected ProxyHandler proxyHandler;
     protected GrailsApplication application;
+    private final SerializationPlanCache serializationPlans = new SerializationPlanCache();
 
     public DomainClassMarshaller(GrailsApplication application) {
         this(false, application);
@@ -68,39 +72,37 @@ public class DomainClassMarshaller extends IncludeExcludePropertyMarshaller<XML>
 
         List<String> excludes = xml.getExcludes(clazz);
         List<String> includes = xml.getIncludes(clazz);
-        IncludeExcludeSupport<String> includeExcludeSupport = new IncludeExcludeSupport<String>();
 
         GrailsDomainClass domainClass = (GrailsDomainClass)application.getArtefact(
               DomainClassArtefactHandler.TYPE, ConverterUtil.trimProxySuffix(clazz.getName()));
-        BeanWrapper beanWrapper = new BeanWrapperImpl(value);
+        SerializationPlan plan = serializationPlans.getDomainClassPlan(clazz, domainClass);
 
-        GrailsDomainClassProperty id = domainClass.getIdentifier();
-        if(shouldInclude(includeExcludeSupport, includes, excludes,value, id.getName())) {
-            Object idValue = beanWrapper.getPropertyValue(id.getName());
+        SerializationPlan.Property id = plan.getIdentifier();
+        if(shouldInclude(INCLUDE_EXCLUDE_SUPPORT, includes, excludes,value, id.getName())) {
+            Object idValue = id.getValue(value);
 
             if (idValue != null) xml.attribute("id", String.valueOf(idValue));
         }
 
-        if (shouldInclude(includeExcludeSupport, includes, excludes, value, GrailsDomainClassProperty.VERSION) && includeVersion) {
-            Object versionValue = beanWrapper.getPropertyValue(domainClass.getVersion().getName());
+        if (shouldInclude(INCLUDE_EXCLUDE_SUPPORT, includes, excludes, value, GrailsDomainClassProperty.VERSION) && includeVersion) {
+            Object versionValue = plan.getVersion().getValue(value);
             xml.attribute("version", String.valueOf(versionValue));
         }
 
-        GrailsDomainClassProperty[] properties = domainClass.getPersistentProperties();
-
-        for (GrailsDomainClassProperty property : properties) {
-            String propertyName = property.getName();
-            if(!shouldInclude(includeExcludeSupport, includes, excludes, value, property.getName())) continue;
+        for (SerializationPlan.Property planProperty : plan.getProperties(includes, excludes)) {
+            String propertyName = planProperty.getName();
+            if(!shouldInclude(value, propertyName)) continue;
 
+            GrailsDomainClassProperty property = planProperty.getDomainProperty();
             xml.startNode(propertyName);
             if (!property.isAssociation()) {
                 // Write non-relation property
-                Object val = beanWrapper.getPropertyValue(propertyName);
+                Object val = planProperty.getValue(value);
                 xml.convertAnother(val);
             }
             else {
                 if (isRenderDomainClassRelations()) {
-                    Object referenceObject = beanWrapper.getPropertyValue(propertyName);
+                    Object referenceObject = planProperty.getValue(value);
                     if (referenceObject != null && shouldInitializeProxy(referenceObject)) {
                         referenceObject = proxyHandler.unwrapIfProxy(referenceObject);
                         if (referenceObject instanceof SortedMap) {
@@ -122,7 +124,7 @@ public class DomainClassMarshaller extends IncludeExcludePropertyMarshaller<XML>
                     }
                 }
                 else {
-                    Object referenceObject = beanWrapper.getPropertyValue(propertyName);
+                    Object referenceObject = planProperty.getValue(value);
                     if (referenceObject != null) {
                         GrailsDomainClass referencedDomainClass = property.getReferencedDomainClass();
 
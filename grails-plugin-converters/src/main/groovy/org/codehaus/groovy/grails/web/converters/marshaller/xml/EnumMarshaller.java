@@ -20,6 +20,7 @@ import grails.converters.XML;
 import java.lang.reflect.Method;
 
 import org.codehaus.groovy.grails.web.converters.exceptions.ConverterException;
+import org.codehaus.groovy.grails.web.converters.marshaller.ClassCacheableMarshaller;
 import org.codehaus.groovy.grails.web.converters.marshaller.ObjectMarshaller;
 import org.springframework.beans.BeanUtils;
 
@@ -27,7 +28,7 @@ import org.springframework.beans.BeanUtils;
  * @author Siegfried Puchbauer
  * @since 1.1
  */
-public class EnumMarshaller implements ObjectMarshaller<XML> {
+public class EnumMarshaller implements ObjectMarshaller<XML>, ClassCacheableMarshaller {
 
     public boolean supports(Object object) {
         return object.getClass().isEnum();
@@ -17,20 +17,19 @@ package org.codehaus.groovy.grails.web.converters.marshaller.xml;
 
 import grails.converters.XML;
 
-import java.beans.PropertyDescriptor;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
-
 import org.codehaus.groovy.grails.web.converters.exceptions.ConverterException;
+import org.codehaus.groovy.grails.web.converters.marshaller.ClassCacheableMarshaller;
 import org.codehaus.groovy.grails.web.converters.marshaller.ObjectMarshaller;
-import org.springframework.beans.BeanUtils;
+import org.codehaus.groovy.grails.web.converters.marshaller.SerializationPlan;
+import org.codehaus.groovy.grails.web.converters.marshaller.SerializationPlanCache;
 
 /**
  * @author Siegfried Puchbauer
  * @since 1.1
  */
-public class GenericJavaBeanMarshaller implements ObjectMarshaller<XML> {
+public class GenericJavaBeanMarshaller implements ObjectMarshaller<XML>, ClassCacheableMarshaller {
+
+    private final SerializationPlanCache serializationPlans = new SerializationPlanCache();
 
     public boolean supports(Object object) {
         return true;
@@ -38,24 +37,11 @@ public class GenericJavaBeanMarshaller implements ObjectMarshaller<XML> {
 
     public void marshalObject(Object o, XML xml) throws ConverterException {
         try {
-            for (PropertyDescriptor property : BeanUtils.getPropertyDescriptors(o.getClass())) {
-                String name = property.getName();
-                Method readMethod = property.getReadMethod();
-                if (readMethod != null) {
-                    Object value = readMethod.invoke(o, (Object[]) null);
-                    xml.startNode(name);
-                    xml.convertAnother(value);
-                    xml.end();
-                }
-            }
-            for (Field field : o.getClass().getDeclaredFields()) {
-                int modifiers = field.getModifiers();
-                if (field.isAccessible() && Modifier.isPublic(modifiers) &&
-                        !(Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers))) {
-                    xml.startNode(field.getName());
-                    xml.convertAnother(field.get(o));
-                    xml.end();
-                }
+            for (SerializationPlan.Property property : serializationPlans.getBeanPlan(o.getClass()).getProperties()) {
+                Object value = property.getValue(o);
+                xml.startNode(property.getName());
+                xml.convertAnother(value);
+                xml.end();
             }
         }
         catch (ConverterException ce) {
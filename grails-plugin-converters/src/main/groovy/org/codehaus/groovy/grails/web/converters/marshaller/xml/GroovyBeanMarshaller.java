@@ -30,6 +30,7 @@ import java.util.List;
 import org.codehaus.groovy.grails.commons.GrailsDomainClassProperty;
 import org.codehaus.groovy.grails.support.IncludeExcludeSupport;
 import org.codehaus.groovy.grails.web.converters.exceptions.ConverterException;
+import org.codehaus.groovy.grails.web.converters.marshaller.ClassCacheableMarshaller;
 import org.codehaus.groovy.grails.web.converters.marshaller.IncludeExcludePropertyMarshaller;
 import org.springframework.beans.BeanUtils;
 
@@ -37,7 +38,7 @@ import org.springframework.beans.BeanUtils;
  * @author Siegfried Puchbauer
  * @since 1.1
  */
-public class GroovyBeanMarshaller extends IncludeExcludePropertyMarshaller<XML> {
+public class GroovyBeanMarshaller extends IncludeExcludePropertyMarshaller<XML> implements ClassCacheableMarshaller {
 
     public boolean supports(Object object) {
         return object instanceof GroovyObject;
@@ -20,6 +20,7 @@ import grails.converters.XML;
 import java.util.Map;
 
 import org.codehaus.groovy.grails.web.converters.exceptions.ConverterException;
+import org.codehaus.groovy.grails.web.converters.marshaller.ClassCacheableMarshaller;
 import org.codehaus.groovy.grails.web.converters.marshaller.NameAwareMarshaller;
 import org.codehaus.groovy.grails.web.converters.marshaller.ObjectMarshaller;
 
@@ -27,7 +28,7 @@ import org.codehaus.groovy.grails.web.converters.marshaller.ObjectMarshaller;
  * @author Siegfried Puchbauer
  * @since 1.1
  */
-public class MapMarshaller implements ObjectMarshaller<XML>, NameAwareMarshaller {
+public class MapMarshaller implements ObjectMarshaller<XML>, NameAwareMarshaller, ClassCacheableMarshaller {
 
     public boolean supports(Object object) {
         return object instanceof Map;
@@ -27,13 +27,14 @@ import java.util.Set;
 import java.util.TimeZone;
 
 import org.codehaus.groovy.grails.web.converters.exceptions.ConverterException;
+import org.codehaus.groovy.grails.web.converters.marshaller.ClassCacheableMarshaller;
 import org.codehaus.groovy.grails.web.converters.marshaller.ObjectMarshaller;
 
 /**
  * @author Siegfried Puchbauer
  * @since 1.1
  */
-public class ToStringBeanMarshaller implements ObjectMarshaller<XML> {
+public class ToStringBeanMarshaller implements ObjectMarshaller<XML>, ClassCacheableMarshaller {
 
     private final Set<Class<?>> classes;
 
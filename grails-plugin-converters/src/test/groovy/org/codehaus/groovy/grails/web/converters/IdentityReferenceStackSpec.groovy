@@ -0,0 +1,72 @@
+package org.codehaus.groovy.grails.web.converters
+
+import spock.lang.Specification
+
+class IdentityReferenceStackSpec extends Specification {
+
+    void "Test that membership is decided by identity"() {
+        given:"A stack containing an object"
+            def stack = new IdentityReferenceStack()
+            def book = new EqualToEverything()
+            stack.push(book)
+
+        expect:"Equal objects are not considered to be on the stack"
+            stack.contains(book)
+            !stack.contains(new EqualToEverything())
+            stack.indexOf(book) == 0
+            stack.indexOf(new EqualToEverything()) == -1
+    }
+
+    void "Test push and pop beyond the initial capacity"() {
+        given:"A stack"
+            def stack = new IdentityReferenceStack()
+            def objects = (1..40).collect { new Object() }
+
+        when:"Objects are pushed"
+            objects.each { stack.push(it) }
+
+        then:"Their positions are known"
+            stack.size() == 40
+            stack.indexOf(objects[25]) == 25
+            stack.peek().is(objects[39])
+
+        when:"Objects are popped"
+            10.times { stack.pop() }
+
+        then:"They are no longer on the stack"
+            stack.size() == 30
+            !stack.contains(objects[30])
+            stack.contains(objects[29])
+    }
+
+    void "Test that an object pushed twice is reported at its outermost position until that is popped"() {
+        given:"A stack with the same object pushed twice"
+            def stack = new IdentityReferenceStack()
+            def a = new Object()
+            stack.push(a)
+            stack.push(new Object())
+            stack.push(a)
+
+        expect:"The first position is returned"
+            stack.indexOf(a) == 0
+
+        when:"The inner occurrence is popped"
+            stack.pop()
+
+        then:"The object is still on the stack"
+            stack.contains(a)
+
+        when:"The outer occurrence is popped"
+            stack.pop()
+            stack.pop()
+
+        then:"The object is gone"
+            !stack.contains(a)
+            stack.isEmpty()
+    }
+
+    static class EqualToEverything {
+        boolean equals(Object o) { true }
+        int hashCode() { 1 }
+    }
+}
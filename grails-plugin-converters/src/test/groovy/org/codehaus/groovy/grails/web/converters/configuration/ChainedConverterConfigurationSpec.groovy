@@ -0,0 +1,57 @@
+package org.codehaus.groovy.grails.web.converters.configuration
+
+import grails.converters.JSON
+import grails.util.Environment
+
+import org.codehaus.groovy.grails.web.converters.configuration.DefaultConverterConfigurationSpec.CountingMarshaller
+import org.codehaus.groovy.grails.web.converters.configuration.DefaultConverterConfigurationSpec.CountingSubclassMarshaller
+import org.codehaus.groovy.grails.web.converters.configuration.DefaultConverterConfigurationSpec.EvenNumberMarshaller
+
+import spock.lang.Specification
+
+class ChainedConverterConfigurationSpec extends Specification {
+
+    static final boolean CACHING = !Environment.isDevelopmentMode()
+
+    void "Test that class cacheable marshallers are resolved once per class"() {
+        given:"A chained configuration with class cacheable marshallers"
+            def stringMarshaller = new CountingMarshaller(String)
+            def numberMarshaller = new CountingMarshaller(Number)
+            def cfg = new ChainedConverterConfiguration<JSON>(
+                new DefaultConverterConfiguration<JSON>([stringMarshaller, numberMarshaller]))
+
+        when:"Values of the same classes are looked up repeatedly"
+            def results = (1..10).collect { [cfg.getMarshaller("value $it".toString()), cfg.getMarshaller(it)] }
+
+        then:"The marshallers are resolved correctly and supports() is only called on the first lookup of each class"
+            results.every { it[0].is(stringMarshaller) && it[1].is(numberMarshaller) }
+            stringMarshaller.supportsCalls == (CACHING ? 2 : 20)
+            numberMarshaller.supportsCalls == (CACHING ? 1 : 10)
+    }
+
+    void "Test that a cached marshaller following one that isn't class cacheable is checked for every instance"() {
+        given:"A chained configuration with a marshaller that looks at the instance"
+            def numberMarshaller = new CountingMarshaller(Number)
+            def cfg = new ChainedConverterConfiguration<JSON>(
+                new DefaultConverterConfiguration<JSON>([new EvenNumberMarshaller(), numberMarshaller]))
+
+        when:"Odd values are looked up repeatedly"
+            def results = [1, 3, 5].collect { cfg.getMarshaller(it) }
+
+        then:"supports() is called for every lookup"
+            results.every { it.is(numberMarshaller) }
+            numberMarshaller.supportsCalls == 3
+    }
+
+    void "Test that a subclass inheriting the class cacheable marker is checked for every instance"() {
+        given:"A chained configuration with a subclass of a class cacheable marshaller"
+            def marshaller = new CountingSubclassMarshaller(Number)
+            def cfg = new ChainedConverterConfiguration<JSON>(new DefaultConverterConfiguration<JSON>([marshaller]))
+
+        when:"Values of the same class are looked up repeatedly"
+            3.times { cfg.getMarshaller(it) }
+
+        then:"supports() is called for every lookup"
+            marshaller.supportsCalls == 3
+    }
+}
@@ -0,0 +1,116 @@
+package org.codehaus.groovy.grails.web.converters.configuration
+
+import grails.converters.JSON
+import grails.util.Environment
+
+import org.codehaus.groovy.grails.web.converters.exceptions.ConverterException
+import org.codehaus.groovy.grails.web.converters.marshaller.ClassCacheableMarshaller
+import org.codehaus.groovy.grails.web.converters.marshaller.ObjectMarshaller
+
+import spock.lang.Specification
+
+class DefaultConverterConfigurationSpec extends Specification {
+
+    static final boolean CACHING = !Environment.isDevelopmentMode()
+
+    void "Test that marshallers supporting a class are resolved once per class"() {
+        given:"A configuration with class cacheable marshallers"
+            def stringMarshaller = new CountingMarshaller(String)
+            def numberMarshaller = new CountingMarshaller(Number)
+            def cfg = new DefaultConverterConfiguration<JSON>([stringMarshaller, numberMarshaller])
+
+        when:"Values of the same classes are looked up repeatedly"
+            def results = (1..10).collect { [cfg.getMarshaller("value $it".toString()), cfg.getMarshaller(it)] }
+
+        then:"The marshallers are resolved correctly and supports() is only called on the first lookup of each class"
+            results.every { it[0].is(stringMarshaller) && it[1].is(numberMarshaller) }
+            stringMarshaller.supportsCalls == (CACHING ? 2 : 20)
+            numberMarshaller.supportsCalls == (CACHING ? 1 : 10)
+    }
+
+    void "Test that the cache is cleared when a marshaller is registered"() {
+        given:"A configuration that has resolved a marshaller for a class"
+            def numberMarshaller = new CountingMarshaller(Number)
+            def cfg = new DefaultConverterConfiguration<JSON>([numberMarshaller])
+            cfg.getMarshaller(1)
+
+        when:"A marshaller with a higher priority is registered"
+            def integerMarshaller = new CountingMarshaller(Integer)
+            cfg.registerObjectMarshaller(integerMarshaller, 10)
+
+        then:"It is used for the class"
+            cfg.getMarshaller(2).is(integerMarshaller)
+            cfg.getMarshaller(2L).is(numberMarshaller)
+    }
+
+    void "Test that registering a marshaller in the delegate clears the cache"() {
+        given:"A configuration delegating to another configuration"
+            def parent = new DefaultConverterConfiguration<JSON>([new CountingMarshaller(Number)])
+            def cfg = new DefaultConverterConfiguration<JSON>(parent)
+            cfg.getMarshaller(1)
+
+        when:"A marshaller is registered in the delegate"
+            def integerMarshaller = new CountingMarshaller(Integer)
+            parent.registerObjectMarshaller(integerMarshaller, 10)
+
+        then:"It is used for the class"
+            cfg.getMarshaller(1).is(integerMarshaller)
+    }
+
+    void "Test that decisions made by marshallers that aren't class cacheable aren't cached"() {
+        given:"A configuration with a marshaller that looks at the instance"
+            def evenMarshaller = new EvenNumberMarshaller()
+            def numberMarshaller = new CountingMarshaller(Number)
+            def cfg = new DefaultConverterConfiguration<JSON>([evenMarshaller, numberMarshaller])
+
+        expect:"The decision is made for every instance"
+            cfg.getMarshaller(1).is(numberMarshaller)
+            cfg.getMarshaller(2).is(evenMarshaller)
+            cfg.getMarshaller(3).is(numberMarshaller)
+            numberMarshaller.supportsCalls == 2
+    }
+
+    void "Test that a subclass inheriting the class cacheable marker isn't cached"() {
+        given:"A configuration with a subclass of a class cacheable marshaller"
+            def marshaller = new CountingSubclassMarshaller(Number)
+            def cfg = new DefaultConverterConfiguration<JSON>([marshaller])
+
+        when:"Values of the same class are looked up repeatedly"
+            3.times { cfg.getMarshaller(it) }
+
+        then:"supports() is called for every lookup"
+            marshaller.supportsCalls == 3
+    }
+
+    static class CountingMarshaller implements ObjectMarshaller<JSON>, ClassCacheableMarshaller {
+        Class type
+        int supportsCalls
+
+        CountingMarshaller(Class type) {
+            this.type = type
+        }
+
+        boolean supports(Object object) {
+            supportsCalls++
+            type.isInstance(object)
+        }
+
+        void marshalObject(Object object, JSON converter) throws ConverterException {
+        }
+    }
+
+    static class CountingSubclassMarshaller extends CountingMarshaller {
+        CountingSubclassMarshaller(Class type) {
+            super(type)
+        }
+    }
+
+    static class EvenNumberMarshaller implements ObjectMarshaller<JSON> {
+        boolean supports(Object object) {
+            object instanceof Number && object % 2 == 0
+        }
+
+        void marshalObject(Object object, JSON converter) throws ConverterException {
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.codehaus.groovy.grails.web.converters.marshaller
+
+import org.codehaus.groovy.grails.commons.DefaultGrailsDomainClass
+
+import spock.lang.Specification
+
+class SerializationPlanSpec extends Specification {
+
+    void "Test that a domain class plan reads the persistent properties in order"() {
+        given:"A plan for a domain class"
+            def domainClass = new DefaultGrailsDomainClass(PlanBook)
+            def plan = SerializationPlan.forDomainClass(PlanBook, domainClass)
+            def book = new PlanBook(id: 1L, version: 2L, title: 'The Stand', pages: 1153)
+
+        expect:"The properties, keys and values are resolved"
+            plan.properties*.name == domainClass.persistentProperties*.name
+            plan.properties*.quotedName == domainClass.persistentProperties.collect { '"' + it.name + '"' }
+            plan.properties.collect { it.getValue(book) } == domainClass.persistentProperties.collect { book[it.name] }
+            plan.identifier.getValue(book) == 1L
+            plan.version.getValue(book) == 2L
+    }
+
+    void "Test that filtered properties are reused for the same include and exclude lists"() {
+        given:"A plan for a domain class"
+            def plan = SerializationPlan.forDomainClass(PlanBook, new DefaultGrailsDomainClass(PlanBook))
+            def excludes = ['pages']
+
+        when:"The properties are filtered"
+            def filtered = plan.getProperties(null, excludes)
+
+        then:"The excluded property is removed and the result is reused"
+            filtered*.name == ['title']
+            plan.getProperties(null, excludes).is(filtered)
+            plan.getProperties(null, null).is(plan.properties)
+            plan.getProperties(['pages'], null)*.name == ['pages']
+    }
+
+    void "Test that changing an include list between calls is picked up"() {
+        given:"A plan for a domain class and an include list"
+            def plan = SerializationPlan.forDomainClass(PlanBook, new DefaultGrailsDomainClass(PlanBook))
+            def includes = ['title']
+
+        when:"The properties are filtered and the same list is changed"
+            def first = plan.getProperties(includes, null)*.name
+            includes << 'pages'
+            def second = plan.getProperties(includes, null)*.name
+
+        then:"The changed list is used"
+            first == ['title']
+            second as Set == ['title', 'pages'] as Set
+    }
+
+    void "Test that the cache recreates a plan when the domain class changes"() {
+        given:"A plan cache"
+            def cache = new SerializationPlanCache()
+            def domainClass = new DefaultGrailsDomainClass(PlanBook)
+            def plan = cache.getDomainClassPlan(PlanBook, domainClass)
+
+        expect:"Plans are reused until the domain class is replaced"
+            cache.getDomainClassPlan(PlanBook, domainClass).is(plan)
+            !cache.getDomainClassPlan(PlanBook, new DefaultGrailsDomainClass(PlanBook)).is(plan)
+    }
+
+    void "Test that a bean plan reads the readable properties"() {
+        given:"A plan for a bean"
+            def plan = SerializationPlan.forBean(PlanBean)
+
+        expect:"The properties with a getter are included"
+            plan.properties*.name as Set == ['class', 'metaClass', 'name'] as Set
+            plan.properties.find { it.name == 'name' }.getValue(new PlanBean(name: 'bean')) == 'bean'
+    }
+}
+
+class PlanBook {
+    Long id
+    Long version
+    String title
+    Integer pages
+}
+
+class PlanBean {
+    private String name
+
+    String getName() { name }
+    void setName(String name) { this.name = name }
+}
@@ -41,6 +41,7 @@ import org.springframework.beans.factory.config.AutowireCapableBeanFactory
 import org.springframework.beans.factory.config.MethodInvokingFactoryBean
 import org.springframework.context.ApplicationContext
 import org.springframework.context.ConfigurableApplicationContext
+import org.springframework.scheduling.concurrent.ThreadPoolExecutorFactoryBean
 import org.springframework.validation.BeanPropertyBindingResult
 import org.springframework.validation.Errors
 import org.springframework.validation.Validator
@@ -60,6 +61,8 @@ class DomainClassGrailsPlugin {
     def dependsOn = [i18n:version]
     def loadAfter = ['controllers']
 
+    static final String BULK_VALIDATION_EXECUTOR_BEAN_NAME = 'domainClassBulkValidationExecutor'
+
     def doWithSpring = {
 
         def config = application.config
@@ -73,6 +76,21 @@ class DomainClassGrailsPlugin {
         
         grailsDomainClassCleaner(GrailsDomainClassCleaner, application)
 
+        // validates the partitions of validateAll() calls in parallel, the calling thread validates a partition when the queue is full
+        int bulkValidationThreads = getBulkValidationThreads(application)
+        if (bulkValidationThreads > 0) {
+            "$BULK_VALIDATION_EXECUTOR_BEAN_NAME"(ThreadPoolExecutorFactoryBean) {
+                corePoolSize = bulkValidationThreads
+                maxPoolSize = bulkValidationThreads
+                queueCapacity = bulkValidationThreads * 4
+                allowCoreThreadTimeOut = true
+                rejectedExecutionHandler = new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy()
+                threadNamePrefix = 'domain-validation-'
+                daemon = true
+            }
+        }
+        def bulkPartitionSize = application.flatConfig['grails.validation.bulk.minPartitionSize']
+
         for (dc in application.domainClasses) {
             // Note the use of Groovy's ability to use dynamic strings in method names!
             if (dc.abstract) {
@@ -99,6 +117,13 @@ class DomainClassGrailsPlugin {
                 bean.lazyInit = true
                 domainClass = ref("${dc.fullName}DomainClass")
                 grailsApplication = ref("grailsApplication", true)
+                if (bulkValidationThreads > 0) {
+                    bulkValidationExecutor = ref(BULK_VALIDATION_EXECUTOR_BEAN_NAME)
+                    bulkValidationParallelism = bulkValidationThreads
+                }
+                if (bulkPartitionSize) {
+                    minBulkPartitionSize = bulkPartitionSize as int
+                }
             }
         }
     }
@@ -107,6 +132,14 @@ class DomainClassGrailsPlugin {
         ConstraintEvalUtils.getDefaultConstraints(config)
     }
 
+    /**
+     * The number of threads validating the partitions of validateAll() calls, 0 validates in the calling thread
+     */
+    static int getBulkValidationThreads(GrailsApplication application) {
+        def threads = application.flatConfig['grails.validation.bulk.threads']
+        threads != null ? threads as int : Runtime.runtime.availableProcessors()
+    }
+
     static final PROPERTY_INSTANCE_MAP = new SoftThreadLocalMap()
 
     def doWithDynamicMethods = { ApplicationContext ctx->
@@ -130,6 +163,8 @@ class DomainClassGrailsPlugin {
             return
         }
 
+        int bulkValidationThreads = event.ctx.containsBean(BULK_VALIDATION_EXECUTOR_BEAN_NAME) ? getBulkValidationThreads(application) : 0
+        def bulkPartitionSize = application.flatConfig['grails.validation.bulk.minPartitionSize']
         def beans = beans {
             "${domainClass.fullName}"(domainClass.clazz) { bean ->
                 bean.singleton = false
@@ -151,6 +186,13 @@ class DomainClassGrailsPlugin {
                 bean.lazyInit = true
                 domainClass = ref("${domainClass.fullName}DomainClass")
                 grailsApplication = ref("grailsApplication", true)
+                if (bulkValidationThreads > 0) {
+                    bulkValidationExecutor = ref(BULK_VALIDATION_EXECUTOR_BEAN_NAME)
+                    bulkValidationParallelism = bulkValidationThreads
+                }
+                if (bulkPartitionSize) {
+                    minBulkPartitionSize = bulkPartitionSize as int
+                }
             }
         }
         beans.registerBeans(event.ctx)
@@ -18,33 +18,47 @@ package org.codehaus.groovy.grails.plugins.web.filters;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.codehaus.groovy.grails.web.metaclass.ForwardMethod;
+import org.codehaus.groovy.grails.web.servlet.GrailsApplicationAttributes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
 
+import com.googlecode.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
+
 /**
  * Composed of other HandlerInterceptor instances.
  *
+ * Filters are indexed by controller name: for each controller only the handlers that can
+ * apply to one of its requests are called, in the original order. The index is rebuilt
+ * whenever the handlers change, for example when the filters are reloaded.
+ *
  * @author mike
  * @author Graeme Rocher
  */
 public class CompositeInterceptor implements HandlerInterceptor {
 
+    public static final int DEFAULT_MAX_INDEXED_CONTROLLERS = 1000;
+
     protected final Logger log = LoggerFactory.getLogger(getClass());
 
     protected List<HandlerInterceptor> handlers = new ArrayList<HandlerInterceptor>();
     protected List<HandlerInterceptor> handlersReversed = new ArrayList<HandlerInterceptor>();
 
+    private int maxIndexedControllers = DEFAULT_MAX_INDEXED_CONTROLLERS;
+    private volatile Map<String, FilterCandidates> candidatesByController;
+    private volatile FilterCandidates allHandlers = new FilterCandidates(handlers, handlersReversed);
+
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object o) throws Exception {
         if (log.isDebugEnabled()) log.debug("preHandle " + request + ", " + response + ", " + o);
 
-        for (HandlerInterceptor handler : handlers) {
+        for (HandlerInterceptor handler : findCandidates(request).handlers) {
             if (!handler.preHandle(request, response, o)) {
                 return false;
             }
@@ -59,7 +73,7 @@ public class CompositeInterceptor implements HandlerInterceptor {
     public void postHandle(HttpServletRequest request, HttpServletResponse response,Object o, ModelAndView modelAndView) throws Exception {
         if (log.isDebugEnabled()) log.debug("postHandle " + request + ", " + response + ", " + o + ", " + modelAndView);
 
-        for (HandlerInterceptor handler : handlersReversed) {
+        for (HandlerInterceptor handler : findCandidates(request).handlersReversed) {
             handler.postHandle(request, response, o, modelAndView);
         }
     }
@@ -67,7 +81,7 @@ public class CompositeInterceptor implements HandlerInterceptor {
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object o, Exception e) throws Exception {
         if (log.isDebugEnabled()) log.debug("afterCompletion " + request + ", " + response + ", " + o + ", " + e);
 
-        for (HandlerInterceptor handler : handlersReversed) {
+        for (HandlerInterceptor handler : findCandidates(request).handlersReversed) {
             handler.afterCompletion(request, response, o, e);
         }
     }
@@ -82,8 +96,95 @@ public class CompositeInterceptor implements HandlerInterceptor {
         initReversed();
     }
 
+    public void setMaxIndexedControllers(int maxIndexedControllers) {
+        this.maxIndexedControllers = maxIndexedControllers;
+        initIndex();
+    }
+
     protected void initReversed() {
         handlersReversed = new ArrayList<HandlerInterceptor>(handlers);
         Collections.reverse(handlersReversed);
+        initIndex();
+    }
+
+    /**
+     * Resets the dispatch index, it is only used when there is at least one filter
+     * restricted to some controllers.
+     */
+    protected void initIndex() {
+        allHandlers = new FilterCandidates(handlers, handlersReversed);
+        Map<String, FilterCandidates> index = null;
+        for (HandlerInterceptor handler : handlers) {
+            if (handler instanceof FilterToHandlerAdapter && !((FilterToHandlerAdapter)handler).appliesToAnyController()) {
+                index = new ConcurrentLinkedHashMap.Builder<String, FilterCandidates>()
+                        .maximumWeightedCapacity(maxIndexedControllers)
+                        .build();
+                break;
+            }
+        }
+        candidatesByController = index;
+    }
+
+    /**
+     * Finds the handlers that can apply to the controller of the request. Each handler still
+     * checks the action and URI of the request itself.
+     *
+     * @param request The request
+     * @return The candidate handlers
+     */
+    protected FilterCandidates findCandidates(HttpServletRequest request) {
+        Map<String, FilterCandidates> index = candidatesByController;
+        if (index == null) {
+            return allHandlers;
+        }
+
+        Object controllerName = request.getAttribute(GrailsApplicationAttributes.CONTROLLER_NAME_ATTRIBUTE);
+        String key = controllerName != null ? controllerName.toString() : "";
+        List<HandlerInterceptor> currentHandlers = handlers;
+        FilterCandidates candidates = index.get(key);
+        if (candidates == null || candidates.source != currentHandlers) {
+            candidates = createCandidates(currentHandlers, key);
+            index.put(key, candidates);
+        }
+        return candidates;
+    }
+
+    protected FilterCandidates createCandidates(List<HandlerInterceptor> currentHandlers, String controllerName) {
+        List<HandlerInterceptor> matching = new ArrayList<HandlerInterceptor>();
+        for (HandlerInterceptor handler : currentHandlers) {
+            if (!(handler instanceof FilterToHandlerAdapter) || ((FilterToHandlerAdapter)handler).appliesToController(controllerName)) {
+                matching.add(handler);
+            }
+        }
+        List<HandlerInterceptor> reversed = new ArrayList<HandlerInterceptor>(matching);
+        Collections.reverse(reversed);
+        return new FilterCandidates(currentHandlers, matching, reversed);
+    }
+
+    /**
+     * The handlers that are called for the requests of one controller.
+     */
+    protected static class FilterCandidates {
+        final List<HandlerInterceptor> source;
+        final List<HandlerInterceptor> handlers;
+        final List<HandlerInterceptor> handlersReversed;
+
+        FilterCandidates(List<HandlerInterceptor> handlers, List<HandlerInterceptor> handlersReversed) {
+            this(handlers, handlers, handlersReversed);
+        }
+
+        FilterCandidates(List<HandlerInterceptor> source, List<HandlerInterceptor> handlers, List<HandlerInterceptor> handlersReversed) {
+            this.source = source;
+            this.handlers = handlers;
+            this.handlersReversed = handlersReversed;
+        }
+
+        public List<HandlerInterceptor> getHandlers() {
+            return handlers;
+        }
+
+        public List<HandlerInterceptor> getHandlersReversed() {
+            return handlersReversed;
+        }
     }
 }
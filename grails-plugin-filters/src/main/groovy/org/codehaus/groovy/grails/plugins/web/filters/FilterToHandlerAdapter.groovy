@@ -48,6 +48,9 @@ class FilterToHandlerAdapter implements HandlerInterceptor, InitializingBean, Gr
     def actionExcludeRegex
     def uriPattern
     def uriExcludePattern
+    String uriPrefix // literal start of uriPattern, used to reject URIs without Ant matching
+    boolean anyController
+    boolean anyAction
     def urlPathHelper = new UrlPathHelper()
     def pathMatcher = new AntPathMatcher()
     def useRegex  // standard regex
@@ -85,8 +88,12 @@ class FilterToHandlerAdapter implements HandlerInterceptor, InitializingBean, Gr
             actionExcludeRegex = Pattern.compile((useRegex)?scope.actionExclude:scope.actionExclude.replaceAll("\\*", ".*"))
         }
 
+        anyController = controllerRegex.pattern() == '.*'
+        anyAction = actionRegex.pattern() == '.*'
+
         if (scope.uri) {
             uriPattern = scope.uri.toString()
+            uriPrefix = literalUriPrefix(uriPattern)
         }
         if (scope.uriExclude) {
             uriExcludePattern = scope.uriExclude.toString()
@@ -205,7 +212,7 @@ class FilterToHandlerAdapter implements HandlerInterceptor, InitializingBean, Gr
         boolean matched=true
 
         if (uriPattern) {
-            matched = pathMatcher.match(uriPattern, uri)
+            matched = mayMatchUriPrefix(uri) && pathMatcher.match(uriPattern, uri)
             if (matched && uriExcludePattern) {
                 matched = !pathMatcher.match(uriExcludePattern, uri)
             }
@@ -218,7 +225,7 @@ class FilterToHandlerAdapter implements HandlerInterceptor, InitializingBean, Gr
                 matched = ('/' == uri)
             }
             if (matched) {
-                matched = doesMatch(controllerRegex, controllerName)
+                matched = anyController || doesMatch(controllerRegex, controllerName)
                 if (matched && controllerExcludeRegex) {
                     matched = !doesMatch(controllerExcludeRegex, controllerName)
                 }
@@ -229,7 +236,7 @@ class FilterToHandlerAdapter implements HandlerInterceptor, InitializingBean, Gr
                        DefaultGrailsControllerClass.CONTROLLER, controllerName)
                     actionName = controllerClass?.getDefaultAction()
                 }
-                matched = doesMatch(actionRegex, actionName)
+                matched = anyAction || doesMatch(actionRegex, actionName)
                 if (matched && actionExcludeRegex) {
                     matched = !doesMatch(actionExcludeRegex, actionName)
                 }
@@ -239,6 +246,64 @@ class FilterToHandlerAdapter implements HandlerInterceptor, InitializingBean, Gr
         invertRule ? !matched : matched
     }
 
+    /**
+     * Whether the filter can apply to some request of the given controller, used by
+     * {@link CompositeInterceptor} to index the filters by controller. Filters with URI
+     * patterns or an inverted rule can apply to any controller.
+     */
+    boolean appliesToController(String controllerName) {
+        if (appliesToAnyController()) {
+            return true
+        }
+        doesMatch(controllerRegex, controllerName) &&
+            !(controllerExcludeRegex && doesMatch(controllerExcludeRegex, controllerName))
+    }
+
+    boolean appliesToAnyController() {
+        invertRule || uriPattern || uriExcludePattern || !controllerRegex || !actionRegex ||
+            (anyController && !controllerExcludeRegex)
+    }
+
+    /**
+     * The part of an Ant URI pattern before the path segment with the first wildcard, a URI
+     * has to start with it to match the pattern.
+     */
+    protected String literalUriPrefix(String pattern) {
+        if (!pattern.startsWith('/')) {
+            return null
+        }
+        int wildcard = pattern.length()
+        for (String c in ['*', '?', '{']) {
+            int index = pattern.indexOf(c)
+            if (index > -1 && index < wildcard) {
+                wildcard = index
+            }
+        }
+        int end = pattern.lastIndexOf('/', wildcard - 1)
+        String prefix = end > 0 ? pattern.substring(0, end) : null
+        isPlainPath(prefix) ? prefix : null
+    }
+
+    protected boolean mayMatchUriPrefix(String uri) {
+        !uriPrefix || uri == null || uri.startsWith(uriPrefix) || !isPlainPath(uri)
+    }
+
+    /**
+     * AntPathMatcher ignores empty path segments and whitespace around segments, a URI
+     * prefix is only compared with paths that have neither.
+     */
+    protected boolean isPlainPath(String path) {
+        if (path == null || path.contains('//')) {
+            return false
+        }
+        for (int i = 0; i < path.length(); i++) {
+            if (Character.isWhitespace(path.charAt(i))) {
+                return false
+            }
+        }
+        true
+    }
+
     boolean doesMatch(Pattern pattern, CharSequence string) {
         def matcher=pattern.matcher(string ?: '')
         useRegexFind ? matcher.find() : matcher.matches()
@@ -46,6 +46,7 @@ import org.codehaus.groovy.grails.web.errors.ErrorsViewStackTracePrinter
 import org.codehaus.groovy.grails.web.filters.JavascriptLibraryHandlerInterceptor
 import org.codehaus.groovy.grails.web.pages.DefaultGroovyPagesUriService
 import org.codehaus.groovy.grails.web.pages.FilteringCodecsByContentTypeSettings
+import org.codehaus.groovy.grails.web.pages.GroovyPageFragmentCache
 import org.codehaus.groovy.grails.web.pages.GroovyPageResourceLoader
 import org.codehaus.groovy.grails.web.pages.GroovyPagesTemplateEngine
 import org.codehaus.groovy.grails.web.pages.GroovyPagesTemplateRenderer
@@ -59,6 +60,7 @@ import org.codehaus.groovy.grails.web.servlet.view.GrailsViewResolver
 import org.codehaus.groovy.grails.web.sitemesh.GroovyPageLayoutFinder
 import org.springframework.beans.factory.config.PropertiesFactoryBean
 import org.springframework.context.ApplicationContext
+import org.springframework.scheduling.concurrent.ThreadPoolExecutorFactoryBean
 import org.springframework.web.servlet.view.JstlView
 
 /**
@@ -193,8 +195,36 @@ class GroovyPagesGrailsPlugin {
             groovyPageLocator = groovyPageLocator
         }
 
+        // output of <g:render> calls with a cacheKey attribute, the size is the number of cached characters, 0 disables the cache
+        long fragmentCacheMaxSize = application.flatConfig['grails.gsp.fragmentCache.maxSize'] != null ?
+            application.flatConfig['grails.gsp.fragmentCache.maxSize'] as long : GroovyPageFragmentCache.DEFAULT_MAX_SIZE
+        long fragmentCacheTimeToLive = application.flatConfig['grails.gsp.fragmentCache.timeToLive'] != null ?
+            (application.flatConfig['grails.gsp.fragmentCache.timeToLive'] as long) * 1000 : GroovyPageFragmentCache.DEFAULT_TIME_TO_LIVE
+        if (fragmentCacheMaxSize > 0) {
+            groovyPageFragmentCache(GroovyPageFragmentCache, fragmentCacheMaxSize, fragmentCacheTimeToLive)
+        }
+
+        // renders the chunks of <g:render> calls with a collection and parallel="true", the calling thread renders a chunk when the queue is full
+        int parallelRenderingThreads = (application.flatConfig['grails.gsp.parallelRendering.threads'] ?: Runtime.runtime.availableProcessors()) as int
+        gspParallelRenderingExecutor(ThreadPoolExecutorFactoryBean) {
+            corePoolSize = parallelRenderingThreads
+            maxPoolSize = parallelRenderingThreads
+            queueCapacity = parallelRenderingThreads * 4
+            allowCoreThreadTimeOut = true
+            rejectedExecutionHandler = new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy()
+            threadNamePrefix = 'gsp-render-'
+            daemon = true
+        }
+
         groovyPagesTemplateRenderer(GroovyPagesTemplateRenderer) { bean ->
             bean.autowire = true
+            if (fragmentCacheMaxSize > 0) {
+                fragmentCache = ref('groovyPageFragmentCache')
+            }
+            parallelRenderingExecutor = ref('gspParallelRenderingExecutor')
+            if (application.flatConfig['grails.gsp.parallelRendering.chunkSize']) {
+                parallelRenderingChunkSize = application.flatConfig['grails.gsp.parallelRendering.chunkSize'] as int
+            }
         }
 
         groovyPageLayoutFinder(GroovyPageLayoutFinder) {
@@ -576,6 +576,7 @@ class RenderTagLib implements RequestConstants {
      * &lt;g:render template="atemplate" collection="${users}" /&gt;<br/>
      * &lt;g:render template="atemplate" model="[user:user,company:company]" /&gt;<br/>
      * &lt;g:render template="atemplate" bean="${user}" /&gt;<br/>
+     * &lt;g:render template="atemplate" model="[product:product]" cacheKey="${product.id}" /&gt;<br/>
      *
      * @attr template REQUIRED The name of the template to apply
      * @attr contextPath the context path to use (relative to the application context path). Defaults to "" or path to the plugin for a plugin view or template.
@@ -584,6 +585,8 @@ class RenderTagLib implements RequestConstants {
      * @attr collection A collection of model objects to apply the template to
      * @attr var The variable name of the bean to be referenced in the template
      * @attr plugin The plugin to look for the template in
+     * @attr cacheKey Caches the output of the template for the given key, the key has to identify the model of the template
+     * @attr parallel If true the elements of the collection are rendered by several threads, the template must not change variables of the page. The threads can't use the persistence session of the request, parallel rendering is meant for detached objects whose associations have been loaded
      */
     Closure render = { attrs, body ->
         groovyPagesTemplateRenderer.render(getWebRequest(), getPageScope(), attrs, body, getOut())
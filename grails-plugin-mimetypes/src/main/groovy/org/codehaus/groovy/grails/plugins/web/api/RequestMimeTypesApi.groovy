@@ -17,6 +17,8 @@ package org.codehaus.groovy.grails.plugins.web.api
 
 import groovy.transform.CompileStatic
 
+import java.util.regex.Pattern
+
 import javax.servlet.http.HttpServletRequest
 
 import org.codehaus.groovy.grails.commons.GrailsApplication
@@ -34,11 +36,16 @@ import org.codehaus.groovy.grails.web.servlet.HttpHeaders
 @CompileStatic
 class RequestMimeTypesApi {
 
+    // the boundary of a multipart request is unique per request, it must not be part of the key of the parser cache
+    private static final Pattern BOUNDARY_PARAMETER = Pattern.compile(/;\s*boundary=("[^"]*"|[^;]*)/, Pattern.CASE_INSENSITIVE)
+
     MimeType[] mimeTypes
     GrailsApplication grailsApplication
 
     MimeTypesApiSupport apiSupport = new MimeTypesApiSupport()
 
+    private volatile DefaultAcceptHeaderParser acceptHeaderParser
+
     RequestMimeTypesApi() {}
 
     RequestMimeTypesApi(GrailsApplication application, MimeType[] mimeTypes) {
@@ -48,6 +55,19 @@ class RequestMimeTypesApi {
 
     MimeType[] getMimeTypes() { mimeTypes }
 
+    /**
+     * @return The parser for the configured mime types, shared between requests so that its cache of parsed headers is reused
+     */
+    protected DefaultAcceptHeaderParser getAcceptHeaderParser() {
+        MimeType[] configured = getMimeTypes()
+        DefaultAcceptHeaderParser parser = acceptHeaderParser
+        if (parser == null || !parser.configuredMimeTypes.is(configured)) {
+            parser = new DefaultAcceptHeaderParser(configured)
+            acceptHeaderParser = parser
+        }
+        parser
+    }
+
     /**
      * Obtains the request format, which is dictated by the CONTENT_TYPE header and evaluated using the
      * configured {@link org.codehaus.groovy.grails.web.mime.MimeType} instances. Only configured MimeTypes
@@ -74,16 +94,29 @@ class RequestMimeTypesApi {
     MimeType[] getMimeTypes(HttpServletRequest request) {
         MimeType[] result = (MimeType[])request.getAttribute(GrailsApplicationAttributes.REQUEST_FORMATS)
         if (!result) {
-            def parser = new DefaultAcceptHeaderParser(getMimeTypes())
+            def parser = getAcceptHeaderParser()
             def header = request.contentType
             if (!header) header = request.getHeader(HttpHeaders.CONTENT_TYPE)
-            result = parser.parse(header, header ? new MimeType(header) : MimeType.HTML)
+            result = parser.parse(removeBoundaryParameter(header), header ? new MimeType(header) : MimeType.HTML)
 
             request.setAttribute(GrailsApplicationAttributes.REQUEST_FORMATS, result)
         }
         result
     }
 
+    /**
+     * Removes the boundary parameter of a multipart Content-Type header
+     *
+     * @param header The Content-Type header
+     * @return The header without the boundary parameter
+     */
+    protected static String removeBoundaryParameter(String header) {
+        if (!header || header.indexOf(';') == -1) {
+            return header
+        }
+        BOUNDARY_PARAMETER.matcher(header).replaceAll('')
+    }
+
     /**
      * Allows for the request.withFormat { } syntax
      *
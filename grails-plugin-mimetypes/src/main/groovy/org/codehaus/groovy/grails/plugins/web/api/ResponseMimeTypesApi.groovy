@@ -46,6 +46,8 @@ class ResponseMimeTypesApi {
 
     MimeTypesApiSupport apiSupport = new MimeTypesApiSupport()
 
+    private volatile DefaultAcceptHeaderParser acceptHeaderParser
+
     /**
      * Initialize with default settings
      */
@@ -54,6 +56,19 @@ class ResponseMimeTypesApi {
 
     MimeType[] getMimeTypes() { mimeTypes }
 
+    /**
+     * @return The parser for the configured mime types, shared between requests so that its cache of parsed headers is reused
+     */
+    protected DefaultAcceptHeaderParser getAcceptHeaderParser() {
+        MimeType[] configured = getMimeTypes()
+        DefaultAcceptHeaderParser parser = acceptHeaderParser
+        if (parser == null || !parser.configuredMimeTypes.is(configured)) {
+            parser = new DefaultAcceptHeaderParser(configured)
+            acceptHeaderParser = parser
+        }
+        parser
+    }
+
     /**
      * Initialize with settings provided by GrailsApplication and the given MimeType[]
      *
@@ -167,7 +182,7 @@ class ResponseMimeTypesApi {
             def userAgent = request.getHeader(HttpHeaders.USER_AGENT)
             def msie = userAgent && userAgent ==~ /msie(?i)/ ?: false
 
-            def parser = new DefaultAcceptHeaderParser(getMimeTypes())
+            def parser = getAcceptHeaderParser()
             String header = null
 
             boolean disabledForUserAgent = userAgent ? disableForUserAgents.matcher(userAgent).find() : false
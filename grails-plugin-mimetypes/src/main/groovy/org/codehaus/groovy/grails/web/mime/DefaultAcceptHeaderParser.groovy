@@ -17,15 +17,24 @@ package org.codehaus.groovy.grails.web.mime
 
 import groovy.transform.CompileStatic
 import groovy.transform.TypeCheckingMode
+
+import java.util.concurrent.atomic.AtomicLong
+
 import org.apache.commons.logging.Log
 import org.apache.commons.logging.LogFactory
 import org.codehaus.groovy.grails.commons.GrailsApplication
 
+import com.googlecode.concurrentlinkedhashmap.ConcurrentLinkedHashMap
+
 /**
  * Parsed the HTTP accept header into a a list of MimeType instances in the order of priority.
  * Priority is dictated by the order of the mime entries and the associated q parameter.
  * The higher the q parameter the higher the priority.
  *
+ * Clients send only a few distinct headers, so the results are cached by the raw header in a bounded
+ * cache. Each call returns a copy of the cached array, the MimeType instances in it are shared and
+ * must not be modified.
+ *
  * @author Graeme Rocher
  * @since 1.0
  */
@@ -34,16 +43,55 @@ class DefaultAcceptHeaderParser implements AcceptHeaderParser {
 
     static final Log LOG = LogFactory.getLog(DefaultAcceptHeaderParser)
 
+    static final int DEFAULT_CACHE_SIZE = 500
+    // longer headers are parsed every time so that they can't fill the cache with large keys
+    static final int MAX_CACHED_HEADER_LENGTH = 1024
+
+    private static final MimeType[] NO_MIME_TYPES = new MimeType[0]
+
     MimeType[] configuredMimeTypes
 
+    private final Map<String, MimeType[]> parsedHeaders = new ConcurrentLinkedHashMap.Builder<String, MimeType[]>()
+        .maximumWeightedCapacity(DEFAULT_CACHE_SIZE)
+        .build()
+    private final AtomicLong cacheHits = new AtomicLong()
+    private final AtomicLong cacheMisses = new AtomicLong()
+
     DefaultAcceptHeaderParser() {}
 
     DefaultAcceptHeaderParser(MimeType[] configuredMimeTypes) {
         this.configuredMimeTypes = configuredMimeTypes
     }
 
+    void setConfiguredMimeTypes(MimeType[] configuredMimeTypes) {
+        this.configuredMimeTypes = configuredMimeTypes
+        parsedHeaders.clear()
+    }
+
+    /**
+     * @return The number of parsed headers that were found in the cache
+     */
+    long getCacheHits() {
+        cacheHits.get()
+    }
+
+    /**
+     * @return The number of parsed headers that weren't found in the cache
+     */
+    long getCacheMisses() {
+        cacheMisses.get()
+    }
+
+    /**
+     * @return The ratio of cache hits to all parsed headers, 0 if no header was parsed
+     */
+    double getCacheHitRatio() {
+        long hits = cacheHits.get()
+        long total = hits + cacheMisses.get()
+        total > 0 ? (double)hits / total : 0d
+    }
+
     MimeType[] parse(String header, MimeType fallbackMimeType = null) {
-        List<MimeType> mimes = []
         MimeType[] mimeConfig = configuredMimeTypes
         if (!mimeConfig) {
             if (LOG.isDebugEnabled()) {
@@ -56,6 +104,32 @@ class DefaultAcceptHeaderParser implements AcceptHeaderParser {
             return mimeConfig
         }
 
+        MimeType[] mimes = parsedHeaders.get(header)
+        if (mimes == null) {
+            cacheMisses.incrementAndGet()
+            mimes = parseHeader(header, mimeConfig)
+            if (header.length() <= MAX_CACHED_HEADER_LENGTH) {
+                parsedHeaders.put(header, mimes)
+            }
+        }
+        else {
+            cacheHits.incrementAndGet()
+        }
+
+        if (!mimes) {
+            LOG.debug "No configured mime types found for Accept header: $header"
+            return fallbackMimeType ? [fallbackMimeType] as MimeType[] : MimeType.createDefaults()
+        }
+        return (MimeType[])mimes.clone()
+    }
+
+    /**
+     * Parses the header without using the cache
+     *
+     * @return The configured mime types in the order of priority, an empty array if none matches
+     */
+    protected MimeType[] parseHeader(String header, MimeType[] mimeConfig) {
+        List<MimeType> mimes = []
         String[] tokens = header.split(',')
         for (String t in tokens) {
             if (t.indexOf(';') > -1) {
@@ -81,8 +155,7 @@ class DefaultAcceptHeaderParser implements AcceptHeaderParser {
         }
 
         if (!mimes) {
-            LOG.debug "No configured mime types found for Accept header: $header"
-            return fallbackMimeType ? [fallbackMimeType] as MimeType[] : MimeType.createDefaults()
+            return NO_MIME_TYPES
         }
 
         // remove duplicate text/xml and application/xml entries
@@ -43,6 +43,24 @@ class RequestAndResponseMimeTypesApiSpec extends Specification{
             response.format == 'all'
     }
 
+    void "Test multipart CONTENT_TYPE headers are parsed without their boundary"() {
+        given: "A request mime types api"
+            def api = requestMimeTypesApi
+
+        when: "Two multipart requests with different boundaries are evaluated"
+            def formats = ['----first', '----second'].collect { String boundary ->
+                def request = new MockHttpServletRequest()
+                request.contentType = "multipart/form-data; boundary=$boundary"
+                api.getFormat(request)
+            }
+
+        then: "Both are multipart forms and the second is found in the parser cache"
+            formats == ['multipartForm', 'multipartForm']
+            api.acceptHeaderParser.cacheMisses == 1
+            api.acceptHeaderParser.cacheHits == 1
+            RequestMimeTypesApi.removeBoundaryParameter('multipart/form-data; charset=UTF-8; BOUNDARY="a;b"') == 'multipart/form-data; charset=UTF-8'
+    }
+
     void "Test format property is valid for CONTENT_TYPE and ACCEPT header"() {
         when: "The request CONTENT_TYPE header is 'text/xml'"
             final webRequest = GrailsWebUtil.bindMockWebRequest()
@@ -141,4 +141,41 @@ grails.mime.types = [ xml: ['text/xml', 'application/xml'],
         assertEquals(['foov1'], mimesV1.extension)
         assertEquals(['foov2'], mimesV2.extension)
     }
+
+    void testParsedHeadersAreCached() {
+        def parser = getAcceptHeaderParser()
+        def header = "text/xml,application/xml,application/xhtml+xml,text/html;q=0.9,text/plain;q=0.8,image/png,*/*;q=0.5"
+
+        def first = parser.parse(header)
+        def second = parser.parse(header)
+
+        assertEquals first.toList(), second.toList()
+        assertNotSame first, second
+        assertSame first[0], second[0]
+        assertEquals 1, parser.cacheHits
+        assertEquals 1, parser.cacheMisses
+        assertEquals 0.5d, parser.cacheHitRatio, 0.001d
+
+        first[0] = null
+        assertNotNull parser.parse(header)[0]
+    }
+
+    void testUnmatchedHeaderIsCachedAndUsesFallback() {
+        def parser = getAcceptHeaderParser()
+        def fallback = new MimeType('image/png')
+
+        assertEquals(['html'], parser.parse("image/png").extension)
+        assertEquals([fallback], parser.parse("image/png", fallback).toList())
+        assertEquals 1, parser.cacheHits
+    }
+
+    void testCacheIsClearedWhenMimeTypesChange() {
+        def parser = getAcceptHeaderParser()
+        parser.parse("application/json")
+
+        parser.configuredMimeTypes = [new MimeType('application/json', 'js')] as MimeType[]
+
+        assertEquals(['js'], parser.parse("application/json").extension)
+        assertEquals 0, parser.cacheHits
+    }
 }
@@ -43,7 +43,6 @@ import org.springframework.http.HttpMethod;
 import org.springframework.web.context.WebApplicationContext;
 
 import com.googlecode.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
-import com.googlecode.concurrentlinkedhashmap.Weigher;
 
 /**
  * Default implementation of the UrlMappingsHolder interface that takes a list of mappings and
@@ -62,19 +61,14 @@ public class DefaultUrlMappingsHolder implements UrlMappings {
     private static final int DEFAULT_MAX_WEIGHTED_CAPACITY = 5000;
 
     private int maxWeightedCacheCapacity = DEFAULT_MAX_WEIGHTED_CAPACITY;
+    private int maxNegativeCacheCapacity = UrlMappingMatchCache.DEFAULT_MAX_NEGATIVE_CAPACITY;
+    private long negativeCacheTimeToLive = UrlMappingMatchCache.DEFAULT_NEGATIVE_TIME_TO_LIVE;
     private Map<String, UrlMappingInfo> cachedMatches;
-    private Map<UriToUrlMappingKey, List<UrlMappingInfo>> cachedListMatches;
-
-
-    private enum CustomListWeigher implements Weigher<List<UrlMappingInfo>> {
-        INSTANCE;
-        public int weightOf(List<UrlMappingInfo> values) {
-            return values.size() + 1;
-        }
-    }
+    private UrlMappingMatchCache cachedListMatches;
 
     private List<UrlMapping> urlMappings = new ArrayList<UrlMapping>();
     private UrlMapping[] mappings;
+    private UrlMappingSegmentTrie mappingsTrie;
     private List excludePatterns;
     private Map<UrlMappingKey, UrlMapping> mappingsLookup = new HashMap<UrlMappingKey, UrlMapping>();
     private Map<String, UrlMapping> namedMappings = new HashMap<String, UrlMapping>();
@@ -120,15 +114,17 @@ public class DefaultUrlMappingsHolder implements UrlMappings {
         cachedMatches = new ConcurrentLinkedHashMap.Builder<String, UrlMappingInfo>()
             .maximumWeightedCapacity(maxWeightedCacheCapacity)
             .build();
-        cachedListMatches = new ConcurrentLinkedHashMap.Builder<UriToUrlMappingKey, List<UrlMappingInfo>>()
-            .maximumWeightedCapacity(maxWeightedCacheCapacity)
-            .weigher(CustomListWeigher.INSTANCE)
-            .build();
+        cachedListMatches = new UrlMappingMatchCache(maxWeightedCacheCapacity, maxNegativeCacheCapacity, negativeCacheTimeToLive);
         if (urlCreatorMaxWeightedCacheCapacity > 0) {
             urlCreatorCache = new UrlCreatorCache(urlCreatorMaxWeightedCacheCapacity);
         }
 
         mappings = urlMappings.toArray(new UrlMapping[urlMappings.size()]);
+        mappingsTrie = new UrlMappingSegmentTrie(mappings);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Compiled " + mappings.length + " URL mappings into segment trie, " +
+                mappingsTrie.getFallbackCount() + " mappings require regex evaluation for every request");
+        }
 
         for (UrlMapping mapping : mappings) {
             String mappingName = mapping.getMappingName();
@@ -429,7 +425,7 @@ public class DefaultUrlMappingsHolder implements UrlMappings {
             return cachedMatches.get(uri);
         }
 
-        for (UrlMapping mapping : mappings) {
+        for (UrlMapping mapping : mappingsTrie.getCandidates(uri)) {
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Attempting to match URI [" + uri + "] with pattern [" + mapping.getUrlData().getUrlPattern() + "]");
             }
@@ -449,14 +445,14 @@ public class DefaultUrlMappingsHolder implements UrlMappings {
     }
 
     public UrlMappingInfo[] matchAll(String uri, String httpMethod) {
-        boolean anyHttpMethod = httpMethod != null && httpMethod.equalsIgnoreCase(UrlMapping.ANY_HTTP_METHOD);
-        List<UrlMappingInfo> matchingUrls = new ArrayList<UrlMappingInfo>();
-        UriToUrlMappingKey cacheKey = new UriToUrlMappingKey(uri, httpMethod, UrlMapping.ANY_VERSION);
-        if (cachedListMatches.containsKey(cacheKey)) {
-            matchingUrls = cachedListMatches.get(cacheKey);
+        UrlMappingInfo[] cached = cachedListMatches.lookup(uri, httpMethod, UrlMapping.ANY_VERSION);
+        if (cached != null) {
+            return cached;
         }
         else {
-            for (UrlMapping mapping : mappings) {
+            boolean anyHttpMethod = httpMethod != null && httpMethod.equalsIgnoreCase(UrlMapping.ANY_HTTP_METHOD);
+            List<UrlMappingInfo> matchingUrls = new ArrayList<UrlMappingInfo>();
+            for (UrlMapping mapping : mappingsTrie.getCandidates(uri)) {
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Attempting to match URI [" + uri + "] with pattern [" + mapping.getUrlData().getUrlPattern() + "]");
                 }
@@ -472,22 +468,20 @@ public class DefaultUrlMappingsHolder implements UrlMappings {
                         matchingUrls.add(current);
                 }
             }
-            cachedListMatches.put(cacheKey, matchingUrls);
+            return cacheMatches(cachedListMatches.createKey(uri, httpMethod, UrlMapping.ANY_VERSION), matchingUrls);
         }
-        return matchingUrls.toArray(new UrlMappingInfo[matchingUrls.size()]);
     }
 
     public UrlMappingInfo[] matchAll(String uri, String httpMethod, String version) {
-        List<UrlMappingInfo> matchingUrls;
-        UriToUrlMappingKey cacheKey = new UriToUrlMappingKey(uri, httpMethod, version);
-        if (cachedListMatches.containsKey(cacheKey)) {
-            matchingUrls = cachedListMatches.get(cacheKey);
+        UrlMappingInfo[] cached = cachedListMatches.lookup(uri, httpMethod, version);
+        if (cached != null) {
+            return cached;
         }
         else {
-            matchingUrls = new ArrayList<UrlMappingInfo>();
+            List<UrlMappingInfo> matchingUrls = new ArrayList<UrlMappingInfo>();
             boolean anyHttpMethod = httpMethod != null && httpMethod.equals(UrlMapping.ANY_HTTP_METHOD);
             boolean anyVersion = version != null && version.equals(UrlMapping.ANY_VERSION);
-            for (UrlMapping mapping : mappings) {
+            for (UrlMapping mapping : mappingsTrie.getCandidates(uri)) {
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Attempting to match URI [" + uri + "] with pattern [" + mapping.getUrlData().getUrlPattern() + "]");
                 }
@@ -507,9 +501,14 @@ public class DefaultUrlMappingsHolder implements UrlMappings {
                     }
                 }
             }
-            cachedListMatches.put(cacheKey, matchingUrls);
+            return cacheMatches(cachedListMatches.createKey(uri, httpMethod, version), matchingUrls);
         }
-        return matchingUrls.toArray(new UrlMappingInfo[matchingUrls.size()]);
+    }
+
+    private UrlMappingInfo[] cacheMatches(Object cacheKey, List<UrlMappingInfo> matchingUrls) {
+        UrlMappingInfo[] matches = matchingUrls.toArray(new UrlMappingInfo[matchingUrls.size()]);
+        cachedListMatches.put(cacheKey, matches);
+        return matches;
     }
 
     @Override
@@ -582,50 +581,6 @@ public class DefaultUrlMappingsHolder implements UrlMappings {
         return sw.toString();
     }
 
-    class UriToUrlMappingKey {
-        String uri;
-        String httpMethod;
-        String version;
-
-        UriToUrlMappingKey(String uri, String httpMethod, String version) {
-            this.uri = uri;
-            this.httpMethod = httpMethod;
-            this.version = version;
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) {
-                return true;
-            }
-            if (o == null || getClass() != o.getClass()) {
-                return false;
-            }
-
-            UriToUrlMappingKey that = (UriToUrlMappingKey) o;
-
-            if (httpMethod != null ? !httpMethod.equals(that.httpMethod) : that.httpMethod != null) {
-                return false;
-            }
-            if (version != null ? !version.equals(that.version) : that.version != null) {
-                return false;
-            }
-            if (uri != null ? !uri.equals(that.uri) : that.uri != null) {
-                return false;
-            }
-
-            return true;
-        }
-
-        @Override
-        public int hashCode() {
-            int result = uri != null ? uri.hashCode() : 0;
-            result = 31 * result + (httpMethod != null ? httpMethod.hashCode() : 0);
-            result = 31 * result + (version != null ? version.hashCode() : 0);
-            return result;
-        }
-    }
-
     /**
      * A class used as a key to lookup a UrlMapping based on controller, action and parameter names
      */
@@ -815,6 +770,27 @@ public class DefaultUrlMappingsHolder implements UrlMappings {
         this.maxWeightedCacheCapacity = maxWeightedCacheCapacity;
     }
 
+    /**
+     * @param maxNegativeCacheCapacity The maximum number of URIs that didn't match any mapping to cache
+     */
+    public void setMaxNegativeCacheCapacity(int maxNegativeCacheCapacity) {
+        this.maxNegativeCacheCapacity = maxNegativeCacheCapacity;
+    }
+
+    /**
+     * @param negativeCacheTimeToLive The time in milliseconds to cache URIs that didn't match any mapping for
+     */
+    public void setNegativeCacheTimeToLive(long negativeCacheTimeToLive) {
+        this.negativeCacheTimeToLive = negativeCacheTimeToLive;
+    }
+
+    /**
+     * @return The cache of matchAll results, exposing hit, miss and eviction counts
+     */
+    public UrlMappingMatchCache getMatchCache() {
+        return cachedListMatches;
+    }
+
     public void setUrlCreatorMaxWeightedCacheCapacity(int urlCreatorMaxWeightedCacheCapacity) {
         this.urlCreatorMaxWeightedCacheCapacity = urlCreatorMaxWeightedCacheCapacity;
     }
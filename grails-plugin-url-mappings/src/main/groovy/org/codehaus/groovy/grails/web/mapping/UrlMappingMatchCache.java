@@ -0,0 +1,234 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.web.mapping;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.googlecode.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
+import com.googlecode.concurrentlinkedhashmap.EvictionListener;
+import com.googlecode.concurrentlinkedhashmap.Weigher;
+
+/**
+ * Caches the results of matching a URI, HTTP method and version against the URL mappings.
+ *
+ * <p>Successful matches and misses are kept apart: URIs that match nothing (scans, broken links etc.) are stored
+ * in a separate, bounded negative cache with a time-to-live so that they can't evict frequently used routes from
+ * the positive cache. Lookups for the common case of a GET request without a requested version use the URI itself
+ * as the key and don't allocate.</p>
+ *
+ * @since 2.4
+ */
+public class UrlMappingMatchCache {
+
+    public static final int DEFAULT_MAX_NEGATIVE_CAPACITY = 1000;
+    public static final long DEFAULT_NEGATIVE_TIME_TO_LIVE = 60000L;
+
+    private static final String GET = "GET";
+    private static final UrlMappingInfo[] NO_MATCHES = new UrlMappingInfo[0];
+
+    private final Map<Object, UrlMappingInfo[]> positiveMatches;
+    private final Map<Object, Long> negativeMatches;
+    private final long negativeTimeToLive;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong negativeHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong negativeEvictions = new AtomicLong();
+
+    private enum MatchesWeigher implements Weigher<UrlMappingInfo[]> {
+        INSTANCE;
+        public int weightOf(UrlMappingInfo[] values) {
+            return values.length + 1;
+        }
+    }
+
+    public UrlMappingMatchCache(int maxWeightedCapacity) {
+        this(maxWeightedCapacity, DEFAULT_MAX_NEGATIVE_CAPACITY, DEFAULT_NEGATIVE_TIME_TO_LIVE);
+    }
+
+    /**
+     * @param maxWeightedCapacity The maximum weighted capacity of the positive cache, each entry weighs the number of matches plus one
+     * @param maxNegativeCapacity The maximum number of URIs that matched nothing to remember
+     * @param negativeTimeToLive The time in milliseconds a negative result is kept for, a value of zero or less keeps them until evicted
+     */
+    public UrlMappingMatchCache(int maxWeightedCapacity, int maxNegativeCapacity, long negativeTimeToLive) {
+        this.negativeTimeToLive = negativeTimeToLive;
+        positiveMatches = new ConcurrentLinkedHashMap.Builder<Object, UrlMappingInfo[]>()
+            .maximumWeightedCapacity(maxWeightedCapacity)
+            .weigher(MatchesWeigher.INSTANCE)
+            .listener(new EvictionListener<Object, UrlMappingInfo[]>() {
+                public void onEviction(Object key, UrlMappingInfo[] value) {
+                    evictions.incrementAndGet();
+                }
+            })
+            .build();
+        negativeMatches = new ConcurrentLinkedHashMap.Builder<Object, Long>()
+            .maximumWeightedCapacity(maxNegativeCapacity)
+            .listener(new EvictionListener<Object, Long>() {
+                public void onEviction(Object key, Long value) {
+                    negativeEvictions.incrementAndGet();
+                }
+            })
+            .build();
+    }
+
+    /**
+     * Creates the key used to cache the matches for the given arguments. GET requests for any version are keyed by the URI itself.
+     *
+     * @param uri The URI
+     * @param httpMethod The HTTP method
+     * @param version The version
+     * @return The key
+     */
+    public Object createKey(String uri, String httpMethod, String version) {
+        if (GET.equals(httpMethod) && UrlMapping.ANY_VERSION.equals(version) && uri != null) {
+            return uri;
+        }
+        return new UriToUrlMappingKey(uri, httpMethod, version);
+    }
+
+    /**
+     * Looks up the matches for the given arguments.
+     *
+     * @return The cached matches, an empty array for a cached miss or null if the result is unknown
+     */
+    public UrlMappingInfo[] lookup(String uri, String httpMethod, String version) {
+        return lookup(GET.equals(httpMethod) && UrlMapping.ANY_VERSION.equals(version) && uri != null ?
+                uri : new UriToUrlMappingKey(uri, httpMethod, version));
+    }
+
+    /**
+     * Looks up the matches for a key created with {@link #createKey(String, String, String)}.
+     *
+     * @return The cached matches, an empty array for a cached miss or null if the result is unknown
+     */
+    public UrlMappingInfo[] lookup(Object key) {
+        UrlMappingInfo[] matches = positiveMatches.get(key);
+        if (matches != null) {
+            hits.incrementAndGet();
+            return matches;
+        }
+
+        Long expires = negativeMatches.get(key);
+        if (expires != null) {
+            if (negativeTimeToLive <= 0 || expires.longValue() > System.currentTimeMillis()) {
+                negativeHits.incrementAndGet();
+                return NO_MATCHES;
+            }
+            negativeMatches.remove(key);
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Stores the matches for a key created with {@link #createKey(String, String, String)}.
+     */
+    public void put(Object key, UrlMappingInfo[] matches) {
+        if (matches == null || matches.length == 0) {
+            negativeMatches.put(key, negativeTimeToLive > 0 ? System.currentTimeMillis() + negativeTimeToLive : Long.MAX_VALUE);
+        }
+        else {
+            positiveMatches.put(key, matches);
+        }
+    }
+
+    public void clear() {
+        positiveMatches.clear();
+        negativeMatches.clear();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getNegativeHitCount() {
+        return negativeHits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    public long getNegativeEvictionCount() {
+        return negativeEvictions.get();
+    }
+
+    public int getSize() {
+        return positiveMatches.size();
+    }
+
+    public int getNegativeSize() {
+        return negativeMatches.size();
+    }
+
+    @Override
+    public String toString() {
+        return "UrlMappingMatchCache[hits=" + hits + ", negativeHits=" + negativeHits + ", misses=" + misses +
+            ", evictions=" + evictions + ", negativeEvictions=" + negativeEvictions + ", size=" + getSize() +
+            ", negativeSize=" + getNegativeSize() + "]";
+    }
+
+    static class UriToUrlMappingKey {
+        String uri;
+        String httpMethod;
+        String version;
+
+        UriToUrlMappingKey(String uri, String httpMethod, String version) {
+            this.uri = uri;
+            this.httpMethod = httpMethod;
+            this.version = version;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            UriToUrlMappingKey that = (UriToUrlMappingKey) o;
+
+            if (httpMethod != null ? !httpMethod.equals(that.httpMethod) : that.httpMethod != null) {
+                return false;
+            }
+            if (version != null ? !version.equals(that.version) : that.version != null) {
+                return false;
+            }
+            if (uri != null ? !uri.equals(that.uri) : that.uri != null) {
+                return false;
+            }
+
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = uri != null ? uri.hashCode() : 0;
+            result = 31 * result + (httpMethod != null ? httpMethod.hashCode() : 0);
+            result = 31 * result + (version != null ? version.hashCode() : 0);
+            return result;
+        }
+    }
+}
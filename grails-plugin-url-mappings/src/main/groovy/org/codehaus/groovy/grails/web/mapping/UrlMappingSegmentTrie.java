@@ -0,0 +1,302 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.web.mapping;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>A path-segment trie compiled from the logical URLs of a set of {@link RegexUrlMapping} instances.</p>
+ *
+ * <p>Each logical URL is split on '/' and every segment becomes a node of one of the following types:
+ * a static segment, a static segment followed by an optional extension (<code>(.(*))?</code>), a single captured
+ * wildcard (<code>(*)</code>), an optional captured wildcard (<code>(*)?</code>) or a trailing double wildcard
+ * (<code>**</code>). Walking the trie with a request URI
+ * yields the (small) set of mappings that can possibly match it, so that only those have to be evaluated
+ * with their regular expression and constraints. Mappings containing segments that cannot be expressed as
+ * one of the node types above (partial wildcards, inner double wildcards, custom UrlMapping implementations etc.)
+ * are always returned as candidates.</p>
+ *
+ * <p>The trie only ever narrows the set of mappings to evaluate, the final decision is still made by
+ * {@link UrlMapping#match(String)}, hence the results are identical to evaluating every mapping.</p>
+ *
+ * @since 2.4
+ */
+public class UrlMappingSegmentTrie {
+
+    private static final char SLASH = '/';
+    private static final String OPTIONAL_EXTENSION = UrlMapping.OPTIONAL_EXTENSION_WILDCARD;
+    private static final String SPECIAL_CHARACTERS = "*?()[]{}\\^$|";
+
+    private final UrlMapping[] mappings;
+    private final Node root = new Node();
+    private final BitSet fallbacks = new BitSet();
+
+    /**
+     * @param mappings The mappings, in precedence order
+     */
+    public UrlMappingSegmentTrie(UrlMapping[] mappings) {
+        this.mappings = mappings;
+        for (int i = 0; i < mappings.length; i++) {
+            UrlMapping mapping = mappings[i];
+            if (mapping == null || mapping.getClass() != RegexUrlMapping.class || !addMapping(i, mapping.getUrlData())) {
+                fallbacks.set(i);
+            }
+        }
+    }
+
+    /**
+     * Returns the mappings that could match the given URI, in the same order as they were supplied
+     *
+     * @param uri The URI
+     * @return The candidate mappings
+     */
+    public UrlMapping[] getCandidates(String uri) {
+        BitSet matches = (BitSet) fallbacks.clone();
+        if (uri != null) {
+            root.collect(splitUri(uri), 0, matches);
+        }
+
+        UrlMapping[] candidates = new UrlMapping[matches.cardinality()];
+        int j = 0;
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            candidates[j++] = mappings[i];
+        }
+        return candidates;
+    }
+
+    /**
+     * @return The number of mappings that could not be compiled into the trie and are always evaluated
+     */
+    public int getFallbackCount() {
+        return fallbacks.cardinality();
+    }
+
+    private boolean addMapping(int index, UrlMappingData urlData) {
+        if (urlData == null) {
+            return false;
+        }
+
+        String[] logicalUrls = urlData.getLogicalUrls();
+        List<String[]> compiled = new ArrayList<String[]>(logicalUrls.length);
+        for (String logicalUrl : logicalUrls) {
+            String[] segments = splitPattern(logicalUrl);
+            if (segments == null) {
+                return false;
+            }
+            compiled.add(segments);
+        }
+
+        for (String[] segments : compiled) {
+            Node current = root;
+            for (String segment : segments) {
+                current = current.child(segment);
+            }
+            current.terminals.set(index);
+        }
+        return true;
+    }
+
+    /**
+     * Splits a logical URL into normalized segments, or returns null if it contains a segment that
+     * can't be represented as a trie node.
+     */
+    private String[] splitPattern(String url) {
+        String[] tokens = tokenize(url);
+        for (int i = 0; i < tokens.length; i++) {
+            String token = tokens[i];
+            boolean hasExtension = false;
+            if (token.endsWith(OPTIONAL_EXTENSION + '?')) {
+                token = token.substring(0, token.length() - OPTIONAL_EXTENSION.length() - 1);
+                hasExtension = true;
+            }
+            else if (token.endsWith(OPTIONAL_EXTENSION)) {
+                token = token.substring(0, token.length() - OPTIONAL_EXTENSION.length());
+                hasExtension = true;
+            }
+
+            String nodeType;
+            if (isCapture(token)) {
+                nodeType = hasExtension ? Node.OPTIONAL_CAPTURE : Node.CAPTURE;
+            }
+            else if (isOptionalCapture(token)) {
+                nodeType = Node.OPTIONAL_CAPTURE;
+            }
+            else if (isDoubleWildcard(token)) {
+                if (hasExtension || i < tokens.length - 1) {
+                    return null;
+                }
+                nodeType = Node.WILDCARD;
+            }
+            else if (isStatic(token)) {
+                // an optional extension turns a static segment into a prefix match, ie. 'books' also matches 'books.json'
+                nodeType = (hasExtension ? Node.PREFIX_PREFIX : Node.STATIC_PREFIX) + token;
+            }
+            else {
+                return null;
+            }
+            tokens[i] = nodeType;
+        }
+        return tokens;
+    }
+
+    private static boolean isCapture(String token) {
+        return UrlMapping.CAPTURED_WILDCARD.equals(token) || "*".equals(token);
+    }
+
+    private static boolean isOptionalCapture(String token) {
+        return token.endsWith("?") && isCapture(token.substring(0, token.length() - 1));
+    }
+
+    private static boolean isDoubleWildcard(String token) {
+        if (token.endsWith("?")) {
+            token = token.substring(0, token.length() - 1);
+        }
+        return "**".equals(token) || UrlMapping.CAPTURED_DOUBLE_WILDCARD.equals(token);
+    }
+
+    private static boolean isStatic(String token) {
+        if (token.length() == 0) {
+            return false;
+        }
+        for (int i = 0; i < token.length(); i++) {
+            if (SPECIAL_CHARACTERS.indexOf(token.charAt(i)) > -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String[] tokenize(String url) {
+        int start = url.length() > 0 && url.charAt(0) == SLASH ? 1 : 0;
+        if (start >= url.length()) {
+            return new String[0];
+        }
+        return url.substring(start).split("/");
+    }
+
+    private static String[] splitUri(String uri) {
+        int start = uri.length() > 0 && uri.charAt(0) == SLASH ? 1 : 0;
+        int end = uri.length();
+        // a single trailing slash is optional for all mappings
+        if (end > start && uri.charAt(end - 1) == SLASH) {
+            end--;
+        }
+        if (start >= end) {
+            return new String[0];
+        }
+
+        List<String> segments = new ArrayList<String>();
+        int from = start;
+        for (int i = start; i < end; i++) {
+            if (uri.charAt(i) == SLASH) {
+                segments.add(uri.substring(from, i));
+                from = i + 1;
+            }
+        }
+        segments.add(uri.substring(from, end));
+        return segments.toArray(new String[segments.size()]);
+    }
+
+    private static class Node {
+        static final String STATIC_PREFIX = "=";
+        static final String PREFIX_PREFIX = "^";
+        static final String CAPTURE = "(*)";
+        static final String OPTIONAL_CAPTURE = "(*)?";
+        static final String WILDCARD = "(**)";
+
+        final BitSet terminals = new BitSet();
+        Map<String, Node> staticChildren;
+        Map<String, Node> prefixChildren;
+        Node capture;
+        Node optionalCapture;
+        Node wildcard;
+
+        Node child(String nodeType) {
+            if (CAPTURE.equals(nodeType)) {
+                if (capture == null) capture = new Node();
+                return capture;
+            }
+            if (OPTIONAL_CAPTURE.equals(nodeType)) {
+                if (optionalCapture == null) optionalCapture = new Node();
+                return optionalCapture;
+            }
+            if (WILDCARD.equals(nodeType)) {
+                if (wildcard == null) wildcard = new Node();
+                return wildcard;
+            }
+
+            if (nodeType.startsWith(PREFIX_PREFIX)) {
+                if (prefixChildren == null) {
+                    prefixChildren = new HashMap<String, Node>();
+                }
+                return childFor(prefixChildren, nodeType.substring(PREFIX_PREFIX.length()));
+            }
+            if (staticChildren == null) {
+                staticChildren = new HashMap<String, Node>();
+            }
+            return childFor(staticChildren, nodeType.substring(STATIC_PREFIX.length()));
+        }
+
+        private static Node childFor(Map<String, Node> children, String segment) {
+            Node node = children.get(segment);
+            if (node == null) {
+                node = new Node();
+                children.put(segment, node);
+            }
+            return node;
+        }
+
+        void collect(String[] segments, int index, BitSet result) {
+            if (wildcard != null) {
+                // a trailing double wildcard consumes whatever is left of the URI
+                result.or(wildcard.terminals);
+            }
+
+            if (index == segments.length) {
+                result.or(terminals);
+                if (optionalCapture != null) {
+                    optionalCapture.collect(segments, index, result);
+                }
+                return;
+            }
+
+            String segment = segments[index];
+            if (staticChildren != null) {
+                Node node = staticChildren.get(segment);
+                if (node != null) {
+                    node.collect(segments, index + 1, result);
+                }
+            }
+            if (prefixChildren != null) {
+                for (Map.Entry<String, Node> entry : prefixChildren.entrySet()) {
+                    if (segment.startsWith(entry.getKey())) {
+                        entry.getValue().collect(segments, index + 1, result);
+                    }
+                }
+            }
+            if (capture != null && segment.length() > 0) {
+                capture.collect(segments, index + 1, result);
+            }
+            if (optionalCapture != null) {
+                optionalCapture.collect(segments, index + 1, result);
+            }
+        }
+    }
+}
@@ -47,6 +47,8 @@ import org.springframework.web.context.WebApplicationContext;
 @SuppressWarnings({ "unchecked", "rawtypes" })
 public class UrlMappingsHolderFactoryBean implements FactoryBean<UrlMappings>, InitializingBean, ApplicationContextAware, GrailsApplicationAware, PluginManagerAware {
     private static final String URL_MAPPING_CACHE_MAX_SIZE = "grails.urlmapping.cache.maxsize";
+    private static final String URL_MAPPING_NEGATIVE_CACHE_MAX_SIZE = "grails.urlmapping.cache.negative.maxsize";
+    private static final String URL_MAPPING_NEGATIVE_CACHE_TTL = "grails.urlmapping.cache.negative.ttl";
     private static final String URL_CREATOR_CACHE_MAX_SIZE = "grails.urlcreator.cache.maxsize";
     private GrailsApplication grailsApplication;
     private UrlMappings urlMappingsHolder;
@@ -105,6 +107,14 @@ public class UrlMappingsHolderFactoryBean implements FactoryBean<UrlMappings>, I
         if (cacheSize != null) {
             defaultUrlMappingsHolder.setMaxWeightedCacheCapacity(cacheSize);
         }
+        Integer negativeCacheSize = mapGetInteger(flatConfig, URL_MAPPING_NEGATIVE_CACHE_MAX_SIZE);
+        if (negativeCacheSize != null) {
+            defaultUrlMappingsHolder.setMaxNegativeCacheCapacity(negativeCacheSize);
+        }
+        Integer negativeCacheTimeToLive = mapGetInteger(flatConfig, URL_MAPPING_NEGATIVE_CACHE_TTL);
+        if (negativeCacheTimeToLive != null) {
+            defaultUrlMappingsHolder.setNegativeCacheTimeToLive(negativeCacheTimeToLive);
+        }
         Integer urlCreatorCacheSize = mapGetInteger(flatConfig, URL_CREATOR_CACHE_MAX_SIZE);
         if (urlCreatorCacheSize != null) {
             defaultUrlMappingsHolder.setUrlCreatorMaxWeightedCacheCapacity(urlCreatorCacheSize);
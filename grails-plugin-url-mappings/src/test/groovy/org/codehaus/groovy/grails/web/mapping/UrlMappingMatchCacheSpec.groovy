@@ -0,0 +1,76 @@
+package org.codehaus.groovy.grails.web.mapping
+
+/**
+ * Tests for {@link UrlMappingMatchCache}.
+ */
+class UrlMappingMatchCacheSpec extends AbstractUrlMappingsSpec {
+
+    void "Test that GET requests for any version are keyed by the URI"() {
+        given:"A match cache"
+            def cache = new UrlMappingMatchCache(100)
+
+        expect:"The URI is used as the key for GET requests without a version"
+            cache.createKey('/books', 'GET', UrlMapping.ANY_VERSION).is('/books')
+            cache.createKey('/books', 'POST', UrlMapping.ANY_VERSION) instanceof UrlMappingMatchCache.UriToUrlMappingKey
+            cache.createKey('/books', 'GET', '1.0') != cache.createKey('/books', 'GET', UrlMapping.ANY_VERSION)
+    }
+
+    void "Test that positive and negative results are cached separately"() {
+        given:"A match cache"
+            def cache = new UrlMappingMatchCache(100, 2, 0)
+            def info = Mock(UrlMappingInfo)
+
+        when:"A match and a miss are cached"
+            cache.put(cache.createKey('/books', 'GET', UrlMapping.ANY_VERSION), [info] as UrlMappingInfo[])
+            cache.put(cache.createKey('/wp-admin', 'GET', UrlMapping.ANY_VERSION), [] as UrlMappingInfo[])
+
+        then:"They are returned from the respective caches"
+            cache.lookup('/books', 'GET', UrlMapping.ANY_VERSION) == [info] as UrlMappingInfo[]
+            cache.lookup('/wp-admin', 'GET', UrlMapping.ANY_VERSION).length == 0
+            cache.lookup('/unknown', 'GET', UrlMapping.ANY_VERSION) == null
+            cache.size == 1
+            cache.negativeSize == 1
+            cache.hitCount == 1
+            cache.negativeHitCount == 1
+            cache.missCount == 1
+
+        when:"More misses than the negative capacity are cached"
+            cache.put('/a', [] as UrlMappingInfo[])
+            cache.put('/b', [] as UrlMappingInfo[])
+            cache.put('/c', [] as UrlMappingInfo[])
+
+        then:"Only negative entries are evicted"
+            cache.negativeSize == 2
+            cache.negativeEvictionCount == 2
+            cache.evictionCount == 0
+            cache.lookup('/books', 'GET', UrlMapping.ANY_VERSION) == [info] as UrlMappingInfo[]
+    }
+
+    void "Test that cached matches are returned without copying"() {
+        given:"A url mappings holder"
+            def holder = getUrlMappingsHolder {
+                "/books"(resources: 'book')
+            }
+
+        when:"The same URI is matched twice"
+            def first = holder.matchAll('/books/1', 'GET', UrlMapping.ANY_VERSION)
+            def second = holder.matchAll('/books/1', 'GET', UrlMapping.ANY_VERSION)
+
+        then:"The cached array is returned"
+            first.length > 0
+            second.is(first)
+    }
+
+    void "Test that negative results expire"() {
+        given:"A match cache with a short negative time to live"
+            def cache = new UrlMappingMatchCache(100, 10, 1)
+
+        when:"A miss is cached and the time to live elapses"
+            cache.put('/missing', [] as UrlMappingInfo[])
+            sleep 10
+
+        then:"The miss is no longer returned"
+            cache.lookup('/missing', 'GET', UrlMapping.ANY_VERSION) == null
+            cache.negativeSize == 0
+    }
+}
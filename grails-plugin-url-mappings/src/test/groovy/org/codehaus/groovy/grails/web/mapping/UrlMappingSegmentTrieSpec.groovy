@@ -0,0 +1,58 @@
+package org.codehaus.groovy.grails.web.mapping
+
+import spock.lang.Unroll
+
+/**
+ * Tests that matching through the {@link UrlMappingSegmentTrie} produces the same results as evaluating every mapping.
+ */
+class UrlMappingSegmentTrieSpec extends AbstractUrlMappingsSpec {
+
+    Closure mappings = {
+        "/books"(resources: 'book')
+        "/authors/$id/books/$bookId?"(controller: 'author', action: 'book')
+        "/files/$path**"(controller: 'file', action: 'download')
+        "/static/robots.txt"(controller: 'static', action: 'robots')
+        "/product-$id"(controller: 'product', action: 'show')
+        "/api/$controller/$action?/$id?(.$format)?"()
+        "/$controller/$action?/$id?(.$format)?"{
+            constraints {
+                id matches: /\d+/
+            }
+        }
+        "/"(view: '/index')
+        "500"(view: '/error')
+    }
+
+    @Unroll
+    void "Test that the trie returns the same matches as a full scan for URI #uri"() {
+        given:"A url mappings holder"
+            def holder = getUrlMappingsHolder(mappings)
+
+        when:"The URI is matched through the trie and through every mapping"
+            def infos = holder.matchAll(uri, 'GET')
+            def expected = holder.urlMappings.collect { it.match(uri) }.findAll { it != null && (it.httpMethod == null || it.httpMethod == '*' || it.httpMethod.equalsIgnoreCase('GET')) }
+
+        then:"The results are identical"
+            infos.size() == expected.size()
+            infos*.controllerName == expected*.controllerName
+            infos*.actionName == expected*.actionName
+            infos*.parameters == expected*.parameters
+
+        where:
+            uri << ['/', '/books', '/books/', '/books/1', '/books/1/edit', '/authors/1/books', '/authors/1/books/2',
+                    '/files/a/b/c.txt', '/files/', '/static/robots.txt', '/product-10', '/api/book/show/1.json',
+                    '/book/show/1.xml', '/book/show/abc', '/book', '/unknown/path/that/is/long/', '//']
+    }
+
+    void "Test that mappings which can't be compiled fall back to regex evaluation"() {
+        given:"A url mappings holder"
+            def holder = getUrlMappingsHolder(mappings)
+
+        when:"The trie is built"
+            def trie = new UrlMappingSegmentTrie(holder.urlMappings)
+
+        then:"Only the partial wildcard and response code mappings fall back"
+            trie.fallbackCount == 2
+            trie.getCandidates('/files/a/b').size() < holder.urlMappings.size()
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.plugins.codecs;
+
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.codehaus.groovy.grails.support.encoding.EncodedAppender;
+import org.codehaus.groovy.grails.support.encoding.WriterEncodedAppender;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.GenerateMicroBenchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the table driven HTML and JavaScript encoders with encoding one character at a time.
+ *
+ * The payloads resemble what GSP pages typically encode: text from the database that mostly
+ * doesn't need escaping, user entered markup that does and values written into script blocks.
+ *
+ * @since 2.4
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CharReplacementEncoderBenchmark {
+
+    private AbstractCharReplacementEncoder htmlEncoder;
+    private AbstractCharReplacementEncoder perCharacterHtmlEncoder;
+    private AbstractCharReplacementEncoder javaScriptEncoder;
+    private AbstractCharReplacementEncoder perCharacterJavaScriptEncoder;
+
+    private String plainText;
+    private String markup;
+    private String scriptValue;
+
+    private CharArrayWriter writer;
+    private EncodedAppender appender;
+
+    @Setup
+    public void setup() {
+        htmlEncoder = new HTMLEncoder();
+        perCharacterHtmlEncoder = new PerCharacterEncoder(htmlEncoder);
+        javaScriptEncoder = new JavaScriptEncoder();
+        perCharacterJavaScriptEncoder = new PerCharacterEncoder(javaScriptEncoder);
+
+        StringBuilder text = new StringBuilder();
+        StringBuilder html = new StringBuilder();
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            text.append("The Definitive Guide to Grails, 2nd edition. Chapter ").append(i)
+                .append(" covers domain classes, controllers and views in depth.\n");
+            html.append("<p class=\"comment\">Great book! See <a href='http://grails.org/doc/").append(i)
+                .append("'>the docs</a> & \"samples\" @ the site</p>\n");
+            script.append("{\"title\": \"Book ").append(i).append("\", \"tags\": [\"groovy\", \"grails\"]};\n");
+        }
+        plainText = text.toString();
+        markup = html.toString();
+        scriptValue = script.toString();
+
+        writer = new CharArrayWriter(plainText.length() * 2);
+        appender = new WriterEncodedAppender(writer);
+    }
+
+    @GenerateMicroBenchmark
+    public Object htmlPlainText() {
+        return htmlEncoder.encode(plainText);
+    }
+
+    @GenerateMicroBenchmark
+    public Object htmlPlainTextPerCharacter() {
+        return perCharacterHtmlEncoder.encode(plainText);
+    }
+
+    @GenerateMicroBenchmark
+    public Object htmlMarkup() {
+        return htmlEncoder.encode(markup);
+    }
+
+    @GenerateMicroBenchmark
+    public Object htmlMarkupPerCharacter() {
+        return perCharacterHtmlEncoder.encode(markup);
+    }
+
+    @GenerateMicroBenchmark
+    public Object javaScript() {
+        return javaScriptEncoder.encode(scriptValue);
+    }
+
+    @GenerateMicroBenchmark
+    public Object javaScriptPerCharacter() {
+        return perCharacterJavaScriptEncoder.encode(scriptValue);
+    }
+
+    @GenerateMicroBenchmark
+    public int htmlMarkupStreaming() throws IOException {
+        return encodeToStream(htmlEncoder, markup);
+    }
+
+    @GenerateMicroBenchmark
+    public int htmlMarkupStreamingPerCharacter() throws IOException {
+        return encodeToStream(perCharacterHtmlEncoder, markup);
+    }
+
+    private int encodeToStream(AbstractCharReplacementEncoder encoder, String input) throws IOException {
+        writer.reset();
+        encoder.encodeToStream(encoder, input, 0, input.length(), appender, null);
+        return writer.size();
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.plugins.codecs;
+
+/**
+ * Baseline for the encoder benchmarks: encodes with the escapeCharacter method of the
+ * delegate one character at a time, without a replacement table.
+ *
+ * @since 2.4
+ */
+public class PerCharacterEncoder extends AbstractCharReplacementEncoder {
+    private final AbstractCharReplacementEncoder delegate;
+
+    public PerCharacterEncoder(AbstractCharReplacementEncoder delegate) {
+        super(delegate.getCodecIdentifier());
+        this.delegate = delegate;
+    }
+
+    @Override
+    protected String escapeCharacter(char ch, char previousChar) {
+        return delegate.escapeCharacter(ch, previousChar);
+    }
+
+    @Override
+    public boolean isApplyToSafelyEncoded() {
+        return delegate.isApplyToSafelyEncoded();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.support.encoding;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Baseline for {@link EncodingStateRegistryBenchmark}: the Grails 2.3 registry that keeps
+ * boxed identity hash codes in a HashSet per encoder.
+ *
+ * @since 2.4
+ */
+public class BoxedEncodingStateRegistry {
+    private Map<Encoder, Set<Integer>> encodingTagIdentityHashCodes = new HashMap<Encoder, Set<Integer>>();
+
+    private Set<Integer> getIdentityHashCodesForEncoder(Encoder encoder) {
+        Set<Integer> identityHashCodes = encodingTagIdentityHashCodes.get(encoder);
+        if (identityHashCodes == null) {
+            identityHashCodes = new HashSet<Integer>();
+            encodingTagIdentityHashCodes.put(encoder, identityHashCodes);
+        }
+        return identityHashCodes;
+    }
+
+    public EncodingState getEncodingStateFor(CharSequence string) {
+        int identityHashCode = System.identityHashCode(string);
+        Set<Encoder> result = null;
+        for (Map.Entry<Encoder, Set<Integer>> entry : encodingTagIdentityHashCodes.entrySet()) {
+            if (entry.getValue().contains(identityHashCode)) {
+                if (result == null) {
+                    result = Collections.singleton(entry.getKey());
+                }
+                else {
+                    if (result.size() == 1) {
+                        result = new HashSet<Encoder>(result);
+                    }
+                    result.add(entry.getKey());
+                }
+            }
+        }
+        return result != null ? new EncodingStateImpl(result) : EncodingStateImpl.UNDEFINED_ENCODING_STATE;
+    }
+
+    public boolean isEncodedWith(Encoder encoder, CharSequence string) {
+        return getIdentityHashCodesForEncoder(encoder).contains(System.identityHashCode(string));
+    }
+
+    public void registerEncodedWith(Encoder encoder, CharSequence escaped) {
+        getIdentityHashCodesForEncoder(encoder).add(System.identityHashCode(escaped));
+    }
+}
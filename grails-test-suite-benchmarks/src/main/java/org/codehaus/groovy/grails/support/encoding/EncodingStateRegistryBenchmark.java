@@ -0,0 +1,107 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.support.encoding;
+
+import java.util.concurrent.TimeUnit;
+
+import org.codehaus.groovy.grails.plugins.codecs.HTMLEncoder;
+import org.codehaus.groovy.grails.plugins.codecs.JavaScriptEncoder;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.GenerateMicroBenchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Simulates the encoding state tracking of a request rendering a page with thousands of
+ * expressions, with {@link DefaultEncodingStateRegistry} and the boxed 2.3 implementation.
+ *
+ * One invocation corresponds to one request. Run with "-prof gc" to compare the allocation
+ * rate per request.
+ *
+ * @since 2.4
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EncodingStateRegistryBenchmark {
+    private static final int EXPRESSIONS_PER_REQUEST = 5000;
+
+    private Encoder htmlEncoder;
+    private Encoder javaScriptEncoder;
+    private CharSequence[] encodedValues;
+    private CharSequence[] rawValues;
+
+    @Setup
+    public void setup() {
+        htmlEncoder = new HTMLEncoder();
+        javaScriptEncoder = new JavaScriptEncoder();
+        encodedValues = new CharSequence[EXPRESSIONS_PER_REQUEST];
+        rawValues = new CharSequence[EXPRESSIONS_PER_REQUEST];
+        for (int i = 0; i < EXPRESSIONS_PER_REQUEST; i++) {
+            encodedValues[i] = new StringBuilder("&lt;value ").append(i).append("&gt;");
+            rawValues[i] = new StringBuilder("<value ").append(i).append(">");
+        }
+    }
+
+    @GenerateMicroBenchmark
+    public int singleEncoder() {
+        DefaultEncodingStateRegistry registry = new DefaultEncodingStateRegistry();
+        int encoded = 0;
+        for (int i = 0; i < EXPRESSIONS_PER_REQUEST; i++) {
+            registry.registerEncodedWith(htmlEncoder, encodedValues[i]);
+            encoded += registry.getEncodingStateFor(rawValues[i]).getEncoders() == null ? 0 : 1;
+            encoded += registry.isEncodedWith(htmlEncoder, encodedValues[i]) ? 1 : 0;
+        }
+        return encoded;
+    }
+
+    @GenerateMicroBenchmark
+    public int singleEncoderBoxed() {
+        BoxedEncodingStateRegistry registry = new BoxedEncodingStateRegistry();
+        int encoded = 0;
+        for (int i = 0; i < EXPRESSIONS_PER_REQUEST; i++) {
+            registry.registerEncodedWith(htmlEncoder, encodedValues[i]);
+            encoded += registry.getEncodingStateFor(rawValues[i]).getEncoders() == null ? 0 : 1;
+            encoded += registry.isEncodedWith(htmlEncoder, encodedValues[i]) ? 1 : 0;
+        }
+        return encoded;
+    }
+
+    @GenerateMicroBenchmark
+    public int twoEncoders() {
+        DefaultEncodingStateRegistry registry = new DefaultEncodingStateRegistry();
+        int encoded = 0;
+        for (int i = 0; i < EXPRESSIONS_PER_REQUEST; i++) {
+            registry.registerEncodedWith((i & 1) == 0 ? htmlEncoder : javaScriptEncoder, encodedValues[i]);
+            encoded += registry.getEncodingStateFor(encodedValues[i]).getEncoders().size();
+        }
+        return encoded;
+    }
+
+    @GenerateMicroBenchmark
+    public int twoEncodersBoxed() {
+        BoxedEncodingStateRegistry registry = new BoxedEncodingStateRegistry();
+        int encoded = 0;
+        for (int i = 0; i < EXPRESSIONS_PER_REQUEST; i++) {
+            registry.registerEncodedWith((i & 1) == 0 ? htmlEncoder : javaScriptEncoder, encodedValues[i]);
+            encoded += registry.getEncodingStateFor(encodedValues[i]).getEncoders().size();
+        }
+        return encoded;
+    }
+}
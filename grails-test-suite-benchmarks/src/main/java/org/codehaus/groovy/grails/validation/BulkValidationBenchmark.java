@@ -0,0 +1,110 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.validation;
+
+import grails.validation.ValidationErrors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.codehaus.groovy.grails.commons.DefaultGrailsDomainClass;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.GenerateMicroBenchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.validation.Errors;
+
+/**
+ * Compares validating a batch of new domain class instances one after the other with
+ * {@link GrailsDomainClassValidator#validateAll(java.util.Collection, boolean)} on a ForkJoinPool.
+ *
+ * One invocation validates one batch, a third of the instances have errors.
+ *
+ * @since 2.4
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BulkValidationBenchmark {
+    private static final int BATCH_SIZE = 10000;
+
+    private GrailsDomainClassValidator validator;
+    private ExecutorService executor;
+    private List<BenchmarkPerson> people;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        DefaultGrailsDomainClass domainClass = new DefaultGrailsDomainClass(BenchmarkPerson.class);
+        Map<String, ConstrainedProperty> constrainedProperties = domainClass.getConstrainedProperties();
+        constrainedProperties.get("name").setBlank(false);
+        constrainedProperties.get("name").setMaxSize(100);
+        constrainedProperties.get("email").setEmail(true);
+        constrainedProperties.get("postCode").setMatches("[A-Z]{1,2}[0-9][0-9A-Z]? [0-9][A-Z]{2}");
+        constrainedProperties.get("age").setMin(18);
+        constrainedProperties.get("age").setMax(120);
+
+        executor = new ForkJoinPool();
+        validator = new GrailsDomainClassValidator();
+        validator.setDomainClass(domainClass);
+        validator.setMessageSource(new StaticMessageSource());
+        validator.setBulkValidationExecutor(executor);
+
+        people = new ArrayList<BenchmarkPerson>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            BenchmarkPerson person = new BenchmarkPerson();
+            person.setName(i % 3 == 0 ? "" : "Person " + i);
+            person.setEmail("person" + i + "@example.com");
+            person.setPostCode("SW1A 1AA");
+            person.setAge(18 + i % 80);
+            people.add(person);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @GenerateMicroBenchmark
+    public int sequentialLoop() {
+        int invalid = 0;
+        for (BenchmarkPerson person : people) {
+            Errors errors = new ValidationErrors(person);
+            validator.validate(person, errors, false);
+            invalid += errors.hasErrors() ? 1 : 0;
+        }
+        return invalid;
+    }
+
+    @GenerateMicroBenchmark
+    public int validateAll() {
+        int invalid = 0;
+        for (Errors errors : validator.validateAll(people, false)) {
+            invalid += errors.hasErrors() ? 1 : 0;
+        }
+        return invalid;
+    }
+}
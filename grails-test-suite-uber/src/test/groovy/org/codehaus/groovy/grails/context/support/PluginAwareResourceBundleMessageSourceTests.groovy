@@ -56,6 +56,59 @@ one.two=test
         assertEquals "test", messageSource.getMessage("foo.bar", [] as Object[], Locale.default)
         assertEquals "test", messageSource.getMessage("one.two", [] as Object[], Locale.default)
     }
+
+    void testReloadableMessageSourceUsesPluginMessageIndex() {
+        def testPlugin = new GroovyClassLoader().parseClass('''
+class TestTwoGrailsPlugin {
+    def version = 0.2
+}
+''')
+
+        def messageSource = new TestPluginAwareResourceBundleMessageSource()
+        messageSource.cacheSeconds = 60
+        messageSource.fallbackToSystemLocale = false
+
+        def pluginManager = new DefaultGrailsPluginManager([testPlugin] as Class[],
+            new DefaultGrailsApplication())
+        pluginManager.loadPlugins()
+
+        messageSource.pluginManager = pluginManager
+        messageSource.basename = "WEB-INF/grails-app/i18n/messages"
+        def loader = new MockStringResourceLoader()
+        loader.registerMockResource("WEB-INF/plugins/test-two-0.2/grails-app/i18n/messages.properties", '''
+foo.bar=test
+greeting=Hello {0}
+''')
+        loader.registerMockResource("WEB-INF/plugins/test-two-0.2/grails-app/i18n/messages_de.properties", '''
+greeting=Hallo {0}
+''')
+        loader.registerMockResource("WEB-INF/grails-app/i18n/messages.properties", '''
+one.two=test
+''')
+
+        messageSource.resourceLoader = loader
+        messageSource.afterPropertiesSet()
+
+        assertEquals "test", messageSource.getMessage("foo.bar", [] as Object[], Locale.ENGLISH)
+        assertEquals "Hello Bob", messageSource.getMessage("greeting", ["Bob"] as Object[], Locale.ENGLISH)
+        assertEquals "Hallo Bob", messageSource.getMessage("greeting", ["Bob"] as Object[], Locale.GERMAN)
+        assertEquals "test", messageSource.getMessage("foo.bar", [] as Object[], Locale.GERMAN)
+        assertEquals "missing", messageSource.getMessage("not.there", [] as Object[], "missing", Locale.ENGLISH)
+
+        def index = messageSource.getPluginMessageIndex(Locale.ENGLISH)
+        assertSame index, messageSource.getPluginMessageIndex(Locale.ENGLISH)
+        assertSame index.getMessageFormat("greeting"), index.getMessageFormat("greeting")
+        assertNull index.getMessageFormat("not.there")
+
+        loader.registerMockResource("WEB-INF/plugins/test-two-0.2/grails-app/i18n/messages.properties", '''
+foo.bar=changed
+''')
+        messageSource.clearCache()
+
+        assertNotSame index, messageSource.getPluginMessageIndex(Locale.ENGLISH)
+        assertEquals "changed", messageSource.getMessage("foo.bar", [] as Object[], Locale.ENGLISH)
+        assertEquals "missing", messageSource.getMessage("greeting", [] as Object[], "missing", Locale.ENGLISH)
+    }
 }
 
 class TestPluginAwareResourceBundleMessageSource extends PluginAwareResourceBundleMessageSource {
@@ -68,6 +68,12 @@ class Parent2 {
         assertNull instance.version
     }
 
+    void testValidatorsShareTheBulkValidationExecutor() {
+        def executor = appCtx.getBean(DomainClassGrailsPlugin.BULK_VALIDATION_EXECUTOR_BEAN_NAME)
+        assert executor.is(appCtx.getBean("TestValidator").@bulkValidationExecutor)
+        assert executor.is(appCtx.getBean("ChildValidator").@bulkValidationExecutor)
+    }
+
     void testToString() {
         def instance = appCtx.getBean("ChildDomainClass").newInstance()
 
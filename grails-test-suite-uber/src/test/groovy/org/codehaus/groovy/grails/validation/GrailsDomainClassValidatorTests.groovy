@@ -1,6 +1,8 @@
 package org.codehaus.groovy.grails.validation
 
 import org.codehaus.groovy.grails.commons.test.AbstractGrailsMockTests
+import java.util.concurrent.Executors
+
 import org.springframework.validation.BindException
 
 class GrailsDomainClassValidatorTests extends AbstractGrailsMockTests {
@@ -128,6 +130,98 @@ class GrailsDomainClassValidatorTests extends AbstractGrailsMockTests {
 
     }
 
+    void testValidationPlanIsReusedUntilConstraintsAreRefreshed() {
+        def readerClass = ga.getDomainClass("Reader")
+        def readerValidator = new GrailsDomainClassValidator()
+        readerValidator.domainClass = readerClass
+        readerValidator.messageSource = createMessageSource()
+        readerValidator.grailsApplication = ga
+
+        def reader = readerClass.newInstance()
+        reader.name = "Bob"
+        reader.nickname = "B0b"
+
+        def errors = new BindException(reader, reader.class.name)
+        readerValidator.validate(reader, errors, true)
+        assert errors.errorCount == 1
+        assert errors.getFieldError("nickname")
+
+        def plan = readerValidator.validationPlan
+        assert plan.constrainedProperties*.name.containsAll(["name", "nickname"])
+        assert plan.nonPersistentProperties*.name == ["nickname"]
+
+        reader.nickname = "bob"
+        reader.name = ""
+        errors = new BindException(reader, reader.class.name)
+        readerValidator.validate(reader, errors, true)
+        assert errors.errorCount == 1
+        assert errors.getFieldError("name")
+        assert plan.is(readerValidator.validationPlan)
+
+        readerClass.refreshConstraints()
+        assert !plan.is(readerValidator.validationPlan)
+
+        errors = new BindException(reader, reader.class.name)
+        readerValidator.validate(reader, errors, true)
+        assert errors.errorCount == 1
+    }
+
+    void testValidateAllInParallel() {
+        def readerClass = ga.getDomainClass("Reader")
+        def readerValidator = new GrailsDomainClassValidator()
+        readerValidator.domainClass = readerClass
+        readerValidator.messageSource = createMessageSource()
+        readerValidator.minBulkPartitionSize = 10
+        readerValidator.bulkValidationParallelism = 4
+        def executor = Executors.newFixedThreadPool(3)
+        readerValidator.bulkValidationExecutor = executor
+
+        def readers = (0..<200).collect { int i ->
+            def reader = readerClass.newInstance()
+            reader.name = i % 3 == 0 ? "" : "Reader $i".toString()
+            reader.nickname = "reader"
+            reader
+        }
+
+        try {
+            def results = readerValidator.validateAll(readers, true)
+            assert results.size() == 200
+            results.eachWithIndex { errors, int i ->
+                assert errors.target.is(readers[i])
+                assert errors.hasFieldErrors("name") == (i % 3 == 0)
+            }
+        }
+        finally {
+            executor.shutdown()
+        }
+    }
+
+    void testValidateAllRunsCustomValidatorsInCallingThread() {
+        def memberClass = ga.getDomainClass("Member")
+        def memberValidator = new GrailsDomainClassValidator()
+        memberValidator.domainClass = memberClass
+        memberValidator.messageSource = createMessageSource()
+        memberValidator.minBulkPartitionSize = 10
+        def executor = Executors.newFixedThreadPool(3)
+        memberValidator.bulkValidationExecutor = executor
+
+        def members = (0..<100).collect { int i ->
+            def member = memberClass.newInstance()
+            member.name = i % 2 == 0 ? "member" : "invalid"
+            member
+        }
+
+        try {
+            memberClass.clazz.validatingThreads.clear()
+            def results = memberValidator.validateAll(members, false)
+            assert results.count { it.hasErrors() } == 50
+            assert memberClass.clazz.validatingThreads == [Thread.currentThread()] as Set
+        }
+        finally {
+            executor.shutdown()
+        }
+    }
+
     protected void onSetUp() {
          gcl.parseClass('''
 class Book {
@@ -163,6 +257,29 @@ class Address {
        location(blank:false)
     }
 }
+class Reader {
+    Long id
+    Long version
+    String name
+    String nickname
+    static transients = ['nickname']
+    static constraints = {
+        name(blank:false)
+        nickname(matches:/[a-z]+/)
+    }
+}
+class Member {
+    static validatingThreads = Collections.synchronizedSet(new HashSet())
+    Long id
+    Long version
+    String name
+    static constraints = {
+        name(validator: { val ->
+            Member.validatingThreads << Thread.currentThread()
+            val != "invalid"
+        })
+    }
+}
 class Publisher {
     Long id
     Long version
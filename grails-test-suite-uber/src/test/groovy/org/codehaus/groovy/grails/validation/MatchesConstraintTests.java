@@ -49,5 +49,12 @@ public class MatchesConstraintTests extends AbstractConstraintTests {
         } catch (IllegalArgumentException iae) {
             // Great
         }
+
+        try {
+            getConstraint("testString", "[a-z");
+            fail("MatchesConstraint must throw an exception for invalid regular expressions.");
+        } catch (IllegalArgumentException iae) {
+            assertFalse(iae instanceof java.util.regex.PatternSyntaxException);
+        }
     }
 }
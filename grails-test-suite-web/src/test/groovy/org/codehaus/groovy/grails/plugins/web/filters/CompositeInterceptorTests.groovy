@@ -3,6 +3,7 @@ package org.codehaus.groovy.grails.plugins.web.filters
 import javax.servlet.http.HttpServletRequest
 import javax.servlet.http.HttpServletResponse
 
+import org.codehaus.groovy.grails.web.servlet.GrailsApplicationAttributes
 import org.springframework.mock.web.MockHttpServletRequest
 import org.springframework.mock.web.MockHttpServletResponse
 import org.springframework.web.servlet.HandlerInterceptor
@@ -55,4 +56,65 @@ class CompositeInterceptorTests extends GroovyTestCase {
         assertEquals 'foo', t1
         assertEquals 'bar', t2
     }
+
+    void testFiltersAreIndexedByController() {
+        def calls = []
+        def book = createFilter('book', [controller: 'book'], calls)
+        def all = createFilter('all', [controller: '*'], calls)
+        def author = createFilter('author', [controller: 'author|book', regex: true], calls)
+        def inverted = createFilter('inverted', [controller: 'book', invert: true], calls)
+        def uri = createFilter('uri', [uri: '/book/**'], calls)
+
+        def ci = new CompositeInterceptor()
+        ci.handlers = [book, all, author, inverted, uri]
+
+        assertEquals([book, all, author, inverted, uri], ci.findCandidates(createRequest('book', '/book/list')).handlers)
+        assertEquals([all, author, inverted, uri], ci.findCandidates(createRequest('author', '/author/list')).handlers)
+        assertEquals([all, inverted, uri], ci.findCandidates(createRequest('publisher', '/publisher/list')).handlers)
+        assertEquals([uri, inverted, all], ci.findCandidates(createRequest('publisher', '/publisher/list')).handlersReversed)
+
+        ci.preHandle(createRequest('book', '/book/list'), new MockHttpServletResponse(), null)
+        assertEquals(['book', 'all', 'author', 'uri'], calls)
+
+        calls.clear()
+        ci.preHandle(createRequest('publisher', '/publisher/list'), new MockHttpServletResponse(), null)
+        assertEquals(['all', 'inverted'], calls)
+
+        calls.clear()
+        ci.postHandle(createRequest('author', '/author/list'), new MockHttpServletResponse(), null, new ModelAndView())
+        assertEquals(['inverted', 'author', 'all'], calls)
+    }
+
+    void testIndexIsRebuiltWhenHandlersChange() {
+        def calls = []
+        def book = createFilter('book', [controller: 'book'], calls)
+        def author = createFilter('author', [controller: 'author'], calls)
+
+        def ci = new CompositeInterceptor()
+        ci.handlers = [book]
+        assertEquals([], ci.findCandidates(createRequest('author', '/author/list')).handlers)
+
+        ci.handlers = [book, author]
+        assertEquals([author], ci.findCandidates(createRequest('author', '/author/list')).handlers)
+
+        def other = [preHandle: { HttpServletRequest request, HttpServletResponse response, Object o -> true }] as HandlerInterceptor
+        ci.addHandler(other)
+        assertEquals([author, other], ci.findCandidates(createRequest('author', '/author/list')).handlers)
+    }
+
+    private FilterToHandlerAdapter createFilter(String name, Map scope, List calls) {
+        def filterConfig = new Expando()
+        filterConfig.scope = new Expando(scope)
+        filterConfig.before = { -> calls << name; true }
+        filterConfig.after = { Map model -> calls << name; true }
+        def adapter = new FilterToHandlerAdapter(filterConfig: filterConfig)
+        adapter.afterPropertiesSet()
+        adapter
+    }
+
+    private MockHttpServletRequest createRequest(String controllerName, String uri) {
+        def request = new MockHttpServletRequest('GET', uri)
+        request.setAttribute(GrailsApplicationAttributes.CONTROLLER_NAME_ATTRIBUTE, controllerName)
+        request
+    }
 }
@@ -33,6 +33,46 @@ class FilterToHandlerAdapterTests extends GroovyTestCase {
         assert !filterAdapter.accept("Ignore", "index", "/foo/1/2")
     }
 
+    void testURIPrefix() {
+        def filterAdapter = new FilterToHandlerAdapter()
+        filterAdapter.filterConfig = new Expando()
+        filterAdapter.filterConfig.scope = new Expando()
+        filterAdapter.filterConfig.scope.uri = "/restricted/area/*.gsp"
+        filterAdapter.afterPropertiesSet()
+
+        assertEquals "/restricted/area", filterAdapter.uriPrefix
+        assert filterAdapter.accept("Ignore", "index", "/restricted/area/page.gsp")
+        assert filterAdapter.accept("Ignore", "index", "//restricted//area/page.gsp")
+        assert !filterAdapter.accept("Ignore", "index", "/restricted/page.gsp")
+        assert !filterAdapter.accept("Ignore", "index", "/foo/area/page.gsp")
+
+        filterAdapter.filterConfig.scope.uri = "/**"
+        filterAdapter.afterPropertiesSet()
+        assertNull filterAdapter.uriPrefix
+        assert filterAdapter.accept("Ignore", "index", "/foo/area/page.gsp")
+    }
+
+    void testAppliesToController() {
+        def filterAdapter = new FilterToHandlerAdapter()
+        filterAdapter.filterConfig = new Expando()
+        filterAdapter.filterConfig.scope = new Expando()
+        filterAdapter.filterConfig.scope.controller = "book*"
+        filterAdapter.filterConfig.scope.controllerExclude = "bookStore"
+        filterAdapter.afterPropertiesSet()
+
+        assert !filterAdapter.appliesToAnyController()
+        assert filterAdapter.appliesToController("book")
+        assert filterAdapter.appliesToController("bookShelf")
+        assert !filterAdapter.appliesToController("bookStore")
+        assert !filterAdapter.appliesToController("author")
+        assert !filterAdapter.appliesToController(null)
+
+        filterAdapter.filterConfig.scope.invert = true
+        filterAdapter.afterPropertiesSet()
+        assert filterAdapter.appliesToAnyController()
+        assert filterAdapter.appliesToController("author")
+    }
+
     void testURIMapping2() {
         def filterAdapter = new FilterToHandlerAdapter()
         filterAdapter.filterConfig = new Expando()
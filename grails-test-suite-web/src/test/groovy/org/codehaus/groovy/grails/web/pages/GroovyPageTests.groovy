@@ -1,6 +1,7 @@
 package org.codehaus.groovy.grails.web.pages
 
 import org.codehaus.groovy.grails.commons.GrailsApplication
+import org.codehaus.groovy.grails.commons.TagLibArtefactHandler
 import org.codehaus.groovy.grails.web.servlet.DefaultGrailsApplicationAttributes
 import org.codehaus.groovy.grails.web.servlet.GrailsApplicationAttributes
 import org.codehaus.groovy.grails.web.servlet.mvc.AbstractGrailsControllerTests
@@ -109,6 +110,55 @@ class GroovyPageTests extends AbstractGrailsControllerTests {
         assertEquals(expectedOutput,result)
     }
 
+    void testInvokeTagResolvesCallSiteOnce() {
+        String pageCode = "import org.codehaus.groovy.grails.web.pages.GroovyPage\n" +
+                "import org.codehaus.groovy.grails.web.taglib.*\n"+
+                "\n"+
+                "class test_index_gsp extends GroovyPage {\n"+
+                "String getGroovyPageFileName() { \"test\" }\n"+
+                "public Object run() {\n"+
+                "setBodyClosure(1) { out.print('Boo!') }\n"+
+                "invokeTag('isaid', 'g', -1, [:], 1, 0)\n"+
+                "}\n"+
+                "}"
+
+        TagLibraryLookup lookup = appCtx.getBean("gspTagLibraryLookup")
+        GroovyPageMetaInfo metaInfo = new GroovyPageMetaInfo()
+        metaInfo.tagLibraryLookup = lookup
+        metaInfo.jspTagLibraryResolver = appCtx.getBean("jspTagLibraryResolver")
+        metaInfo.pageClass = gcl.parseClass(pageCode)
+
+        String expectedOutput = "I said, \"Boo!\""
+        assertEquals(expectedOutput, runPageClass(metaInfo))
+        def callSite = metaInfo.getTagCallSite(0)
+        assertNotNull callSite
+
+        assertEquals(expectedOutput, runPageClass(metaInfo))
+        assertSame callSite, metaInfo.getTagCallSite(0)
+
+        // registering a tag library again, like a reload does, invalidates the call site
+        lookup.registerTagLib(ga.getArtefact(TagLibArtefactHandler.TYPE, 'MyTagLib'))
+        assertEquals(expectedOutput, runPageClass(metaInfo))
+        assertNotSame callSite, metaInfo.getTagCallSite(0)
+    }
+
+    def runPageClass(GroovyPageMetaInfo metaInfo) {
+        def result = null
+        runTest {
+            StringWriter sw = new StringWriter()
+            PrintWriter pw = new GrailsPrintWriterAdapter(sw)
+
+            GroovyPage gspScript = metaInfo.pageClass.newInstance()
+            GroovyPagesMetaUtils.registerMethodMissingForGSP(gspScript.getClass(), metaInfo.tagLibraryLookup)
+            gspScript.binding = getBinding(pw)
+            gspScript.initRun(pw, webRequest, metaInfo)
+            gspScript.run()
+            gspScript.cleanup()
+            result = sw.toString()
+        }
+        return result
+    }
+
     void testInvokeBodyTagWithUnknownNamespace() throws Exception {
 
         String pageCode = "import org.codehaus.groovy.grails.web.pages.GroovyPage\n" +
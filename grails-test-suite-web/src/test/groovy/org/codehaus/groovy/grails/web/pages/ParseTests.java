@@ -89,7 +89,7 @@ public class ParseTests extends TestCase {
             "Writer expressionOut = getExpressionOut()\n"+
             "registerSitemeshPreprocessMode()\n" +
 
-            "invokeTag('message','g',1,['code':evaluate('\"testing [\"', 1, it) { return \"testing [\" }],-1)\n" +
+            "invokeTag('message','g',1,['code':evaluate('\"testing [\"', 1, it) { return \"testing [\" }],-1,0)\n" +
             "}\n" + GSP_FOOTER;
 
         assertEquals(trimAndRemoveCR(expected), trimAndRemoveCR(output));
@@ -211,7 +211,7 @@ public class ParseTests extends TestCase {
                  "  <tt:form />\n" +
                  "</tbody>").generatedGsp;
          System.out.println("output = " + output);
-         assertTrue("should have call to tag with 'tt' namespace", output.indexOf("invokeTag('form','tt',2,[:],-1)") > -1);
+         assertTrue("should have call to tag with 'tt' namespace", output.indexOf("invokeTag('form','tt',2,[:],-1,0)") > -1);
      }
 
      public void testParseWithWhitespaceNotEaten() throws Exception {
@@ -252,7 +252,7 @@ public class ParseTests extends TestCase {
             "Writer expressionOut = getExpressionOut()\n"+
             "registerSitemeshPreprocessMode()\n" +
             "createClosureForHtmlPart(0, 1)\n" +
-            "invokeTag('captureBody','sitemesh',1,['class':evaluate('\"${page.name} ${page.group.name.toLowerCase()}\"', 1, it) { return \"${page.name} ${page.group.name.toLowerCase()}\" }],1)\n" +
+            "invokeTag('captureBody','sitemesh',1,['class':evaluate('\"${page.name} ${page.group.name.toLowerCase()}\"', 1, it) { return \"${page.name} ${page.group.name.toLowerCase()}\" }],1,0)\n" +
             "}\n" + GSP_FOOTER;
          assertEquals(trimAndRemoveCR(expected), trimAndRemoveCR(result.generatedGsp));
          assertEquals("text", result.htmlParts[0]);
@@ -285,9 +285,9 @@ public class ParseTests extends TestCase {
             "registerSitemeshPreprocessMode()\n" +
             "printHtmlPart(0)\n" +
             "createTagBody(1, {->\n" +
-            "invokeTag('captureMeta','sitemesh',1,['gsp_sm_xmlClosingForEmptyTag':evaluate('\"/\"', 1, it) { return \"/\" },'name':evaluate('\"SomeName\"', 1, it) { return \"SomeName\" },'content':evaluate('\"${grailsApplication.config.myFirstConfig}/something/${someVar}\"', 1, it) { return \"${grailsApplication.config.myFirstConfig}/something/${someVar}\" }],-1)\n" +
+            "invokeTag('captureMeta','sitemesh',1,['gsp_sm_xmlClosingForEmptyTag':evaluate('\"/\"', 1, it) { return \"/\" },'name':evaluate('\"SomeName\"', 1, it) { return \"SomeName\" },'content':evaluate('\"${grailsApplication.config.myFirstConfig}/something/${someVar}\"', 1, it) { return \"${grailsApplication.config.myFirstConfig}/something/${someVar}\" }],-1,0)\n" +
             "})\n" +
-            "invokeTag('captureHead','sitemesh',1,[:],1)\n" +
+            "invokeTag('captureHead','sitemesh',1,[:],1,1)\n" +
             "printHtmlPart(1)\n" +
             "}\n" + GSP_FOOTER;
         assertEquals(trimAndRemoveCR(expected), trimAndRemoveCR(result.generatedGsp));
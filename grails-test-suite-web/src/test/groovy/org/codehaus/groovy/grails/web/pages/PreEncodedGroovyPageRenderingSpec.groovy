@@ -0,0 +1,54 @@
+package org.codehaus.groovy.grails.web.pages
+
+import grails.util.GrailsWebUtil
+
+import java.nio.charset.Charset
+
+import org.codehaus.groovy.grails.web.util.PreEncodedBytesWriter
+import org.codehaus.groovy.grails.web.util.PreEncodedStringsRegistry
+import org.codehaus.groovy.grails.web.util.StreamCharBuffer
+import org.springframework.mock.web.MockServletContext
+import org.springframework.web.context.request.RequestContextHolder
+
+import spock.lang.Specification
+
+class PreEncodedGroovyPageRenderingSpec extends Specification {
+
+    def cleanup() {
+        RequestContextHolder.resetRequestAttributes()
+    }
+
+    def "the html parts of a rendered page are written as pre-encoded bytes"() {
+        given:
+            GrailsWebUtil.bindMockWebRequest()
+            def engine = new GroovyPagesTemplateEngine(new MockServletContext())
+            engine.afterPropertiesSet()
+            String htmlPart = '<div class="tile">ä€</div>' + ('x' * 4096)
+            def template = engine.createTemplate(htmlPart + '<p>${name}</p>' + htmlPart.reverse(), 'pre_encoded_test')
+            def registry = new CountingPreEncodedStringsRegistry()
+            registry.register(template.metaInfo.preEncodedHtmlParts)
+            def bytes = new ByteArrayOutputStream()
+            def writer = new PreEncodedBytesWriter(bytes, 'UTF-8', registry)
+            def buffer = new StreamCharBuffer()
+            buffer.connectTo(writer, false)
+        when:
+            template.make([name: 'é']).writeTo(buffer.writer)
+            buffer.writer.flush()
+            writer.flush()
+        then:
+            new String(bytes.toByteArray(), 'UTF-8') == htmlPart + '<p>é</p>' + htmlPart.reverse()
+            registry.preEncodedCount == 2
+    }
+}
+
+class CountingPreEncodedStringsRegistry extends PreEncodedStringsRegistry {
+    int preEncodedCount
+
+    byte[] getEncodedBytes(String str, Charset charset) {
+        def bytes = super.getEncodedBytes(str, charset)
+        if (bytes != null) {
+            preEncodedCount++
+        }
+        bytes
+    }
+}
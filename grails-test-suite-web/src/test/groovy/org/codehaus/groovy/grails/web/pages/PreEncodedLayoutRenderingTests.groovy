@@ -0,0 +1,57 @@
+package org.codehaus.groovy.grails.web.pages
+
+import org.codehaus.groovy.grails.web.sitemesh.GSPSitemeshPage
+import org.codehaus.groovy.grails.web.sitemesh.GrailsPageFilter
+import org.codehaus.groovy.grails.web.taglib.AbstractGrailsTagTests
+import org.codehaus.groovy.grails.web.util.PreEncodedBytesWriter
+import org.codehaus.groovy.grails.web.util.StreamCharBuffer
+
+import com.opensymphony.module.sitemesh.RequestConstants
+
+class PreEncodedLayoutRenderingTests extends AbstractGrailsTagTests {
+
+    void testHtmlPartsOfAPageWithLayoutAreWrittenAsPreEncodedBytes() {
+        String header = '<div class="header">' + ('layout header ' * 100) + '</div>'
+        String intro = '<div class="intro">' + ('page intro ' * 100) + '</div>'
+        String content = '<div class="content">' + ('page content ' * 100) + '</div>'
+
+        GroovyPagesTemplateEngine engine = appCtx.groovyPagesTemplateEngine
+        def page = engine.createTemplate('<html><head><title>Title</title></head><body>' + intro +
+            '<p>${name}</p>' + content + '</body></html>', '/test/pre_encoded_page')
+        def layout = engine.createTemplate('<html><head><title><g:layoutTitle/></title><g:layoutHead/></head><body>' +
+            header + '<g:layoutBody/></body></html>', '/layouts/pre_encoded_layout')
+
+        // the page is rendered to the Sitemesh buffer
+        def gspSitemeshPage = new GSPSitemeshPage()
+        request.setAttribute(GrailsPageFilter.GSP_SITEMESH_PAGE, gspSitemeshPage)
+        def pageOut = new FastStringWriter()
+        webRequest.out = pageOut
+        page.make([name: 'World']).writeTo(pageOut)
+
+        // the layout writes the captured body to the response
+        def registry = new CountingPreEncodedStringsRegistry()
+        registry.register(page.metaInfo.preEncodedHtmlParts)
+        registry.register(layout.metaInfo.preEncodedHtmlParts)
+        def bytes = new ByteArrayOutputStream()
+        def writer = new PreEncodedBytesWriter(bytes, 'UTF-8', registry)
+        def buffer = new StreamCharBuffer()
+        buffer.connectTo(writer, false)
+        try {
+            request.setAttribute(RequestConstants.PAGE, gspSitemeshPage)
+            request.setAttribute(GrailsPageFilter.GSP_SITEMESH_PAGE, new GSPSitemeshPage(true))
+            webRequest.out = buffer.writer
+            layout.make([:]).writeTo(buffer.writer)
+            buffer.writer.flush()
+            writer.flush()
+        }
+        finally {
+            request.removeAttribute(RequestConstants.PAGE)
+            request.removeAttribute(GrailsPageFilter.GSP_SITEMESH_PAGE)
+        }
+
+        assertEquals '<html><head><title>Title</title></head><body>' + header + intro + '<p>World</p>' + content + '</body></html>',
+            new String(bytes.toByteArray(), 'UTF-8')
+        // the header of the layout and the intro and content parts of the page
+        assertEquals 3, registry.preEncodedCount
+    }
+}
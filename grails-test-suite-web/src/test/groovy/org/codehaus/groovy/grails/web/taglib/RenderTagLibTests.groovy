@@ -17,10 +17,13 @@ package org.codehaus.groovy.grails.web.taglib
 
 import grails.util.GrailsUtil
 
+import java.util.concurrent.Executors
+
 import org.codehaus.groovy.grails.commons.UrlMappingsArtefactHandler
 import org.codehaus.groovy.grails.support.MockStringResourceLoader
 import org.codehaus.groovy.grails.web.pages.FastStringWriter
 import org.codehaus.groovy.grails.web.pages.GroovyPageBinding
+import org.codehaus.groovy.grails.web.pages.GroovyPageFragmentCache
 import org.codehaus.groovy.grails.web.servlet.GrailsApplicationAttributes
 import org.codehaus.groovy.grails.web.sitemesh.FactoryHolder
 import org.codehaus.groovy.grails.web.sitemesh.GSPSitemeshPage
@@ -253,6 +256,115 @@ class RenderTagLibTests extends AbstractGrailsTagTests {
         assertOutputEquals '[book = The Stand it=The Stand foo=bar][book = The Shining it=The Shining foo=bar]', template, [books:['The Stand', 'The Shining']]
     }
 
+    void testRenderTagWithCacheKey() {
+        def renderer = appCtx.groovyPagesTemplateRenderer
+        def previousCache = renderer.fragmentCache
+        def fragmentCache = new GroovyPageFragmentCache()
+        renderer.fragmentCache = fragmentCache
+        def resourceLoader = new MockStringResourceLoader()
+        resourceLoader.registerMockResource('/product/_tile.gsp', '[tile ${product.name}]')
+        appCtx.groovyPagesTemplateEngine.groovyPageLocator.addResourceLoader(resourceLoader)
+
+        try {
+            def template = '<g:render template="/product/tile" model="[product: product]" cacheKey="${product.id}" />'
+            assertOutputEquals '[tile Book]', template, [product: [id: 1, name: 'Book']]
+            assertOutputEquals '[tile Book]', template, [product: [id: 1, name: 'Changed']]
+            assertOutputEquals '[tile Pen]', template, [product: [id: 2, name: 'Pen']]
+            assertEquals 1, fragmentCache.hitCount
+            assertEquals 2, fragmentCache.missCount
+            assertEquals 2, fragmentCache.fragmentCount
+
+            renderer.clearCache()
+            assertOutputEquals '[tile Changed]', template, [product: [id: 1, name: 'Changed']]
+
+            def uncached = '<g:render template="/product/tile" model="[product: product]" />'
+            assertOutputEquals '[tile Other]', uncached, [product: [id: 1, name: 'Other']]
+        }
+        finally {
+            renderer.fragmentCache = previousCache
+        }
+    }
+
+    void testRenderTagWithCacheKeyCachesPerLocale() {
+        def renderer = appCtx.groovyPagesTemplateRenderer
+        def previousCache = renderer.fragmentCache
+        renderer.fragmentCache = new GroovyPageFragmentCache()
+        messageSource.addMessage('tile.label', Locale.ENGLISH, 'Tile')
+        messageSource.addMessage('tile.label', Locale.GERMAN, 'Kachel')
+        def resourceLoader = new MockStringResourceLoader()
+        resourceLoader.registerMockResource('/product/_label.gsp', '<g:message code="tile.label" />')
+        appCtx.groovyPagesTemplateEngine.groovyPageLocator.addResourceLoader(resourceLoader)
+
+        try {
+            def template = '<g:render template="/product/label" cacheKey="label" />'
+            request.addPreferredLocale(Locale.ENGLISH)
+            assertOutputEquals 'Tile', template
+            request.addPreferredLocale(Locale.GERMAN)
+            assertOutputEquals 'Kachel', template
+            request.addPreferredLocale(Locale.ENGLISH)
+            assertOutputEquals 'Tile', template
+            assertEquals 1, renderer.fragmentCache.hitCount
+        }
+        finally {
+            renderer.fragmentCache = previousCache
+        }
+    }
+
+    void testRenderTagCollectionInParallel() {
+        def renderer = appCtx.groovyPagesTemplateRenderer
+        def previousExecutor = renderer.parallelRenderingExecutor
+        def previousChunkSize = renderer.parallelRenderingChunkSize
+        def executor = Executors.newFixedThreadPool(4)
+        renderer.parallelRenderingExecutor = executor
+        renderer.parallelRenderingChunkSize = 5
+        def resourceLoader = new MockStringResourceLoader()
+        resourceLoader.registerMockResource('/product/_row.gsp', '[${prefix}${product.name}:${request.getAttribute("custom") ?: ""}]<% request.setAttribute("custom", "set") %>')
+        appCtx.groovyPagesTemplateEngine.groovyPageLocator.addResourceLoader(resourceLoader)
+
+        try {
+            // attributes set while rendering a chunk are only visible to the chunk
+            def products = (0..49).collect { [name: "p$it"] }
+            def expected = products.collect { "[-${it.name}:${it.name[1..-1].toInteger() % 5 ? 'set' : ''}]" }.join('')
+            def template = '<g:render template="/product/row" collection="${products}" var="product" model="[prefix: \'-\']" parallel="true" />'
+            assertOutputEquals expected, template, [products: products]
+            assertNull request.getAttribute('custom')
+
+            assertOutputEquals '[-p0:]', template, [products: products[0..0]]
+        }
+        finally {
+            renderer.parallelRenderingExecutor = previousExecutor
+            renderer.parallelRenderingChunkSize = previousChunkSize
+            executor.shutdown()
+        }
+    }
+
+    void testRenderTagCollectionInParallelWithRequestParamsAndNestedCollections() {
+        def renderer = appCtx.groovyPagesTemplateRenderer
+        def previousExecutor = renderer.parallelRenderingExecutor
+        def previousChunkSize = renderer.parallelRenderingChunkSize
+        // outer chunks occupy every thread, nested collections have to be rendered in the thread of the chunk
+        def executor = Executors.newFixedThreadPool(2)
+        renderer.parallelRenderingExecutor = executor
+        renderer.parallelRenderingChunkSize = 2
+        def resourceLoader = new MockStringResourceLoader()
+        resourceLoader.registerMockResource('/product/_group.gsp', '[${params.id}:<g:render template="/product/item" collection="${group}" var="item" parallel="true" />]')
+        resourceLoader.registerMockResource('/product/_item.gsp', '${item}')
+        appCtx.groovyPagesTemplateEngine.groovyPageLocator.addResourceLoader(resourceLoader)
+        webRequest.params.id = '42'
+
+        try {
+            def groups = (0..5).collect { g -> (0..4).collect { "${g}${it}" } }
+            def expected = groups.collect { "[42:${it.join('')}]" }.join('')
+            def template = '<g:render template="/product/group" collection="${groups}" var="group" parallel="true" />'
+            assertOutputEquals expected, template, [groups: groups]
+        }
+        finally {
+            renderer.parallelRenderingExecutor = previousExecutor
+            renderer.parallelRenderingChunkSize = previousChunkSize
+            executor.shutdown()
+        }
+    }
+
     void testRenderTagBeforeAndAfterModel() {
 
         def resourceLoader = new MockStringResourceLoader()
@@ -31,12 +31,14 @@ import java.util.List;
  * A GroovyPage compiler injection operation that uses a specified array of ClassInjector instances to
  * attempt AST injection.
  *
+ * An instance can be shared by compilation units running in different threads.
+ *
  * @author Stephane Maldini
  * @since 2.0
  */
 public class GroovyPageInjectionOperation extends GrailsAwareInjectionOperation {
 
-    private GroovyPageInjector[] groovyPageInjectors;
+    private volatile GroovyPageInjector[] groovyPageInjectors;
 
     @Override
     public void call(SourceUnit source, GeneratorContext context, ClassNode classNode) throws CompilationFailedException {
@@ -51,15 +53,22 @@ public class GroovyPageInjectionOperation extends GrailsAwareInjectionOperation
     }
 
     private GroovyPageInjector[] getGroovyPageInjectors() {
-         if (groovyPageInjectors == null) {
-             List<GroovyPageInjector> injectors = new ArrayList<GroovyPageInjector>();
-             for (ClassInjector ci : getClassInjectors()) {
-                 if (ci instanceof GroovyPageInjector) {
-                     injectors.add((GroovyPageInjector)ci);
-                 }
-             }
-             groovyPageInjectors = injectors.toArray(new GroovyPageInjector[injectors.size()]);
+        GroovyPageInjector[] result = groovyPageInjectors;
+        if (result == null) {
+            synchronized (this) {
+                result = groovyPageInjectors;
+                if (result == null) {
+                    List<GroovyPageInjector> injectors = new ArrayList<GroovyPageInjector>();
+                    for (ClassInjector ci : getClassInjectors()) {
+                        if (ci instanceof GroovyPageInjector) {
+                            injectors.add((GroovyPageInjector)ci);
+                        }
+                    }
+                    result = injectors.toArray(new GroovyPageInjector[injectors.size()]);
+                    groovyPageInjectors = result;
+                }
+            }
         }
-        return groovyPageInjectors;
+        return result;
     }
 }
@@ -159,20 +159,23 @@ public class DataBindingUtils {
     /**
      * For each DataBindingSource provided by collectionBindingSource a new instance of targetType is created,
      * data binding is imposed on that instance with the DataBindingSource and the instance is added to the end of
-     * collectionToPopulate
+     * collectionToPopulate. A collectionBindingSource that is also an Iterable is iterated directly,
+     * which allows it to create the DataBindingSource instances lazily.
      *
      * @param targetType The type of objects to create, must be a concrete class
      * @param collectionToPopulate A collection to populate with new instances of targetType
      * @param collectionBindingSource A CollectionDataBindingSource
      * @since 2.3
      */
+    @SuppressWarnings("unchecked")
     public static <T> void bindToCollection(final Class<T> targetType, final Collection<T> collectionToPopulate, final CollectionDataBindingSource collectionBindingSource) throws InstantiationException, IllegalAccessException {
         final GrailsApplication application = GrailsWebRequest.lookupApplication();
         GrailsDomainClass domain = null;
         if (application != null) {
             domain = (GrailsDomainClass) application.getArtefact(DomainClassArtefactHandler.TYPE,targetType.getName());
         }
-        final List<DataBindingSource> dataBindingSources = collectionBindingSource.getDataBindingSources();
+        final Iterable<DataBindingSource> dataBindingSources = collectionBindingSource instanceof Iterable ?
+                (Iterable<DataBindingSource>) collectionBindingSource : collectionBindingSource.getDataBindingSources();
         for(final DataBindingSource dataBindingSource : dataBindingSources) {
             final T newObject = targetType.newInstance();
             bindObjectToDomainInstance(domain, newObject, dataBindingSource, getBindingIncludeList(newObject), Collections.EMPTY_LIST, null);
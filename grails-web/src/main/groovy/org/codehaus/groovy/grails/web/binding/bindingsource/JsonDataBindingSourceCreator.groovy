@@ -36,7 +36,9 @@ import com.google.gson.JsonObject
 import com.google.gson.JsonParseException
 import com.google.gson.JsonParser
 import com.google.gson.JsonPrimitive
+import com.google.gson.JsonSyntaxException
 import com.google.gson.stream.JsonReader
+import com.google.gson.stream.JsonToken
 
 /**
  * Creates DataBindingSource objects from JSON in the request body
@@ -78,18 +80,12 @@ class JsonDataBindingSourceCreator extends AbstractRequestBodyDataBindingSourceC
     protected CollectionDataBindingSource createCollectionBindingSource(Reader reader) {
         def jsonReader = new JsonReader(reader)
         jsonReader.setLenient true
-        def parser = new JsonParser()
 
-        // TODO Need to decide what to do if the root element is not a JsonArray
-        JsonArray jsonElement = (JsonArray)parser.parse(jsonReader)
-        def dataBindingSources = jsonElement.collect { JsonElement element ->
-            new SimpleMapDataBindingSource(createJsonObjectMap(element))
-        }
-        return new CollectionDataBindingSource() {
-            List<DataBindingSource> getDataBindingSources() {
-                dataBindingSources
-            }
+        if (jsonReader.peek() != JsonToken.BEGIN_ARRAY) {
+            throw new JsonSyntaxException("Expected a JSON array but was ${jsonReader.peek()}")
         }
+        jsonReader.beginArray()
+        new StreamingJsonCollectionDataBindingSource(jsonReader)
     }
 
     @Override
@@ -221,6 +217,83 @@ class JsonDataBindingSourceCreator extends AbstractRequestBodyDataBindingSourceC
         }
     }
 
+    /**
+     * A CollectionDataBindingSource that reads the elements of a JSON array from the JsonReader one at a time
+     * while it is iterated, so that only the element currently being bound is held in memory.
+     *
+     * The elements can be iterated only once. Calling {@link #getDataBindingSources()} reads all remaining elements.
+     */
+    @CompileStatic
+    class StreamingJsonCollectionDataBindingSource implements CollectionDataBindingSource, Iterable<DataBindingSource>, Iterator<DataBindingSource> {
+
+        private final JsonReader jsonReader
+        private final JsonParser parser = new JsonParser()
+        private boolean iterated
+        private boolean finished
+        private List<DataBindingSource> dataBindingSources
+
+        StreamingJsonCollectionDataBindingSource(JsonReader jsonReader) {
+            this.jsonReader = jsonReader
+        }
+
+        List<DataBindingSource> getDataBindingSources() {
+            if (dataBindingSources == null) {
+                List<DataBindingSource> sources = []
+                for (DataBindingSource source in iterator()) {
+                    sources << source
+                }
+                dataBindingSources = sources
+            }
+            dataBindingSources
+        }
+
+        Iterator<DataBindingSource> iterator() {
+            if (dataBindingSources != null) {
+                return dataBindingSources.iterator()
+            }
+            if (iterated) {
+                throw new IllegalStateException("The elements of a streaming JSON collection can only be iterated once")
+            }
+            iterated = true
+            this
+        }
+
+        boolean hasNext() {
+            if (finished) {
+                return false
+            }
+            try {
+                if (jsonReader.hasNext()) {
+                    return true
+                }
+                jsonReader.endArray()
+            }
+            catch (IOException e) {
+                throw new DataBindingSourceCreationException(e)
+            }
+            finished = true
+            false
+        }
+
+        DataBindingSource next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException()
+            }
+            JsonElement element
+            try {
+                element = parser.parse(jsonReader)
+            }
+            catch (JsonParseException e) {
+                throw new InvalidRequestBodyException(e)
+            }
+            new SimpleMapDataBindingSource(createJsonObjectMap(element))
+        }
+
+        void remove() {
+            throw new UnsupportedOperationException()
+        }
+    }
+
     @CompileStatic
     class JsonArrayList extends AbstractList {
 
@@ -196,12 +196,23 @@ public class JSONWriter {
         if (s == null) {
             throw new JSONException("Null key.");
         }
+        return quotedKey(JSONObject.quote(s));
+    }
+
+    /**
+     * Append a key that has already been quoted with {@link JSONObject#quote(String)}.
+     * Allows callers writing the same keys repeatedly to quote them only once.
+     *
+     * @param quotedKey A quoted key string.
+     * @return this
+     */
+    public JSONWriter quotedKey(String quotedKey) {
         if (this.mode == KEY) {
             try {
                 if (this.comma) {
                     this.comma();
                 }
-                this.writer.write(JSONObject.quote(s));
+                this.writer.write(quotedKey);
                 this.writer.write(':');
                 this.comma = false;
                 this.mode = OBJECT;
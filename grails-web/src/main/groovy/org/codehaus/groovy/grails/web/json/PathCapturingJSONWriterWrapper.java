@@ -116,6 +116,17 @@ public class PathCapturingJSONWriterWrapper extends JSONWriter {
         return this;
     }
 
+    @Override
+    public JSONWriter quotedKey(String quotedKey) {
+        if (log.isDebugEnabled()) {
+            if (debugCurrentStack) log.debug(delegate.mode.name() + " > " +String.format(">> " + getCurrentStrackReference()));
+            log.debug(delegate.mode.name() + " > " +String.format("quotedKey(%s)", quotedKey));
+        }
+        pathStack.push(new PropertyElement(new JSONTokener(quotedKey).nextValue().toString()));
+        delegate.quotedKey(quotedKey);
+        return this;
+    }
+
     @Override
     public JSONWriter object() {
         if (log.isDebugEnabled()) {
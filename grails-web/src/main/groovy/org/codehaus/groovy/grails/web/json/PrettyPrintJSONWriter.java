@@ -136,11 +136,7 @@ public class PrettyPrintJSONWriter extends JSONWriter {
     }
 
     @Override
-    public JSONWriter key(String s) {
-        if (s == null) {
-            throw new JSONException("Null key.");
-        }
-
+    public JSONWriter quotedKey(String quotedKey) {
         if (mode == KEY) {
             try {
                 if (comma) {
@@ -148,7 +144,7 @@ public class PrettyPrintJSONWriter extends JSONWriter {
                 }
                 newline();
                 indent();
-                writer.write(JSONObject.quote(s));
+                writer.write(quotedKey);
                 writer.write(": ");
                 comma = false;
                 mode = OBJECT;
@@ -162,7 +162,7 @@ public interface UrlMappingsHolder {
      * Matches all possible UrlMappingInfo instances to the given URI and returns them all
      *
      * @param uri The URI to match
-     * @return An array of 0 or many UrlMappngInfo instances
+     * @return An array of 0 or many UrlMappngInfo instances, the array may be shared and must not be modified
      */
     UrlMappingInfo[] matchAll(String uri);
 
@@ -171,7 +171,7 @@ public interface UrlMappingsHolder {
      *
      * @param uri The URI to match
      * @param httpMethod The HTTP method (GET,POST,PUT,DELETE etc.)
-     * @return An array of 0 or many UrlMappingInfo instances
+     * @return An array of 0 or many UrlMappingInfo instances, the array may be shared and must not be modified
      */
     UrlMappingInfo[] matchAll(String uri, String httpMethod);
 
@@ -181,7 +181,7 @@ public interface UrlMappingsHolder {
      * @param uri The URI to match
      * @param httpMethod The HTTP method (GET,POST,PUT,DELETE etc.)
      * @param version The version of the API
-     * @return An array of 0 or many UrlMappingInfo instances
+     * @return An array of 0 or many UrlMappingInfo instances, the array may be shared and must not be modified
      *
      */
     UrlMappingInfo[] matchAll(String uri, String httpMethod, String version);
@@ -192,7 +192,7 @@ public interface UrlMappingsHolder {
      *
      * @param uri The URI to match
      * @param httpMethod The HTTP method (GET,POST,PUT,DELETE etc.)
-     * @return An array of 0 or many UrlMappingInfo instances
+     * @return An array of 0 or many UrlMappingInfo instances, the array may be shared and must not be modified
      */
     UrlMappingInfo[] matchAll(String uri, HttpMethod httpMethod);
 
@@ -202,7 +202,7 @@ public interface UrlMappingsHolder {
      * @param uri The URI to match
      * @param httpMethod The HTTP method (GET,POST,PUT,DELETE etc.)
      * @param version The version
-     * @return An array of 0 or many UrlMappingInfo instances
+     * @return An array of 0 or many UrlMappingInfo instances, the array may be shared and must not be modified
      */
     UrlMappingInfo[] matchAll(String uri, HttpMethod httpMethod, String version);
 
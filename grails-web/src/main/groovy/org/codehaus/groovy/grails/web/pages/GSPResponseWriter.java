@@ -18,6 +18,7 @@ package org.codehaus.groovy.grails.web.pages;
 import java.io.IOException;
 import java.io.Writer;
 
+import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
 
 import org.apache.commons.logging.Log;
@@ -30,6 +31,9 @@ import org.codehaus.groovy.grails.web.servlet.mvc.GrailsWebRequest;
 import org.codehaus.groovy.grails.web.sitemesh.GrailsContentBufferingResponse;
 import org.codehaus.groovy.grails.web.sitemesh.GrailsRoutablePrintWriter;
 import org.codehaus.groovy.grails.web.util.BoundedCharsAsEncodedBytesCounter;
+import org.codehaus.groovy.grails.web.util.PreEncodedBytesWriter;
+import org.codehaus.groovy.grails.web.util.PreEncodedStrings;
+import org.codehaus.groovy.grails.web.util.PreEncodedStringsRegistry;
 import org.codehaus.groovy.grails.web.util.StreamCharBuffer;
 import org.codehaus.groovy.grails.web.util.StreamCharBuffer.LazyInitializingWriter;
 import org.codehaus.groovy.grails.web.util.StreamCharBuffer.StreamCharBufferWriter;
@@ -49,6 +53,15 @@ import com.opensymphony.module.sitemesh.RequestConstants;
  * Calculating the Content-Length has been disabled by default since Jetty ignores it (uses Chunked mode anyways).
  * Content-Length mode can be enabled with -DGSPResponseWriter.enableContentLength=true system property.
  *
+ * Pre-encoding mode can be enabled with -DGSPResponseWriter.enablePreEncoding=true system property. In this mode
+ * the response is written to the servlet OutputStream and the static html parts of the rendered pages are copied
+ * to the stream as bytes that have been encoded once per charset.
+ * A page rendered for a Sitemesh layout is written to the buffer of the GrailsContentBufferingResponse as chars,
+ * its html parts are pre-encoded when the layout writes the captured head and body to the response.
+ * Pages that aren't decorated are written by Sitemesh without pre-encoding. Html parts shorter than
+ * the StreamCharBuffer substring chunk minimum size (streamcharbuffer.substringchunkminsize, 512 by default)
+ * are copied to a char chunk and encoded like any other content.
+ *
  *
  * @author Troy Heninger
  * @author Graeme Rocher
@@ -63,9 +76,12 @@ public class GSPResponseWriter extends GrailsRoutablePrintWriter implements Enco
     public static final boolean CONTENT_LENGTH_COUNTING_ENABLED = Boolean.getBoolean("GSPResponseWriter.enableContentLength");
     public static final boolean BUFFERING_ENABLED = Boolean.valueOf(System.getProperty("GSPResponseWriter.enableBuffering","true"));
     public static final boolean AUTOFLUSH_ENABLED = Boolean.getBoolean("GSPResponseWriter.enableAutoFlush");
+    public static final boolean PRE_ENCODING_ENABLED = Boolean.getBoolean("GSPResponseWriter.enablePreEncoding");
+    private static final String PRE_ENCODED_STRINGS_ATTRIBUTE = GSPResponseWriter.class.getName() + ".PRE_ENCODED_STRINGS";
     private static final int BUFFER_SIZE = Integer.getInteger("GSPResponseWriter.bufferSize", 8042);
     private Encoder encoder;
     private StreamCharBuffer buffer;
+    private PreEncodingResponseWriter preEncodingResponseWriter;
     private static ObjectInstantiator instantiator=null;
     static {
         try {
@@ -92,11 +108,19 @@ public class GSPResponseWriter extends GrailsRoutablePrintWriter implements Enco
         streamBuffer.setChunkMinSize(max/2);
         streamBuffer.setNotifyParentBuffersEnabled(false);
 
-        final StreamCharBuffer.LazyInitializingWriter lazyResponseWriter = new StreamCharBuffer.LazyInitializingWriter() {
-            public Writer getWriter() throws IOException {
-                return response.getWriter();
-            }
-        };
+        final PreEncodingResponseWriter preEncodingResponseWriter;
+        final StreamCharBuffer.LazyInitializingWriter lazyResponseWriter;
+        if (PRE_ENCODING_ENABLED && !CONTENT_LENGTH_COUNTING_ENABLED && !(response instanceof GrailsContentBufferingResponse)) {
+            preEncodingResponseWriter = new PreEncodingResponseWriter(response);
+            lazyResponseWriter = preEncodingResponseWriter;
+        } else {
+            preEncodingResponseWriter = null;
+            lazyResponseWriter = new StreamCharBuffer.LazyInitializingWriter() {
+                public Writer getWriter() throws IOException {
+                    return response.getWriter();
+                }
+            };
+        }
 
         if (!(response instanceof GrailsContentBufferingResponse)) {
             streamBuffer.connectTo(new StreamCharBuffer.LazyInitializingMultipleWriter() {
@@ -127,9 +151,12 @@ public class GSPResponseWriter extends GrailsRoutablePrintWriter implements Enco
         if (instantiator != null) {
             GSPResponseWriter instance = (GSPResponseWriter)instantiator.newInstance();
             instance.initialize(streamBuffer, response, bytesCounter);
+            instance.preEncodingResponseWriter = preEncodingResponseWriter;
             return instance;
         } else {
-            return new GSPResponseWriter(streamBuffer, response, bytesCounter);
+            GSPResponseWriter instance = new GSPResponseWriter(streamBuffer, response, bytesCounter);
+            instance.preEncodingResponseWriter = preEncodingResponseWriter;
+            return instance;
         }
     }
 
@@ -241,7 +268,11 @@ public class GSPResponseWriter extends GrailsRoutablePrintWriter implements Enco
     private void flushResponse() {
         try {
             if (isDestinationActivated()) {
-                response.getWriter().flush();
+                if (preEncodingResponseWriter != null && preEncodingResponseWriter.writer != null) {
+                    preEncodingResponseWriter.writer.flush();
+                } else {
+                    response.getWriter().flush();
+                }
             }
         }
         catch (IOException e) {
@@ -276,4 +307,55 @@ public class GSPResponseWriter extends GrailsRoutablePrintWriter implements Enco
     public Encoder getEncoder() {
         return encoder;
     }
+
+    /**
+     * Registers the static Strings of a page rendered during the request so that the writer created in pre-encoding mode
+     * can write their cached bytes to the response.
+     *
+     * @param request the current request
+     * @param strings the static Strings
+     */
+    public static void registerPreEncodedStrings(ServletRequest request, PreEncodedStrings strings) {
+        if (request == null || strings == null) {
+            return;
+        }
+        getPreEncodedStrings(request).register(strings);
+    }
+
+    private static PreEncodedStringsRegistry getPreEncodedStrings(ServletRequest request) {
+        PreEncodedStringsRegistry registry = (PreEncodedStringsRegistry)request.getAttribute(PRE_ENCODED_STRINGS_ATTRIBUTE);
+        if (registry == null) {
+            registry = new PreEncodedStringsRegistry();
+            request.setAttribute(PRE_ENCODED_STRINGS_ATTRIBUTE, registry);
+        }
+        return registry;
+    }
+
+    private static final class PreEncodingResponseWriter implements StreamCharBuffer.LazyInitializingWriter {
+        private final ServletResponse response;
+        private PreEncodedBytesWriter writer;
+
+        PreEncodingResponseWriter(ServletResponse response) {
+            this.response = response;
+        }
+
+        public Writer getWriter() throws IOException {
+            if (writer == null) {
+                GrailsWebRequest webRequest = GrailsWebRequest.lookup();
+                if (webRequest == null) {
+                    return response.getWriter();
+                }
+                try {
+                    writer = new PreEncodedBytesWriter(response.getOutputStream(), response.getCharacterEncoding(),
+                            getPreEncodedStrings(webRequest.getCurrentRequest()));
+                }
+                catch (IllegalStateException e) {
+                    // getWriter() has already been called for the response
+                    LOG.debug("Couldn't use the response OutputStream for pre-encoded output, falling back to the response writer.", e);
+                    return response.getWriter();
+                }
+            }
+            return writer;
+        }
+    }
 }
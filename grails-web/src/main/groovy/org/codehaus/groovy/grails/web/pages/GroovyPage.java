@@ -129,6 +129,7 @@ public abstract class GroovyPage extends Script {
     private String pluginContextPath;
     private HttpServletRequest request;
     private Encoder rawEncoder;
+    private GroovyPageMetaInfo metaInfo;
 
     private final List<Closure<?>> bodyClosures = new ArrayList<Closure<?>>(15);
 
@@ -199,11 +200,15 @@ public abstract class GroovyPage extends Script {
 
     public void initRun(Writer target, GrailsWebRequest grailsWebRequest, GroovyPageMetaInfo metaInfo) {
         GroovyPageOutputStackAttributes.Builder attributesBuilder = new GroovyPageOutputStackAttributes.Builder();
+        this.metaInfo = metaInfo;
         if (metaInfo != null) {
             setJspTags(metaInfo.getJspTags());
             setJspTagLibraryResolver(metaInfo.getJspTagLibraryResolver());
             setGspTagLibraryLookup(metaInfo.getTagLibraryLookup());
             setHtmlParts(metaInfo.getHtmlParts());
+            if (GSPResponseWriter.PRE_ENCODING_ENABLED && grailsWebRequest != null) {
+                GSPResponseWriter.registerPreEncodedStrings(grailsWebRequest.getCurrentRequest(), metaInfo.getPreEncodedHtmlParts());
+            }
             setPluginContextPath(metaInfo.getPluginPath());
             attributesBuilder.outEncoder(metaInfo.getOutEncoder());
             attributesBuilder.staticEncoder(metaInfo.getStaticEncoder());
@@ -386,8 +391,24 @@ public abstract class GroovyPage extends Script {
      * @param attrs            The tags attributes
      * @param bodyClosureIndex The index of the body variable
      */
-    @SuppressWarnings({"unchecked", "rawtypes"})
+    @SuppressWarnings("rawtypes")
     public final void invokeTag(String tagName, String tagNamespace, int lineNumber, Map attrs, int bodyClosureIndex) {
+        invokeTag(tagName, tagNamespace, lineNumber, attrs, bodyClosureIndex, -1);
+    }
+
+    /**
+     * Attempts to invokes a dynamic tag. Compiled pages number their tag invocations so that each call site
+     * is resolved only once per tag library registration.
+     *
+     * @param tagName          The name of the tag
+     * @param tagNamespace     The taglib's namespace
+     * @param lineNumber       GSP source lineNumber
+     * @param attrs            The tags attributes
+     * @param bodyClosureIndex The index of the body variable
+     * @param tagCallSiteIndex The index of the call site in the page or -1
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public final void invokeTag(String tagName, String tagNamespace, int lineNumber, Map attrs, int bodyClosureIndex, int tagCallSiteIndex) {
         Closure body = getBodyClosure(bodyClosureIndex);
 
         // TODO custom namespace stuff needs to be generalized and pluggable
@@ -412,6 +433,13 @@ public abstract class GroovyPage extends Script {
         }
 
         try {
+            TagCallSite tagCallSite = resolveTagCallSite(tagCallSiteIndex, tagNamespace, tagName);
+            if (tagCallSite != null) {
+                invokeTagLibClosure(tagName, tagNamespace, tagCallSite.getTagClosure(), attrs, body,
+                        tagCallSite.isReturnsObject(), tagCallSite.getEncodeAsForTag());
+                return;
+            }
+
             GroovyObject tagLib = getTagLib(tagNamespace, tagName);
             if (tagLib != null || (gspTagLibraryLookup != null && gspTagLibraryLookup.hasNamespace(tagNamespace))) {
                 if (tagLib != null) {
@@ -475,6 +503,20 @@ public abstract class GroovyPage extends Script {
         }
     }
 
+    private TagCallSite resolveTagCallSite(int tagCallSiteIndex, String tagNamespace, String tagName) {
+        if (tagCallSiteIndex < 0 || metaInfo == null || gspTagLibraryLookup == null) {
+            return null;
+        }
+        TagCallSite tagCallSite = metaInfo.getTagCallSite(tagCallSiteIndex);
+        if (tagCallSite == null || !tagCallSite.isValidFor(gspTagLibraryLookup)) {
+            tagCallSite = TagCallSite.resolve(gspTagLibraryLookup, tagNamespace, tagName);
+            if (tagCallSite != null) {
+                metaInfo.putTagCallSite(tagCallSiteIndex, tagCallSite);
+            }
+        }
+        return tagCallSite;
+    }
+
     private void invokeTagLibClosure(String tagName, String tagNamespace, Closure<?> tagLibClosure, Map<?, ?> attrs, Closure<?> body,
             boolean returnsObject, Map<String, Object> defaultEncodeAs) {
         Closure<?> tag = (Closure<?>)tagLibClosure.clone();
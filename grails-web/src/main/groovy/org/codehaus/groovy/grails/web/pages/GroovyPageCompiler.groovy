@@ -15,6 +15,15 @@
  */
 package org.codehaus.groovy.grails.web.pages
 
+import grails.util.GrailsUtil
+
+import java.util.concurrent.Callable
+import java.util.concurrent.ConcurrentSkipListMap
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+
 import org.apache.commons.logging.LogFactory
 import org.codehaus.groovy.control.CompilationUnit
 import org.codehaus.groovy.control.CompilerConfiguration
@@ -24,6 +33,10 @@ import org.codehaus.groovy.grails.compiler.web.pages.GroovyPageInjectionOperatio
 /**
  * Used to compile GSP files into a specified target directory.
  *
+ * Pages can be compiled in parallel by setting compilerThreads to a value greater than 1. The generated
+ * classes, side files and views.properties are the same regardless of the number of threads. Every compiler
+ * thread uses its own copy of the GroovyClassLoader.
+ *
  * @author Graeme Rocher
  * @since 1.2
  */
@@ -31,7 +44,9 @@ class GroovyPageCompiler {
 
     private static final LOG = LogFactory.getLog(GroovyPageCompiler)
 
-    private Map compileGSPRegistry = [:]
+    private Map compileGSPRegistry = new ConcurrentSkipListMap()
+    private boolean recompileAll
+    private ThreadLocal<GroovyClassLoader> workerClassLoader = new ThreadLocal<GroovyClassLoader>()
 
     File generatedGroovyPagesDirectory
     File targetDir
@@ -44,6 +59,7 @@ class GroovyPageCompiler {
     String viewPrefix = '/'
     String packagePrefix = 'default'
     String encoding = "UTF-8"
+    int compilerThreads = 1
 
     void setCompilerConfig(CompilerConfiguration c) {
         compilerConfig = c
@@ -56,33 +72,103 @@ class GroovyPageCompiler {
     Map compile() {
         if (srcFiles && targetDir && viewsDir) {
             LOG.debug "Compiling ${srcFiles.size()} GSP files using GroovyPageCompiler"
-            for (gsp in srcFiles) {
-                compileGSP(viewsDir, gsp, viewPrefix, packagePrefix)
+            if (!generatedGroovyPagesDirectory) {
+                generatedGroovyPagesDirectory = new File(System.getProperty("java.io.tmpdir"),"gspcompile")
+            }
+            generatedGroovyPagesDirectory.mkdirs()
+            compilerConfig.setTargetDirectory(targetDir)
+            compilerConfig.setSourceEncoding(encoding)
+
+            File fingerprintFile = new File(generatedGroovyPagesDirectory, "${packagePrefix}.fingerprint")
+            String fingerprint = createCompileFingerprint()
+            recompileAll = !fingerprintFile.exists() || fingerprintFile.getText('UTF-8') != fingerprint
+
+            Collection<List<File>> batches = groupByClassName(srcFiles)
+            if (compilerThreads > 1 && batches.size() > 1) {
+                compileInParallel(batches)
+            }
+            else {
+                for (gsp in srcFiles) {
+                    compileGSP(viewsDir, gsp, viewPrefix, packagePrefix)
+                }
             }
+
+            writeViewRegistry()
+            fingerprintFile.setText(fingerprint, 'UTF-8')
         }
         return compileGSPRegistry
     }
 
     /**
-     * Compiles an individual GSP file
-     *
-     * @param viewsDir The base directory that contains the GSP view
-     * @param gspfile The actual GSP file reference
-     * @param viewPrefix The prefix to use for the path to the view
-     * @param packagePrefix The package prefix to use which allows scoping for different applications and plugins
-     *
+     * Groups the pages by generated class name, in the order of srcFiles. Pages that map to the same
+     * class name are compiled one after another like in a sequential build so that the last one wins.
      */
-    protected void compileGSP(File viewsDir, File gspfile, String viewPrefix, String packagePrefix) {
-        if (!generatedGroovyPagesDirectory) {
-            generatedGroovyPagesDirectory = new File(System.getProperty("java.io.tmpdir"),"gspcompile")
-            generatedGroovyPagesDirectory.mkdirs()
+    protected Collection<List<File>> groupByClassName(List<File> files) {
+        Map<String, List<File>> batches = new LinkedHashMap<String, List<File>>()
+        for (File gsp in files) {
+            String className = generateClassName(viewsDir, gsp, packagePrefix)
+            List<File> batch = batches[className]
+            if (batch == null) {
+                batch = []
+                batches[className] = batch
+            }
+            batch << gsp
         }
+        batches.values()
+    }
 
-        compilerConfig.setTargetDirectory(targetDir)
-        compilerConfig.setSourceEncoding(encoding)
-        def relPath = relativePath(viewsDir, gspfile)
-        def viewuri = viewPrefix + relPath
+    protected void compileInParallel(Collection<List<File>> batches) {
+        LOG.debug "Compiling GSP files using ${compilerThreads} threads"
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(compilerThreads, batches.size()))
+        try {
+            List<Future> futures = []
+            for (List<File> batch in batches) {
+                List<File> pages = batch
+                futures << executor.submit({
+                    if (workerClassLoader.get() == null) {
+                        workerClassLoader.set(createWorkerClassLoader())
+                    }
+                    for (File gsp in pages) {
+                        compileGSP(viewsDir, gsp, viewPrefix, packagePrefix)
+                    }
+                    null
+                } as Callable)
+            }
+            // report the failure of the first page in srcFiles order, like a sequential build would
+            for (Future future in futures) {
+                try {
+                    future.get()
+                }
+                catch (ExecutionException e) {
+                    throw e.cause
+                }
+            }
+        }
+        finally {
+            executor.shutdownNow()
+        }
+    }
+
+    /**
+     * Creates the class loader of a compiler thread, with the same parent and URLs as classLoader.
+     */
+    protected GroovyClassLoader createWorkerClassLoader() {
+        GroovyClassLoader loader = new GroovyClassLoader(classLoader.parent, compilerConfig)
+        for (URL url in classLoader.URLs) {
+            loader.addURL(url)
+        }
+        loader
+    }
+
+    /**
+     * The compiler settings the generated classes depend on. All pages are recompiled when they change.
+     * Templates and layouts aren't part of it, they are resolved at runtime and compiled as pages of their own.
+     */
+    protected String createCompileFingerprint() {
+        [GrailsUtil.grailsVersion, encoding, viewPrefix, packagePrefix, targetDir.absolutePath].join('\n')
+    }
 
+    protected String generateClassName(File viewsDir, File gspfile, String packagePrefix) {
         def relPackagePath = relativePath(viewsDir, gspfile.getParentFile())
 
         def packageDir = "gsp/${packagePrefix}"
@@ -95,11 +181,29 @@ class GroovyPageCompiler {
 
         def className = packageDir.replace('/','_')
         className += generateJavaName(gspfile.name)
+        className
+    }
+
+    /**
+     * Compiles an individual GSP file
+     *
+     * @param viewsDir The base directory that contains the GSP view
+     * @param gspfile The actual GSP file reference
+     * @param viewPrefix The prefix to use for the path to the view
+     * @param packagePrefix The package prefix to use which allows scoping for different applications and plugins
+     *
+     */
+    protected void compileGSP(File viewsDir, File gspfile, String viewPrefix, String packagePrefix) {
+        def relPath = relativePath(viewsDir, gspfile)
+        def viewuri = viewPrefix + relPath
+
+        def className = generateClassName(viewsDir, gspfile, packagePrefix)
         // using default package because of GRAILS-5022
-        packageDir = ''
-        //def className = generateJavaName(gspfile.name)
+        def packageDir = ''
 
         def classFile = new File(new File(targetDir, packageDir), "${className}.class")
+        def htmlDataFile = new File(new File(targetDir, packageDir),  className + GroovyPageMetaInfo.HTML_DATA_POSTFIX)
+        def lineNumbersDataFile = new File(new File(targetDir, packageDir),  className + GroovyPageMetaInfo.LINENUMBERS_DATA_POSTFIX)
         def packageName = packageDir.replace('/','.')
         def fullClassName
         if (packageName) {
@@ -110,7 +214,7 @@ class GroovyPageCompiler {
         }
 
         // compile check
-        if (gspfile.exists() && (!classFile.exists() || gspfile.lastModified() > classFile.lastModified())) {
+        if (gspfile.exists() && (recompileAll || !isUpToDate(gspfile, classFile, htmlDataFile, lineNumbersDataFile))) {
             LOG.debug("Compiling gsp ${gspfile}...")
 
             def gspgroovyfile = new File(new File(generatedGroovyPagesDirectory, packageDir), className + ".groovy")
@@ -126,17 +230,15 @@ class GroovyPageCompiler {
                     gpp.generateGsp(gsptarget)
                 }
                 // write static html parts to data file (read from classpath at runtime)
-                def htmlDataFile = new File(new File(targetDir, packageDir),  className + GroovyPageMetaInfo.HTML_DATA_POSTFIX)
                 htmlDataFile.parentFile.mkdirs()
                 gpp.writeHtmlParts(htmlDataFile)
                 // write linenumber mapping info to data file
-                def lineNumbersDataFile = new File(new File(targetDir, packageDir),  className + GroovyPageMetaInfo.LINENUMBERS_DATA_POSTFIX)
                 gpp.writeLineNumbers(lineNumbersDataFile)
 
                 // register viewuri -> classname mapping
                 compileGSPRegistry[viewuri] = fullClassName
 
-                def unit = new CompilationUnit(compilerConfig, null, classLoader)
+                def unit = new CompilationUnit(compilerConfig, null, workerClassLoader.get() ?: classLoader)
                 unit.addPhaseOperation(operation, Phases.CANONICALIZATION)
                 unit.addSource(gspgroovyfile)
                 unit.compile()
@@ -145,8 +247,18 @@ class GroovyPageCompiler {
         else {
            compileGSPRegistry[viewuri] = fullClassName
         }
+    }
 
-        // write the view registry to a properties file (this is read by GroovyPagesTemplateEngine at runtime)
+    protected boolean isUpToDate(File gspfile, File classFile, File htmlDataFile, File lineNumbersDataFile) {
+        classFile.exists() && htmlDataFile.exists() && lineNumbersDataFile.exists() &&
+            gspfile.lastModified() <= classFile.lastModified()
+    }
+
+    /**
+     * Writes the view registry to a properties file (this is read by GroovyPagesTemplateEngine at runtime).
+     * Entries are sorted and no timestamp is written so that the file only changes when the mappings change.
+     */
+    protected void writeViewRegistry() {
         File viewregistryFile = new File(targetDir, "gsp/views.properties")
         viewregistryFile.parentFile.mkdirs()
         Properties views = new Properties()
@@ -157,8 +269,24 @@ class GroovyPageCompiler {
             }
         }
         views.putAll(compileGSPRegistry)
-        viewregistryFile.withOutputStream { viewsOut ->
-            views.store(viewsOut, "Precompiled views for ${packagePrefix}")
+
+        def viewsOut = new ByteArrayOutputStream()
+        viewsOut.write("#Precompiled views for ${packagePrefix}\n".getBytes('ISO-8859-1'))
+        for (String name in new TreeSet<String>(views.stringPropertyNames())) {
+            // let Properties do the escaping, dropping the timestamp comment it adds
+            Properties entry = new Properties()
+            entry.setProperty(name, views.getProperty(name))
+            def entryOut = new ByteArrayOutputStream()
+            entry.store(entryOut, null)
+            for (String line in entryOut.toString('ISO-8859-1').readLines()) {
+                if (!line.startsWith('#')) {
+                    viewsOut.write("${line}\n".getBytes('ISO-8859-1'))
+                }
+            }
+        }
+        byte[] content = viewsOut.toByteArray()
+        if (!viewregistryFile.exists() || !Arrays.equals(viewregistryFile.bytes, content)) {
+            viewregistryFile.bytes = content
         }
     }
 
@@ -30,6 +30,7 @@ import grails.build.logging.GrailsConsole
  *    <gspc srcdir="grails-app/views"
  *          destdir="target-classes"
  *          classpathref="my.classpath"
+ *          threads="4"
  *          />
  * </code></pre>
  *
@@ -45,6 +46,7 @@ class GroovyPageCompilerTask extends MatchingTask {
     String packagename = 'default'
     String serverpath
     String encoding
+    int threads = 1
 
     boolean verbose
 
@@ -113,6 +115,9 @@ class GroovyPageCompilerTask extends MatchingTask {
         if (encoding) {
             compiler.encoding = encoding
         }
+        if (threads > 1) {
+            compiler.compilerThreads = threads
+        }
 
         compiler.compile()
         compiler = null
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.web.pages;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.codehaus.groovy.grails.support.encoding.EncodedAppender;
+import org.codehaus.groovy.grails.web.util.StreamCharBuffer;
+import org.codehaus.groovy.grails.web.util.StreamCharBuffer.EncodedPart;
+
+import com.googlecode.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
+import com.googlecode.concurrentlinkedhashmap.EvictionListener;
+import com.googlecode.concurrentlinkedhashmap.Weigher;
+
+/**
+ * Caches the rendered output of templates, used by {@link GroovyPagesTemplateRenderer} for
+ * &lt;g:render&gt; calls that have a cacheKey attribute.
+ *
+ * A fragment is kept as the encoded parts of the rendered buffer, so that the encoding state of
+ * the output is the same as if the template had been rendered again. Fragments are evicted in LRU
+ * order once the total number of cached characters exceeds maxSize, they expire after timeToLive
+ * milliseconds and when the template they were rendered with has been reloaded.
+ *
+ * @since 2.4
+ */
+public class GroovyPageFragmentCache {
+    public static final long DEFAULT_MAX_SIZE = 5L * 1024 * 1024;
+    public static final long DEFAULT_TIME_TO_LIVE = 5L * 60 * 1000;
+
+    private final ConcurrentLinkedHashMap<String, Fragment> fragments;
+    private final long timeToLive;
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    public GroovyPageFragmentCache() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_TIME_TO_LIVE);
+    }
+
+    /**
+     * @param maxSize The maximum number of characters to cache
+     * @param timeToLive The time in milliseconds a fragment is used for, fragments don't expire if it's 0 or less
+     */
+    public GroovyPageFragmentCache(long maxSize, long timeToLive) {
+        this.timeToLive = timeToLive;
+        fragments = new ConcurrentLinkedHashMap.Builder<String, Fragment>()
+            .maximumWeightedCapacity(maxSize)
+            .weigher(new Weigher<Fragment>() {
+                public int weightOf(Fragment fragment) {
+                    return Math.max(fragment.size, 1);
+                }
+            })
+            .listener(new EvictionListener<String, Fragment>() {
+                public void onEviction(String key, Fragment fragment) {
+                    evictionCount.incrementAndGet();
+                }
+            })
+            .build();
+    }
+
+    /**
+     * Looks up a fragment
+     *
+     * @param key The key of the fragment
+     * @param templateVersion The current version of the template, fragments of other versions aren't used
+     * @return The fragment or null
+     */
+    public Fragment get(String key, Object templateVersion) {
+        Fragment fragment = fragments.get(key);
+        if (fragment != null && (fragment.templateVersion != templateVersion || isExpired(fragment))) {
+            fragments.remove(key, fragment);
+            fragment = null;
+        }
+        if (fragment == null) {
+            missCount.incrementAndGet();
+        }
+        else {
+            hitCount.incrementAndGet();
+        }
+        return fragment;
+    }
+
+    private boolean isExpired(Fragment fragment) {
+        return timeToLive > 0 && System.currentTimeMillis() - fragment.createdAt >= timeToLive;
+    }
+
+    /**
+     * Caches the rendered output of a template
+     *
+     * @param key The key of the fragment
+     * @param templateVersion The version of the template the output was rendered with
+     * @param buffer The rendered output, the buffer isn't referenced by the cache
+     * @return The cached fragment
+     */
+    public Fragment put(String key, Object templateVersion, StreamCharBuffer buffer) {
+        List<EncodedPart> parts = buffer.size() > 0 ? buffer.dumpEncodedParts() : Collections.<EncodedPart>emptyList();
+        Fragment fragment = new Fragment(templateVersion, parts, buffer.size());
+        fragments.put(key, fragment);
+        return fragment;
+    }
+
+    public void clear() {
+        fragments.clear();
+    }
+
+    public int getFragmentCount() {
+        return fragments.size();
+    }
+
+    /**
+     * @return The number of cached characters
+     */
+    public long getSize() {
+        return fragments.weightedSize();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * The rendered output of a template.
+     */
+    public static class Fragment {
+        private final Object templateVersion;
+        private final List<EncodedPart> parts;
+        private final int size;
+        private final long createdAt = System.currentTimeMillis();
+
+        Fragment(Object templateVersion, List<EncodedPart> parts, int size) {
+            this.templateVersion = templateVersion;
+            this.parts = parts;
+            this.size = size;
+        }
+
+        /**
+         * @return A new buffer with the output and its encoding state
+         */
+        public StreamCharBuffer toBuffer() {
+            StreamCharBuffer buffer = new StreamCharBuffer();
+            EncodedAppender appender = buffer.getWriter().getEncodedAppender();
+            try {
+                for (EncodedPart part : parts) {
+                    appender.append(null, part.getEncodingState(), part.getPart(), 0, part.getPart().length());
+                }
+            }
+            catch (IOException e) {
+                throw new RuntimeException("Unexpected IOException", e);
+            }
+            return buffer;
+        }
+
+        public int getSize() {
+            return size;
+        }
+    }
+}
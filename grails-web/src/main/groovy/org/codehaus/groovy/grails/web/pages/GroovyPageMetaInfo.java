@@ -23,6 +23,7 @@ import java.io.InputStream;
 import java.net.URL;
 import java.net.URLConnection;
 import java.security.PrivilegedAction;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
 
@@ -37,6 +38,7 @@ import org.codehaus.groovy.grails.support.encoding.Encoder;
 import org.codehaus.groovy.grails.web.pages.exceptions.GroovyPagesException;
 import org.codehaus.groovy.grails.web.pages.ext.jsp.TagLibraryResolver;
 import org.codehaus.groovy.grails.web.util.CacheEntry;
+import org.codehaus.groovy.grails.web.util.PreEncodedStrings;
 import org.codehaus.groovy.grails.web.util.WithCodecHelper;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.io.FileSystemResource;
@@ -63,6 +65,8 @@ public class GroovyPageMetaInfo implements GrailsApplicationAware {
     private String contentType;
     private int[] lineNumbers;
     private String[] htmlParts;
+    private volatile PreEncodedStrings preEncodedHtmlParts;
+    private volatile TagCallSite[] tagCallSites = new TagCallSite[0];
     @SuppressWarnings("rawtypes")
     private Map jspTags = Collections.EMPTY_MAP;
     private GroovyPagesException compilationException;
@@ -318,6 +322,37 @@ public class GroovyPageMetaInfo implements GrailsApplicationAware {
 
     public void setHtmlParts(String[] htmlParts) {
         this.htmlParts = htmlParts;
+        preEncodedHtmlParts = null;
+    }
+
+    /**
+     * @return the static html parts of the page with their encoded bytes cached per response charset, or null if the page has no html parts
+     */
+    public PreEncodedStrings getPreEncodedHtmlParts() {
+        PreEncodedStrings parts = preEncodedHtmlParts;
+        if (parts == null && htmlParts != null) {
+            parts = new PreEncodedStrings(htmlParts);
+            preEncodedHtmlParts = parts;
+        }
+        return parts;
+    }
+
+    /**
+     * @param index The index of the tag call site in the page
+     * @return The resolved call site or null if it hasn't been resolved yet
+     */
+    TagCallSite getTagCallSite(int index) {
+        TagCallSite[] sites = tagCallSites;
+        return index < sites.length ? sites[index] : null;
+    }
+
+    synchronized void putTagCallSite(int index, TagCallSite tagCallSite) {
+        TagCallSite[] sites = tagCallSites;
+        if (index >= sites.length) {
+            sites = Arrays.copyOf(sites, Math.max(index + 1, sites.length * 2));
+        }
+        sites[index] = tagCallSite;
+        tagCallSites = sites;
     }
 
     public void applyLastModifiedFromResource(Resource resource) {
@@ -36,7 +36,7 @@ public final class GroovyPageOutputStack {
 
     public static final Log log = LogFactory.getLog(GroovyPageOutputStack.class);
 
-    private static final String ATTRIBUTE_NAME_OUTPUT_STACK="org.codehaus.groovy.grails.GSP_OUTPUT_STACK";
+    static final String ATTRIBUTE_NAME_OUTPUT_STACK="org.codehaus.groovy.grails.GSP_OUTPUT_STACK";
 
     public static GroovyPageOutputStack currentStack() {
         return currentStack(true);
@@ -99,12 +99,13 @@ public class GroovyPageParser implements Tokens {
     private String sourceName; // last segment of the file name (eg- index.gsp)
     private boolean finalPass = false;
     private int tagIndex;
+    private int tagCallSiteCount;
     private Map<Object, Object> tagContext;
     private Stack<TagMeta> tagMetaStack = new Stack<TagMeta>();
     private GrailsTagRegistry tagRegistry = GrailsTagRegistry.getInstance();
     private Environment environment;
     private List<String> htmlParts = new ArrayList<String>();
-    private static SitemeshPreprocessor sitemeshPreprocessor = new SitemeshPreprocessor();
+    private static final SitemeshPreprocessor sitemeshPreprocessor = new SitemeshPreprocessor();
 
     Set<Integer> bodyVarsDefined=new HashSet<Integer>();
     Map<Integer, String> attrsVarsMapDefinition=new HashMap<Integer, String>();
@@ -1030,14 +1031,16 @@ public class GroovyPageParser implements Tokens {
                 out.println(")");
             }
             else {
+                // each invocation gets its own call site index, see GroovyPage.invokeTag
+                int tagCallSiteIndex = tagCallSiteCount++;
                 if (tm.hasAttributes) {
                     out.println("invokeTag('" + tagName + "','" + ns + "'," +
                             getCurrentOutputLineNumber() + "," + attrsVarsMapDefinition.get(tagIndex) +
-                            "," + bodyTagIndex + ")");
+                            "," + bodyTagIndex + "," + tagCallSiteIndex + ")");
                 }
                 else {
                     out.println("invokeTag('" + tagName + "','" + ns + "'," +
-                            getCurrentOutputLineNumber() + ",[:]," + bodyTagIndex + ")");
+                            getCurrentOutputLineNumber() + ",[:]," + bodyTagIndex + "," + tagCallSiteIndex + ")");
                 }
             }
         }
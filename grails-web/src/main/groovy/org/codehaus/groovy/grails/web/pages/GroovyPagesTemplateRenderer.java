@@ -22,15 +22,29 @@ import groovy.text.Template;
 import java.io.IOException;
 import java.io.Writer;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+
 import org.apache.commons.lang.StringUtils;
 import org.codehaus.groovy.grails.commons.GrailsDomainClass;
 import org.codehaus.groovy.grails.io.support.GrailsResourceUtils;
@@ -38,14 +52,20 @@ import org.codehaus.groovy.grails.support.encoding.EncodedAppenderWriterFactory;
 import org.codehaus.groovy.grails.support.encoding.Encoder;
 import org.codehaus.groovy.grails.web.pages.discovery.GrailsConventionGroovyPageLocator;
 import org.codehaus.groovy.grails.web.pages.discovery.GroovyPageScriptSource;
+import org.codehaus.groovy.grails.web.servlet.GrailsApplicationAttributes;
 import org.codehaus.groovy.grails.web.servlet.mvc.GrailsWebRequest;
 import org.codehaus.groovy.grails.web.taglib.exceptions.GrailsTagException;
 import org.codehaus.groovy.grails.web.util.CodecPrintWriter;
+import org.codehaus.groovy.grails.web.util.GrailsPrintWriter;
+import org.codehaus.groovy.grails.web.util.StreamCharBuffer;
 import org.codehaus.groovy.grails.web.util.WithCodecHelper;
 import org.codehaus.groovy.runtime.InvokerHelper;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.util.Assert;
 import org.springframework.util.ReflectionUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.RequestContextUtils;
 
 /**
  * Service that provides the actual implementation to RenderTagLib's render tag.
@@ -53,6 +73,16 @@ import org.springframework.util.ReflectionUtils;
  * This is an internal Grails service and should not be used by plugins directly.
  * The implementation was moved from RenderTagLib, ported to Java and then refactored.
  *
+ * When the render tag has a cacheKey attribute and a {@link GroovyPageFragmentCache} is set, the
+ * output of the template is cached for the template, the key, the locale and the codec of the page.
+ *
+ * A collection with a parallel="true" attribute is split into chunks that are rendered into
+ * buffers of their own on the {@link #setParallelRenderingExecutor(ExecutorService) parallel rendering executor},
+ * the buffers are written to the output in the order of the collection. Collections rendered inside
+ * a chunk are rendered in the thread of the chunk. Templates rendered by other threads can't use the
+ * persistence session of the calling thread, parallel rendering is meant for collections of detached
+ * objects whose associations have been loaded.
+ *
  * @author Lari Hotari
  * @author Graeme Rocher
  *
@@ -68,6 +98,11 @@ public class GroovyPagesTemplateRenderer implements InitializingBean {
     private Method generateViewMethod;
     private boolean reloadEnabled;
     private boolean disableCache = Environment.isDevelopmentMode();
+    private GroovyPageFragmentCache fragmentCache;
+    private ExecutorService parallelRenderingExecutor;
+    // set while a thread renders a chunk, chunks render nested collections in their own thread
+    private final ThreadLocal<Boolean> renderingChunk = new ThreadLocal<Boolean>();
+    private int parallelRenderingChunkSize = 100;
 
     public void afterPropertiesSet() throws Exception {
         if (scaffoldingTemplateGenerator != null) {
@@ -80,6 +115,9 @@ public class GroovyPagesTemplateRenderer implements InitializingBean {
 
     public void clearCache() {
         templateCache.clear();
+        if (fragmentCache != null) {
+            fragmentCache.clear();
+        }
     }
 
     public void render(GrailsWebRequest webRequest, GroovyPageBinding pageScope, Map<String, Object> attrs, Object body, Writer out) throws IOException {
@@ -99,7 +137,43 @@ public class GroovyPagesTemplateRenderer implements InitializingBean {
             throw new GrailsTagException("Template not found for name [" + templateName + "] and path [" + uri + "]");
         }
 
-        makeTemplate(webRequest, t, attrs, body, out);
+        Object fragmentKey = attrs.get("cacheKey");
+        if (fragmentKey != null && fragmentCache != null) {
+            // the output depends on the locale of messages and on the codec of the calling page
+            HttpServletRequest request = webRequest.getCurrentRequest();
+            String key = contextPath + pluginName + uri + '|' + getStringValue(attrs, GroovyPage.ENCODE_AS_ATTRIBUTE_NAME) + '|' +
+                    request.getAttribute(GrailsApplicationAttributes.GSP_CODEC) + '|' + RequestContextUtils.getLocale(request) + '|' + fragmentKey;
+            renderFragment(webRequest, t, key, attrs, body, out);
+        }
+        else {
+            makeTemplate(webRequest, t, attrs, body, out);
+        }
+    }
+
+    private void renderFragment(GrailsWebRequest webRequest, Template t, String key, Map<String, Object> attrs, Object body, Writer out) throws IOException {
+        // a reloaded template gets new meta info
+        Object templateVersion = t instanceof GroovyPageTemplate ? ((GroovyPageTemplate)t).getMetaInfo() : t;
+        GroovyPageFragmentCache.Fragment fragment = fragmentCache.get(key, templateVersion);
+        StreamCharBuffer buffer;
+        if (fragment != null) {
+            buffer = fragment.toBuffer();
+        }
+        else {
+            FastStringWriter capturedOut = new FastStringWriter();
+            makeTemplate(webRequest, t, attrs, body, capturedOut);
+            buffer = capturedOut.getBuffer();
+            fragmentCache.put(key, templateVersion, buffer);
+        }
+        writeBuffer(buffer, out);
+    }
+
+    private void writeBuffer(StreamCharBuffer buffer, Writer out) throws IOException {
+        if (out instanceof GrailsPrintWriter) {
+            ((GrailsPrintWriter)out).write(buffer);
+        }
+        else {
+            buffer.writeTo(out);
+        }
     }
 
     private Template findAndCacheTemplate(GrailsWebRequest webRequest, GroovyPageBinding pageScope, String templateName,
@@ -183,23 +257,32 @@ public class GroovyPagesTemplateRenderer implements InitializingBean {
             }
         }
         if (attrs.containsKey("collection")) {
-            String key = null;
-            Iterator<?> iterator = InvokerHelper.asIterator(attrs.get("collection"));
-            while (iterator.hasNext()) {
-                Object it = iterator.next();
-                if (key == null && StringUtils.isBlank(var) && it != null) {
-                    key = GrailsNameUtils.getPropertyName(it.getClass());
-                }
-                Map itmap = new LinkedHashMap<String, Object>();
-                itmap.putAll(b);
-                if (StringUtils.isNotBlank(var)) {
-                    itmap.put(var, it);
+            Object collection = attrs.get("collection");
+            boolean parallel = parallelRenderingExecutor != null && renderingChunk.get() == null &&
+                    Boolean.valueOf(getStringValue(attrs, "parallel"));
+            if (parallel) {
+                List<Object> items = new ArrayList<Object>();
+                Iterator<?> iterator = InvokerHelper.asIterator(collection);
+                while (iterator.hasNext()) {
+                    items.add(iterator.next());
                 }
-                else {
-                    itmap.put("it", it);
-                    itmap.put(key, it);
+                parallel = items.size() > parallelRenderingChunkSize;
+                collection = items;
+            }
+
+            if (parallel) {
+                renderInParallel(webRequest, t, b, var, (List<Object>)collection, out);
+            }
+            else {
+                String key = null;
+                Iterator<?> iterator = InvokerHelper.asIterator(collection);
+                while (iterator.hasNext()) {
+                    Object it = iterator.next();
+                    if (key == null && StringUtils.isBlank(var) && it != null) {
+                        key = GrailsNameUtils.getPropertyName(it.getClass());
+                    }
+                    t.make(createItemModel(b, var, key, it)).writeTo(out);
                 }
-                t.make(itmap).writeTo(out);
             }
         } else {
             t.make(b).writeTo(out);
@@ -210,6 +293,158 @@ public class GroovyPagesTemplateRenderer implements InitializingBean {
         }
     }
 
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private Map createItemModel(Map model, String var, String key, Object it) {
+        Map itmap = new LinkedHashMap<String, Object>();
+        itmap.putAll(model);
+        if (StringUtils.isNotBlank(var)) {
+            itmap.put(var, it);
+        }
+        else {
+            itmap.put("it", it);
+            itmap.put(key, it);
+        }
+        return itmap;
+    }
+
+    /**
+     * Renders chunks of the collection on the parallel rendering executor, each chunk into a buffer of its own.
+     * The template of a chunk is rendered with a GrailsWebRequest of its own whose request keeps the attributes
+     * that are set while rendering to itself, the page scope of the calling page is the parent scope of the templates.
+     */
+    @SuppressWarnings("rawtypes")
+    private void renderInParallel(final GrailsWebRequest webRequest, final Template t, final Map model, final String var,
+            final List<Object> items, Writer out) throws IOException {
+
+        String key = null;
+        int keyStart = items.size();
+        if (StringUtils.isBlank(var)) {
+            for (int i = 0; i < items.size(); i++) {
+                if (items.get(i) != null) {
+                    key = GrailsNameUtils.getPropertyName(items.get(i).getClass());
+                    keyStart = i;
+                    break;
+                }
+            }
+        }
+        final String itemKey = key;
+        final int itemKeyStart = keyStart;
+        final HttpServletRequest request = webRequest.getCurrentRequest();
+        final Object pageScope = request.getAttribute(GrailsApplicationAttributes.PAGE_SCOPE);
+        final Object gspCodec = request.getAttribute(GrailsApplicationAttributes.GSP_CODEC);
+
+        List<Future<StreamCharBuffer>> chunks = new ArrayList<Future<StreamCharBuffer>>();
+        try {
+            for (int start = 0; start < items.size(); start += parallelRenderingChunkSize) {
+                final int from = start;
+                final int to = Math.min(start + parallelRenderingChunkSize, items.size());
+                // the request of the chunk copies the state of the calling request in the calling thread
+                ChunkRequest chunkRequest = new ChunkRequest(request);
+                chunkRequest.setAttribute(GrailsApplicationAttributes.PAGE_SCOPE, pageScope);
+                chunkRequest.setAttribute(GrailsApplicationAttributes.GSP_CODEC, gspCodec);
+                chunkRequest.removeAttribute(GroovyPageOutputStack.ATTRIBUTE_NAME_OUTPUT_STACK);
+                final GrailsWebRequest chunkWebRequest = new GrailsWebRequest(chunkRequest, webRequest);
+                chunkRequest.setAttribute(GrailsApplicationAttributes.WEB_REQUEST, chunkWebRequest);
+
+                chunks.add(parallelRenderingExecutor.submit(new Callable<StreamCharBuffer>() {
+                    public StreamCharBuffer call() throws IOException {
+                        // the task runs in the calling thread when the executor rejects it
+                        RequestAttributes previousAttributes = RequestContextHolder.getRequestAttributes();
+                        boolean previouslyRenderingChunk = renderingChunk.get() != null;
+                        RequestContextHolder.setRequestAttributes(chunkWebRequest);
+                        renderingChunk.set(Boolean.TRUE);
+                        try {
+                            FastStringWriter chunkOut = new FastStringWriter();
+                            for (int i = from; i < to; i++) {
+                                t.make(createItemModel(model, var, i < itemKeyStart ? null : itemKey, items.get(i))).writeTo(chunkOut);
+                            }
+                            return chunkOut.getBuffer();
+                        }
+                        finally {
+                            RequestContextHolder.setRequestAttributes(previousAttributes);
+                            if (!previouslyRenderingChunk) {
+                                renderingChunk.remove();
+                            }
+                        }
+                    }
+                }));
+            }
+
+            for (Future<StreamCharBuffer> chunk : chunks) {
+                writeBuffer(chunk.get(), out);
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GrailsTagException("Interrupted while rendering template [" + t + "]", e);
+        }
+        catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException)cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw new GrailsTagException("Error rendering template [" + t + "]: " + cause.getMessage(), cause);
+        }
+        finally {
+            for (Future<StreamCharBuffer> chunk : chunks) {
+                chunk.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * The request of a chunk that is rendered in parallel, attributes that are set or removed while
+     * rendering the chunk are only visible to the chunk.
+     */
+    private static class ChunkRequest extends HttpServletRequestWrapper {
+        private static final Object REMOVED = new Object();
+        private final Map<String, Object> localAttributes = new HashMap<String, Object>();
+
+        ChunkRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public Object getAttribute(String name) {
+            Object value = localAttributes.get(name);
+            if (value == null) {
+                return localAttributes.containsKey(name) ? null : super.getAttribute(name);
+            }
+            return value == REMOVED ? null : value;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Enumeration<String> getAttributeNames() {
+            Set<String> names = new LinkedHashSet<String>(Collections.list((Enumeration<String>)super.getAttributeNames()));
+            for (Map.Entry<String, Object> attribute : localAttributes.entrySet()) {
+                if (attribute.getValue() == REMOVED || attribute.getValue() == null) {
+                    names.remove(attribute.getKey());
+                }
+                else {
+                    names.add(attribute.getKey());
+                }
+            }
+            return Collections.enumeration(names);
+        }
+
+        @Override
+        public void setAttribute(String name, Object value) {
+            localAttributes.put(name, value == null ? REMOVED : value);
+        }
+
+        @Override
+        public void removeAttribute(String name) {
+            localAttributes.put(name, REMOVED);
+        }
+    }
+
     private Writer wrapWriterWithEncoder(GrailsWebRequest webRequest, Map<String, Object> attrs, Writer out) {
         Object encodeAs = attrs.get(GroovyPage.ENCODE_AS_ATTRIBUTE_NAME);
         if (encodeAs != null) {
@@ -285,6 +520,34 @@ public class GroovyPagesTemplateRenderer implements InitializingBean {
         groovyPagesTemplateEngine = engine;
     }
 
+    public ExecutorService getParallelRenderingExecutor() {
+        return parallelRenderingExecutor;
+    }
+
+    public void setParallelRenderingExecutor(ExecutorService parallelRenderingExecutor) {
+        this.parallelRenderingExecutor = parallelRenderingExecutor;
+    }
+
+    public int getParallelRenderingChunkSize() {
+        return parallelRenderingChunkSize;
+    }
+
+    /**
+     * @param parallelRenderingChunkSize The number of elements of a collection rendered by one task, smaller
+     * collections are rendered in the calling thread
+     */
+    public void setParallelRenderingChunkSize(int parallelRenderingChunkSize) {
+        this.parallelRenderingChunkSize = Math.max(parallelRenderingChunkSize, 1);
+    }
+
+    public void setFragmentCache(GroovyPageFragmentCache fragmentCache) {
+        this.fragmentCache = fragmentCache;
+    }
+
+    public GroovyPageFragmentCache getFragmentCache() {
+        return fragmentCache;
+    }
+
     public void setScaffoldingTemplateGenerator(Object generator) {
         scaffoldingTemplateGenerator = generator;
     }
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.web.pages;
+
+import groovy.lang.Closure;
+import groovy.lang.GroovyObject;
+
+import java.util.Map;
+
+/**
+ * A tag invocation in a compiled GSP page resolved against a {@link TagLibraryLookup}: the tag closure,
+ * whether the tag returns an object and the default encodeAs settings of the tag.
+ *
+ * A resolved call site is valid until a tag library is registered again in the lookup, for example
+ * when a tag library is reloaded.
+ *
+ * @since 2.4
+ */
+final class TagCallSite {
+
+    private final TagLibraryLookup lookup;
+    private final int registrationCount;
+    private final Closure<?> tagClosure;
+    private final boolean returnsObject;
+    private final Map<String, Object> encodeAsForTag;
+
+    private TagCallSite(TagLibraryLookup lookup, int registrationCount, Closure<?> tagClosure,
+            boolean returnsObject, Map<String, Object> encodeAsForTag) {
+        this.lookup = lookup;
+        this.registrationCount = registrationCount;
+        this.tagClosure = tagClosure;
+        this.returnsObject = returnsObject;
+        this.encodeAsForTag = encodeAsForTag;
+    }
+
+    /**
+     * Resolves a tag invocation
+     *
+     * @param lookup The tag library lookup
+     * @param namespace The namespace of the tag
+     * @param tagName The name of the tag
+     * @return The resolved call site or null if there is no tag closure for the tag
+     */
+    static TagCallSite resolve(TagLibraryLookup lookup, String namespace, String tagName) {
+        // read before resolving so that a concurrent registration invalidates the result
+        int registrationCount = lookup.getRegistrationCount();
+        GroovyObject tagLib = lookup.lookupTagLibrary(namespace, tagName);
+        if (tagLib == null) {
+            return null;
+        }
+        Object tagClosure = tagLib.getProperty(tagName);
+        if (!(tagClosure instanceof Closure)) {
+            return null;
+        }
+        return new TagCallSite(lookup, registrationCount, (Closure<?>)tagClosure,
+                lookup.doesTagReturnObject(namespace, tagName), lookup.getEncodeAsForTag(namespace, tagName));
+    }
+
+    boolean isValidFor(TagLibraryLookup currentLookup) {
+        return lookup == currentLookup && registrationCount == currentLookup.getRegistrationCount();
+    }
+
+    Closure<?> getTagClosure() {
+        return tagClosure;
+    }
+
+    boolean isReturnsObject() {
+        return returnsObject;
+    }
+
+    Map<String, Object> getEncodeAsForTag() {
+        return encodeAsForTag;
+    }
+}
@@ -50,6 +50,7 @@ public class TagLibraryLookup implements ApplicationContextAware, GrailsApplicat
     protected Map<String, NamespacedTagDispatcher> namespaceDispatchers = new HashMap<String, NamespacedTagDispatcher>();
     protected Map<String, Set<String>> tagsThatReturnObjectForNamespace = new HashMap<String, Set<String>>();
     protected Map<String, Map<String,Map<String, Object>>> encodeAsForTagNamespaces = new HashMap<String, Map<String,Map<String, Object>>>();
+    private volatile int registrationCount;
 
     public void afterPropertiesSet() throws Exception {
         if (grailsApplication == null || applicationContext == null) {
@@ -119,6 +120,16 @@ public class TagLibraryLookup implements ApplicationContextAware, GrailsApplicat
                 encodeAsForTagNamespace.put(tagName, codecInfoMap);
             }
         }
+
+        registrationCount++;
+    }
+
+    /**
+     * @return A number that changes every time a tag library is registered. Used to invalidate
+     * tag call sites resolved by compiled GSP pages.
+     */
+    public int getRegistrationCount() {
+        return registrationCount;
     }
 
     protected void putTagLib(Map<String, Object> tags, String name, GrailsTagLibClass taglib) {
@@ -20,8 +20,10 @@ import grails.validation.DeferredBindingActions;
 import java.io.IOException;
 import java.io.Writer;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.servlet.ServletContext;
 import javax.servlet.http.HttpServletRequest;
@@ -33,6 +35,8 @@ import org.codehaus.groovy.grails.commons.GrailsApplication;
 import org.codehaus.groovy.grails.commons.GrailsControllerClass;
 import org.codehaus.groovy.grails.support.encoding.DefaultEncodingStateRegistry;
 import org.codehaus.groovy.grails.support.encoding.Encoder;
+import org.codehaus.groovy.grails.support.encoding.EncodingState;
+import org.codehaus.groovy.grails.support.encoding.EncodingStateImpl;
 import org.codehaus.groovy.grails.support.encoding.EncodingStateRegistry;
 import org.codehaus.groovy.grails.support.encoding.EncodingStateRegistryLookup;
 import org.codehaus.groovy.grails.web.binding.GrailsDataBinder;
@@ -92,6 +96,26 @@ public class GrailsWebRequest extends DispatcherServletWebRequest implements Par
         this.applicationContext = applicationContext;
     }
 
+    /**
+     * Creates a request that renders on behalf of a parent request in another thread. It must be created
+     * in the thread of the parent request. The params are a copy of the params of the parent, the codec
+     * settings are the ones of the parent. Strings the parent has encoded are recognized as encoded,
+     * strings encoded by this request are only registered with this request.
+     *
+     * @param request The request, usually a wrapper of the request of the parent
+     * @param parent The parent request
+     */
+    public GrailsWebRequest(HttpServletRequest request, GrailsWebRequest parent) {
+        super(request, parent.getCurrentResponse());
+        attributes = parent.getAttributes();
+        applicationContext = parent.applicationContext;
+        originalParams = parent.originalParams;
+        params = (GrailsParameterMap)parent.getParams().clone();
+        skipFilteringCodec = parent.skipFilteringCodec;
+        filteringEncoder = parent.filteringEncoder;
+        encodingStateRegistry = new ChildEncodingStateRegistry(parent.getEncodingStateRegistry());
+    }
+
     /**
      * Overriden to return the GrailsParameterMap instance,
      *
@@ -403,6 +427,48 @@ public class GrailsWebRequest extends DispatcherServletWebRequest implements Par
         }
     }
 
+    /**
+     * Registers encoded strings locally and looks up strings in the registry of the parent as well,
+     * the registry of the parent is only read.
+     */
+    private static final class ChildEncodingStateRegistry implements EncodingStateRegistry {
+        private final EncodingStateRegistry parent;
+        private final EncodingStateRegistry local = new DefaultEncodingStateRegistry();
+
+        ChildEncodingStateRegistry(EncodingStateRegistry parent) {
+            this.parent = parent;
+        }
+
+        public EncodingState getEncodingStateFor(CharSequence string) {
+            EncodingState localState = local.getEncodingStateFor(string);
+            EncodingState parentState = parent.getEncodingStateFor(string);
+            if (localState.getEncoders() == null) {
+                return parentState;
+            }
+            if (parentState.getEncoders() == null) {
+                return localState;
+            }
+            Set<Encoder> encoders = new HashSet<Encoder>(localState.getEncoders());
+            encoders.addAll(parentState.getEncoders());
+            return new EncodingStateImpl(encoders);
+        }
+
+        public boolean shouldEncodeWith(Encoder encoderToApply, CharSequence string) {
+            if (encoderToApply == DefaultEncodingStateRegistry.NONE_ENCODER) {
+                return false;
+            }
+            return DefaultEncodingStateRegistry.shouldEncodeWith(encoderToApply, getEncodingStateFor(string));
+        }
+
+        public boolean isEncodedWith(Encoder encoder, CharSequence string) {
+            return local.isEncodedWith(encoder, string) || parent.isEncodedWith(encoder, string);
+        }
+
+        public void registerEncodedWith(Encoder encoder, CharSequence escaped) {
+            local.registerEncodedWith(encoder, escaped);
+        }
+    }
+
     static {
         DefaultGrailsCodecClass.setEncodingStateRegistryLookup(new DefaultEncodingStateRegistryLookup());
     }
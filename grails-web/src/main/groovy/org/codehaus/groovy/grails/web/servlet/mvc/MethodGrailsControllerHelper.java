@@ -20,6 +20,11 @@ import groovy.lang.GroovyObject;
 
 import java.io.IOException;
 import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.servlet.http.HttpServletResponse;
 
@@ -29,6 +34,10 @@ import org.springframework.util.ReflectionUtils;
 /**
  * Implements action invocation through Method.
  *
+ * The action methods of a controller class are resolved once and kept in a table per class,
+ * a controller class loaded by a new class loader gets a new table. In development mode classes
+ * are reloaded in place, so the action methods are looked up for every request.
+ *
  * @author Stephane Maldini
  * @since 2.0
  */
@@ -36,15 +45,14 @@ public class MethodGrailsControllerHelper extends AbstractGrailsControllerHelper
 
     public static final Class<?>[] NOARGS = {};
 
+    private final Map<String, ControllerActions> controllerActions = new ConcurrentHashMap<String, ControllerActions>();
+
     @Override
     protected Method retrieveAction(GroovyObject controller, String actionName,
              HttpServletResponse response) {
-        Method action = ReflectionUtils.findMethod(controller.getClass(), actionName, NOARGS);
-        if (action != null) {
-            ReflectionUtils.makeAccessible(action);
-        }
+        Method action = findActionMethod(controller.getClass(), actionName);
 
-        if (action == null || action.getAnnotation(Action.class) == null) {
+        if (action == null) {
             try {
                 response.sendError(HttpServletResponse.SC_NOT_FOUND);
                 return null;
@@ -55,6 +63,59 @@ public class MethodGrailsControllerHelper extends AbstractGrailsControllerHelper
         return action;
     }
 
+    /**
+     * Finds the action method of a controller class
+     *
+     * @param controllerClass The controller class
+     * @param actionName The name of the action
+     * @return The accessible action method or null if the class has no action with the name
+     */
+    protected Method findActionMethod(Class<?> controllerClass, String actionName) {
+        if (developmentMode) {
+            return ControllerActions.resolveActionMethod(controllerClass, actionName);
+        }
+
+        ControllerActions actions = controllerActions.get(controllerClass.getName());
+        if (actions == null || actions.controllerClass != controllerClass) {
+            actions = new ControllerActions(controllerClass);
+            controllerActions.put(controllerClass.getName(), actions);
+        }
+        return actions.actionMethods.get(actionName);
+    }
+
+    /**
+     * The action methods of a controller class. Like {@link ReflectionUtils#findMethod(Class, String, Class[])}
+     * the most specific no-argument method with a name is used, it is an action if it has the
+     * {@link Action} annotation.
+     */
+    private static class ControllerActions {
+        final Class<?> controllerClass;
+        final Map<String, Method> actionMethods = new HashMap<String, Method>();
+
+        ControllerActions(Class<?> controllerClass) {
+            this.controllerClass = controllerClass;
+            Set<String> methodNames = new HashSet<String>();
+            for (Class<?> c = controllerClass; c != null; c = c.getSuperclass()) {
+                for (Method method : c.getDeclaredMethods()) {
+                    if (method.getParameterTypes().length == 0 && methodNames.add(method.getName()) &&
+                            method.getAnnotation(Action.class) != null) {
+                        ReflectionUtils.makeAccessible(method);
+                        actionMethods.put(method.getName(), method);
+                    }
+                }
+            }
+        }
+
+        static Method resolveActionMethod(Class<?> controllerClass, String actionName) {
+            Method method = ReflectionUtils.findMethod(controllerClass, actionName, NOARGS);
+            if (method == null || method.getAnnotation(Action.class) == null) {
+                return null;
+            }
+            ReflectionUtils.makeAccessible(method);
+            return method;
+        }
+    }
+
     @Override
     protected Object invoke(GroovyObject controller, Object action) {
         try {
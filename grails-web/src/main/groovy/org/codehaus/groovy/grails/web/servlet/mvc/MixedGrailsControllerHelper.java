@@ -16,7 +16,6 @@
 package org.codehaus.groovy.grails.web.servlet.mvc;
 
 import grails.util.Pair;
-import grails.web.Action;
 import groovy.lang.Closure;
 import groovy.lang.GroovyObject;
 import groovy.lang.MetaProperty;
@@ -32,19 +31,16 @@ import org.codehaus.groovy.grails.web.servlet.mvc.exceptions.ControllerExecution
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.framework.AopProxyUtils;
-import org.springframework.util.ReflectionUtils;
 
 /**
- * Implements action invocation through Closure.
+ * Implements action invocation through Closure, action methods are resolved through the
+ * action table of {@link MethodGrailsControllerHelper}.
  * 
  * @author Stephane Maldini
  * @since 2.0
  */
-public class MixedGrailsControllerHelper extends AbstractGrailsControllerHelper {
-    private static final Class<?>[] NOARGS = {};
+public class MixedGrailsControllerHelper extends MethodGrailsControllerHelper {
     private static final Logger log = LoggerFactory.getLogger(MixedGrailsControllerHelper.class);
-    Map<Pair<Class<?>, String>, Method> controllerToActionMethodCache = new ConcurrentHashMap<Pair<Class<?>, String>, Method>();
-    private static final Method NULL_METHOD_HOLDER = ReflectionUtils.findMethod(Object.class, "toString");
 
     Map<Pair<Class<?>, String>, MetaProperty> controllerToMetaPropertyCache = new ConcurrentHashMap<Pair<Class<?>, String>, MetaProperty>();
     private static final MetaProperty NULL_META_PROPERTY_HOLDER = new MetaProperty("null", Void.class) {
@@ -64,34 +60,14 @@ public class MixedGrailsControllerHelper extends AbstractGrailsControllerHelper
 
     @Override
     protected Object retrieveAction(GroovyObject controller, String actionName, HttpServletResponse response) {
-        Pair<Class<?>, String> key = new Pair<Class<?>, String>(controller.getClass(), actionName);
-
-        Method mAction = controllerToActionMethodCache.get(key);
-
-        if (mAction != null && mAction != NULL_METHOD_HOLDER) {
+        Method mAction = findActionMethod(AopProxyUtils.ultimateTargetClass(controller), actionName);
+        if (mAction != null) {
             return mAction;
         }
 
+        Pair<Class<?>, String> key = new Pair<Class<?>, String>(controller.getClass(), actionName);
         MetaProperty metaProperty = controllerToMetaPropertyCache.get(key);
 
-        if (metaProperty == null) {
-            Class<?> controllerClass = AopProxyUtils.ultimateTargetClass(controller);
-
-            mAction = ReflectionUtils.findMethod(controllerClass, actionName, NOARGS);
-            if (mAction != null) {
-                ReflectionUtils.makeAccessible(mAction);
-                if (mAction.getAnnotation(Action.class) != null) {
-                    if (!developmentMode) {
-                        controllerToActionMethodCache.put(key, mAction);
-                    }
-                    return mAction;
-                }
-                else if (!developmentMode) {
-                    controllerToActionMethodCache.put(key, NULL_METHOD_HOLDER);
-                }
-            }
-        }
-
         if (metaProperty == null) {
             metaProperty = controller.getMetaClass().getMetaProperty(actionName);
             if (!developmentMode) {
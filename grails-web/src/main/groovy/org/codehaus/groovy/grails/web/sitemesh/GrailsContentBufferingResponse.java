@@ -21,6 +21,7 @@ import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpServletResponseWrapper;
 
 import org.codehaus.groovy.grails.web.servlet.mvc.GrailsWebRequest;
+import org.codehaus.groovy.grails.web.util.StreamCharBuffer;
 import org.codehaus.groovy.grails.web.util.WebUtils;
 
 import com.opensymphony.module.sitemesh.PageParser;
@@ -35,6 +36,7 @@ public class GrailsContentBufferingResponse extends HttpServletResponseWrapper {
     private final ContentProcessor contentProcessor;
     private final SiteMeshWebAppContext webAppContext;
     private boolean redirectCalled;
+    private boolean streamingDecoration;
 
     public GrailsContentBufferingResponse(HttpServletResponse response, final ContentProcessor contentProcessor, final SiteMeshWebAppContext webAppContext) {
         super(new GrailsPageResponseWrapper(webAppContext.getRequest(), response, new PageParserSelector() {
@@ -62,6 +64,14 @@ public class GrailsContentBufferingResponse extends HttpServletResponseWrapper {
         return (HttpServletResponse) pageResponseWrapper.getResponse();
     }
 
+    /**
+     * @param streamingDecoration Whether pages written with the writer are parsed directly from
+     * their buffer by {@link StreamingHTMLPageParser} instead of being copied to a char[] for the Sitemesh parser
+     */
+    public void setStreamingDecoration(boolean streamingDecoration) {
+        this.streamingDecoration = streamingDecoration;
+    }
+
     public boolean isUsingStream() {
         return pageResponseWrapper.isUsingStream();
     }
@@ -84,6 +94,19 @@ public class GrailsContentBufferingResponse extends HttpServletResponseWrapper {
             return content;
         }
 
+        if (streamingDecoration) {
+            StreamCharBuffer pageBuffer = pageResponseWrapper.getContentsBuffer();
+            if (pageBuffer != null) {
+                if (content == null) {
+                    content = new GSPSitemeshPage();
+                }
+                content.setPageBuffer(pageBuffer);
+                if (new StreamingHTMLPageParser().parse(pageBuffer, content) != null) {
+                    return content;
+                }
+            }
+        }
+
         char[] data = pageResponseWrapper.getContents();
         if (data != null) {
             return contentProcessor.build(data, webAppContext);
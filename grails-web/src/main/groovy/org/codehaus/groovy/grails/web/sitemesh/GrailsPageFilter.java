@@ -63,6 +63,7 @@ public class GrailsPageFilter extends SiteMeshFilter {
     private static final String HTML_EXT = ".html";
     private static final String UTF_8_ENCODING = "UTF-8";
     private static final String CONFIG_OPTION_GSP_ENCODING = "grails.views.gsp.encoding";
+    private static final String CONFIG_OPTION_SITEMESH_STREAMING = "grails.views.sitemesh.streaming";
     public static final String GSP_SITEMESH_PAGE = GrailsPageFilter.class.getName() + ".GSP_SITEMESH_PAGE";
 
     private FilterConfig filterConfig;
@@ -70,6 +71,7 @@ public class GrailsPageFilter extends SiteMeshFilter {
     private WebApplicationContext applicationContext;
     private PersistenceContextInterceptor persistenceInterceptor = new NullPersistentContextInterceptor();
     private String defaultEncoding = UTF_8_ENCODING;
+    private boolean streamingDecoration;
     protected ViewResolver layoutViewResolver;
     private ContentProcessor contentProcessor;
     private DecoratorMapper decoratorMapper;
@@ -97,6 +99,8 @@ public class GrailsPageFilter extends SiteMeshFilter {
         if (encoding != null) {
             defaultEncoding = encoding;
         }
+        Object streaming = grailsApplication.getFlatConfig().get(CONFIG_OPTION_SITEMESH_STREAMING);
+        streamingDecoration = streaming instanceof Boolean ? (Boolean)streaming : Boolean.valueOf(String.valueOf(streaming));
 
         Map<String, PersistenceContextInterceptor> interceptors = applicationContext.getBeansOfType(PersistenceContextInterceptor.class);
         if (!interceptors.isEmpty()) {
@@ -201,6 +205,7 @@ public class GrailsPageFilter extends SiteMeshFilter {
             request.setAttribute(GSP_SITEMESH_PAGE, new GSPSitemeshPage());
             GrailsContentBufferingResponse contentBufferingResponse = new GrailsContentBufferingResponse(
                     response, contentProcessor, webAppContext);
+            contentBufferingResponse.setStreamingDecoration(streamingDecoration);
 
             setDefaultConfiguredEncoding(request, contentBufferingResponse);
             chain.doFilter(request, contentBufferingResponse);
@@ -262,6 +262,17 @@ public class GrailsPageResponseWrapper extends HttpServletResponseWrapper{
         return buffer.getContents();
     }
 
+    /**
+     * @return The buffer of the page written with the writer or null if the page was written to the output stream
+     */
+    public StreamCharBuffer getContentsBuffer() {
+        if (isSitemeshNotActive()) {
+            return null;
+        }
+
+        return buffer.charBuffer;
+    }
+
     public boolean isSitemeshActive() {
         return !isSitemeshNotActive();
     }
@@ -0,0 +1,427 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.web.sitemesh;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.codehaus.groovy.grails.web.util.StreamCharBuffer;
+import org.springframework.util.StringUtils;
+
+/**
+ * Extracts the head, title, meta tags and body of a buffered HTML page in a single pass over
+ * the chunks of a {@link StreamCharBuffer}, the page is never copied to a char[].
+ *
+ * The page buffer is consumed while it is read and every part of the page is written to a buffer
+ * of its own. The page buffer is then refilled with references to these parts, and the head and
+ * the body refer to the same parts, so the page is held in memory only once. Pages that use
+ * Sitemesh features this parser doesn't handle (content and parameter blocks, framesets,
+ * xml islands) or that have no body tag are not parsed, they are left to {@link GrailsHTMLPageParser}.
+ *
+ * @since 2.4
+ */
+class StreamingHTMLPageParser {
+
+    private static final int READ_BUFFER_SIZE = 8192;
+    private static final Set<String> UNSUPPORTED_TAGS = new HashSet<String>(Arrays.asList("content", "parameter", "frameset", "xml"));
+    private static final Set<String> RAW_TEXT_TAGS = new HashSet<String>(Arrays.asList("script", "style"));
+    private static final Pattern ATTRIBUTE_PATTERN = Pattern.compile("([^\\s=/>\"']+)(?:\\s*=\\s*(?:\"([^\"]*)\"|'([^']*)'|([^\\s>]+)))?");
+
+    private final char[] chunk = new char[READ_BUFFER_SIZE];
+    private Reader reader;
+    private int pos;
+    private int limit;
+    private int textStart;
+    private Writer target;
+
+    private final Map<String, String> properties = new LinkedHashMap<String, String>();
+    private final List<StreamCharBuffer> pageParts = new ArrayList<StreamCharBuffer>();
+    private List<StreamCharBuffer> headParts;
+    private List<StreamCharBuffer> bodyParts;
+    private List<StreamCharBuffer> currentParts;
+    private boolean titleFound;
+    private String rawTextEnd;
+
+    /**
+     * Parses a buffered page
+     *
+     * @param pageBuffer The buffered page, it has the same content afterwards
+     * @param page The page to add the head, body and properties to, it is only changed when the page can be parsed
+     * @return The page or null if the page has to be parsed by the Sitemesh parser
+     */
+    GSPSitemeshPage parse(StreamCharBuffer pageBuffer, GSPSitemeshPage page) throws IOException {
+        reader = pageBuffer.getReader(true);
+        startPart(null);
+        boolean parsed = true;
+        while (true) {
+            if (pos == limit) {
+                flushText();
+                if (!fill()) {
+                    break;
+                }
+            }
+            if (chunk[pos] == '<') {
+                flushText();
+                pos++;
+                if (!processMarkup()) {
+                    parsed = false;
+                    copyRemainingText();
+                    break;
+                }
+                textStart = pos;
+            }
+            else {
+                pos++;
+            }
+        }
+
+        pageBuffer.clear();
+        for (StreamCharBuffer part : pageParts) {
+            pageBuffer.appendStreamCharBufferChunk(part);
+        }
+        if (!parsed || bodyParts == null) {
+            return null;
+        }
+        for (Map.Entry<String, String> property : properties.entrySet()) {
+            page.addProperty(property.getKey(), property.getValue());
+        }
+        if (headParts != null) {
+            page.setHeadBuffer(join(headParts));
+        }
+        page.setBodyBuffer(join(bodyParts));
+        return page;
+    }
+
+    /**
+     * Continues writing to a new part
+     *
+     * @param parts The parts of the head or the body the new part belongs to, or null
+     */
+    private void startPart(List<StreamCharBuffer> parts) {
+        StreamCharBuffer part = new StreamCharBuffer();
+        pageParts.add(part);
+        if (parts != null) {
+            parts.add(part);
+        }
+        currentParts = parts;
+        target = part.getWriter();
+    }
+
+    private static StreamCharBuffer join(List<StreamCharBuffer> parts) throws IOException {
+        if (parts.size() == 1) {
+            return parts.get(0);
+        }
+        StreamCharBuffer joined = new StreamCharBuffer();
+        for (StreamCharBuffer part : parts) {
+            joined.appendStreamCharBufferChunk(part);
+        }
+        return joined;
+    }
+
+    private void copyRemainingText() throws IOException {
+        textStart = pos;
+        pos = limit;
+        flushText();
+        while (fill()) {
+            pos = limit;
+            flushText();
+        }
+    }
+
+    private boolean fill() throws IOException {
+        limit = Math.max(reader.read(chunk, 0, chunk.length), 0);
+        pos = 0;
+        textStart = 0;
+        return limit > 0;
+    }
+
+    private int read() throws IOException {
+        if (pos == limit && !fill()) {
+            return -1;
+        }
+        return chunk[pos++];
+    }
+
+    private void flushText() throws IOException {
+        if (target != null && pos > textStart) {
+            target.write(chunk, textStart, pos - textStart);
+        }
+        textStart = pos;
+    }
+
+    private void write(CharSequence markup) throws IOException {
+        target.append(markup);
+    }
+
+    /**
+     * Writes markup that is kept in the page but isn't part of the head or the body
+     */
+    private void writePageOnly(CharSequence markup) throws IOException {
+        if (currentParts == null) {
+            write(markup);
+            return;
+        }
+        List<StreamCharBuffer> parts = currentParts;
+        startPart(null);
+        write(markup);
+        startPart(parts);
+    }
+
+    /**
+     * Processes the markup that starts with a '&lt;'
+     *
+     * @return false if the page can't be parsed
+     */
+    private boolean processMarkup() throws IOException {
+        StringBuilder markup = new StringBuilder("<");
+        int c = read();
+        if (c == '!' || c == '?') {
+            markup.append((char)c);
+            readDeclaration(markup);
+            write(markup);
+            return true;
+        }
+        if (c != '/' && !Character.isLetter(c)) {
+            // not a tag, the character is processed as text
+            if (c != -1) {
+                pos--;
+            }
+            write(markup);
+            return true;
+        }
+
+        markup.append((char)c);
+        if (!readTag(markup)) {
+            write(markup);
+            return true;
+        }
+        String tag = markup.toString();
+        if (!processTag(tag)) {
+            write(tag);
+            return false;
+        }
+        return true;
+    }
+
+    private void readDeclaration(StringBuilder markup) throws IOException {
+        boolean comment = false;
+        int c;
+        while ((c = read()) != -1) {
+            markup.append((char)c);
+            if (markup.length() == 4 && markup.charAt(2) == '-' && markup.charAt(3) == '-') {
+                comment = true;
+            }
+            if (c == '>' && (!comment || (markup.length() >= 7 && markup.charAt(markup.length() - 2) == '-' &&
+                    markup.charAt(markup.length() - 3) == '-'))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reads the rest of a tag
+     *
+     * @return false if the page ended before the tag was closed
+     */
+    private boolean readTag(StringBuilder markup) throws IOException {
+        char quote = 0;
+        int c;
+        while ((c = read()) != -1) {
+            markup.append((char)c);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            }
+            else if (c == '"' || c == '\'') {
+                quote = (char)c;
+            }
+            else if (c == '>') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean processTag(String tag) throws IOException {
+        boolean closing = tag.charAt(1) == '/';
+        int nameStart = closing ? 2 : 1;
+        int nameEnd = nameStart;
+        while (nameEnd < tag.length() && isNameChar(tag.charAt(nameEnd))) {
+            nameEnd++;
+        }
+        String name = tag.substring(nameStart, nameEnd).toLowerCase();
+        String attributes = tag.substring(nameEnd, tag.length() - 1);
+
+        if (UNSUPPORTED_TAGS.contains(name)) {
+            return false;
+        }
+        if ("html".equals(name)) {
+            if (!closing) {
+                addAttributeProperties("", attributes);
+            }
+            writePageOnly(tag);
+        }
+        else if ("head".equals(name)) {
+            if (!closing) {
+                if (headParts != null || bodyParts != null) {
+                    return false;
+                }
+                writePageOnly(tag);
+                headParts = new ArrayList<StreamCharBuffer>();
+                startPart(headParts);
+            }
+            else if (headParts != null && currentParts == headParts) {
+                startPart(null);
+                write(tag);
+            }
+            else {
+                writePageOnly(tag);
+            }
+        }
+        else if ("title".equals(name)) {
+            if (!closing) {
+                String title = readRawText(name);
+                writePageOnly(tag + title + rawTextEnd);
+                if (!titleFound) {
+                    properties.put("title", title);
+                    titleFound = true;
+                }
+            }
+            else {
+                writePageOnly(tag);
+            }
+        }
+        else if ("body".equals(name)) {
+            if (!closing) {
+                if (bodyParts != null) {
+                    return false;
+                }
+                addAttributeProperties("body.", attributes);
+                writePageOnly(tag);
+                bodyParts = new ArrayList<StreamCharBuffer>();
+                startPart(bodyParts);
+            }
+            else if (bodyParts != null && currentParts == bodyParts) {
+                startPart(null);
+                write(tag);
+            }
+            else {
+                writePageOnly(tag);
+            }
+        }
+        else {
+            if ("meta".equals(name) && !closing) {
+                addMetaProperties(attributes);
+            }
+            write(tag);
+            if (RAW_TEXT_TAGS.contains(name) && !closing && !tag.endsWith("/>")) {
+                write(readRawText(name));
+                write(rawTextEnd);
+            }
+        }
+        return true;
+    }
+
+    private static boolean isNameChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '-' || c == ':' || c == '_';
+    }
+
+    /**
+     * Reads the text up to the closing tag of an element whose content isn't markup, the
+     * closing tag is kept in rawTextEnd
+     */
+    private String readRawText(String name) throws IOException {
+        StringBuilder text = new StringBuilder();
+        rawTextEnd = "";
+        int c;
+        while ((c = read()) != -1) {
+            text.append((char)c);
+            if (c == '>') {
+                int closeStart = text.lastIndexOf("</");
+                if (closeStart > -1 && text.substring(closeStart + 2, text.length() - 1).trim().equalsIgnoreCase(name)) {
+                    rawTextEnd = text.substring(closeStart);
+                    text.setLength(closeStart);
+                    break;
+                }
+            }
+        }
+        return text.toString();
+    }
+
+    private Map<String, String> parseAttributes(String attributes) {
+        Map<String, String> values = new LinkedHashMap<String, String>();
+        Matcher matcher = ATTRIBUTE_PATTERN.matcher(attributes);
+        while (matcher.find()) {
+            String value = matcher.group(2);
+            if (value == null) {
+                value = matcher.group(3);
+            }
+            if (value == null) {
+                value = matcher.group(4);
+            }
+            values.put(matcher.group(1).toLowerCase(), value == null ? "" : value);
+        }
+        return values;
+    }
+
+    private void addAttributeProperties(String prefix, String attributes) {
+        for (Map.Entry<String, String> attribute : parseAttributes(attributes).entrySet()) {
+            properties.put(prefix + attribute.getKey(), attribute.getValue());
+        }
+    }
+
+    private void addMetaProperties(String attributes) {
+        Map<String, String> values = parseAttributes(attributes);
+        String content = values.get("content");
+        if (content == null) {
+            return;
+        }
+        String name = values.get("name");
+        String httpEquiv = values.get("http-equiv");
+        if (name != null) {
+            properties.put("meta." + name, content);
+            properties.put("meta." + name.toLowerCase(), content);
+        }
+        else if (httpEquiv != null) {
+            properties.put("meta.http-equiv." + httpEquiv, content);
+            properties.put("meta.http-equiv." + httpEquiv.toLowerCase(), content);
+            properties.put("meta.http-equiv." + capitalizeWords(httpEquiv), content);
+        }
+    }
+
+    private static String capitalizeWords(String value) {
+        String[] words = value.split("-", -1);
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < words.length; i++) {
+            if (i > 0) {
+                result.append('-');
+            }
+            result.append(StringUtils.capitalize(words[i]));
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.web.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+/**
+ * A java.io.Writer that encodes characters as UTF-8 into a fixed size byte buffer and writes
+ * the buffer to the target OutputStream each time it fills up.
+ *
+ * Memory usage is bounded by the chunk size regardless of the amount of content written, so it can be used
+ * to stream large documents to a client. Unpaired surrogate characters are replaced with '?' like
+ * {@link String#getBytes(String)} does.
+ *
+ * This is not thread-safe, it is intended to be used by a single Thread.
+ *
+ * @since 2.4
+ */
+public class ChunkedUtf8Writer extends Writer {
+    public static final int DEFAULT_CHUNK_SIZE = 8192;
+
+    private final OutputStream out;
+    private final byte[] chunk;
+    private int pos;
+    private char highSurrogate;
+    private boolean closed;
+
+    public ChunkedUtf8Writer(OutputStream out) {
+        this(out, DEFAULT_CHUNK_SIZE);
+    }
+
+    public ChunkedUtf8Writer(OutputStream out, int chunkSize) {
+        if (chunkSize < 4) {
+            throw new IllegalArgumentException("chunkSize must be at least 4, was " + chunkSize);
+        }
+        this.out = out;
+        chunk = new byte[chunkSize];
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        encode((char)c);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        int end = off + len;
+        for (int i = off; i < end; i++) {
+            char c = cbuf[i];
+            if (c < 0x80 && highSurrogate == 0 && pos < chunk.length) {
+                chunk[pos++] = (byte)c;
+            }
+            else {
+                encode(c);
+            }
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        int end = off + len;
+        for (int i = off; i < end; i++) {
+            char c = str.charAt(i);
+            if (c < 0x80 && highSurrogate == 0 && pos < chunk.length) {
+                chunk[pos++] = (byte)c;
+            }
+            else {
+                encode(c);
+            }
+        }
+    }
+
+    @Override
+    public Writer append(CharSequence csq) throws IOException {
+        String str = String.valueOf(csq);
+        write(str, 0, str.length());
+        return this;
+    }
+
+    @Override
+    public Writer append(CharSequence csq, int start, int end) throws IOException {
+        String str = String.valueOf(csq != null ? csq : "null");
+        write(str, start, end - start);
+        return this;
+    }
+
+    private void encode(char c) throws IOException {
+        if (highSurrogate != 0) {
+            char high = highSurrogate;
+            highSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                int codePoint = Character.toCodePoint(high, c);
+                ensureCapacity(4);
+                chunk[pos++] = (byte)(0xF0 | (codePoint >> 18));
+                chunk[pos++] = (byte)(0x80 | ((codePoint >> 12) & 0x3F));
+                chunk[pos++] = (byte)(0x80 | ((codePoint >> 6) & 0x3F));
+                chunk[pos++] = (byte)(0x80 | (codePoint & 0x3F));
+                return;
+            }
+            writeByte('?');
+        }
+
+        if (c < 0x80) {
+            writeByte(c);
+        }
+        else if (c < 0x800) {
+            ensureCapacity(2);
+            chunk[pos++] = (byte)(0xC0 | (c >> 6));
+            chunk[pos++] = (byte)(0x80 | (c & 0x3F));
+        }
+        else if (Character.isHighSurrogate(c)) {
+            highSurrogate = c;
+        }
+        else if (Character.isLowSurrogate(c)) {
+            writeByte('?');
+        }
+        else {
+            ensureCapacity(3);
+            chunk[pos++] = (byte)(0xE0 | (c >> 12));
+            chunk[pos++] = (byte)(0x80 | ((c >> 6) & 0x3F));
+            chunk[pos++] = (byte)(0x80 | (c & 0x3F));
+        }
+    }
+
+    private void writeByte(int b) throws IOException {
+        ensureCapacity(1);
+        chunk[pos++] = (byte)b;
+    }
+
+    private void ensureCapacity(int bytes) throws IOException {
+        if (pos + bytes > chunk.length) {
+            flushChunk();
+        }
+    }
+
+    private void flushChunk() throws IOException {
+        if (pos > 0) {
+            out.write(chunk, 0, pos);
+            pos = 0;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (closed) {
+            return;
+        }
+        flushChunk();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        if (highSurrogate != 0) {
+            highSurrogate = 0;
+            writeByte('?');
+        }
+        flushChunk();
+        closed = true;
+        out.close();
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.web.util;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+/**
+ * A java.io.Writer that encodes characters to an OutputStream and copies the pre-encoded bytes of
+ * known static Strings (see {@link PreEncodedStrings}) straight to the stream without encoding them again.
+ *
+ * A String is only recognized when it's written as a whole with {@link #write(String, int, int)}.
+ * StreamCharBuffer keeps large Strings as separate chunks, so the static html parts of GSP pages
+ * usually reach this writer as the original String instances. Parts that have been copied into a
+ * char chunk, for example small parts, are encoded like any other content.
+ *
+ * This is not thread-safe, it is intended to be used by a single Thread.
+ *
+ * @since 2.4
+ */
+public class PreEncodedBytesWriter extends Writer {
+    private final OutputStream out;
+    private final Charset charset;
+    private final Writer charWriter;
+    private final PreEncodedStringsRegistry preEncodedStrings;
+
+    /**
+     * @param out the target stream
+     * @param encoding the character encoding
+     * @param preEncodedStrings the known static Strings, Strings may be registered after construction
+     * @throws IOException if the encoding isn't supported
+     */
+    public PreEncodedBytesWriter(OutputStream out, String encoding, PreEncodedStringsRegistry preEncodedStrings) throws IOException {
+        this.out = out;
+        this.charset = Charset.forName(encoding);
+        this.preEncodedStrings = preEncodedStrings;
+        // flushing the encoder before writing pre-encoded bytes must not flush the target stream
+        this.charWriter = new OutputStreamWriter(new NonFlushingOutputStream(out), charset);
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        if (off == 0 && len == str.length()) {
+            byte[] bytes = preEncodedStrings.getEncodedBytes(str, charset);
+            if (bytes != null) {
+                charWriter.flush();
+                out.write(bytes);
+                return;
+            }
+        }
+        charWriter.write(str, off, len);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        charWriter.write(cbuf, off, len);
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        charWriter.write(c);
+    }
+
+    @Override
+    public Writer append(CharSequence csq, int start, int end) throws IOException {
+        charWriter.append(csq, start, end);
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        charWriter.flush();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        charWriter.flush();
+        out.close();
+    }
+
+    public Charset getCharset() {
+        return charset;
+    }
+
+    private static final class NonFlushingOutputStream extends FilterOutputStream {
+        NonFlushingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // do nothing
+        }
+
+        @Override
+        public void close() throws IOException {
+            // do nothing
+        }
+    }
+}
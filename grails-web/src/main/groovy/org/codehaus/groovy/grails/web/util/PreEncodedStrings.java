@@ -0,0 +1,91 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.web.util;
+
+import java.nio.charset.Charset;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A fixed set of static Strings (for example the html parts of a compiled GSP) whose encoded
+ * byte representation is computed only once per charset.
+ *
+ * Lookups are done by identity, only the exact String instances passed to the constructor are recognized.
+ *
+ * This class is thread-safe.
+ *
+ * @since 2.4
+ */
+public class PreEncodedStrings {
+    private final String[] strings;
+    private final Map<String, Integer> indexes;
+    private final Map<Charset, byte[][]> encodedByCharset = new ConcurrentHashMap<Charset, byte[][]>();
+
+    public PreEncodedStrings(String[] strings) {
+        this.strings = strings;
+        indexes = new IdentityHashMap<String, Integer>(strings.length);
+        for (int i = 0; i < strings.length; i++) {
+            if (strings[i] != null) {
+                indexes.put(strings[i], i);
+            }
+        }
+    }
+
+    /**
+     * Returns the encoded bytes of the given String
+     *
+     * @param str the String instance
+     * @param charset the charset
+     * @return the encoded bytes or null if the String instance isn't part of this set
+     */
+    public byte[] getEncodedBytes(String str, Charset charset) {
+        Integer index = indexes.get(str);
+        if (index == null) {
+            return null;
+        }
+        return getEncoded(charset)[index];
+    }
+
+    public boolean contains(String str) {
+        return indexes.containsKey(str);
+    }
+
+    /**
+     * Maps the Strings of this set to this set
+     *
+     * @param owners the identity map to add the Strings to
+     */
+    void addTo(Map<String, PreEncodedStrings> owners) {
+        for (String str : indexes.keySet()) {
+            owners.put(str, this);
+        }
+    }
+
+    private byte[][] getEncoded(Charset charset) {
+        byte[][] encoded = encodedByCharset.get(charset);
+        if (encoded == null) {
+            encoded = new byte[strings.length][];
+            for (int i = 0; i < strings.length; i++) {
+                if (strings[i] != null) {
+                    encoded[i] = strings[i].getBytes(charset);
+                }
+            }
+            encodedByCharset.put(charset, encoded);
+        }
+        return encoded;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.web.util;
+
+import java.nio.charset.Charset;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The {@link PreEncodedStrings} of the pages rendered during a request, a String is looked up
+ * with a single identity lookup however many pages have been registered.
+ *
+ * This is not thread-safe, it is intended to be used by a single Thread.
+ *
+ * @since 2.4
+ */
+public class PreEncodedStringsRegistry {
+    private final Map<PreEncodedStrings, Boolean> registered = new IdentityHashMap<PreEncodedStrings, Boolean>();
+    private final Map<String, PreEncodedStrings> owners = new IdentityHashMap<String, PreEncodedStrings>();
+
+    /**
+     * Registers the Strings of a page, registering the same instance again does nothing
+     *
+     * @param strings the static Strings
+     */
+    public void register(PreEncodedStrings strings) {
+        if (registered.put(strings, Boolean.TRUE) == null) {
+            strings.addTo(owners);
+        }
+    }
+
+    /**
+     * Returns the encoded bytes of the given String
+     *
+     * @param str the String instance
+     * @param charset the charset
+     * @return the encoded bytes or null if the String instance hasn't been registered
+     */
+    public byte[] getEncodedBytes(String str, Charset charset) {
+        PreEncodedStrings strings = owners.get(str);
+        return strings != null ? strings.getEncodedBytes(str, charset) : null;
+    }
+
+    public boolean isEmpty() {
+        return owners.isEmpty();
+    }
+}
@@ -2228,11 +2228,14 @@ public class StreamCharBuffer extends GroovyObjectSupport implements Writable, C
         final Writer writer;
         final boolean autoFlush;
         final boolean encoderAware;
+        final boolean stringAware;
 
         ConnectedWriter(final Writer writer, final boolean autoFlush) {
             this.writer = writer;
             this.autoFlush = autoFlush;
             this.encoderAware = (writer instanceof EncodedAppenderFactory || writer instanceof EncodedAppenderWriterFactory);
+            // PreEncodedBytesWriter recognizes static Strings by identity
+            this.stringAware = encoderAware || writer instanceof PreEncodedBytesWriter;
         }
 
         Writer getWriter() {
@@ -2248,17 +2251,23 @@ public class StreamCharBuffer extends GroovyObjectSupport implements Writable, C
         public boolean isEncoderAware() {
             return encoderAware;
         }
+
+        public boolean isStringAware() {
+            return stringAware;
+        }
     }
 
     static final class SingleOutputWriter extends ConnectedWritersWriter implements GrailsWrappedWriter {
         private final ConnectedWriter connectedWriter;
         private final Writer writer;
         private final boolean encoderAware;
+        private final boolean stringAware;
 
         public SingleOutputWriter(ConnectedWriter connectedWriter) {
             this.connectedWriter = connectedWriter;
             this.writer = connectedWriter.getWriter();
             this.encoderAware = connectedWriter.isEncoderAware();
+            this.stringAware = connectedWriter.isStringAware();
         }
 
         @Override
@@ -2285,7 +2294,7 @@ public class StreamCharBuffer extends GroovyObjectSupport implements Writable, C
 
         @Override
         public void write(String str, int off, int len) throws IOException {
-            if (!encoderAware) {
+            if (!stringAware) {
                 StringCharArrayAccessor.writeStringAsCharArray(writer, str, off, len);
             } else {
                 writer.write(str, off, len);
@@ -2366,7 +2375,7 @@ public class StreamCharBuffer extends GroovyObjectSupport implements Writable, C
         public void write(String str, int off, int len) throws IOException {
             if (isEncoderAware()) {
                 for (ConnectedWriter connectedWriter : connectedWriters) {
-                    if (!connectedWriter.isEncoderAware()) {
+                    if (!connectedWriter.isStringAware()) {
                         StringCharArrayAccessor.writeStringAsCharArray(connectedWriter.getWriter(), str, off, len);
                     } else {
                         connectedWriter.getWriter().write(str, off, len);
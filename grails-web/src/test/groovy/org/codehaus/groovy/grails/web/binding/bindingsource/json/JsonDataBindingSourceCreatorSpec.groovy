@@ -1,6 +1,7 @@
 package org.codehaus.groovy.grails.web.binding.bindingsource.json
 
 import org.codehaus.groovy.grails.web.binding.bindingsource.JsonDataBindingSourceCreator
+import org.grails.databinding.bindingsource.InvalidRequestBodyException
 
 import spock.lang.Specification
 
@@ -40,4 +41,40 @@ class JsonDataBindingSourceCreatorSpec extends Specification {
         bindingSource['languages[1]']['name'] == 'Java'
         bindingSource['languages[1]']['company'] == 'Oracle'
     }
+
+    void 'Test the elements of a JSON array are read while iterating'() {
+        given:
+        def json = '''[{"name": "Groovy"}, {"name": "Java"}, {"name": '''
+        def collectionBindingSource = new JsonDataBindingSourceCreator().createCollectionBindingSource(new StringReader(json))
+        def iterator = collectionBindingSource.iterator()
+
+        when:
+        def first = iterator.next()
+        def second = iterator.next()
+
+        then:
+        first['name'] == 'Groovy'
+        second['name'] == 'Java'
+        iterator.hasNext()
+
+        when:
+        iterator.next()
+
+        then:
+        thrown InvalidRequestBodyException
+    }
+
+    void 'Test all elements of a JSON array are returned as a list'() {
+        given:
+        def json = '''[{"name": "Groovy"}, {"name": "Java"}]'''
+        def collectionBindingSource = new JsonDataBindingSourceCreator().createCollectionBindingSource(new ByteArrayInputStream(json.bytes))
+
+        when:
+        def dataBindingSources = collectionBindingSource.dataBindingSources
+
+        then:
+        dataBindingSources.size() == 2
+        dataBindingSources*.getPropertyValue('name') == ['Groovy', 'Java']
+        collectionBindingSource.iterator().toList() == dataBindingSources
+    }
 }
@@ -0,0 +1,19 @@
+package org.codehaus.groovy.grails.web.json
+
+import spock.lang.Specification
+
+class PathCapturingJSONWriterWrapperSpec extends Specification {
+
+    def "quoted keys are captured as unquoted property names"() {
+        given:
+            def out = new StringWriter()
+            def writer = new PathCapturingJSONWriterWrapper(new JSONWriter(out))
+        when:
+            writer.object()
+            writer.key('book')
+            writer.object()
+            writer.quotedKey(JSONObject.quote('author'))
+        then:
+            writer.currentStrackReference == '.book.author'
+    }
+}
@@ -0,0 +1,109 @@
+package org.codehaus.groovy.grails.web.pages
+
+import spock.lang.Specification
+
+class GroovyPageCompilerSpec extends Specification {
+
+    File baseDir
+
+    def setup() {
+        baseDir = File.createTempFile('gspcompile', 'test')
+        baseDir.delete()
+        baseDir.mkdirs()
+    }
+
+    def cleanup() {
+        baseDir.deleteDir()
+    }
+
+    def "parallel compilation produces the same output as sequential compilation"() {
+        given:
+            File viewsDir = createViews()
+        when:
+            Map sequential = compile(viewsDir, new File(baseDir, 'sequential'), 1)
+            Map parallel = compile(viewsDir, new File(baseDir, 'parallel'), 4)
+        then:
+            sequential == parallel
+            sequential.keySet() as List == ['/book/_row.gsp', '/book/list.gsp', '/book/show.gsp', '/index.gsp']
+            listFiles(new File(baseDir, 'sequential/classes')) == listFiles(new File(baseDir, 'parallel/classes'))
+            new File(baseDir, 'sequential/classes/gsp/views.properties').text == new File(baseDir, 'parallel/classes/gsp/views.properties').text
+            ['gsp_testindex_gsp', 'gsp_test_bookshow_gsp', 'gsp_test_booklist_gsp', 'gsp_test_book_row_gsp'].every { String className ->
+                [GroovyPageMetaInfo.HTML_DATA_POSTFIX, GroovyPageMetaInfo.LINENUMBERS_DATA_POSTFIX].every { String postfix ->
+                    new File(baseDir, "sequential/classes/${className}${postfix}").bytes == new File(baseDir, "parallel/classes/${className}${postfix}").bytes
+                }
+            }
+    }
+
+    def "views.properties is sorted and has no timestamp"() {
+        given:
+            File viewsDir = createViews()
+        when:
+            compile(viewsDir, new File(baseDir, 'out'), 2)
+            List<String> lines = new File(baseDir, 'out/classes/gsp/views.properties').readLines()
+        then:
+            lines[0] == '#Precompiled views for test'
+            lines[1..-1] == lines[1..-1].sort()
+            lines.size() == 5
+    }
+
+    def "unchanged pages are not compiled again"() {
+        given:
+            File viewsDir = createViews()
+            File outDir = new File(baseDir, 'out')
+            compile(viewsDir, outDir, 2)
+            File indexClass = new File(outDir, 'classes/gsp_testindex_gsp.class')
+            File showClass = new File(outDir, 'classes/gsp_test_bookshow_gsp.class')
+            indexClass.lastModified = 1000
+            showClass.lastModified = 1000
+            new File(viewsDir, 'index.gsp').lastModified = 500
+            new File(viewsDir, 'book/show.gsp').lastModified = 2000
+        when:
+            compile(viewsDir, outDir, 2)
+        then:
+            indexClass.lastModified() == 1000
+            showClass.lastModified() != 1000
+    }
+
+    def "pages are compiled again when a side file is missing"() {
+        given:
+            File viewsDir = createViews()
+            File outDir = new File(baseDir, 'out')
+            compile(viewsDir, outDir, 1)
+            File lineNumbers = new File(outDir, 'classes/gsp_testindex_gsp' + GroovyPageMetaInfo.LINENUMBERS_DATA_POSTFIX)
+            lineNumbers.delete()
+        when:
+            compile(viewsDir, outDir, 1)
+        then:
+            lineNumbers.exists()
+    }
+
+    private File createViews() {
+        File viewsDir = new File(baseDir, 'views')
+        new File(viewsDir, 'book').mkdirs()
+        new File(viewsDir, 'index.gsp').text = '<html><body>${message}</body></html>'
+        new File(viewsDir, 'book/list.gsp').text = '<ul><g:each in="${books}" var="book"><li>${book.title}</li></g:each></ul>'
+        new File(viewsDir, 'book/show.gsp').text = '<h1>${book.title}</h1>\n<p>${book.author}</p>'
+        new File(viewsDir, 'book/_row.gsp').text = '<tr><td>${book.title}</td></tr>'
+        viewsDir
+    }
+
+    private Map compile(File viewsDir, File outDir, int threads) {
+        File classesDir = new File(outDir, 'classes')
+        classesDir.mkdirs()
+        def compiler = new GroovyPageCompiler()
+        compiler.viewsDir = viewsDir
+        compiler.targetDir = classesDir
+        compiler.generatedGroovyPagesDirectory = new File(outDir, 'gspcompile')
+        compiler.packagePrefix = 'test'
+        compiler.compilerThreads = threads
+        compiler.srcFiles = [new File(viewsDir, 'index.gsp'), new File(viewsDir, 'book/show.gsp'),
+                             new File(viewsDir, 'book/list.gsp'), new File(viewsDir, 'book/_row.gsp')]
+        new LinkedHashMap(compiler.compile())
+    }
+
+    private List<String> listFiles(File dir) {
+        List<String> names = []
+        dir.eachFileRecurse { File f -> names << (f.absolutePath - dir.absolutePath) }
+        names.sort()
+    }
+}
@@ -0,0 +1,60 @@
+package org.codehaus.groovy.grails.web.pages
+
+import org.codehaus.groovy.grails.web.util.StreamCharBuffer
+
+import spock.lang.Specification
+
+class GroovyPageFragmentCacheSpec extends Specification {
+
+    def "fragments rendered with a previous version of the template are not used"() {
+        given:
+            def cache = new GroovyPageFragmentCache()
+            def metaInfo = new GroovyPageMetaInfo()
+        when:
+            cache.put('key', metaInfo, buffer('first'))
+        then:
+            cache.get('key', metaInfo).toBuffer().toString() == 'first'
+            cache.get('key', new GroovyPageMetaInfo()) == null
+            cache.fragmentCount == 0
+            cache.hitCount == 1
+            cache.missCount == 1
+    }
+
+    def "fragments expire after the time to live"() {
+        given:
+            def cache = new GroovyPageFragmentCache(1000, 50)
+            def metaInfo = new GroovyPageMetaInfo()
+        when:
+            cache.put('key', metaInfo, buffer('fragment'))
+        then:
+            cache.get('key', metaInfo) != null
+        when:
+            Thread.sleep(100)
+        then:
+            cache.get('key', metaInfo) == null
+            cache.fragmentCount == 0
+    }
+
+    def "the least recently used fragments are evicted when the cache is full"() {
+        given:
+            def cache = new GroovyPageFragmentCache(25, 0)
+            def metaInfo = new GroovyPageMetaInfo()
+        when:
+            cache.put('a', metaInfo, buffer('a' * 10))
+            cache.put('b', metaInfo, buffer('b' * 10))
+            cache.get('a', metaInfo)
+            cache.put('c', metaInfo, buffer('c' * 10))
+        then:
+            cache.get('b', metaInfo) == null
+            cache.get('a', metaInfo).toBuffer().toString() == 'a' * 10
+            cache.get('c', metaInfo) != null
+            cache.evictionCount == 1
+            cache.size == 20
+    }
+
+    private StreamCharBuffer buffer(String text) {
+        def buffer = new StreamCharBuffer()
+        buffer.writer.write(text)
+        buffer
+    }
+}
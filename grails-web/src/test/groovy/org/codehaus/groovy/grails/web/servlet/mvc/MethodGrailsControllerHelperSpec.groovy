@@ -0,0 +1,86 @@
+package org.codehaus.groovy.grails.web.servlet.mvc
+
+import grails.web.Action
+
+import javax.servlet.http.HttpServletResponse
+
+import spock.lang.Specification
+
+class MethodGrailsControllerHelperSpec extends Specification {
+
+    def helper = new MethodGrailsControllerHelper(developmentMode: false)
+
+    def "action methods are resolved once per controller class"() {
+        given:
+            def response = Mock(HttpServletResponse)
+            def controller = new ActionTableController()
+        when:
+            def first = helper.retrieveAction(controller, 'list', response)
+            def second = helper.retrieveAction(new ActionTableController(), 'list', response)
+        then:
+            first.name == 'list'
+            first.is(second)
+            helper.invoke(controller, first) == 'listed'
+            0 * response.sendError(_)
+    }
+
+    def "a 404 is sent for methods that are not actions"() {
+        given:
+            def response = Mock(HttpServletResponse)
+        when:
+            def action = helper.retrieveAction(new ActionTableController(), actionName, response)
+        then:
+            action == null
+            1 * response.sendError(HttpServletResponse.SC_NOT_FOUND)
+        where:
+            actionName << ['helper', 'unknown', 'show']
+    }
+
+    def "an overriding method without the annotation hides the action"() {
+        given:
+            def response = Mock(HttpServletResponse)
+        expect:
+            helper.retrieveAction(new OverridingActionTableController(), 'list', response) == null
+            helper.retrieveAction(new OverridingActionTableController(), 'index', response).declaringClass == ActionTableController
+    }
+
+    def "action methods are looked up for every request in development mode"() {
+        given:
+            helper.developmentMode = true
+            def response = Mock(HttpServletResponse)
+        when:
+            def action = helper.retrieveAction(new ActionTableController(), 'list', response)
+        then:
+            action.name == 'list'
+            helper.retrieveAction(new ActionTableController(), 'helper', response) == null
+            helper.controllerActions.isEmpty()
+    }
+
+    def "the mixed helper resolves action methods through the action table"() {
+        given:
+            def mixedHelper = new MixedGrailsControllerHelper(developmentMode: false)
+            def response = Mock(HttpServletResponse)
+        when:
+            def action = mixedHelper.retrieveAction(new ActionTableController(), 'list', response)
+        then:
+            action.is(mixedHelper.findActionMethod(ActionTableController, 'list'))
+            mixedHelper.invoke(new ActionTableController(), action) == 'listed'
+    }
+}
+
+class ActionTableController {
+    @Action
+    def index() { 'index' }
+
+    @Action
+    def list() { 'listed' }
+
+    @Action
+    def show(String id) { id }
+
+    def helper() { 'helper' }
+}
+
+class OverridingActionTableController extends ActionTableController {
+    def list() { 'not an action' }
+}
@@ -0,0 +1,57 @@
+package org.codehaus.groovy.grails.web.sitemesh
+
+import org.springframework.mock.web.MockHttpServletRequest
+import org.springframework.mock.web.MockHttpServletResponse
+import org.springframework.mock.web.MockServletContext
+
+import spock.lang.Specification
+
+import com.opensymphony.sitemesh.ContentProcessor
+import com.opensymphony.sitemesh.webapp.SiteMeshWebAppContext
+
+class GrailsContentBufferingResponseSpec extends Specification {
+
+    static final String HTML = '<html><head><title>t</title><meta name="a" content="b"/></head><body>text</body></html>'
+
+    def request = new MockHttpServletRequest()
+    def response = new MockHttpServletResponse()
+    def webAppContext = new SiteMeshWebAppContext(request, response, new MockServletContext())
+    def contentProcessor = Stub(ContentProcessor) {
+        handles(_ as String) >> true
+    }
+
+    def "a streaming decorated page written undecorated keeps its original content"() {
+        given:
+            def bufferingResponse = new GrailsContentBufferingResponse(response, contentProcessor, webAppContext)
+            bufferingResponse.streamingDecoration = true
+            request.setAttribute(GrailsPageFilter.GSP_SITEMESH_PAGE, new GSPSitemeshPage())
+            bufferingResponse.contentType = 'text/html'
+            bufferingResponse.writer.write(HTML)
+        when:
+            def content = bufferingResponse.getContent()
+            new GrailsNoDecorator().render(content, webAppContext)
+        then:
+            content instanceof GSPSitemeshPage
+            content.getProperty('title') == 't'
+            content.originalLength() == HTML.length()
+            response.contentAsString == HTML
+    }
+
+    def "the page of the request is used when the wrapper was created with it"() {
+        given:
+            request.setAttribute(GrailsPageFilter.GSP_SITEMESH_PAGE, new GSPSitemeshPage())
+            def bufferingResponse = new GrailsContentBufferingResponse(response, contentProcessor, webAppContext)
+            bufferingResponse.streamingDecoration = true
+            bufferingResponse.contentType = 'text/html'
+            bufferingResponse.writer.write(HTML)
+        when:
+            def content = bufferingResponse.getContent()
+            def writer = new StringWriter()
+            content.writeOriginal(writer)
+        then:
+            content.is(request.getAttribute(GrailsPageFilter.GSP_SITEMESH_PAGE))
+            content.head == '<meta name="a" content="b"/>'
+            content.body == 'text'
+            writer.toString() == HTML
+    }
+}
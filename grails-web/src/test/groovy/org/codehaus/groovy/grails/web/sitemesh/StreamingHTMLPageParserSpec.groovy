@@ -0,0 +1,93 @@
+package org.codehaus.groovy.grails.web.sitemesh
+
+import org.codehaus.groovy.grails.web.util.StreamCharBuffer
+
+import spock.lang.Specification
+
+class StreamingHTMLPageParserSpec extends Specification {
+
+    def "head, title, meta tags and body are extracted"() {
+        given:
+            def html = '''<!DOCTYPE html>
+<html lang="en"><head>
+<title>The title</title>
+<meta name="Layout" content="main"/>
+<meta http-equiv="content-type" content="text/html; charset=UTF-8">
+<script>if (a < b) { document.write("<title>no</title>") }</script>
+<!-- <body> in a comment -->
+</head>
+<body onLoad="init()" class='page'>
+<p>body &amp; text</p>
+</body>
+</html>'''
+        when:
+            def page = parse(html)
+        then:
+            page.getProperty('title') == 'The title'
+            page.getProperty('lang') == 'en'
+            page.getProperty('meta.Layout') == 'main'
+            page.getProperty('meta.layout') == 'main'
+            page.getProperty('meta.http-equiv.Content-Type') == 'text/html; charset=UTF-8'
+            page.getProperty('body.onload') == 'init()'
+            page.getProperty('body.class') == 'page'
+            page.head == '\n\n<meta name="Layout" content="main"/>\n' +
+                '<meta http-equiv="content-type" content="text/html; charset=UTF-8">\n' +
+                '<script>if (a < b) { document.write("<title>no</title>") }</script>\n' +
+                '<!-- <body> in a comment -->\n'
+            page.body == '\n<p>body &amp; text</p>\n'
+            page.used
+    }
+
+    def "the body matches the Sitemesh parser for a page larger than the read buffer"() {
+        given:
+            def rows = (1..2000).collect { "<tr class=\"row\"><td>$it</td><td>${'x' * (it % 7)}</td></tr>" }.join('\n')
+            def html = "<html><head><title>Rows</title></head><body><table>$rows</table></body></html>"
+        when:
+            def page = parse(html)
+            def sitemeshPage = new GrailsHTMLPageParser().parse(html.toCharArray())
+        then:
+            page.body == sitemeshPage.body
+            page.getProperty('title') == sitemeshPage.title
+    }
+
+    def "pages with unsupported Sitemesh features are left to the Sitemesh parser"() {
+        given:
+            def page = new GSPSitemeshPage()
+            def buffer = toBuffer(html)
+        expect:
+            new StreamingHTMLPageParser().parse(buffer, page) == null
+            !page.used
+            buffer.toString() == html
+        where:
+            html << ['<html><head><title>t</title></head><body><content tag="nav">x</content></body></html>',
+                     '<html><head><parameter name="a" value="b"/></head><body>x</body></html>',
+                     '<html><frameset><frame src="a.html"></frameset></html>',
+                     'just text without a body']
+    }
+
+    def "the page buffer keeps its content"() {
+        given:
+            def html = '<html><head><title>t</title><meta name="a" content="b"/></head><body>text</body></html>'
+            def buffer = toBuffer(html)
+        when:
+            def page = new GSPSitemeshPage()
+            page.setPageBuffer(buffer)
+            new StreamingHTMLPageParser().parse(buffer, page)
+        then:
+            buffer.toString() == html
+            page.page == html
+            page.head == '<meta name="a" content="b"/>'
+            page.body == 'text'
+    }
+
+    private GSPSitemeshPage parse(String html) {
+        new StreamingHTMLPageParser().parse(toBuffer(html), new GSPSitemeshPage())
+    }
+
+    private StreamCharBuffer toBuffer(String html) {
+        def buffer = new StreamCharBuffer(1024)
+        // write in pieces so that the page is spread over many chunks
+        html.toList().collate(100).each { buffer.writer.write(it.join()) }
+        buffer
+    }
+}
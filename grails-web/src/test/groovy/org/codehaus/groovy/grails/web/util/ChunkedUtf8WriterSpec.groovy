@@ -0,0 +1,49 @@
+package org.codehaus.groovy.grails.web.util
+
+import spock.lang.Specification
+
+class ChunkedUtf8WriterSpec extends Specification {
+
+    def "characters are encoded as UTF-8 across chunk boundaries"() {
+        given:
+            String text = "ascii é € 😀 " * 100
+            def bytes = new ByteArrayOutputStream()
+            def writer = new ChunkedUtf8Writer(bytes, 7)
+        when:
+            text.each { writer.write(it) }
+            writer.close()
+        then:
+            bytes.toByteArray() == text.getBytes('UTF-8')
+    }
+
+    def "a surrogate pair split between writes is combined"() {
+        given:
+            def bytes = new ByteArrayOutputStream()
+            def writer = new ChunkedUtf8Writer(bytes)
+        when:
+            writer.write('a\uD83D')
+            writer.write('\uDE00b'.toCharArray())
+            writer.write('\uDC00')
+            writer.close()
+        then:
+            bytes.toByteArray() == 'a😀b\uDC00'.getBytes('UTF-8')
+    }
+
+    def "bytes reach the stream only when a chunk is full or the writer is flushed"() {
+        given:
+            def bytes = new ByteArrayOutputStream()
+            def writer = new ChunkedUtf8Writer(bytes, 8)
+        when:
+            writer.write('1234567')
+        then:
+            bytes.size() == 0
+        when:
+            writer.write('89')
+        then:
+            bytes.toString('UTF-8') == '12345678'
+        when:
+            writer.flush()
+        then:
+            bytes.toString('UTF-8') == '123456789'
+    }
+}
@@ -0,0 +1,51 @@
+package org.codehaus.groovy.grails.web.util
+
+import spock.lang.Specification
+
+class PreEncodedBytesWriterSpec extends Specification {
+
+    def "pre-encoded strings are copied to the stream in order with the encoded characters"() {
+        given:
+            String htmlPart = "<div class=\"tile\">ä€</div>" + ('x' * 1024)
+            def preEncoded = new PreEncodedStrings([htmlPart] as String[])
+            def bytes = new ByteArrayOutputStream()
+            def registry = new PreEncodedStringsRegistry()
+            registry.register(preEncoded)
+            def writer = new PreEncodedBytesWriter(bytes, 'UTF-8', registry)
+            def buffer = new StreamCharBuffer()
+            buffer.connectTo(writer, false)
+        when:
+            buffer.writer.write('<p>é</p>')
+            buffer.writer.write(htmlPart)
+            buffer.writer.write('<p>end</p>')
+            buffer.writer.flush()
+            writer.flush()
+        then:
+            new String(bytes.toByteArray(), 'UTF-8') == '<p>é</p>' + htmlPart + '<p>end</p>'
+    }
+
+    def "the registry looks up strings of every registered page"() {
+        given:
+            String first = '<html><body>'
+            String second = '</body></html>'
+            def registry = new PreEncodedStringsRegistry()
+            def charset = java.nio.charset.Charset.forName('UTF-8')
+        when:
+            registry.register(new PreEncodedStrings([first] as String[]))
+            registry.register(new PreEncodedStrings([second] as String[]))
+        then:
+            registry.getEncodedBytes(first, charset) == first.getBytes('UTF-8')
+            registry.getEncodedBytes(second, charset) == second.getBytes('UTF-8')
+            registry.getEncodedBytes(new String(second), charset) == null
+    }
+
+    def "strings are recognized by identity"() {
+        given:
+            String htmlPart = '<html><body>'
+            def preEncoded = new PreEncodedStrings([htmlPart, null] as String[])
+        expect:
+            preEncoded.getEncodedBytes(htmlPart, java.nio.charset.Charset.forName('UTF-8')) == htmlPart.getBytes('UTF-8')
+            preEncoded.getEncodedBytes(new String(htmlPart), java.nio.charset.Charset.forName('UTF-8')) == null
+            preEncoded.getEncodedBytes(htmlPart, java.nio.charset.Charset.forName('ISO-8859-1')) == htmlPart.getBytes('ISO-8859-1')
+    }
+}